@@ -1,7 +1,11 @@
+import com.google.protobuf.gradle.id
+
 plugins {
 	java
 	id("org.springframework.boot") version "4.0.1"
 	id("io.spring.dependency-management") version "1.1.7"
+	id("me.champeau.jmh") version "0.7.3"
+	id("com.google.protobuf") version "0.9.5"
 }
 
 group = "com.miralles"
@@ -18,13 +22,25 @@ repositories {
 	mavenCentral()
 }
 
+val grpcVersion = "1.71.0"
+val protobufVersion = "3.25.5"
+
 dependencies {
 	implementation("org.springframework.boot:spring-boot-starter-webmvc")
+	implementation("org.springframework.boot:spring-boot-starter-webflux") // reactive profile
 	implementation("org.springframework.boot:spring-boot-starter-validation")
 	implementation("org.springframework.boot:spring-boot-starter-security")
+	implementation("org.springframework.boot:spring-boot-starter-actuator")
+	implementation("tools.jackson.dataformat:jackson-dataformat-cbor")
+	implementation("tools.jackson.dataformat:jackson-dataformat-smile")
 	implementation("io.jsonwebtoken:jjwt-api:0.11.5")
 	runtimeOnly("io.jsonwebtoken:jjwt-impl:0.11.5")
 	runtimeOnly("io.jsonwebtoken:jjwt-jackson:0.11.5")
+	implementation("io.grpc:grpc-netty-shaded:$grpcVersion")
+	implementation("io.grpc:grpc-protobuf:$grpcVersion")
+	implementation("io.grpc:grpc-stub:$grpcVersion")
+	implementation("com.google.protobuf:protobuf-java:$protobufVersion")
+	compileOnly("org.apache.tomcat:annotations-api:6.0.53") // @Generated on gRPC stubs
 	developmentOnly("org.springframework.boot:spring-boot-devtools")
 	developmentOnly("org.springframework.boot:spring-boot-docker-compose")
 	testImplementation("org.springframework.boot:spring-boot-starter-web")
@@ -33,9 +49,36 @@ dependencies {
     testImplementation("org.springframework.boot:spring-boot-starter-webmvc-test")
 	testImplementation("org.springframework.boot:spring-boot-webtestclient")
     testImplementation("org.springframework.security:spring-security-test")
+    testImplementation("io.projectreactor:reactor-test")
+    testImplementation("io.grpc:grpc-inprocess:$grpcVersion")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
 
+protobuf {
+	protoc {
+		artifact = "com.google.protobuf:protoc:$protobufVersion"
+	}
+	plugins {
+		id("grpc") {
+			artifact = "io.grpc:protoc-gen-grpc-java:$grpcVersion"
+		}
+	}
+	generateProtoTasks {
+		all().forEach {
+			it.plugins {
+				id("grpc")
+			}
+		}
+	}
+}
+
 tasks.withType<Test> {
 	useJUnitPlatform()
 }
+
+// Microbenchmarks live in src/jmh/java, run them with: ./gradlew jmh
+jmh {
+	warmupIterations = 2
+	iterations = 5
+	fork = 1
+}
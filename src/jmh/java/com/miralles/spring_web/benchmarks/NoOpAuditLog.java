@@ -0,0 +1,27 @@
+package com.miralles.spring_web.benchmarks;
+
+import com.miralles.spring_web.application.ports.AuditAction;
+import com.miralles.spring_web.application.ports.AuditEvent;
+import com.miralles.spring_web.application.ports.AuditLog;
+
+import java.util.List;
+
+/**
+ * Audit log that drops every event, so benchmarks measure the service rather than the
+ * audit file.
+ */
+final class NoOpAuditLog implements AuditLog {
+
+    @Override
+    public void publish(AuditAction action, long userId, String subject) {
+    }
+
+    @Override
+    public void publish(AuditAction action, long userId, String actor, String subject) {
+    }
+
+    @Override
+    public List<AuditEvent> recent(int limit, AuditAction action, Long userId) {
+        return List.of();
+    }
+}
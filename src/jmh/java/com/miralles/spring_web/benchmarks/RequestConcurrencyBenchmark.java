@@ -0,0 +1,104 @@
+package com.miralles.spring_web.benchmarks;
+
+import com.miralles.spring_web.application.services.StructuredUserServiceImpl;
+import com.miralles.spring_web.domain.models.User;
+import com.miralles.spring_web.infrastructure.config.ExecutorConfig;
+import com.miralles.spring_web.infrastructure.config.ExecutorProperties;
+import com.miralles.spring_web.infrastructure.persistence.JpaUserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * User creation under a burst of concurrent requests, served on platform threads (Tomcat's
+ * default pool of 200) against one virtual thread per request. Each request goes through
+ * {@link StructuredUserServiceImpl#createUser}, which checks the email while the password is
+ * hashed on the {@code passwordHashingExecutor} that {@link ExecutorConfig} builds for that
+ * mode: a fixed pool of platform threads, or a {@code BoundedVirtualThreadExecutor}.
+ *
+ * Throughput mode gives bursts per second; sample mode gives the burst latency
+ * distribution, whose p99 is the tail a client sees at that concurrency. A low BCrypt
+ * {@code strength} keeps the bursts short while hashing still dominates the request.
+ *
+ * Run with: ./gradlew jmh -Pjmh.includes=RequestConcurrencyBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RequestConcurrencyBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"1000", "10000"})
+    private int concurrency;
+
+    @Param({"4"})
+    private int strength;
+
+    private ExecutorService requestExecutor;
+    private ExecutorService passwordHashingExecutor;
+    private StructuredUserServiceImpl userService;
+    private final AtomicLong nextUser = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean virtual = "virtual".equals(threads);
+        requestExecutor = virtual
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        passwordHashingExecutor = new ExecutorConfig(virtual).passwordHashingExecutor(new ExecutorProperties());
+    }
+
+    /**
+     * A fresh repository per iteration, so the users created by earlier bursts do not grow
+     * the email check.
+     */
+    @Setup(Level.Iteration)
+    public void setUpService() {
+        userService = new StructuredUserServiceImpl(new JpaUserRepository(), new BCryptPasswordEncoder(strength),
+                passwordHashingExecutor, Duration.ofMinutes(1), new NoOpAuditLog());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        requestExecutor.shutdownNow();
+        passwordHashingExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public long burst() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(concurrency);
+        AtomicLong created = new AtomicLong();
+        for (int i = 0; i < concurrency; i++) {
+            requestExecutor.execute(() -> {
+                try {
+                    long n = nextUser.incrementAndGet();
+                    userService.createUser(new User(null, "user" + n, "user" + n + "@example.com", "secret" + n));
+                    created.incrementAndGet();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        return created.get();
+    }
+}
@@ -0,0 +1,77 @@
+package com.miralles.spring_web.benchmarks;
+
+import com.miralles.spring_web.presentation.codecs.JsonOutput;
+import com.miralles.spring_web.presentation.codecs.UserJsonCodec;
+import com.miralles.spring_web.presentation.dtos.UserRequestDTO;
+import com.miralles.spring_web.presentation.dtos.UserResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the hand-written user codec with Jackson's reflective bean serialization.
+ *
+ * Run with: ./gradlew jmh -Pjmh.includes=UserJsonCodecBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserJsonCodecBenchmark {
+
+    @Param({"1", "1000"})
+    private int users;
+
+    private final JsonMapper jackson = JsonMapper.builder().build();
+    private final ByteArrayOutputStream sink = new ByteArrayOutputStream(1 << 20);
+    private List<UserResponseDTO> payload;
+    private byte[] requestBody;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        payload = new ArrayList<>(users);
+        for (long i = 1; i <= users; i++) {
+            payload.add(new UserResponseDTO(i, "user" + i, "user" + i + "@example.com"));
+        }
+        requestBody = jackson.writeValueAsBytes(
+                new UserRequestDTO("testUser", "test@example.com", "password123", false));
+    }
+
+    @Benchmark
+    public int writeHandwritten() throws IOException {
+        sink.reset();
+        JsonOutput out = new JsonOutput(sink);
+        UserJsonCodec.writeUsers(payload, out);
+        out.flush();
+        return sink.size();
+    }
+
+    @Benchmark
+    public int writeJackson() {
+        sink.reset();
+        jackson.writeValue(sink, payload);
+        return sink.size();
+    }
+
+    @Benchmark
+    public UserRequestDTO readHandwritten() {
+        return UserJsonCodec.readUserRequest(requestBody);
+    }
+
+    @Benchmark
+    public UserRequestDTO readJackson() {
+        return jackson.readValue(requestBody, UserRequestDTO.class);
+    }
+}
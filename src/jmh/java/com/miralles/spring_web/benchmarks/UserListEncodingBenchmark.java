@@ -0,0 +1,69 @@
+package com.miralles.spring_web.benchmarks;
+
+import com.miralles.spring_web.presentation.dtos.UserResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares JSON, CBOR and Smile for encoding and decoding user lists.
+ *
+ * Run with: ./gradlew jmh -Pjmh.includes=UserListEncodingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserListEncodingBenchmark {
+
+    private static final TypeReference<List<UserResponseDTO>> USER_LIST = new TypeReference<>() {
+    };
+
+    @Param({"1000", "100000"})
+    private int users;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper mapper;
+    private List<UserResponseDTO> payload;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mapper = switch (format) {
+            case "cbor" -> new CBORMapper();
+            case "smile" -> new SmileMapper();
+            default -> JsonMapper.builder().build();
+        };
+        payload = new ArrayList<>(users);
+        for (long i = 1; i <= users; i++) {
+            payload.add(new UserResponseDTO(i, "user" + i, "user" + i + "@example.com"));
+        }
+        encoded = mapper.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return mapper.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public List<UserResponseDTO> decode() {
+        return mapper.readValue(encoded, USER_LIST);
+    }
+}
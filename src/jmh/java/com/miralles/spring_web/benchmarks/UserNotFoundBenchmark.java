@@ -0,0 +1,104 @@
+package com.miralles.spring_web.benchmarks;
+
+import com.miralles.spring_web.application.services.UserServiceImpl;
+import com.miralles.spring_web.domain.exceptions.InvalidCredentialsException;
+import com.miralles.spring_web.domain.exceptions.UserNotFoundException;
+import com.miralles.spring_web.domain.models.User;
+import com.miralles.spring_web.infrastructure.persistence.JpaUserRepository;
+import com.miralles.spring_web.infrastructure.security.CustomUserDetailsService;
+import com.miralles.spring_web.infrastructure.security.JwtUtil;
+import com.miralles.spring_web.presentation.controllers.AuthController;
+import com.miralles.spring_web.presentation.dtos.AuthRequestDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a user lookup miss: the former plain {@code RuntimeException} against the
+ * stackless {@link UserNotFoundException}. The miss is thrown below {@code depth} extra
+ * frames, roughly what the servlet filter chain and Spring MVC add in front of a controller.
+ *
+ * {@code failedLogin} is the 401 path of {@link AuthController}: a wrong password still makes
+ * Spring Security create a stackful {@code BadCredentialsException} before the controller
+ * turns it into the stackless {@link InvalidCredentialsException}. The stored hash uses a
+ * low BCrypt strength so that the exceptions are not lost in the hashing cost.
+ *
+ * Run with: ./gradlew jmh -Pjmh.includes=UserNotFoundBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserNotFoundBenchmark {
+
+    @Param({"10", "150"})
+    private int depth;
+
+    private JpaUserRepository userRepository;
+    private UserServiceImpl userService;
+    private AuthController authController;
+    private long missingId = 1_000_000L;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        userRepository = new JpaUserRepository();
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+        userService = new UserServiceImpl(userRepository, passwordEncoder, new NoOpAuditLog());
+        userService.createUser(new User(null, "alice", "alice@example.com", "correct-password"));
+
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService(userRepository);
+        DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider(userDetailsService);
+        authenticationProvider.setPasswordEncoder(passwordEncoder);
+        authController = new AuthController(new ProviderManager(authenticationProvider), new JwtUtil(),
+                userDetailsService, new NoOpAuditLog());
+    }
+
+    @Benchmark
+    public Object missWithRuntimeException() {
+        try {
+            return call(depth, () -> userRepository.findById(missingId)
+                    .orElseThrow(() -> new RuntimeException("User not found with id: " + missingId)));
+        } catch (RuntimeException e) {
+            // What the error handling reads to build the response body
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public Object missWithStacklessException() {
+        try {
+            return call(depth, () -> userService.getUserById(missingId));
+        } catch (UserNotFoundException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public Object failedLogin() {
+        try {
+            return call(depth, () -> authController.authenticate(
+                    new AuthRequestDTO("alice@example.com", "wrong-password")));
+        } catch (InvalidCredentialsException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static Object call(int frames, Lookup lookup) {
+        return frames > 0 ? call(frames - 1, lookup) : lookup.run();
+    }
+
+    @FunctionalInterface
+    private interface Lookup {
+        Object run();
+    }
+}
@@ -0,0 +1,12 @@
+package com.miralles.spring_web.application.ports;
+
+/**
+ * What an audit event records.
+ */
+public enum AuditAction {
+    USER_CREATED,
+    USER_UPDATED,
+    USER_DELETED,
+    LOGIN_SUCCEEDED,
+    LOGIN_FAILED
+}
@@ -0,0 +1,20 @@
+package com.miralles.spring_web.application.ports;
+
+import org.jspecify.annotations.Nullable;
+
+import java.time.Instant;
+
+/**
+ * One entry of the audit trail.
+ *
+ * @param timestamp when the action happened
+ * @param action what happened
+ * @param userId the affected user, {@link #UNKNOWN_USER} when not known (e.g. failed logins)
+ * @param actor the authenticated principal that performed the action, null if anonymous
+ * @param subject the email the action was about, null if not relevant
+ */
+public record AuditEvent(Instant timestamp, AuditAction action, long userId,
+        @Nullable String actor, @Nullable String subject) {
+
+    public static final long UNKNOWN_USER = 0;
+}
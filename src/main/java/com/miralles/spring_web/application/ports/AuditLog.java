@@ -0,0 +1,43 @@
+package com.miralles.spring_web.application.ports;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Append-only trail of user mutations and logins.
+ */
+public interface AuditLog {
+
+    /**
+     * Records an action of the current principal. Never blocks and never fails: when the log
+     * cannot keep up, the event is dropped and counted instead of slowing the caller down.
+     *
+     * @param action what happened
+     * @param userId the affected user, {@link AuditEvent#UNKNOWN_USER} when not known
+     * @param subject the email the action was about, may be null
+     */
+    void publish(AuditAction action, long userId, @Nullable String subject);
+
+    /**
+     * Records an action of an explicit actor, for callers whose principal is not bound to
+     * the current thread (reactive pipelines). Same guarantees as the other overload.
+     *
+     * @param action what happened
+     * @param userId the affected user, {@link AuditEvent#UNKNOWN_USER} when not known
+     * @param actor the principal that acted, may be null
+     * @param subject the email the action was about, may be null
+     */
+    void publish(AuditAction action, long userId, @Nullable String actor, @Nullable String subject);
+
+    /**
+     * Returns the most recent events, newest first. Events published in the last few
+     * milliseconds may not be visible yet.
+     *
+     * @param limit the maximum number of events
+     * @param action only events of this action; null for all
+     * @param userId only events about this user; null for all
+     * @return the matching events, newest first
+     */
+    List<AuditEvent> recent(int limit, @Nullable AuditAction action, @Nullable Long userId);
+}
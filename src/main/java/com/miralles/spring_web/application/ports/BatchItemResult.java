@@ -0,0 +1,37 @@
+package com.miralles.spring_web.application.ports;
+
+import com.miralles.spring_web.domain.models.User;
+
+/**
+ * Outcome of a single batch operation.
+ *
+ * @param outcome what happened to the operation
+ * @param user the resulting user, if any
+ * @param error a short error description for failed operations
+ */
+public record BatchItemResult(Outcome outcome, User user, String error) {
+
+    public enum Outcome {
+        CREATED,
+        OK,
+        DELETED,
+        NOT_FOUND,
+        INVALID,
+        /** Rejected by a business rule, such as an email held by another user */
+        CONFLICT,
+        /** The store could not serve the operation in time; retrying may succeed */
+        UNAVAILABLE,
+        /** Not applied because another operation of an all-or-nothing batch failed */
+        ABORTED,
+        /** An unexpected error */
+        FAILED
+    }
+
+    public static BatchItemResult success(Outcome outcome, User user) {
+        return new BatchItemResult(outcome, user, null);
+    }
+
+    public static BatchItemResult failure(Outcome outcome, String error) {
+        return new BatchItemResult(outcome, null, error);
+    }
+}
@@ -0,0 +1,20 @@
+package com.miralles.spring_web.application.ports;
+
+import com.miralles.spring_web.domain.models.User;
+
+/**
+ * A single operation of a user batch.
+ *
+ * @param type the kind of operation
+ * @param id the target user id (update, delete and get)
+ * @param user the user data (create and update), with a plain text password if one is set
+ */
+public record BatchOperation(Type type, Long id, User user) {
+
+    public enum Type {
+        CREATE,
+        UPDATE,
+        DELETE,
+        GET
+    }
+}
@@ -0,0 +1,12 @@
+package com.miralles.spring_web.application.ports;
+
+/**
+ * API usage of one principal over a period.
+ *
+ * @param principal the authenticated principal
+ * @param requests the number of requests
+ * @param bytesIn the request body bytes received
+ * @param bytesOut the response body bytes sent
+ */
+public record ConsumerUsage(String principal, long requests, long bytesIn, long bytesOut) {
+}
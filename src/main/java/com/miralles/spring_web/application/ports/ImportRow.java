@@ -0,0 +1,21 @@
+package com.miralles.spring_web.application.ports;
+
+import com.miralles.spring_web.domain.models.User;
+
+/**
+ * One parsed row of a bulk import.
+ *
+ * @param line the 1-based line number in the uploaded document
+ * @param user the user to import, with a plain text password; null if the row is invalid
+ * @param error why the row could not be parsed or validated; null for valid rows
+ */
+public record ImportRow(long line, User user, String error) {
+
+    public static ImportRow valid(long line, User user) {
+        return new ImportRow(line, user, null);
+    }
+
+    public static ImportRow invalid(long line, String error) {
+        return new ImportRow(line, null, error);
+    }
+}
@@ -0,0 +1,19 @@
+package com.miralles.spring_web.application.ports;
+
+import java.time.Duration;
+
+/**
+ * Final outcome of a bulk import.
+ *
+ * @param rows the number of rows read
+ * @param imported the number of users written
+ * @param failed the number of rejected rows
+ * @param elapsed the wall-clock duration of the import
+ */
+public record ImportSummary(long rows, long imported, long failed, Duration elapsed) {
+
+    public double rowsPerSecond() {
+        long millis = Math.max(1, elapsed.toMillis());
+        return rows * 1000.0 / millis;
+    }
+}
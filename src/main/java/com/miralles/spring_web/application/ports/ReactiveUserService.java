@@ -0,0 +1,24 @@
+package com.miralles.spring_web.application.ports;
+
+import com.miralles.spring_web.domain.models.User;
+import com.miralles.spring_web.domain.models.UserField;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+/**
+ * Non-blocking counterpart of {@link UserService}, used by the reactive profile.
+ * Lookups that find nothing signal the same domain exceptions as the blocking service.
+ */
+public interface ReactiveUserService {
+    Mono<User> createUser(User user);
+    Mono<User> getUserById(Long id);
+    Flux<User> getAllUsers();
+    Mono<User> updateUser(Long id, User user);
+    Mono<Void> deleteUser(Long id);
+    Mono<User> getUserByEmail(String email);
+    Flux<User> getAllUsers(Set<UserField> fields);
+    Mono<User> getUserByEmail(String email, Set<UserField> fields);
+    Mono<Boolean> isEmailAvailable(String email);
+}
@@ -0,0 +1,28 @@
+package com.miralles.spring_web.application.ports;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read side of the per-principal API usage metering.
+ */
+public interface UsageReport {
+
+    /**
+     * What consumers are ranked by.
+     */
+    enum Order {
+        REQUESTS,
+        BYTES
+    }
+
+    /**
+     * Returns the heaviest consumers over the recent period.
+     *
+     * @param limit the maximum number of consumers
+     * @param period how far back to look; rounded to whole metering windows
+     * @param order what to rank by; bytes are received plus sent
+     * @return the consumers, heaviest first
+     */
+    List<ConsumerUsage> topConsumers(int limit, Duration period, Order order);
+}
@@ -0,0 +1,17 @@
+package com.miralles.spring_web.application.ports;
+
+import java.util.List;
+
+public interface UserBatchService {
+
+    /**
+     * Runs an ordered list of operations.
+     * In all-or-nothing mode either every operation is applied or none is, and a
+     * single failure aborts the whole batch.
+     *
+     * @param operations the operations, in execution order
+     * @param atomic whether the batch is all-or-nothing
+     * @return one result per operation, in the same order
+     */
+    List<BatchItemResult> execute(List<BatchOperation> operations, boolean atomic);
+}
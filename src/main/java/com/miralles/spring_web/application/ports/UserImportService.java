@@ -0,0 +1,25 @@
+package com.miralles.spring_web.application.ports;
+
+import java.util.Iterator;
+
+public interface UserImportService {
+
+    /**
+     * Receives rows that could not be imported. May be called from worker threads.
+     */
+    @FunctionalInterface
+    interface ImportListener {
+        void onRowError(long line, String error);
+    }
+
+    /**
+     * Imports users from a lazily read source.
+     * Only a bounded number of rows is held in memory at any time; reading pauses
+     * while that many rows are waiting to be hashed or written.
+     *
+     * @param rows the rows, read on demand
+     * @param listener receives every rejected row
+     * @return the import summary
+     */
+    ImportSummary importUsers(Iterator<ImportRow> rows, ImportListener listener);
+}
@@ -1,13 +1,90 @@
 package com.miralles.spring_web.application.ports;
 
 import com.miralles.spring_web.domain.models.User;
+import com.miralles.spring_web.domain.models.UserField;
+import com.miralles.spring_web.domain.models.UserQuery;
+import com.miralles.spring_web.domain.models.UserStats;
+import com.miralles.spring_web.domain.models.UserTombstone;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Instant;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public interface UserService {
     User createUser(User user);
     User getUserById(Long id);
+
+    /**
+     * Loads several users at once, in the order of {@code ids}.
+     *
+     * @param ids the ids to load
+     * @return the users
+     * @throws com.miralles.spring_web.domain.exceptions.UserNotFoundException if any id is missing
+     */
+    List<User> getUsersByIds(List<Long> ids);
     List<User> getAllUsers();
     User updateUser(Long id, User user);
     void deleteUser(Long id);
     User getUserByEmail(String email);
+    List<User> getAllUsers(Set<UserField> fields);
+    User getUserByEmail(String email, Set<UserField> fields);
+
+    /**
+     * Lists the users matching a query.
+     *
+     * @param query the conditions the users must satisfy
+     * @param fields the fields to return, or an empty set for whole users
+     * @return the matching users
+     */
+    List<User> findUsers(UserQuery query, Set<UserField> fields);
+
+    /**
+     * Counts the users matching a query.
+     *
+     * @param query the conditions the users must satisfy
+     * @return the number of matching users
+     */
+    long countUsers(UserQuery query);
+
+    /**
+     * Returns the user statistics, maintained incrementally by the repository.
+     *
+     * @return totals, admins, users per email domain and per creation day
+     */
+    UserStats getUserStats();
+
+    /**
+     * Tells whether an email is free for a new user.
+     *
+     * @param email the email to check
+     * @return true if no user has this email
+     */
+    boolean isEmailAvailable(String email);
+
+    /**
+     * Streams users for exports; the caller must close the stream.
+     *
+     * @param modifiedSince only users updated at or after this instant; {@code null} for all users
+     * @return the matching users
+     */
+    Stream<User> streamUsers(@Nullable Instant modifiedSince);
+
+    /**
+     * Streams the deletions of an incremental export; the caller must close the stream.
+     *
+     * @param since only users deleted at or after this instant
+     * @return the matching tombstones
+     */
+    Stream<UserTombstone> streamDeletions(Instant since);
+
+    /**
+     * Finds users by part of their username or email.
+     *
+     * @param query the text to look for, ignoring case
+     * @param limit the maximum number of users
+     * @return the matching users, best match first
+     */
+    List<User> searchUsers(String query, int limit);
 }
\ No newline at end of file
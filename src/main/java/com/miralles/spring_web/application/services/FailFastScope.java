@@ -0,0 +1,145 @@
+package com.miralles.spring_web.application.services;
+
+import com.miralles.spring_web.domain.exceptions.DeadlineExceededException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Runs the sub-tasks of one operation on their own virtual threads, with the
+ * shutdown-on-failure semantics of {@code StructuredTaskScope}: the first failure
+ * cancels (interrupts) the sibling sub-tasks, and so does the deadline. Sub-tasks never
+ * outlive the scope: closing it cancels whatever is still running and waits for those
+ * threads to end, so a sub-task that is slow to react to its interrupt delays the close.
+ *
+ * Used as {@code try (var scope = new FailFastScope(...)) { fork...; scope.join(); }}.
+ */
+final class FailFastScope implements AutoCloseable {
+
+    private static final ThreadFactory THREADS = Thread.ofVirtual().name("user-service-", 1).factory();
+
+    private final String operation;
+    private final long deadlineNanos;
+    private final List<FutureTask<?>> subtasks = new CopyOnWriteArrayList<>();
+    private final List<Thread> threads = new CopyOnWriteArrayList<>();
+    // Starts at one for the owner, so the scope cannot finish before join() is called
+    private final AtomicInteger unfinished = new AtomicInteger(1);
+    private final CompletableFuture<Void> finished = new CompletableFuture<>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    FailFastScope(String operation, Duration deadline) {
+        this.operation = operation;
+        this.deadlineNanos = System.nanoTime() + deadline.toNanos();
+    }
+
+    /**
+     * Starts a sub-task on a new virtual thread.
+     *
+     * @return the result of the sub-task, readable after {@link #join()} returned
+     */
+    <T> Supplier<T> fork(Callable<T> task) {
+        FutureTask<T> subtask = new FutureTask<>(task) {
+            @Override
+            protected void done() {
+                if (!isCancelled()) {
+                    try {
+                        get();
+                    } catch (ExecutionException e) {
+                        fail(e.getCause());
+                    } catch (InterruptedException | CancellationException e) {
+                        // Completed, get() cannot block or be cancelled here
+                    }
+                }
+                if (unfinished.decrementAndGet() == 0) {
+                    finished.complete(null);
+                }
+            }
+        };
+        unfinished.incrementAndGet();
+        subtasks.add(subtask);
+        Thread thread = THREADS.newThread(subtask);
+        threads.add(thread);
+        thread.start();
+        return subtask::resultNow;
+    }
+
+    /**
+     * Waits until every sub-task succeeded, one failed, or the deadline passed.
+     * A failure is rethrown as is, so domain exceptions reach the caller unchanged.
+     */
+    void join() {
+        if (unfinished.decrementAndGet() == 0) {
+            finished.complete(null);
+        }
+        try {
+            finished.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            cancelAll();
+            throw new DeadlineExceededException(operation + " did not finish within its deadline");
+        } catch (InterruptedException e) {
+            cancelAll();
+            Thread.currentThread().interrupt();
+            throw new CancellationException(operation + " was interrupted");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
+        Throwable cause = failure.get();
+        if (cause instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        if (cause != null) {
+            throw new CompletionException(cause);
+        }
+    }
+
+    /**
+     * Cancels the sub-tasks still running and waits for their threads to end. An interrupt
+     * while waiting does not cut the wait short, it is kept for the caller.
+     */
+    @Override
+    public void close() {
+        cancelAll();
+        boolean interrupted = false;
+        for (Thread thread : threads) {
+            while (thread.isAlive()) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void fail(Throwable cause) {
+        if (failure.compareAndSet(null, cause)) {
+            cancelAll();
+            finished.complete(null);
+        }
+    }
+
+    private void cancelAll() {
+        for (FutureTask<?> subtask : subtasks) {
+            subtask.cancel(true);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.miralles.spring_web.application.services;
+
+import com.miralles.spring_web.application.ports.AuditAction;
+import com.miralles.spring_web.application.ports.AuditLog;
+import com.miralles.spring_web.application.ports.ReactiveUserService;
+import com.miralles.spring_web.domain.exceptions.ConflictException;
+import com.miralles.spring_web.domain.exceptions.UserNotFoundException;
+import com.miralles.spring_web.domain.models.User;
+import com.miralles.spring_web.domain.models.UserField;
+import com.miralles.spring_web.domain.models.UserQuery;
+import com.miralles.spring_web.domain.repositories.ReactiveUserRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.jspecify.annotations.Nullable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Reactive user service. Same rules as {@link UserServiceImpl}, but BCrypt (tens of
+ * milliseconds of CPU per hash) runs on the bounded password hashing scheduler so it
+ * never blocks an event loop thread.
+ *
+ * Writes are audited like in {@link UserServiceImpl}. The actor comes from the reactive
+ * security context, since no principal is bound to the thread that completes the write.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveUserServiceImpl implements ReactiveUserService {
+
+    private final ReactiveUserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final Scheduler passwordHashingScheduler;
+    private final AuditLog auditLog;
+
+    public ReactiveUserServiceImpl(ReactiveUserRepository userRepository, PasswordEncoder passwordEncoder,
+            @Qualifier("passwordHashingScheduler") Scheduler passwordHashingScheduler, AuditLog auditLog) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingScheduler = passwordHashingScheduler;
+        this.auditLog = auditLog;
+    }
+
+    @Override
+    public Mono<User> createUser(User user) {
+        return ensureEmailAvailable(user.getEmail(), null)
+                .then(encode(user.getPassword()))
+                .doOnNext(user::setPassword)
+                .then(Mono.defer(() -> userRepository.save(user)))
+                .flatMap(saved -> audit(AuditAction.USER_CREATED, saved.getId(), saved.getEmail()).thenReturn(saved));
+    }
+
+    @Override
+    public Mono<User> getUserById(Long id) {
+        return userRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> UserNotFoundException.byId(id)));
+    }
+
+    @Override
+    public Flux<User> getAllUsers() {
+        return userRepository.findAll();
+    }
+
+    @Override
+    public Mono<User> updateUser(Long id, User user) {
+        return getUserById(id)
+                .flatMap(existingUser -> ensureEmailAvailable(user.getEmail(), id)
+                        .then(encode(user.getPassword()).map(Optional::of).defaultIfEmpty(Optional.empty()))
+                        .flatMap(encodedPassword -> {
+                            // Changes go to a copy: the repository may hand out the instance it stores
+                            User updatedUser = new User(existingUser);
+                            updatedUser.setUsername(user.getUsername());
+                            updatedUser.setEmail(user.getEmail());
+                            updatedUser.setAdmin(user.isAdmin());
+                            encodedPassword.ifPresent(updatedUser::setPassword);
+                            return userRepository.save(updatedUser);
+                        }))
+                .flatMap(saved -> audit(AuditAction.USER_UPDATED, saved.getId(), saved.getEmail()).thenReturn(saved));
+    }
+
+    @Override
+    public Mono<Void> deleteUser(Long id) {
+        return userRepository.deleteById(id)
+                .then(audit(AuditAction.USER_DELETED, id, null));
+    }
+
+    @Override
+    public Mono<User> getUserByEmail(String email) {
+        return userRepository.findByEmail(email)
+                .switchIfEmpty(Mono.error(() -> UserNotFoundException.byEmail(email)));
+    }
+
+    @Override
+    public Flux<User> getAllUsers(Set<UserField> fields) {
+        return userRepository.findAll(fields);
+    }
+
+    @Override
+    public Mono<User> getUserByEmail(String email, Set<UserField> fields) {
+        return userRepository.findByEmail(email, fields)
+                .switchIfEmpty(Mono.error(() -> UserNotFoundException.byEmail(email)));
+    }
+
+    @Override
+    public Mono<Boolean> isEmailAvailable(String email) {
+        return userRepository.existsByEmail(email).map(exists -> !exists);
+    }
+
+    /**
+     * Publishes an audit event with the principal of the reactive security context as actor.
+     */
+    private Mono<Void> audit(AuditAction action, long userId, @Nullable String subject) {
+        return ReactiveSecurityContextHolder.getContext()
+                .mapNotNull(SecurityContext::getAuthentication)
+                .map(Authentication::getName)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .doOnNext(actor -> auditLog.publish(action, userId, actor.orElse(null), subject))
+                .then();
+    }
+
+    /**
+     * Hashes a password on the hashing scheduler; completes empty when there is no password.
+     */
+    private Mono<String> encode(String rawPassword) {
+        if (rawPassword == null || rawPassword.isEmpty()) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> passwordEncoder.encode(rawPassword))
+                .subscribeOn(passwordHashingScheduler);
+    }
+
+    /**
+     * Rejects an email that already belongs to another user.
+     */
+    private Mono<Void> ensureEmailAvailable(String email, Long ownerId) {
+        if (email == null) {
+            return Mono.empty();
+        }
+        // Every holder of the email, so the owner being one of them cannot hide another
+        return userRepository.findAll(UserQuery.of(new UserQuery.Equals(UserField.EMAIL, email)))
+                .filter(other -> !other.getId().equals(ownerId))
+                .next()
+                .flatMap(other -> Mono.<Void>error(ConflictException.emailTaken(email)))
+                .then();
+    }
+}
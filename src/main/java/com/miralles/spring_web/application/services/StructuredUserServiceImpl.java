@@ -0,0 +1,221 @@
+package com.miralles.spring_web.application.services;
+
+import com.miralles.spring_web.application.ports.AuditAction;
+import com.miralles.spring_web.application.ports.AuditLog;
+import com.miralles.spring_web.application.ports.UserService;
+import com.miralles.spring_web.domain.exceptions.ConflictException;
+import com.miralles.spring_web.domain.exceptions.UserNotFoundException;
+import com.miralles.spring_web.domain.models.User;
+import com.miralles.spring_web.domain.models.UserField;
+import com.miralles.spring_web.domain.models.UserQuery;
+import com.miralles.spring_web.domain.models.UserStats;
+import com.miralles.spring_web.domain.models.UserTombstone;
+import com.miralles.spring_web.domain.repositories.UserRepository;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * User service that runs the independent steps of composite operations concurrently, so
+ * their latency is that of the slowest step instead of the sum: creating a user checks the
+ * email while the password is hashed, updating also loads the user at the same time, and
+ * multi-id lookups fetch every id at once.
+ *
+ * Each operation runs in a {@link FailFastScope}: the first failure (a taken email, a
+ * missing user) cancels the other steps, and every operation must finish within
+ * {@code app.user-service.deadline}. Enable with {@code app.user-service.mode=structured}.
+ */
+@Service
+@ConditionalOnProperty(name = "app.user-service.mode", havingValue = "structured")
+public class StructuredUserServiceImpl implements UserService {
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final ExecutorService passwordHashingExecutor;
+    private final Duration deadline;
+    private final AuditLog auditLog;
+
+    public StructuredUserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder,
+            @Qualifier("passwordHashingExecutor") ExecutorService passwordHashingExecutor,
+            @Value("${app.user-service.deadline:5s}") Duration deadline,
+            AuditLog auditLog) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.deadline = deadline;
+        this.auditLog = auditLog;
+    }
+
+    @Override
+    public User createUser(User user) {
+        try (var scope = new FailFastScope("createUser", deadline)) {
+            scope.fork(() -> ensureEmailAvailable(user.getEmail(), null));
+            Supplier<String> encodedPassword = scope.fork(() -> encode(user.getPassword()));
+            scope.join();
+            if (encodedPassword.get() != null) {
+                user.setPassword(encodedPassword.get());
+            }
+            User saved = userRepository.save(user);
+            auditLog.publish(AuditAction.USER_CREATED, saved.getId(), saved.getEmail());
+            return saved;
+        }
+    }
+
+    @Override
+    public User getUserById(Long id) {
+        return userRepository.findById(id)
+                .orElseThrow(() -> UserNotFoundException.byId(id));
+    }
+
+    @Override
+    public List<User> getUsersByIds(List<Long> ids) {
+        try (var scope = new FailFastScope("getUsersByIds", deadline)) {
+            List<Supplier<User>> users = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                users.add(scope.fork(() -> getUserById(id)));
+            }
+            scope.join();
+            return users.stream().map(Supplier::get).toList();
+        }
+    }
+
+    @Override
+    public List<User> getAllUsers() {
+        return userRepository.findAll();
+    }
+
+    @Override
+    public User updateUser(Long id, User user) {
+        try (var scope = new FailFastScope("updateUser", deadline)) {
+            Supplier<User> existing = scope.fork(() -> getUserById(id));
+            scope.fork(() -> ensureEmailAvailable(user.getEmail(), id));
+            Supplier<String> encodedPassword = scope.fork(() -> encode(user.getPassword()));
+            scope.join();
+
+            // Changes go to a copy: the repository may hand out the instance it stores
+            User updatedUser = new User(existing.get());
+            updatedUser.setUsername(user.getUsername());
+            updatedUser.setEmail(user.getEmail());
+            updatedUser.setAdmin(user.isAdmin());
+            if (encodedPassword.get() != null) {
+                updatedUser.setPassword(encodedPassword.get());
+            }
+            User saved = userRepository.save(updatedUser);
+            auditLog.publish(AuditAction.USER_UPDATED, saved.getId(), saved.getEmail());
+            return saved;
+        }
+    }
+
+    @Override
+    public void deleteUser(Long id) {
+        userRepository.deleteById(id);
+        auditLog.publish(AuditAction.USER_DELETED, id, null);
+    }
+
+    @Override
+    public User getUserByEmail(String email) {
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> UserNotFoundException.byEmail(email));
+    }
+
+    @Override
+    public List<User> getAllUsers(Set<UserField> fields) {
+        return userRepository.findAll(fields);
+    }
+
+    @Override
+    public User getUserByEmail(String email, Set<UserField> fields) {
+        return userRepository.findByEmail(email, fields)
+                .orElseThrow(() -> UserNotFoundException.byEmail(email));
+    }
+
+    @Override
+    public Stream<User> streamUsers(@Nullable Instant modifiedSince) {
+        return userRepository.streamAll(modifiedSince);
+    }
+
+    @Override
+    public Stream<UserTombstone> streamDeletions(Instant since) {
+        return userRepository.streamDeletedSince(since);
+    }
+
+    @Override
+    public List<User> findUsers(UserQuery query, Set<UserField> fields) {
+        List<User> users = userRepository.findAll(query);
+        if (fields.isEmpty()) {
+            return users;
+        }
+        return users.stream().map(user -> UserField.project(user, fields)).toList();
+    }
+
+    @Override
+    public long countUsers(UserQuery query) {
+        return userRepository.count(query);
+    }
+
+    @Override
+    public UserStats getUserStats() {
+        return userRepository.stats();
+    }
+
+    @Override
+    public boolean isEmailAvailable(String email) {
+        return !userRepository.existsByEmail(email);
+    }
+
+    @Override
+    public List<User> searchUsers(String query, int limit) {
+        return userRepository.search(query, limit);
+    }
+
+    /**
+     * Hashes a password on the bounded hashing pool, or returns null when there is none.
+     * If the operation is cancelled meanwhile, the queued hash is cancelled too.
+     */
+    private @Nullable String encode(String rawPassword) throws InterruptedException {
+        if (rawPassword == null || rawPassword.isEmpty()) {
+            return null;
+        }
+        Future<String> hash = passwordHashingExecutor.submit(() -> passwordEncoder.encode(rawPassword));
+        try {
+            return hash.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        } finally {
+            hash.cancel(true);
+        }
+    }
+
+    /**
+     * Rejects an email that already belongs to another user. Every holder of the email is
+     * looked at, so the owner being one of them cannot hide another.
+     */
+    private Void ensureEmailAvailable(String email, Long ownerId) {
+        if (email == null) {
+            return null;
+        }
+        boolean taken = userRepository.findAll(UserQuery.of(new UserQuery.Equals(UserField.EMAIL, email))).stream()
+                .anyMatch(other -> !other.getId().equals(ownerId));
+        if (taken) {
+            throw ConflictException.emailTaken(email);
+        }
+        return null;
+    }
+}
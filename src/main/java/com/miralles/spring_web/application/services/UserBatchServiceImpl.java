@@ -0,0 +1,352 @@
+package com.miralles.spring_web.application.services;
+
+import com.miralles.spring_web.application.ports.AuditAction;
+import com.miralles.spring_web.application.ports.AuditLog;
+import com.miralles.spring_web.application.ports.BatchItemResult;
+import com.miralles.spring_web.application.ports.BatchItemResult.Outcome;
+import com.miralles.spring_web.application.ports.BatchOperation;
+import com.miralles.spring_web.application.ports.UserBatchService;
+import com.miralles.spring_web.domain.exceptions.ConflictException;
+import com.miralles.spring_web.domain.exceptions.DeadlineExceededException;
+import com.miralles.spring_web.domain.exceptions.DomainException;
+import com.miralles.spring_web.domain.exceptions.StoreUnavailableException;
+import com.miralles.spring_web.domain.exceptions.UserNotFoundException;
+import com.miralles.spring_web.domain.models.User;
+import com.miralles.spring_web.domain.models.UserField;
+import com.miralles.spring_web.domain.models.UserQuery;
+import com.miralles.spring_web.domain.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Executes mixed user batches.
+ * Passwords of the whole batch are hashed in parallel up front, so the BCrypt cost of a
+ * batch is bounded by the hashing pool instead of the sum of its operations.
+ * Like their single-user counterparts, writes may not take an email another user holds
+ * (ignoring case) and are audited once stored.
+ */
+@Service
+public class UserBatchServiceImpl implements UserBatchService {
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final ExecutorService passwordHashingExecutor;
+    private final AuditLog auditLog;
+
+    public UserBatchServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder,
+            @Qualifier("passwordHashingExecutor") ExecutorService passwordHashingExecutor, AuditLog auditLog) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.auditLog = auditLog;
+    }
+
+    @Override
+    public List<BatchItemResult> execute(List<BatchOperation> operations, boolean atomic) {
+        List<CompletableFuture<String>> hashes = hashPasswords(operations);
+        return atomic ? executeAtomically(operations, hashes) : executeEach(operations, hashes);
+    }
+
+    private List<CompletableFuture<String>> hashPasswords(List<BatchOperation> operations) {
+        List<CompletableFuture<String>> hashes = new ArrayList<>(operations.size());
+        for (BatchOperation operation : operations) {
+            String password = passwordOf(operation);
+            hashes.add(password == null ? null
+                    : CompletableFuture.supplyAsync(() -> passwordEncoder.encode(password), passwordHashingExecutor));
+        }
+        return hashes;
+    }
+
+    private List<BatchItemResult> executeEach(List<BatchOperation> operations, List<CompletableFuture<String>> hashes) {
+        List<BatchItemResult> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            try {
+                BatchItemResult result = executeOne(operations.get(i), hashes.get(i));
+                audit(operations.get(i), result);
+                results.add(result);
+            } catch (DomainException e) {
+                results.add(BatchItemResult.failure(outcomeOf(e), e.getMessage()));
+            } catch (RuntimeException e) {
+                results.add(BatchItemResult.failure(Outcome.FAILED, messageOf(e)));
+            }
+        }
+        return results;
+    }
+
+    private BatchItemResult executeOne(BatchOperation operation, CompletableFuture<String> hash) {
+        if (isInvalid(operation)) {
+            return BatchItemResult.failure(Outcome.INVALID, "Missing user data or id");
+        }
+        return switch (operation.type()) {
+            case CREATE -> {
+                ensureEmailAvailable(operation.user().getEmail(), null);
+                yield BatchItemResult.success(Outcome.CREATED, userRepository.save(newUser(operation.user(), hash)));
+            }
+            case UPDATE -> userRepository.findById(operation.id())
+                    .map(existing -> {
+                        ensureEmailAvailable(operation.user().getEmail(), operation.id());
+                        // Changes go to a copy: the repository may hand out the instance it stores
+                        return BatchItemResult.success(Outcome.OK,
+                                userRepository.save(merge(new User(existing), operation.user(), hash)));
+                    })
+                    .orElseGet(() -> notFound(operation.id()));
+            case DELETE -> {
+                userRepository.deleteById(operation.id());
+                yield BatchItemResult.success(Outcome.DELETED, null);
+            }
+            case GET -> userRepository.findById(operation.id())
+                    .map(user -> BatchItemResult.success(Outcome.OK, user))
+                    .orElseGet(() -> notFound(operation.id()));
+        };
+    }
+
+    /**
+     * Stages every operation against a private view of the affected users and
+     * writes them with one repository batch. Nothing is written if any operation fails.
+     */
+    private List<BatchItemResult> executeAtomically(List<BatchOperation> operations,
+            List<CompletableFuture<String>> hashes) {
+        int size = operations.size();
+        Outcome[] outcomes = new Outcome[size];
+        User[] users = new User[size];
+        List<User> creates = new ArrayList<>();
+        Map<Long, User> staged = new HashMap<>();
+        Set<Long> deleted = new LinkedHashSet<>();
+        Map<String, Object> claimedEmails = new HashMap<>();
+
+        for (int i = 0; i < size; i++) {
+            BatchOperation operation = operations.get(i);
+            BatchItemResult failure;
+            try {
+                failure = stage(operation, hashes.get(i), creates, staged, deleted, claimedEmails, outcomes, users, i);
+            } catch (DomainException e) {
+                failure = BatchItemResult.failure(outcomeOf(e), e.getMessage());
+            } catch (RuntimeException e) {
+                failure = BatchItemResult.failure(Outcome.FAILED, messageOf(e));
+            }
+            if (failure != null) {
+                return abort(size, i, failure, hashes);
+            }
+        }
+
+        List<User> saves = new ArrayList<>(creates);
+        saves.addAll(staged.values());
+        List<User> saved = userRepository.writeBatch(saves, new ArrayList<>(deleted));
+
+        Map<User, User> savedByStaged = new IdentityHashMap<>();
+        for (int i = 0; i < saves.size(); i++) {
+            savedByStaged.put(saves.get(i), saved.get(i));
+        }
+        List<BatchItemResult> results = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            User user = users[i] == null ? null : savedByStaged.getOrDefault(users[i], users[i]);
+            BatchItemResult result = BatchItemResult.success(outcomes[i], user);
+            audit(operations.get(i), result);
+            results.add(result);
+        }
+        return results;
+    }
+
+    private void audit(BatchOperation operation, BatchItemResult result) {
+        switch (result.outcome()) {
+            case CREATED -> auditLog.publish(AuditAction.USER_CREATED, result.user().getId(), result.user().getEmail());
+            case DELETED -> auditLog.publish(AuditAction.USER_DELETED, operation.id(), null);
+            case OK -> {
+                if (operation.type() == BatchOperation.Type.UPDATE) {
+                    auditLog.publish(AuditAction.USER_UPDATED, result.user().getId(), result.user().getEmail());
+                }
+            }
+            default -> {
+                // Nothing was written
+            }
+        }
+    }
+
+    private BatchItemResult stage(BatchOperation operation, CompletableFuture<String> hash, List<User> creates,
+            Map<Long, User> staged, Set<Long> deleted, Map<String, Object> claimedEmails, Outcome[] outcomes,
+            User[] users, int index) {
+        if (isInvalid(operation)) {
+            return BatchItemResult.failure(Outcome.INVALID, "Missing user data or id");
+        }
+        switch (operation.type()) {
+            case CREATE -> {
+                // A created user has no id yet, the (Integer) position of its operation stands for it
+                claimEmail(operation.user().getEmail(), index, staged, deleted, claimedEmails);
+                User user = newUser(operation.user(), hash);
+                creates.add(user);
+                users[index] = user;
+                outcomes[index] = Outcome.CREATED;
+            }
+            case UPDATE -> {
+                User current = lookup(operation.id(), staged, deleted);
+                if (current == null) {
+                    return notFound(operation.id());
+                }
+                claimEmail(operation.user().getEmail(), operation.id(), staged, deleted, claimedEmails);
+                // Work on a copy so live repository objects stay untouched until the batch commits
+                User copy = staged.containsKey(operation.id()) ? current : copyOf(current);
+                merge(copy, operation.user(), hash);
+                staged.put(operation.id(), copy);
+                users[index] = copy;
+                outcomes[index] = Outcome.OK;
+            }
+            case DELETE -> {
+                staged.remove(operation.id());
+                deleted.add(operation.id());
+                claimedEmails.values().remove(operation.id());
+                outcomes[index] = Outcome.DELETED;
+            }
+            case GET -> {
+                User current = lookup(operation.id(), staged, deleted);
+                if (current == null) {
+                    return notFound(operation.id());
+                }
+                users[index] = current;
+                outcomes[index] = Outcome.OK;
+            }
+        }
+        return null;
+    }
+
+    private void ensureEmailAvailable(String email, Long ownerId) {
+        if (email == null) {
+            return;
+        }
+        // Every holder of the email, so the owner being one of them cannot hide another
+        boolean taken = holdersOf(email).stream().anyMatch(other -> !other.getId().equals(ownerId));
+        if (taken) {
+            throw ConflictException.emailTaken(email);
+        }
+    }
+
+    /**
+     * The email check of an all-or-nothing batch: stored holders count unless the batch deletes
+     * them or moves them to another email, and earlier operations of the batch hold the emails
+     * they set.
+     *
+     * @param owner the (Long) id of the updated user, or the (Integer) position of the operation creating one
+     */
+    private void claimEmail(String email, Object owner, Map<Long, User> staged, Set<Long> deleted,
+            Map<String, Object> claimedEmails) {
+        claimedEmails.values().remove(owner);
+        if (email == null) {
+            return;
+        }
+        String key = email.toLowerCase(Locale.ROOT);
+        Object claimant = claimedEmails.get(key);
+        boolean taken = claimant != null && !claimant.equals(owner);
+        for (User holder : holdersOf(email)) {
+            if (taken) {
+                break;
+            }
+            User stagedHolder = staged.get(holder.getId());
+            taken = !holder.getId().equals(owner) && !deleted.contains(holder.getId())
+                    && (stagedHolder == null || email.equalsIgnoreCase(stagedHolder.getEmail()));
+        }
+        if (taken) {
+            throw ConflictException.emailTaken(email);
+        }
+        claimedEmails.put(key, owner);
+    }
+
+    private List<User> holdersOf(String email) {
+        return userRepository.findAll(UserQuery.of(new UserQuery.Equals(UserField.EMAIL, email)));
+    }
+
+    private User lookup(Long id, Map<Long, User> staged, Set<Long> deleted) {
+        if (deleted.contains(id)) {
+            return null;
+        }
+        User user = staged.get(id);
+        return user != null ? user : userRepository.findById(id).orElse(null);
+    }
+
+    private static List<BatchItemResult> abort(int size, int failedIndex, BatchItemResult failure,
+            List<CompletableFuture<String>> hashes) {
+        for (CompletableFuture<String> hash : hashes) {
+            if (hash != null) {
+                hash.cancel(false);
+            }
+        }
+        List<BatchItemResult> results = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            results.add(i == failedIndex ? failure
+                    : BatchItemResult.failure(Outcome.ABORTED, "Batch aborted by operation " + failedIndex));
+        }
+        return results;
+    }
+
+    private static User newUser(User source, CompletableFuture<String> hash) {
+        User user = new User(null, source.getUsername(), source.getEmail(), null, source.isAdmin());
+        if (hash != null) {
+            user.setPassword(hash.join());
+        }
+        return user;
+    }
+
+    private static User merge(User target, User source, CompletableFuture<String> hash) {
+        target.setUsername(source.getUsername());
+        target.setEmail(source.getEmail());
+        target.setAdmin(source.isAdmin());
+        if (hash != null) {
+            target.setPassword(hash.join());
+        }
+        return target;
+    }
+
+    private static User copyOf(User user) {
+        return new User(user.getId(), user.getUsername(), user.getEmail(), user.getPassword(), user.isAdmin());
+    }
+
+    private static boolean isInvalid(BatchOperation operation) {
+        return switch (operation.type()) {
+            case CREATE -> operation.user() == null;
+            case UPDATE -> operation.id() == null || operation.user() == null;
+            case DELETE, GET -> operation.id() == null;
+        };
+    }
+
+    private static String passwordOf(BatchOperation operation) {
+        boolean writes = operation.type() == BatchOperation.Type.CREATE || operation.type() == BatchOperation.Type.UPDATE;
+        if (!writes || operation.user() == null) {
+            return null;
+        }
+        String password = operation.user().getPassword();
+        return password == null || password.isEmpty() ? null : password;
+    }
+
+    private static BatchItemResult notFound(Long id) {
+        return BatchItemResult.failure(Outcome.NOT_FOUND, "User not found with id: " + id);
+    }
+
+    /**
+     * Maps a domain exception to the outcome its single-user endpoint would answer with.
+     */
+    private static Outcome outcomeOf(DomainException e) {
+        return switch (e) {
+            case ConflictException conflict -> Outcome.CONFLICT;
+            case UserNotFoundException notFound -> Outcome.NOT_FOUND;
+            case StoreUnavailableException unavailable -> Outcome.UNAVAILABLE;
+            case DeadlineExceededException deadline -> Outcome.UNAVAILABLE;
+            default -> Outcome.INVALID;
+        };
+    }
+
+    private static String messageOf(RuntimeException e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,218 @@
+package com.miralles.spring_web.application.services;
+
+import com.miralles.spring_web.application.ports.AuditAction;
+import com.miralles.spring_web.application.ports.AuditLog;
+import com.miralles.spring_web.application.ports.ImportRow;
+import com.miralles.spring_web.application.ports.ImportSummary;
+import com.miralles.spring_web.application.ports.UserImportService;
+import com.miralles.spring_web.domain.exceptions.ConflictException;
+import com.miralles.spring_web.domain.models.User;
+import com.miralles.spring_web.domain.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streaming bulk import.
+ * The caller's thread reads rows and hands them to the hashing pool; hashed users are
+ * collected into batches and written with {@link UserRepository#writeBatch}. A semaphore
+ * caps the rows that are hashing or waiting for their batch, which is what bounds memory
+ * and pushes back on the reader.
+ *
+ * A row whose email is already stored or used by an earlier row (ignoring case) is rejected
+ * before it is hashed. Every imported user is audited as created, with the importing
+ * principal as the actor on whichever thread writes its batch.
+ *
+ * An import that stops early (interrupted, or an exception from the rows or the listener)
+ * lets the hashing tasks it started drain without writing anything more, and only then
+ * returns with the interrupt flag set, or rethrows.
+ */
+@Service
+public class UserImportServiceImpl implements UserImportService {
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final ExecutorService passwordHashingExecutor;
+    private final int batchSize;
+    private final int maxInFlight;
+    private final AuditLog auditLog;
+
+    public UserImportServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder,
+            @Qualifier("passwordHashingExecutor") ExecutorService passwordHashingExecutor,
+            @Value("${app.import.batch-size:500}") int batchSize,
+            @Value("${app.import.max-in-flight:2000}") int maxInFlight,
+            AuditLog auditLog) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.auditLog = auditLog;
+        // Each in-flight row is a Phaser party, which caps the bound below 65535
+        this.maxInFlight = Math.max(1, Math.min(maxInFlight, 65_534));
+        // A batch can never wait for more rows than are allowed in flight
+        this.batchSize = Math.max(1, Math.min(batchSize, this.maxInFlight));
+    }
+
+    @Override
+    public ImportSummary importUsers(Iterator<ImportRow> rows, ImportListener listener) {
+        long start = System.nanoTime();
+        Run run = new Run(listener);
+        boolean finished = false;
+        boolean interrupted = false;
+        try {
+            while (rows.hasNext()) {
+                ImportRow row = rows.next();
+                run.rows.incrementAndGet();
+                if (row.error() != null) {
+                    run.reject(row.line(), row.error());
+                    continue;
+                }
+                run.permits.acquire();
+                run.workers.register();
+                try {
+                    passwordHashingExecutor.execute(
+                            new DelegatingSecurityContextRunnable(() -> run.hashAndStage(row), run.securityContext));
+                } catch (RejectedExecutionException e) {
+                    run.workers.arriveAndDeregister();
+                    run.permits.release();
+                    run.reject(row.line(), "Import is shutting down");
+                }
+            }
+            finished = true;
+        } catch (InterruptedException e) {
+            interrupted = true;
+        } finally {
+            // On an early exit, tasks still queued skip their row. The wait does not respond to
+            // interrupts, so no task outlives this call or reports to the listener after it
+            run.cancelled = !finished;
+            run.workers.arriveAndAwaitAdvance();
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (finished) {
+            // Every hashing task (and the batches they wrote) is done, write what is left
+            run.flush();
+        }
+        return new ImportSummary(run.rows.get(), run.imported.get(), run.failed.get(),
+                Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * State of a single import.
+     */
+    private final class Run {
+
+        private final ImportListener listener;
+        private final Semaphore permits = new Semaphore(maxInFlight);
+        private final Phaser workers = new Phaser(1);
+        private final AtomicLong rows = new AtomicLong();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final Object batchLock = new Object();
+        private List<ImportRow> batch = new ArrayList<>(batchSize);
+        private final Set<String> claimedEmails = ConcurrentHashMap.newKeySet();
+        private final SecurityContext securityContext = SecurityContextHolder.getContext();
+        private volatile boolean cancelled;
+
+        private Run(ImportListener listener) {
+            this.listener = listener;
+        }
+
+        private void hashAndStage(ImportRow row) {
+            try {
+                List<ImportRow> full = null;
+                boolean staged = false;
+                try {
+                    if (cancelled) {
+                        return;
+                    }
+                    User user = row.user();
+                    String email = user.getEmail();
+                    if (email != null && (!claimedEmails.add(email.toLowerCase(Locale.ROOT))
+                            || userRepository.existsByEmail(email))) {
+                        throw ConflictException.emailTaken(email);
+                    }
+                    if (user.getPassword() != null && !user.getPassword().isEmpty()) {
+                        user.setPassword(passwordEncoder.encode(user.getPassword()));
+                    }
+                    synchronized (batchLock) {
+                        batch.add(row);
+                        staged = true;
+                        if (batch.size() >= batchSize) {
+                            full = batch;
+                            batch = new ArrayList<>(batchSize);
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    reject(row.line(), e.getMessage());
+                } finally {
+                    // A staged row keeps its permit until its batch is written
+                    if (!staged) {
+                        permits.release();
+                    }
+                }
+                if (full != null) {
+                    write(full);
+                }
+            } finally {
+                workers.arriveAndDeregister();
+            }
+        }
+
+        private void flush() {
+            List<ImportRow> remaining;
+            synchronized (batchLock) {
+                remaining = batch;
+                batch = new ArrayList<>(0);
+            }
+            if (!remaining.isEmpty()) {
+                write(remaining);
+            }
+        }
+
+        private void write(List<ImportRow> rowsToWrite) {
+            try {
+                if (cancelled) {
+                    return;
+                }
+                List<User> users = new ArrayList<>(rowsToWrite.size());
+                for (ImportRow row : rowsToWrite) {
+                    users.add(row.user());
+                }
+                List<User> saved = userRepository.writeBatch(users, List.of());
+                imported.addAndGet(saved.size());
+                for (User user : saved) {
+                    auditLog.publish(AuditAction.USER_CREATED, user.getId(), user.getEmail());
+                }
+            } catch (RuntimeException e) {
+                for (ImportRow row : rowsToWrite) {
+                    reject(row.line(), "Batch write failed: " + e.getMessage());
+                }
+            } finally {
+                permits.release(rowsToWrite.size());
+            }
+        }
+
+        private void reject(long line, String error) {
+            failed.incrementAndGet();
+            listener.onRowError(line, error);
+        }
+    }
+}
@@ -1,37 +1,67 @@
 package com.miralles.spring_web.application.services;
 
+import com.miralles.spring_web.application.ports.AuditAction;
+import com.miralles.spring_web.application.ports.AuditLog;
 import com.miralles.spring_web.application.ports.UserService;
+import com.miralles.spring_web.domain.exceptions.ConflictException;
+import com.miralles.spring_web.domain.exceptions.UserNotFoundException;
 import com.miralles.spring_web.domain.models.User;
+import com.miralles.spring_web.domain.models.UserField;
+import com.miralles.spring_web.domain.models.UserQuery;
+import com.miralles.spring_web.domain.models.UserStats;
+import com.miralles.spring_web.domain.models.UserTombstone;
 import com.miralles.spring_web.domain.repositories.UserRepository;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
+/**
+ * Default user service, running the steps of each operation one after another.
+ * {@link StructuredUserServiceImpl} replaces it with {@code app.user-service.mode=structured}.
+ */
 @Service
+@ConditionalOnProperty(name = "app.user-service.mode", havingValue = "sequential", matchIfMissing = true)
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final AuditLog auditLog;
 
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder, AuditLog auditLog) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.auditLog = auditLog;
     }
 
     @Override
     public User createUser(User user) {
+        ensureEmailAvailable(user.getEmail(), null);
         // Encode password before saving
         if (user.getPassword() != null && !user.getPassword().isEmpty()) {
             user.setPassword(passwordEncoder.encode(user.getPassword()));
         }
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        auditLog.publish(AuditAction.USER_CREATED, saved.getId(), saved.getEmail());
+        return saved;
     }
 
     @Override
     public User getUserById(Long id) {
         return userRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+                .orElseThrow(() -> UserNotFoundException.byId(id));
+    }
+
+    @Override
+    public List<User> getUsersByIds(List<Long> ids) {
+        return ids.stream()
+                .map(this::getUserById)
+                .toList();
     }
 
     @Override
@@ -42,25 +72,97 @@ public class UserServiceImpl implements UserService {
     @Override
     public User updateUser(Long id, User user) {
         User existingUser = getUserById(id);
-        existingUser.setUsername(user.getUsername());
-        existingUser.setEmail(user.getEmail());
-        
+        ensureEmailAvailable(user.getEmail(), id);
+        // Changes go to a copy: the repository may hand out the instance it stores
+        User updatedUser = new User(existingUser);
+        updatedUser.setUsername(user.getUsername());
+        updatedUser.setEmail(user.getEmail());
+        updatedUser.setAdmin(user.isAdmin());
+
         // Update password if provided
         if (user.getPassword() != null && !user.getPassword().isEmpty()) {
-            existingUser.setPassword(passwordEncoder.encode(user.getPassword()));
+            updatedUser.setPassword(passwordEncoder.encode(user.getPassword()));
         }
-        
-        return userRepository.save(existingUser);
+
+        User saved = userRepository.save(updatedUser);
+        auditLog.publish(AuditAction.USER_UPDATED, saved.getId(), saved.getEmail());
+        return saved;
     }
 
     @Override
     public void deleteUser(Long id) {
         userRepository.deleteById(id);
+        auditLog.publish(AuditAction.USER_DELETED, id, null);
     }
 
     @Override
     public User getUserByEmail(String email) {
         return userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found with email: " + email));
+                .orElseThrow(() -> UserNotFoundException.byEmail(email));
+    }
+
+    @Override
+    public List<User> getAllUsers(Set<UserField> fields) {
+        return userRepository.findAll(fields);
+    }
+
+    @Override
+    public User getUserByEmail(String email, Set<UserField> fields) {
+        return userRepository.findByEmail(email, fields)
+                .orElseThrow(() -> UserNotFoundException.byEmail(email));
+    }
+
+    @Override
+    public Stream<User> streamUsers(@Nullable Instant modifiedSince) {
+        return userRepository.streamAll(modifiedSince);
+    }
+
+    @Override
+    public Stream<UserTombstone> streamDeletions(Instant since) {
+        return userRepository.streamDeletedSince(since);
+    }
+
+    @Override
+    public List<User> findUsers(UserQuery query, Set<UserField> fields) {
+        List<User> users = userRepository.findAll(query);
+        if (fields.isEmpty()) {
+            return users;
+        }
+        return users.stream().map(user -> UserField.project(user, fields)).toList();
+    }
+
+    @Override
+    public long countUsers(UserQuery query) {
+        return userRepository.count(query);
+    }
+
+    @Override
+    public UserStats getUserStats() {
+        return userRepository.stats();
+    }
+
+    @Override
+    public boolean isEmailAvailable(String email) {
+        return !userRepository.existsByEmail(email);
+    }
+
+    @Override
+    public List<User> searchUsers(String query, int limit) {
+        return userRepository.search(query, limit);
+    }
+
+    /**
+     * Rejects an email that already belongs to another user. Every holder of the email is
+     * looked at, so the owner being one of them cannot hide another.
+     */
+    private void ensureEmailAvailable(String email, Long ownerId) {
+        if (email == null) {
+            return;
+        }
+        boolean taken = userRepository.findAll(UserQuery.of(new UserQuery.Equals(UserField.EMAIL, email))).stream()
+                .anyMatch(other -> !other.getId().equals(ownerId));
+        if (taken) {
+            throw ConflictException.emailTaken(email);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,15 @@
+package com.miralles.spring_web.domain.exceptions;
+
+/**
+ * Thrown when a write would break a uniqueness rule, such as two users sharing an email.
+ */
+public class ConflictException extends DomainException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+
+    public static ConflictException emailTaken(String email) {
+        return new ConflictException("Email already in use: " + email);
+    }
+}
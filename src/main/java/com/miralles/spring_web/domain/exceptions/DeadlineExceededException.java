@@ -0,0 +1,11 @@
+package com.miralles.spring_web.domain.exceptions;
+
+/**
+ * Thrown when an operation did not finish within its deadline; its unfinished steps were cancelled.
+ */
+public class DeadlineExceededException extends DomainException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
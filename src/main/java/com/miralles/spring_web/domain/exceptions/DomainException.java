@@ -0,0 +1,14 @@
+package com.miralles.spring_web.domain.exceptions;
+
+/**
+ * Base class for expected business failures (unknown user, wrong password, duplicate email).
+ *
+ * These are control flow rather than bugs, so they skip {@code fillInStackTrace} and
+ * suppression tracking: creating one costs about as much as creating its message.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+}
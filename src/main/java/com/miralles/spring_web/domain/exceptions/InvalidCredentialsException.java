@@ -0,0 +1,11 @@
+package com.miralles.spring_web.domain.exceptions;
+
+/**
+ * Thrown when a login fails. The message never says whether the email or the password was wrong.
+ */
+public class InvalidCredentialsException extends DomainException {
+
+    public InvalidCredentialsException() {
+        super("Invalid credentials");
+    }
+}
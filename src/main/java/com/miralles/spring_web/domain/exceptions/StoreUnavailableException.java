@@ -0,0 +1,32 @@
+package com.miralles.spring_web.domain.exceptions;
+
+import com.miralles.spring_web.domain.models.User;
+
+import java.util.List;
+
+/**
+ * Thrown when the user store cannot be reached and no recent enough copy of the data is at hand.
+ *
+ * A multi-id lookup that could only partly be answered from recent copies carries those users
+ * in {@link #getAvailable()}, so a caller that batched unrelated lookups can still serve them.
+ */
+public class StoreUnavailableException extends DomainException {
+
+    private final List<User> available;
+
+    public StoreUnavailableException(String message) {
+        this(message, List.of());
+    }
+
+    public StoreUnavailableException(String message, List<User> available) {
+        super(message);
+        this.available = List.copyOf(available);
+    }
+
+    /**
+     * @return the users of a multi-id lookup that could be served anyway, empty for other lookups
+     */
+    public List<User> getAvailable() {
+        return available;
+    }
+}
@@ -0,0 +1,19 @@
+package com.miralles.spring_web.domain.exceptions;
+
+/**
+ * Thrown when a user looked up by id or email does not exist.
+ */
+public class UserNotFoundException extends DomainException {
+
+    public UserNotFoundException(String message) {
+        super(message);
+    }
+
+    public static UserNotFoundException byId(Long id) {
+        return new UserNotFoundException("User not found with id: " + id);
+    }
+
+    public static UserNotFoundException byEmail(String email) {
+        return new UserNotFoundException("User not found with email: " + email);
+    }
+}
@@ -0,0 +1,16 @@
+package com.miralles.spring_web.domain.factories;
+
+/**
+ * Source of ids for new users.
+ * Implementations must be thread safe and never return the same id twice.
+ */
+@FunctionalInterface
+public interface IdAllocator {
+
+    /**
+     * Allocates the next id.
+     *
+     * @return a positive id not handed out before
+     */
+    long nextId();
+}
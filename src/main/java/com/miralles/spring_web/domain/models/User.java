@@ -1,5 +1,6 @@
 package com.miralles.spring_web.domain.models;
 
+import java.time.Instant;
 import java.util.Objects;
 
 public class User {
@@ -8,6 +9,8 @@ public class User {
     private String email;
     private String password;
     private boolean isAdmin = false; // Admin flag - false by default
+    private Instant createdAt; // Set by the repository on first save
+    private Instant updatedAt; // Set by the repository on every save
 
     public User() {
     }
@@ -33,6 +36,20 @@ public class User {
         this.isAdmin = isAdmin;
     }
 
+    /**
+     * Copies every field, so a stored user can be changed without touching the instance a
+     * repository may still be holding.
+     */
+    public User(User other) {
+        this.id = other.id;
+        this.username = other.username;
+        this.email = other.email;
+        this.password = other.password;
+        this.isAdmin = other.isAdmin;
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -74,6 +91,22 @@ public class User {
         isAdmin = admin;
     }
 
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
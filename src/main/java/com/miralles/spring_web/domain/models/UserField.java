@@ -0,0 +1,78 @@
+package com.miralles.spring_web.domain.models;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Readable fields of a {@link User} that can be requested as a projection.
+ * The password is intentionally not part of this enum, so it can never be projected.
+ */
+public enum UserField {
+    ID("id"),
+    USERNAME("username"),
+    EMAIL("email");
+
+    private final String fieldName;
+
+    UserField(String fieldName) {
+        this.fieldName = fieldName;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    /**
+     * Parses a comma separated list of field names (e.g. {@code "id,email"}).
+     *
+     * @param fields the comma separated field names, may be null or blank
+     * @return the requested fields, or an empty set if none were requested
+     * @throws IllegalArgumentException if an unknown field name is given
+     */
+    public static Set<UserField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return Collections.emptySet();
+        }
+        Set<UserField> result = EnumSet.noneOf(UserField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim().toLowerCase(Locale.ROOT);
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            result.add(fromFieldName(trimmed));
+        }
+        return result;
+    }
+
+    private static UserField fromFieldName(String fieldName) {
+        for (UserField field : values()) {
+            if (field.fieldName.equals(fieldName)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown user field: " + fieldName);
+    }
+
+    /**
+     * Copies only the requested fields of a user into a new instance.
+     *
+     * @param source the user to copy from
+     * @param fields the fields to keep
+     * @return a new User holding only the requested fields
+     */
+    public static User project(User source, Set<UserField> fields) {
+        User projected = new User();
+        if (fields.contains(ID)) {
+            projected.setId(source.getId());
+        }
+        if (fields.contains(USERNAME)) {
+            projected.setUsername(source.getUsername());
+        }
+        if (fields.contains(EMAIL)) {
+            projected.setEmail(source.getEmail());
+        }
+        return projected;
+    }
+}
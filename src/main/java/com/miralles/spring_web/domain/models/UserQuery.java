@@ -0,0 +1,124 @@
+package com.miralles.spring_web.domain.models;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Filter on users: a conjunction of simple conditions, each repository evaluates it natively.
+ * A query without conditions matches every user.
+ *
+ * @param conditions the conditions a user must all satisfy
+ */
+public record UserQuery(List<Condition> conditions) {
+
+    public static final UserQuery ALL = new UserQuery(List.of());
+
+    public UserQuery {
+        conditions = List.copyOf(conditions);
+    }
+
+    public static UserQuery of(Condition... conditions) {
+        return new UserQuery(List.of(conditions));
+    }
+
+    public boolean isEmpty() {
+        return conditions.isEmpty();
+    }
+
+    /**
+     * Evaluates the query against one user.
+     */
+    public boolean matches(User user) {
+        for (Condition condition : conditions) {
+            if (!condition.matches(user)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * One condition on a user.
+     */
+    public sealed interface Condition permits Equals, Prefix, EmailDomain, Admin {
+
+        boolean matches(User user);
+    }
+
+    /**
+     * The username or email is {@code value}, ignoring case like the default collation of the
+     * database, so every repository returns the same users.
+     */
+    public record Equals(UserField field, String value) implements Condition {
+
+        public Equals {
+            requireText(field);
+            Objects.requireNonNull(value, "value");
+        }
+
+        @Override
+        public boolean matches(User user) {
+            return value.equalsIgnoreCase(text(user, field));
+        }
+    }
+
+    /**
+     * The username or email starts with {@code prefix}, ignoring case.
+     */
+    public record Prefix(UserField field, String prefix) implements Condition {
+
+        public Prefix {
+            requireText(field);
+            prefix = prefix.toLowerCase(Locale.ROOT);
+        }
+
+        @Override
+        public boolean matches(User user) {
+            String text = text(user, field);
+            return text != null && text.regionMatches(true, 0, prefix, 0, prefix.length());
+        }
+    }
+
+    /**
+     * The email belongs to {@code domain}, ignoring case.
+     */
+    public record EmailDomain(String domain) implements Condition {
+
+        public EmailDomain {
+            domain = domain.toLowerCase(Locale.ROOT);
+        }
+
+        @Override
+        public boolean matches(User user) {
+            String email = user.getEmail();
+            if (email == null) {
+                return false;
+            }
+            int at = email.lastIndexOf('@');
+            return at >= 0 && email.length() - at - 1 == domain.length()
+                    && email.regionMatches(true, at + 1, domain, 0, domain.length());
+        }
+    }
+
+    /**
+     * The user is, or is not, an admin.
+     */
+    public record Admin(boolean admin) implements Condition {
+
+        @Override
+        public boolean matches(User user) {
+            return user.isAdmin() == admin;
+        }
+    }
+
+    private static void requireText(UserField field) {
+        if (field != UserField.USERNAME && field != UserField.EMAIL) {
+            throw new IllegalArgumentException("Only username and email can be compared as text: " + field);
+        }
+    }
+
+    private static String text(User user, UserField field) {
+        return field == UserField.USERNAME ? user.getUsername() : user.getEmail();
+    }
+}
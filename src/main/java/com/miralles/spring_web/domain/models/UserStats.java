@@ -0,0 +1,29 @@
+package com.miralles.spring_web.domain.models;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * Aggregates over all users, kept current by the repository as users are written.
+ * The producer hands the maps over already ordered, typically as live read-only views of
+ * its own ordered counters, so readers can take the top entries without sorting or copying.
+ *
+ * @param total the number of users
+ * @param admins the number of admins
+ * @param usersByEmailDomain the number of users per lower-cased email domain, largest first
+ * @param usersByCreationDay the number of users per UTC day of creation, oldest first
+ */
+public record UserStats(long total, long admins, Map<String, Long> usersByEmailDomain,
+        SortedMap<LocalDate, Long> usersByCreationDay) {
+
+    public UserStats {
+        usersByEmailDomain = Collections.unmodifiableMap(usersByEmailDomain);
+        usersByCreationDay = Collections.unmodifiableSortedMap(usersByCreationDay);
+    }
+
+    public long nonAdmins() {
+        return total - admins;
+    }
+}
@@ -0,0 +1,19 @@
+package com.miralles.spring_web.domain.models;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Record of a deleted user, kept so incremental exports can tell consumers what to remove.
+ *
+ * @param id the id of the deleted user
+ * @param deletedAt when the user was deleted
+ */
+public record UserTombstone(Long id, Instant deletedAt) {
+
+    /**
+     * How long repositories keep tombstones. An increment starting further back would miss
+     * deletions, so a full export is needed instead.
+     */
+    public static final Duration RETENTION = Duration.ofDays(30);
+}
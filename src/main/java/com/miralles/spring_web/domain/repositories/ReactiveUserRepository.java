@@ -0,0 +1,54 @@
+package com.miralles.spring_web.domain.repositories;
+
+import com.miralles.spring_web.domain.models.User;
+import com.miralles.spring_web.domain.models.UserField;
+import com.miralles.spring_web.domain.models.UserQuery;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+/**
+ * Non-blocking counterpart of {@link UserRepository}.
+ * Lookups that find nothing complete empty.
+ */
+public interface ReactiveUserRepository {
+    Mono<User> save(User user);
+    Mono<User> findById(Long id);
+    Flux<User> findAll();
+    Mono<Void> deleteById(Long id);
+    Mono<User> findByEmail(String email);
+
+    /**
+     * Loads all users, reading only the requested fields.
+     *
+     * @param fields the fields to read, never empty
+     * @return users holding only the requested fields
+     */
+    Flux<User> findAll(Set<UserField> fields);
+
+    /**
+     * Loads a user by email, reading only the requested fields.
+     *
+     * @param email the email to look up
+     * @param fields the fields to read, never empty
+     * @return the user holding only the requested fields, or empty if not found
+     */
+    Mono<User> findByEmail(String email, Set<UserField> fields);
+
+    /**
+     * Loads the users matching a query.
+     *
+     * @param query the conditions the users must satisfy
+     * @return the matching users, in no particular order
+     */
+    Flux<User> findAll(UserQuery query);
+
+    /**
+     * Tells whether a user has this email, ignoring case, without loading it.
+     *
+     * @param email the email to look for
+     * @return true if a user has this email
+     */
+    Mono<Boolean> existsByEmail(String email);
+}
@@ -1,8 +1,18 @@
 package com.miralles.spring_web.domain.repositories;
 
 import com.miralles.spring_web.domain.models.User;
+import com.miralles.spring_web.domain.models.UserField;
+import com.miralles.spring_web.domain.models.UserQuery;
+import com.miralles.spring_web.domain.models.UserStats;
+import com.miralles.spring_web.domain.models.UserTombstone;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public interface UserRepository {
     User save(User user);
@@ -10,4 +20,103 @@ public interface UserRepository {
     List<User> findAll();
     void deleteById(Long id);
     Optional<User> findByEmail(String email);
-}
\ No newline at end of file
+
+    /**
+     * Loads several users in one call.
+     *
+     * @param ids the ids to look up
+     * @return the users found, in no particular order; missing ids are skipped
+     */
+    List<User> findAllById(Collection<Long> ids);
+
+    /**
+     * Loads all users, reading only the requested fields.
+     * Implementations should avoid fetching or decoding any other column.
+     *
+     * @param fields the fields to read, never empty
+     * @return users holding only the requested fields
+     */
+    List<User> findAll(Set<UserField> fields);
+
+    /**
+     * Loads the users matching a query. Implementations evaluate it natively, through an
+     * index or a {@code WHERE} clause, rather than loading every user.
+     *
+     * @param query the conditions the users must satisfy
+     * @return the matching users, in no particular order
+     */
+    List<User> findAll(UserQuery query);
+
+    /**
+     * Counts the users matching a query, without loading them where the backend allows it.
+     *
+     * @param query the conditions the users must satisfy
+     * @return the number of matching users
+     */
+    long count(UserQuery query);
+
+    /**
+     * Returns aggregates over all users. Implementations maintain them as users are written,
+     * so the cost does not grow with the number of users.
+     *
+     * @return the current statistics
+     */
+    UserStats stats();
+
+    /**
+     * Loads a user by email, reading only the requested fields.
+     *
+     * @param email the email to look up
+     * @param fields the fields to read, never empty
+     * @return the user holding only the requested fields, if found
+     */
+    Optional<User> findByEmail(String email, Set<UserField> fields);
+
+    /**
+     * Applies a batch of writes as a single unit: either every save and delete
+     * is applied or none is, and no single {@link #save} or {@link #deleteById}
+     * is applied in between.
+     *
+     * @param saves the users to insert or update, in order
+     * @param deletes the ids of the users to delete
+     * @return the saved users, in the order of {@code saves}
+     */
+    List<User> writeBatch(List<User> saves, List<Long> deletes);
+
+    /**
+     * Streams users without loading them all into memory.
+     * The stream may hold a database cursor, so callers must close it.
+     *
+     * @param modifiedSince only users updated at or after this instant; {@code null} for all users
+     * @return the matching users, in no particular order
+     */
+    Stream<User> streamAll(@Nullable Instant modifiedSince);
+
+    /**
+     * Streams the deletions an incremental export must carry. Tombstones are kept for
+     * {@link UserTombstone#RETENTION}; a user saved again with the same id loses its tombstone.
+     * The stream may hold a database cursor, so callers must close it.
+     *
+     * @param since only users deleted at or after this instant
+     * @return the matching tombstones, in no particular order
+     */
+    Stream<UserTombstone> streamDeletedSince(Instant since);
+
+    /**
+     * Finds users whose username or email contains the query, ignoring case.
+     *
+     * @param query the text to look for
+     * @param limit the maximum number of users
+     * @return the matching users, best match first
+     */
+    List<User> search(String query, int limit);
+
+    /**
+     * Tells whether a user has this email, without loading it. Implementations answer most
+     * misses from memory, which suits checks made on every keystroke.
+     *
+     * @param email the email to look for, ignoring case
+     * @return true if a user has this email
+     */
+    boolean existsByEmail(String email);
+}
@@ -0,0 +1,117 @@
+package com.miralles.spring_web.infrastructure.audit;
+
+import com.miralles.spring_web.application.ports.AuditAction;
+import org.jspecify.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Preallocated multi-producer, single-consumer ring of audit events.
+ *
+ * Slots are parallel arrays allocated once, so publishing writes primitives and existing
+ * string references without allocating. A producer claims a sequence with one CAS, fills the
+ * slot and then publishes it by storing the sequence in the slot's marker with release
+ * semantics; the consumer reads slots in sequence order as long as their markers match. When
+ * the consumer is a full lap behind, producers drop the event instead of waiting.
+ */
+class AuditRingBuffer {
+
+    /**
+     * Receives drained events; the strings are the references given to {@link #tryPublish}.
+     */
+    interface EventHandler {
+        void onEvent(long timestamp, AuditAction action, long userId, @Nullable String actor, @Nullable String subject);
+    }
+
+    private static final AuditAction[] ACTIONS = AuditAction.values();
+
+    private final int capacity;
+    private final int mask;
+    private final long[] timestamps;
+    private final long[] userIds;
+    private final byte[] actions;
+    private final String[] actors;
+    private final String[] subjects;
+    // Sequence last published into each slot
+    private final AtomicLongArray published;
+
+    private final AtomicLong claimed = new AtomicLong();
+    // Next sequence the consumer reads, slots before it can be reused
+    private volatile long consumed;
+    private final LongAdder dropped = new LongAdder();
+
+    AuditRingBuffer(int capacity) {
+        this.capacity = capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.timestamps = new long[this.capacity];
+        this.userIds = new long[this.capacity];
+        this.actions = new byte[this.capacity];
+        this.actors = new String[this.capacity];
+        this.subjects = new String[this.capacity];
+        this.published = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            published.set(i, -1);
+        }
+    }
+
+    /**
+     * @return false if the ring was full and the event was dropped
+     */
+    boolean tryPublish(long timestamp, AuditAction action, long userId, @Nullable String actor,
+            @Nullable String subject) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed >= capacity) {
+                dropped.increment();
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        int slot = (int) sequence & mask;
+        timestamps[slot] = timestamp;
+        userIds[slot] = userId;
+        actions[slot] = (byte) action.ordinal();
+        actors[slot] = actor;
+        subjects[slot] = subject;
+        published.setRelease(slot, sequence);
+        return true;
+    }
+
+    /**
+     * Hands up to {@code maxEvents} published events to the handler, in sequence order.
+     * Only one thread may drain.
+     *
+     * @return the number of events drained
+     */
+    int drain(EventHandler handler, int maxEvents) {
+        long next = consumed;
+        int count = 0;
+        while (count < maxEvents) {
+            int slot = (int) next & mask;
+            if (published.getAcquire(slot) != next) {
+                // Not published yet, or claimed but still being filled
+                break;
+            }
+            handler.onEvent(timestamps[slot], ACTIONS[actions[slot]], userIds[slot], actors[slot], subjects[slot]);
+            actors[slot] = null;
+            subjects[slot] = null;
+            next++;
+            count++;
+        }
+        if (count > 0) {
+            consumed = next;
+        }
+        return count;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,386 @@
+package com.miralles.spring_web.infrastructure.audit;
+
+import com.miralles.spring_web.application.ports.AuditAction;
+import com.miralles.spring_web.application.ports.AuditEvent;
+import org.jspecify.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * Binary audit log made of fixed-size, memory-mapped segment files.
+ *
+ * Each segment is created at its full size and mapped once; records are appended with plain
+ * buffer writes and the page cache takes them to disk, so appending costs no system call.
+ * A segment that cannot fit the next record is forced to disk and replaced by a new one, and
+ * only the newest {@code retainedSegments} are kept. On startup, appending resumes at the end
+ * of the newest segment left by an earlier run.
+ *
+ * Every segment has an in-memory {@link Summary} of the actions and user ids it holds, so a
+ * filtered {@link #scan} skips the segments that cannot match without mapping them.
+ *
+ * Record layout: {@code int length} (of the rest), {@code long timestamp}, {@code long userId},
+ * {@code byte action}, then actor and subject as {@code short length} (-1 for null) and UTF-8
+ * bytes. A zero length marks the end of the written part of a segment.
+ *
+ * Appending is single-threaded; {@link #scan} may run concurrently from any thread.
+ */
+class AuditSegmentLog implements Closeable {
+
+    static final String PREFIX = "audit-";
+    static final String SUFFIX = ".log";
+    static final int MAX_STRING_BYTES = 1024;
+    static final int MIN_SEGMENT_SIZE = 64 * 1024;
+    static final int MAX_RECORD_SIZE = 4 + 8 + 8 + 1 + 2 * (2 + MAX_STRING_BYTES);
+
+    private static final AuditAction[] ACTIONS = AuditAction.values();
+
+    /**
+     * The segment being appended to and how much of it is complete.
+     */
+    private record Head(Path path, long generation, int committed) {
+    }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int retainedSegments;
+
+    private final Map<Path, Summary> summaries = new ConcurrentHashMap<>();
+
+    private @Nullable FileChannel channel;
+    private @Nullable MappedByteBuffer buffer;
+    private @Nullable Summary headSummary;
+    private volatile @Nullable Head head;
+
+    AuditSegmentLog(Path directory, long segmentSize, int retainedSegments) throws IOException {
+        this.directory = directory;
+        this.segmentSize = (int) Math.clamp(segmentSize, MIN_SEGMENT_SIZE, Integer.MAX_VALUE);
+        this.retainedSegments = Math.max(1, retainedSegments);
+        Files.createDirectories(directory);
+        if (!resume()) {
+            rotate();
+        }
+    }
+
+    /**
+     * Appends one record. It becomes visible to {@link #scan} at the next {@link #commit}.
+     */
+    void append(long timestamp, AuditAction action, long userId, @Nullable String actor,
+            @Nullable String subject) throws IOException {
+        byte[] actorBytes = encode(actor);
+        byte[] subjectBytes = encode(subject);
+        int length = 8 + 8 + 1 + stringSize(actorBytes) + stringSize(subjectBytes);
+        if (buffer.remaining() < 4 + length + 4) {
+            // Keep room for the zero terminator
+            commit();
+            rotate();
+        }
+        MappedByteBuffer target = buffer;
+        int start = target.position();
+        target.position(start + 4);
+        target.putLong(timestamp);
+        target.putLong(userId);
+        target.put((byte) action.ordinal());
+        putString(target, actorBytes);
+        putString(target, subjectBytes);
+        // Summarized before the commit that makes the record visible
+        headSummary.add(action, userId);
+        // The length goes last, a torn record reads as the end of the segment
+        target.putInt(start, length);
+    }
+
+    /**
+     * Makes the records appended so far visible to readers.
+     */
+    void commit() {
+        Head current = head;
+        if (current != null && buffer != null && current.committed() != buffer.position()) {
+            head = new Head(current.path(), current.generation(), buffer.position());
+        }
+    }
+
+    /**
+     * Reads the newest matching records, newest first, from the newest segments backwards.
+     *
+     * @param action only records of this action; null for all
+     * @param userId only records about this user; null for all
+     */
+    List<AuditEvent> scan(int limit, @Nullable AuditAction action, @Nullable Long userId) throws IOException {
+        List<AuditEvent> result = new ArrayList<>();
+        if (limit <= 0) {
+            return result;
+        }
+        Head current = head;
+        for (Path segment : segments()) {
+            boolean isHead = current != null && segment.equals(current.path());
+            Summary summary = summaries.get(segment);
+            if (summary != null && !summary.mightContain(action, userId)) {
+                continue;
+            }
+            List<AuditEvent> events = read(segment, isHead ? current.committed() : Integer.MAX_VALUE);
+            if (summary == null && !isHead) {
+                // Segments of earlier runs are summarized on their first full read
+                summaries.putIfAbsent(segment, Summary.of(events));
+            }
+            for (int i = events.size() - 1; i >= 0; i--) {
+                AuditEvent event = events.get(i);
+                if ((action == null || event.action() == action) && (userId == null || event.userId() == userId)) {
+                    result.add(event);
+                    if (result.size() == limit) {
+                        return result;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (buffer != null) {
+            commit();
+            buffer.force();
+            buffer = null;
+        }
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * Reopens the newest segment and positions appending after its last complete record.
+     *
+     * @return false if there is no segment to resume
+     */
+    private boolean resume() throws IOException {
+        List<Path> existing = segments();
+        if (existing.isEmpty()) {
+            return false;
+        }
+        Path path = existing.get(0);
+        long generation = generationOf(path);
+        if (generation < 0 || Files.size(path) != segmentSize) {
+            // Not one of ours, or written with another segment size
+            return false;
+        }
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        List<AuditEvent> events = new ArrayList<>();
+        int end = readRecords(buffer.duplicate(), events);
+        // A record torn by a crash starts at the end: clear it so no stale byte follows the next one
+        for (int i = end; i < Math.min(end + MAX_RECORD_SIZE, segmentSize); i++) {
+            buffer.put(i, (byte) 0);
+        }
+        buffer.position(end);
+        headSummary = Summary.of(events);
+        summaries.put(path, headSummary);
+        head = new Head(path, generation, end);
+        return true;
+    }
+
+    private void rotate() throws IOException {
+        long generation = System.currentTimeMillis();
+        Head previous = head;
+        if (previous != null) {
+            generation = Math.max(generation, previous.generation() + 1);
+        } else {
+            // Never reuse the name of a segment left by an earlier run
+            List<Path> existing = segments();
+            if (!existing.isEmpty()) {
+                generation = Math.max(generation, generationOf(existing.get(0)) + 1);
+            }
+        }
+        if (buffer != null) {
+            buffer.force();
+        }
+        if (channel != null) {
+            channel.close();
+        }
+
+        Path path = directory.resolve(PREFIX + generation + SUFFIX);
+        channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        // Mapping past the end grows the file, the new pages read as zeros
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        headSummary = new Summary();
+        summaries.put(path, headSummary);
+        head = new Head(path, generation, 0);
+        deleteOldSegments();
+    }
+
+    private void deleteOldSegments() throws IOException {
+        List<Path> segments = segments();
+        for (int i = retainedSegments; i < segments.size(); i++) {
+            // Readers scanning an unlinked segment keep their mapping
+            Files.deleteIfExists(segments.get(i));
+            summaries.remove(segments.get(i));
+        }
+    }
+
+    /**
+     * @return the segment files, newest first
+     */
+    private List<Path> segments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+            }).forEach(segments::add);
+        }
+        segments.sort(Comparator.comparingLong(AuditSegmentLog::generationOf).reversed());
+        return segments;
+    }
+
+    private static List<AuditEvent> read(Path segment, int readable) throws IOException {
+        List<AuditEvent> events = new ArrayList<>();
+        MappedByteBuffer data;
+        try (FileChannel file = FileChannel.open(segment, StandardOpenOption.READ)) {
+            data = file.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(file.size(), readable));
+        } catch (NoSuchFileException e) {
+            // Deleted by rotation in the meantime
+            return events;
+        }
+        readRecords(data, events);
+        return events;
+    }
+
+    /**
+     * Decodes the records from the position of {@code data} on.
+     *
+     * @return the position after the last complete record
+     */
+    private static int readRecords(ByteBuffer data, List<AuditEvent> events) {
+        int end = data.position();
+        try {
+            while (data.remaining() >= 4) {
+                int length = data.getInt();
+                if (length <= 0 || length > data.remaining()) {
+                    break;
+                }
+                long timestamp = data.getLong();
+                long userId = data.getLong();
+                int action = data.get();
+                String actor = getString(data);
+                String subject = getString(data);
+                if (action >= 0 && action < ACTIONS.length) {
+                    events.add(new AuditEvent(Instant.ofEpochMilli(timestamp), ACTIONS[action], userId, actor, subject));
+                }
+                end = data.position();
+            }
+        } catch (BufferUnderflowException e) {
+            // A damaged record ends the segment
+        }
+        return end;
+    }
+
+    private static byte @Nullable [] encode(@Nullable String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_STRING_BYTES) {
+            return bytes;
+        }
+        // Cut at a character boundary
+        int end = MAX_STRING_BYTES;
+        while (end > 0 && (bytes[end] & 0xC0) == 0x80) {
+            end--;
+        }
+        byte[] truncated = new byte[end];
+        System.arraycopy(bytes, 0, truncated, 0, end);
+        return truncated;
+    }
+
+    private static int stringSize(byte @Nullable [] bytes) {
+        return 2 + (bytes == null ? 0 : bytes.length);
+    }
+
+    private static void putString(MappedByteBuffer target, byte @Nullable [] bytes) {
+        if (bytes == null) {
+            target.putShort((short) -1);
+            return;
+        }
+        target.putShort((short) bytes.length);
+        target.put(bytes);
+    }
+
+    private static @Nullable String getString(ByteBuffer data) {
+        short length = data.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        data.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long generationOf(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Which actions and user ids a segment may hold: a bit per action and a one-hash bloom
+     * filter of user ids. Written by the appending thread only.
+     */
+    private static final class Summary {
+
+        private static final int USER_BITS = 8192;
+
+        private final AtomicInteger actions = new AtomicInteger();
+        private final AtomicLongArray users = new AtomicLongArray(USER_BITS / 64);
+
+        private static Summary of(List<AuditEvent> events) {
+            Summary summary = new Summary();
+            for (AuditEvent event : events) {
+                summary.add(event.action(), event.userId());
+            }
+            return summary;
+        }
+
+        private void add(AuditAction action, long userId) {
+            actions.set(actions.get() | 1 << action.ordinal());
+            int bit = userBit(userId);
+            users.set(bit >>> 6, users.get(bit >>> 6) | 1L << bit);
+        }
+
+        private boolean mightContain(@Nullable AuditAction action, @Nullable Long userId) {
+            if (action != null && (actions.get() & 1 << action.ordinal()) == 0) {
+                return false;
+            }
+            if (userId == null) {
+                return true;
+            }
+            int bit = userBit(userId);
+            return (users.get(bit >>> 6) & 1L << bit) != 0;
+        }
+
+        private static int userBit(long userId) {
+            return (int) ((userId * 0x9E3779B97F4A7C15L) >>> 51);
+        }
+    }
+}
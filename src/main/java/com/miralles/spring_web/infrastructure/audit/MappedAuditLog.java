@@ -0,0 +1,209 @@
+package com.miralles.spring_web.infrastructure.audit;
+
+import com.miralles.spring_web.application.ports.AuditAction;
+import com.miralles.spring_web.application.ports.AuditEvent;
+import com.miralles.spring_web.application.ports.AuditLog;
+import com.miralles.spring_web.infrastructure.config.AuditProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jspecify.annotations.Nullable;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link AuditLog} that keeps request threads away from I/O.
+ *
+ * Publishing stores the event in an {@link AuditRingBuffer} and returns; a single writer
+ * thread drains the ring in batches into an {@link AuditSegmentLog}. Queries scan the
+ * segments on disk, newest first.
+ *
+ * The log starts before and stops after the web and gRPC servers, so requests that finish
+ * during a graceful shutdown are still audited. Events that cannot be written are counted
+ * in {@code app.audit.dropped} and reported by at most one console line per minute.
+ */
+@Component
+public class MappedAuditLog implements AuditLog, SmartLifecycle {
+
+    static final String WRITTEN_METER = "app.audit.written";
+    static final String DROPPED_METER = "app.audit.dropped";
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long LOSS_REPORT_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+    /**
+     * Below the web server's start/stop phase (DEFAULT_PHASE - 2048) and its graceful
+     * shutdown phase: lifecycles with lower phases start first and stop last.
+     */
+    static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final AuditProperties auditProperties;
+    private final AuditRingBuffer ringBuffer;
+    private final Counter written;
+    private final Counter failed;
+
+    private volatile @Nullable AuditSegmentLog segmentLog;
+    private volatile @Nullable Thread writer;
+    private volatile boolean running;
+
+    public MappedAuditLog(AuditProperties auditProperties, MeterRegistry meterRegistry) {
+        this.auditProperties = auditProperties;
+        this.ringBuffer = new AuditRingBuffer(auditProperties.getBufferSize());
+        this.written = Counter.builder(WRITTEN_METER)
+                .description("Audit events appended to the log")
+                .register(meterRegistry);
+        this.failed = Counter.builder(DROPPED_METER)
+                .description("Audit events lost, by cause")
+                .tag("cause", "write_failed")
+                .register(meterRegistry);
+        FunctionCounter.builder(DROPPED_METER, ringBuffer, AuditRingBuffer::dropped)
+                .description("Audit events lost, by cause")
+                .tag("cause", "buffer_full")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void publish(AuditAction action, long userId, @Nullable String subject) {
+        publish(action, userId, actor(), subject);
+    }
+
+    @Override
+    public void publish(AuditAction action, long userId, @Nullable String actor, @Nullable String subject) {
+        if (!running) {
+            return;
+        }
+        ringBuffer.tryPublish(System.currentTimeMillis(), action, userId, actor, subject);
+    }
+
+    @Override
+    public List<AuditEvent> recent(int limit, @Nullable AuditAction action, @Nullable Long userId) {
+        AuditSegmentLog log = segmentLog;
+        if (log == null) {
+            return List.of();
+        }
+        try {
+            return log.scan(limit, action, userId);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the audit log", e);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!auditProperties.isEnabled()) {
+            return;
+        }
+        try {
+            segmentLog = new AuditSegmentLog(Path.of(auditProperties.getDirectory()),
+                    auditProperties.getSegmentSize().toBytes(), auditProperties.getRetainedSegments());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the audit log in " + auditProperties.getDirectory(), e);
+        }
+        running = true;
+        writer = Thread.ofPlatform().name("audit-writer").daemon(true).start(this::writeLoop);
+        System.out.println("📝 Audit log writing to " + auditProperties.getDirectory());
+    }
+
+    @Override
+    public void stop() {
+        Thread thread = writer;
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+        AuditSegmentLog log = segmentLog;
+        if (log != null) {
+            try {
+                log.close();
+            } catch (IOException e) {
+                System.err.println("❌ Could not close the audit log: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return writer != null;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /**
+     * Drains the ring until stopped, then once more for the events published before the stop.
+     */
+    private void writeLoop() {
+        AuditSegmentLog log = segmentLog;
+        int batchSize = Math.max(1, auditProperties.getBatchSize());
+        LossReport losses = new LossReport();
+        AuditRingBuffer.EventHandler append = (timestamp, action, userId, actor, subject) -> {
+            try {
+                log.append(timestamp, action, userId, actor, subject);
+                written.increment();
+            } catch (IOException | RuntimeException e) {
+                failed.increment();
+                losses.record(e);
+            }
+        };
+        while (running) {
+            if (ringBuffer.drain(append, batchSize) > 0) {
+                log.commit();
+            } else {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+            losses.reportIfDue(false);
+        }
+        while (ringBuffer.drain(append, batchSize) > 0) {
+            log.commit();
+        }
+        losses.reportIfDue(true);
+    }
+
+    /**
+     * Write failures since the last report. Only touched by the writer thread.
+     */
+    private static final class LossReport {
+
+        private long lost;
+        private @Nullable String lastError;
+        // The first loss is reported at once
+        private long lastReportAt = System.nanoTime() - LOSS_REPORT_INTERVAL_NANOS;
+
+        private void record(Exception e) {
+            lost++;
+            lastError = e.getMessage();
+        }
+
+        private void reportIfDue(boolean force) {
+            long now = System.nanoTime();
+            if (lost == 0 || (!force && now - lastReportAt < LOSS_REPORT_INTERVAL_NANOS)) {
+                return;
+            }
+            System.err.println("❌ " + lost + " audit events lost since the last report, last error: " + lastError);
+            lost = 0;
+            lastReportAt = now;
+        }
+    }
+
+    private static @Nullable String actor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? null : authentication.getName();
+    }
+}
@@ -0,0 +1,66 @@
+package com.miralles.spring_web.infrastructure.concurrent;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts a virtual thread per task but lets at most {@code maxConcurrency} of them run the
+ * task at the same time. Waiting tasks park cheaply on the semaphore instead of sitting in a
+ * queue, while CPU-bound work such as BCrypt cannot occupy every carrier thread and starve
+ * the virtual threads serving requests.
+ *
+ * A task interrupted while waiting for its permit (by {@link #shutdownNow()}) still waits for
+ * one and then runs with its interrupt flag set, so a caller blocked on its future gets a
+ * result or an exception instead of waiting forever, and the bound holds.
+ */
+public class BoundedVirtualThreadExecutor extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+    private final Semaphore permits;
+
+    public BoundedVirtualThreadExecutor(String namePrefix, int maxConcurrency) {
+        this.delegate = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(namePrefix, 1).factory());
+        this.permits = new Semaphore(Math.max(1, maxConcurrency));
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        delegate.execute(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                command.run();
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
@@ -1,8 +1,10 @@
 package com.miralles.spring_web.infrastructure.config;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @Configuration
+@EnableScheduling // Background jobs such as the export snapshots
 public class AppConfig {
     // Configuration beans can be added here
     // For example: database configuration, security configuration, etc.
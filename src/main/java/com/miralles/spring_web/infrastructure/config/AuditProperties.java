@@ -0,0 +1,93 @@
+package com.miralles.spring_web.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuration properties for the audit log of user mutations and logins.
+ * These properties can be configured in application.properties or application.yml.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.audit")
+public class AuditProperties {
+
+    /**
+     * Whether audit events are recorded
+     */
+    private boolean enabled = true;
+
+    /**
+     * Directory the audit segments are written to
+     */
+    private String directory = System.getProperty("java.io.tmpdir") + "/spring-web-audit";
+
+    /**
+     * Number of events the in-memory ring holds before new ones are dropped, rounded up to a power of two
+     */
+    private int bufferSize = 65536;
+
+    /**
+     * Maximum number of events the writer appends before making them visible to queries
+     */
+    private int batchSize = 1024;
+
+    /**
+     * Size of one segment file; a full segment is replaced by a new one
+     */
+    private DataSize segmentSize = DataSize.ofMegabytes(16);
+
+    /**
+     * Number of segment files kept on disk
+     */
+    private int retainedSegments = 8;
+
+    // Getters and setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public DataSize getSegmentSize() {
+        return segmentSize;
+    }
+
+    public void setSegmentSize(DataSize segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    public int getRetainedSegments() {
+        return retainedSegments;
+    }
+
+    public void setRetainedSegments(int retainedSegments) {
+        this.retainedSegments = retainedSegments;
+    }
+}
@@ -0,0 +1,108 @@
+package com.miralles.spring_web.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the bulkheads isolating the endpoint classes.
+ * These properties can be configured in application.properties or application.yml.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.bulkhead")
+public class BulkheadProperties {
+
+    /**
+     * Whether each endpoint class is limited to its own permits
+     */
+    private boolean enabled = true;
+
+    /**
+     * Login, other /api/auth endpoints and the public email availability check
+     */
+    private Compartment auth = new Compartment(32, Duration.ofMillis(100));
+
+    /**
+     * Interactive user reads and writes
+     */
+    private Compartment crud = new Compartment(100, Duration.ofMillis(50));
+
+    /**
+     * Batch, import, export and snapshot endpoints
+     */
+    private Compartment bulk = new Compartment(4, Duration.ZERO);
+
+    /**
+     * Permits of one endpoint class.
+     */
+    public static class Compartment {
+
+        /**
+         * Requests of this class served at the same time
+         */
+        private int maxConcurrent;
+
+        /**
+         * How long a request waits for a permit before it is rejected with 503
+         */
+        private Duration maxWait;
+
+        public Compartment() {
+        }
+
+        public Compartment(int maxConcurrent, Duration maxWait) {
+            this.maxConcurrent = maxConcurrent;
+            this.maxWait = maxWait;
+        }
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+    }
+
+    // Getters and setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Compartment getAuth() {
+        return auth;
+    }
+
+    public void setAuth(Compartment auth) {
+        this.auth = auth;
+    }
+
+    public Compartment getCrud() {
+        return crud;
+    }
+
+    public void setCrud(Compartment crud) {
+        this.crud = crud;
+    }
+
+    public Compartment getBulk() {
+        return bulk;
+    }
+
+    public void setBulk(Compartment bulk) {
+        this.bulk = bulk;
+    }
+}
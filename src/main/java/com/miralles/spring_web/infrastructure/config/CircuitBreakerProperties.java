@@ -0,0 +1,146 @@
+package com.miralles.spring_web.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the circuit breaker around the user repository.
+ * These properties can be configured in application.properties or application.yml.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.circuit-breaker")
+public class CircuitBreakerProperties {
+
+    /**
+     * Whether repository calls go through the circuit breaker
+     */
+    private boolean enabled = true;
+
+    /**
+     * Number of recent calls the failure and slow call rates are computed over
+     */
+    private int windowSize = 50;
+
+    /**
+     * Calls needed in the window before the circuit may open
+     */
+    private int minimumCalls = 20;
+
+    /**
+     * Share of failed calls that opens the circuit
+     */
+    private double failureRateThreshold = 0.5;
+
+    /**
+     * Calls slower than this count as slow
+     */
+    private Duration slowCallDuration = Duration.ofMillis(500);
+
+    /**
+     * Share of slow calls that opens the circuit
+     */
+    private double slowCallRateThreshold = 0.8;
+
+    /**
+     * How long the circuit stays open before probe calls are let through
+     */
+    private Duration openDuration = Duration.ofSeconds(10);
+
+    /**
+     * Successful probe calls needed to close the circuit again
+     */
+    private int halfOpenCalls = 5;
+
+    /**
+     * Oldest last-known value served while the store is unavailable
+     */
+    private Duration maxStaleness = Duration.ofMinutes(5);
+
+    /**
+     * Maximum number of users kept as last-known values
+     */
+    private int cacheSize = 10_000;
+
+    // Getters and setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    public void setWindowSize(int windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    public void setMinimumCalls(int minimumCalls) {
+        this.minimumCalls = minimumCalls;
+    }
+
+    public double getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public void setFailureRateThreshold(double failureRateThreshold) {
+        this.failureRateThreshold = failureRateThreshold;
+    }
+
+    public Duration getSlowCallDuration() {
+        return slowCallDuration;
+    }
+
+    public void setSlowCallDuration(Duration slowCallDuration) {
+        this.slowCallDuration = slowCallDuration;
+    }
+
+    public double getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    public void setSlowCallRateThreshold(double slowCallRateThreshold) {
+        this.slowCallRateThreshold = slowCallRateThreshold;
+    }
+
+    public Duration getOpenDuration() {
+        return openDuration;
+    }
+
+    public void setOpenDuration(Duration openDuration) {
+        this.openDuration = openDuration;
+    }
+
+    public int getHalfOpenCalls() {
+        return halfOpenCalls;
+    }
+
+    public void setHalfOpenCalls(int halfOpenCalls) {
+        this.halfOpenCalls = halfOpenCalls;
+    }
+
+    public Duration getMaxStaleness() {
+        return maxStaleness;
+    }
+
+    public void setMaxStaleness(Duration maxStaleness) {
+        this.maxStaleness = maxStaleness;
+    }
+
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    public void setCacheSize(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+}
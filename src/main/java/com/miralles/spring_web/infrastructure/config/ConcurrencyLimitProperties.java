@@ -0,0 +1,79 @@
+package com.miralles.spring_web.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the adaptive concurrency limit of the HTTP API.
+ * These properties can be configured in application.properties or application.yml.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    /**
+     * Whether excess requests are shed with 503
+     */
+    private boolean enabled = true;
+
+    /**
+     * Concurrent requests allowed before any latency has been measured
+     */
+    private int initialLimit = 200;
+
+    /**
+     * The limit never drops below this
+     */
+    private int minLimit = 20;
+
+    /**
+     * The limit never grows above this
+     */
+    private int maxLimit = 1000;
+
+    /**
+     * Share of the limit kept free for admin and health traffic; anonymous traffic is shed above the rest
+     */
+    private double lowPriorityHeadroom = 0.2;
+
+    // Getters and setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public double getLowPriorityHeadroom() {
+        return lowPriorityHeadroom;
+    }
+
+    public void setLowPriorityHeadroom(double lowPriorityHeadroom) {
+        this.lowPriorityHeadroom = lowPriorityHeadroom;
+    }
+}
@@ -0,0 +1,53 @@
+package com.miralles.spring_web.infrastructure.config;
+
+import com.miralles.spring_web.presentation.codecs.UserJsonHttpMessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+
+/**
+ * Registers binary encodings next to the default JSON converter.
+ * Clients select them through content negotiation:
+ * {@code Accept: application/cbor} or {@code Accept: application/x-jackson-smile}
+ * for responses, and the matching {@code Content-Type} for request bodies.
+ *
+ * JSON for the user DTOs goes through a hand-written codec unless
+ * {@code app.json.codec=jackson} is set.
+ */
+@Configuration
+public class ContentNegotiationConfig {
+
+    /**
+     * CBOR (RFC 8949) converter for responses and request bodies.
+     *
+     * @return the CBOR message converter
+     */
+    @Bean
+    public JacksonCborHttpMessageConverter cborHttpMessageConverter() {
+        return new JacksonCborHttpMessageConverter();
+    }
+
+    /**
+     * Smile (binary JSON) converter for responses and request bodies.
+     *
+     * @return the Smile message converter
+     */
+    @Bean
+    public JacksonSmileHttpMessageConverter smileHttpMessageConverter() {
+        return new JacksonSmileHttpMessageConverter();
+    }
+
+    /**
+     * Reflection-free JSON converter for the user DTOs.
+     * Registered ahead of the Jackson converter, which keeps handling every other type.
+     *
+     * @return the user JSON message converter
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.json.codec", havingValue = "handwritten", matchIfMissing = true)
+    public UserJsonHttpMessageConverter userJsonHttpMessageConverter() {
+        return new UserJsonHttpMessageConverter();
+    }
+}
@@ -0,0 +1,69 @@
+package com.miralles.spring_web.infrastructure.config;
+
+import com.miralles.spring_web.infrastructure.concurrent.BoundedVirtualThreadExecutor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Worker pools used by the bulk endpoints.
+ * With {@code spring.threads.virtual.enabled=true} they run their tasks on virtual threads,
+ * like the servlet container and the MVC async executor do in that mode.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    private final boolean virtualThreads;
+
+    public ExecutorConfig(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * Pool for BCrypt hashing. Hashing is CPU bound, so the pool is sized to the
+     * number of cores rather than to the number of concurrent requests. In virtual thread
+     * mode the same bound caps how many virtual threads hash at once.
+     *
+     * @param executorProperties the executor configuration
+     * @return the password hashing executor
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService passwordHashingExecutor(ExecutorProperties executorProperties) {
+        if (virtualThreads) {
+            return new BoundedVirtualThreadExecutor("password-hashing-", executorProperties.getHashingThreads());
+        }
+        return Executors.newFixedThreadPool(executorProperties.getHashingThreads(), namedThreads("password-hashing-"));
+    }
+
+    /**
+     * The password hashing executor as a Reactor scheduler, so the reactive stack offloads
+     * BCrypt onto the same bounded pool instead of hashing on an event loop thread.
+     *
+     * @param passwordHashingExecutor the password hashing executor
+     * @return the password hashing scheduler
+     */
+    @Bean
+    @Profile("reactive")
+    public Scheduler passwordHashingScheduler(
+            @Qualifier("passwordHashingExecutor") ExecutorService passwordHashingExecutor) {
+        return Schedulers.fromExecutorService(passwordHashingExecutor, "password-hashing");
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
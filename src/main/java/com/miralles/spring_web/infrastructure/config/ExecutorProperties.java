@@ -0,0 +1,27 @@
+package com.miralles.spring_web.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the internal worker pools.
+ * These properties can be configured in application.properties or application.yml.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.executors")
+public class ExecutorProperties {
+
+    /**
+     * Number of threads hashing passwords in parallel (bulk endpoints), defaults to the CPU count
+     */
+    private int hashingThreads = Runtime.getRuntime().availableProcessors();
+
+    // Getters and setters
+    public int getHashingThreads() {
+        return hashingThreads;
+    }
+
+    public void setHashingThreads(int hashingThreads) {
+        this.hashingThreads = hashingThreads;
+    }
+}
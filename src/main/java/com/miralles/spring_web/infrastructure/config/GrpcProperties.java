@@ -0,0 +1,40 @@
+package com.miralles.spring_web.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the gRPC server.
+ * These properties can be configured in application.properties or application.yml.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.grpc")
+public class GrpcProperties {
+
+    /**
+     * Whether to start the gRPC server next to the HTTP server
+     */
+    private boolean enabled = true;
+
+    /**
+     * Port the gRPC server listens on, 0 picks a free port
+     */
+    private int port = 9090;
+
+    // Getters and setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public void setPort(int port) {
+        this.port = port;
+    }
+}
@@ -0,0 +1,33 @@
+package com.miralles.spring_web.infrastructure.config;
+
+import com.miralles.spring_web.domain.factories.IdAllocator;
+import com.miralles.spring_web.infrastructure.persistence.HiLoIdAllocator;
+import com.miralles.spring_web.infrastructure.persistence.SnowflakeIdAllocator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Spring configuration for the {@link IdAllocator} shared by the repositories and the user factory.
+ */
+@Configuration
+public class IdAllocatorConfig {
+
+    /**
+     * Creates the allocator of the configured strategy.
+     *
+     * @param idAllocatorProperties the allocation configuration
+     * @return the id allocator
+     */
+    @Bean
+    public IdAllocator idAllocator(IdAllocatorProperties idAllocatorProperties) {
+        return switch (idAllocatorProperties.getStrategy()) {
+            case SEQUENTIAL -> new AtomicLong(1)::getAndIncrement;
+            case HILO -> new HiLoIdAllocator(idAllocatorProperties.getBlockSize(),
+                    idAllocatorProperties.getNodeId(), idAllocatorProperties.getNodeCount());
+            case SNOWFLAKE -> new SnowflakeIdAllocator(idAllocatorProperties.getEpoch(),
+                    idAllocatorProperties.getNodeId());
+        };
+    }
+}
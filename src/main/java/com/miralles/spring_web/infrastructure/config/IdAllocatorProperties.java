@@ -0,0 +1,96 @@
+package com.miralles.spring_web.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Instant;
+
+/**
+ * Configuration properties for the allocation of user ids.
+ * These properties can be configured in application.properties or application.yml.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.id-allocator")
+public class IdAllocatorProperties {
+
+    public enum Strategy {
+        /**
+         * One shared counter, ids 1, 2, 3...
+         */
+        SEQUENTIAL,
+        /**
+         * Blocks of ids per thread stripe and node
+         */
+        HILO,
+        /**
+         * Time-ordered 64-bit ids; they exceed 2^53, which JavaScript numbers cannot hold exactly
+         */
+        SNOWFLAKE
+    }
+
+    /**
+     * How ids are allocated
+     */
+    private Strategy strategy = Strategy.SEQUENTIAL;
+
+    /**
+     * Number of ids per block with the hilo strategy
+     */
+    private int blockSize = 1000;
+
+    /**
+     * Id of this node, distinct per node: below node-count for hilo, up to 1023 for snowflake
+     */
+    private int nodeId = 0;
+
+    /**
+     * Number of nodes sharing the id space with the hilo strategy
+     */
+    private int nodeCount = 1;
+
+    /**
+     * Start of the snowflake timestamps; must never change once ids were issued
+     */
+    private Instant epoch = Instant.parse("2025-01-01T00:00:00Z");
+
+    // Getters and setters
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(Strategy strategy) {
+        this.strategy = strategy;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public void setBlockSize(int blockSize) {
+        this.blockSize = blockSize;
+    }
+
+    public int getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(int nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public void setNodeCount(int nodeCount) {
+        this.nodeCount = nodeCount;
+    }
+
+    public Instant getEpoch() {
+        return epoch;
+    }
+
+    public void setEpoch(Instant epoch) {
+        this.epoch = epoch;
+    }
+}
@@ -0,0 +1,83 @@
+package com.miralles.spring_web.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for Idempotency-Key handling on the create endpoints.
+ * These properties can be configured in application.properties or application.yml.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * Whether Idempotency-Key headers are honored
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long a stored response is replayed for
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * Maximum number of keys kept in memory, the oldest completed ones are evicted first;
+     * when all of them are still in flight, new keys are rejected with 503
+     */
+    private int maxEntries = 10_000;
+
+    /**
+     * How long a duplicate waits for the in-flight request with the same key
+     */
+    private Duration waitTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Largest request body buffered to fingerprint a keyed request, larger ones get 413
+     */
+    private DataSize maxBodySize = DataSize.ofMegabytes(1);
+
+    // Getters and setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public Duration getWaitTimeout() {
+        return waitTimeout;
+    }
+
+    public void setWaitTimeout(Duration waitTimeout) {
+        this.waitTimeout = waitTimeout;
+    }
+
+    public DataSize getMaxBodySize() {
+        return maxBodySize;
+    }
+
+    public void setMaxBodySize(DataSize maxBodySize) {
+        this.maxBodySize = maxBodySize;
+    }
+}
@@ -0,0 +1,23 @@
+package com.miralles.spring_web.infrastructure.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Password encoding, shared by the servlet and the reactive stacks.
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+    /**
+     * Provides a password encoder for secure password storage.
+     * 
+     * @return BCryptPasswordEncoder instance
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder();
+    }
+}
@@ -0,0 +1,79 @@
+package com.miralles.spring_web.infrastructure.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import reactor.core.scheduler.Scheduler;
+
+import com.miralles.spring_web.infrastructure.security.JwtAuthenticationWebFilter;
+import com.miralles.spring_web.infrastructure.security.JwtUtil;
+
+/**
+ * Security configuration for the reactive profile.
+ * Same JWT-based rules as {@link SecurityConfig}, applied by a WebFlux filter chain.
+ */
+@Configuration
+@Profile("reactive")
+@EnableWebFluxSecurity
+public class ReactiveSecurityConfig {
+
+    /**
+     * Configures the security filter chain with JWT authentication.
+     * 
+     * @param http the ServerHttpSecurity to configure
+     * @param jwtUtil the JWT utility
+     * @param userDetailsService the reactive user details service
+     * @return the configured SecurityWebFilterChain
+     */
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, JwtUtil jwtUtil,
+            ReactiveUserDetailsService userDetailsService) {
+        http
+            .csrf(ServerHttpSecurity.CsrfSpec::disable) // Disable CSRF for API
+            .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+            .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+            .securityContextRepository(NoOpServerSecurityContextRepository.getInstance()) // Stateless for JWT
+            .authorizeExchange(exchanges -> exchanges
+                .pathMatchers("/api/auth/**").permitAll() // Public authentication endpoints
+                .pathMatchers("/api/users/**").hasAuthority("ROLE_ADMIN") // Admin-only endpoints
+                .pathMatchers("/actuator/**").hasAuthority("ROLE_ADMIN") // Admin-only actuator endpoints
+                .pathMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll() // Public Swagger docs
+                .anyExchange().authenticated() // All other requests require authentication
+            )
+            .addFilterAt(new JwtAuthenticationWebFilter(jwtUtil, userDetailsService),
+                    SecurityWebFiltersOrder.AUTHENTICATION); // Add JWT filter
+
+        return http.build();
+    }
+
+    /**
+     * Provides the reactive authentication manager used by the login endpoint.
+     * The BCrypt check runs on the bounded password hashing scheduler.
+     * 
+     * @param userDetailsService the reactive user details service
+     * @param passwordEncoder the password encoder
+     * @param passwordHashingScheduler the password hashing scheduler
+     * @return ReactiveAuthenticationManager instance
+     */
+    @Bean
+    public ReactiveAuthenticationManager reactiveAuthenticationManager(
+            ReactiveUserDetailsService userDetailsService,
+            PasswordEncoder passwordEncoder,
+            @Qualifier("passwordHashingScheduler") Scheduler passwordHashingScheduler) {
+        UserDetailsRepositoryReactiveAuthenticationManager authenticationManager =
+                new UserDetailsRepositoryReactiveAuthenticationManager(userDetailsService);
+        authenticationManager.setPasswordEncoder(passwordEncoder);
+        authenticationManager.setScheduler(passwordHashingScheduler);
+        return authenticationManager;
+    }
+}
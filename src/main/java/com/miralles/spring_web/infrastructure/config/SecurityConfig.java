@@ -2,30 +2,39 @@ package com.miralles.spring_web.infrastructure.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 import com.miralles.spring_web.infrastructure.security.JwtAuthenticationFilter;
+import com.miralles.spring_web.infrastructure.web.IdempotencyFilter;
+import com.miralles.spring_web.infrastructure.web.UsageMeteringFilter;
 
 /**
  * Security configuration for the Spring Boot application.
  * This configuration sets up JWT-based authentication and authorization.
+ * The reactive profile uses {@link ReactiveSecurityConfig} instead.
  */
 @Configuration
+@Profile("!reactive")
 @EnableWebSecurity
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final IdempotencyFilter idempotencyFilter;
+    private final UsageMeteringFilter usageMeteringFilter;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, IdempotencyFilter idempotencyFilter,
+            UsageMeteringFilter usageMeteringFilter) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.idempotencyFilter = idempotencyFilter;
+        this.usageMeteringFilter = usageMeteringFilter;
     }
 
     /**
@@ -45,25 +54,18 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/api/auth/**").permitAll() // Public authentication endpoints
                 .requestMatchers("/api/users/**").hasAuthority("ROLE_ADMIN") // Admin-only endpoints
+                .requestMatchers("/api/admin/**").hasAuthority("ROLE_ADMIN") // Admin-only operations endpoints
                 .requestMatchers("/actuator/**").hasAuthority("ROLE_ADMIN") // Admin-only actuator endpoints
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll() // Public Swagger docs
                 .anyRequest().authenticated() // All other requests require authentication
             )
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class); // Add JWT filter
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class) // Add JWT filter
+            .addFilterAfter(usageMeteringFilter, JwtAuthenticationFilter.class) // Meter per authenticated principal
+            .addFilterAfter(idempotencyFilter, AuthorizationFilter.class); // Replay retries of authorized requests only
 
         return http.build();
     }
 
-    /**
-     * Provides a password encoder for secure password storage.
-     * 
-     * @return BCryptPasswordEncoder instance
-     */
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
-
     /**
      * Provides the authentication manager bean.
      * 
@@ -0,0 +1,68 @@
+package com.miralles.spring_web.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the materialized user export snapshots.
+ * These properties can be configured in application.properties or application.yml.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.snapshot")
+public class SnapshotProperties {
+
+    /**
+     * Whether the background job writes snapshots
+     */
+    private boolean enabled = true;
+
+    /**
+     * Directory the snapshot files are written to
+     */
+    private String directory = System.getProperty("java.io.tmpdir") + "/spring-web-snapshots";
+
+    /**
+     * Delay between the end of one snapshot and the start of the next
+     */
+    private Duration interval = Duration.ofMinutes(15);
+
+    /**
+     * Number of snapshot files kept on disk, so downloads of the previous generation can finish
+     */
+    private int retainedGenerations = 2;
+
+    // Getters and setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    public void setInterval(Duration interval) {
+        this.interval = interval;
+    }
+
+    public int getRetainedGenerations() {
+        return retainedGenerations;
+    }
+
+    public void setRetainedGenerations(int retainedGenerations) {
+        this.retainedGenerations = retainedGenerations;
+    }
+}
@@ -0,0 +1,81 @@
+package com.miralles.spring_web.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the per-principal API usage metering.
+ * These properties can be configured in application.properties or application.yml.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.usage-metering")
+public class UsageMeteringProperties {
+
+    /**
+     * Whether authenticated requests are metered
+     */
+    private boolean enabled = true;
+
+    /**
+     * Length of one metering window; counters are rolled over at this rate
+     */
+    private Duration window = Duration.ofMinutes(1);
+
+    /**
+     * Number of closed windows kept in memory for the top consumers report
+     */
+    private int retainedWindows = 60;
+
+    /**
+     * Whether closed windows are appended to a daily file in the directory
+     */
+    private boolean flushToFile = true;
+
+    /**
+     * Directory the usage files are written to
+     */
+    private String directory = System.getProperty("java.io.tmpdir") + "/spring-web-usage";
+
+    // Getters and setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    public int getRetainedWindows() {
+        return retainedWindows;
+    }
+
+    public void setRetainedWindows(int retainedWindows) {
+        this.retainedWindows = retainedWindows;
+    }
+
+    public boolean isFlushToFile() {
+        return flushToFile;
+    }
+
+    public void setFlushToFile(boolean flushToFile) {
+        this.flushToFile = flushToFile;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+}
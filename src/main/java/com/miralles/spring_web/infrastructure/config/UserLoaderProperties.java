@@ -0,0 +1,58 @@
+package com.miralles.spring_web.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the loader in front of the user repository.
+ * These properties can be configured in application.properties or application.yml.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.user-loader")
+public class UserLoaderProperties {
+
+    /**
+     * Whether concurrent lookups are coalesced and batched. Off by default: it pays off when
+     * many requests read the same users at once and each query has a high fixed cost
+     */
+    private boolean enabled = false;
+
+    /**
+     * How long id lookups wait for others to share one repository call. Every lookup waits this
+     * long, so keep it zero (dispatch at once, only coalesce identical lookups) unless query
+     * round trips cost much more than the window
+     */
+    private Duration batchWindow = Duration.ZERO;
+
+    /**
+     * Maximum number of ids per repository call, a full batch is sent without waiting
+     */
+    private int maxBatchSize = 100;
+
+    // Getters and setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getBatchWindow() {
+        return batchWindow;
+    }
+
+    public void setBatchWindow(Duration batchWindow) {
+        this.batchWindow = batchWindow;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+}
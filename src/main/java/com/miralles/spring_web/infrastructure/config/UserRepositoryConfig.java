@@ -0,0 +1,50 @@
+package com.miralles.spring_web.infrastructure.config;
+
+import com.miralles.spring_web.domain.repositories.UserRepository;
+import com.miralles.spring_web.infrastructure.persistence.CircuitBreakingUserRepository;
+import com.miralles.spring_web.infrastructure.persistence.CoalescingUserRepository;
+import com.miralles.spring_web.infrastructure.persistence.JpaUserRepository;
+import com.miralles.spring_web.infrastructure.persistence.MariaDBUserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Assembles the {@link UserRepository} the application uses: the storage implementation
+ * of the active profile, wrapped in the layers configured in front of it. The circuit
+ * breaker sits closest to the store, so the loader's coalesced and batched calls are what
+ * it measures.
+ */
+@Configuration
+public class UserRepositoryConfig {
+
+    /**
+     * The user repository injected everywhere.
+     *
+     * @param jpaUserRepository the default storage
+     * @param mariaDBUserRepository the MariaDB storage, present with the mariadb profile
+     * @param circuitBreakerProperties the circuit breaker configuration
+     * @param userLoaderProperties the loader configuration
+     * @param meterRegistry the registry for the breaker and loader metrics
+     * @return the decorated repository
+     */
+    @Bean
+    @Primary
+    public UserRepository userRepository(JpaUserRepository jpaUserRepository,
+            ObjectProvider<MariaDBUserRepository> mariaDBUserRepository,
+            CircuitBreakerProperties circuitBreakerProperties,
+            UserLoaderProperties userLoaderProperties,
+            MeterRegistry meterRegistry) {
+        UserRepository repository = mariaDBUserRepository.getIfAvailable(() -> jpaUserRepository);
+        if (circuitBreakerProperties.isEnabled()) {
+            repository = new CircuitBreakingUserRepository(repository, circuitBreakerProperties, meterRegistry);
+        }
+        if (userLoaderProperties.isEnabled()) {
+            repository = new CoalescingUserRepository(repository, userLoaderProperties.getBatchWindow(),
+                    userLoaderProperties.getMaxBatchSize(), meterRegistry);
+        }
+        return repository;
+    }
+}
@@ -0,0 +1,143 @@
+package com.miralles.spring_web.infrastructure.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Watches for virtual threads pinned to their carrier thread in virtual thread mode.
+ * Pinned threads block a carrier (monitors held across blocking calls before JDK 24,
+ * native frames, class initialization), which silently caps concurrency again.
+ *
+ * Each {@code jdk.VirtualThreadPinned} JFR event above the threshold is recorded in the
+ * {@code app.virtual_threads.pinned} timer, tagged with the first frame of our own code
+ * in the pinned stack ({@code other} when the pinning happens entirely in libraries).
+ * Events are only counted on the way: a burst of pinning must not turn into a burst of
+ * console output, so at most one summary line per {@code app.diagnostics.pinning-summary-interval}
+ * names the application sites pinned since the previous one.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    static final String METER_NAME = "app.virtual_threads.pinned";
+    static final String APPLICATION_PACKAGE = "com.miralles.spring_web.";
+    static final String OTHER_SITE = "other";
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+    private final long summaryIntervalNanos;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    // Application sites pinned since the last summary
+    private final Map<String, LongAdder> pendingSites = new ConcurrentHashMap<>();
+
+    private volatile RecordingStream recordingStream;
+    private long lastSummaryAt;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+            @Value("${app.diagnostics.pinning-threshold-millis:20}") long thresholdMillis,
+            @Value("${app.diagnostics.pinning-summary-interval:1m}") Duration summaryInterval) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = Duration.ofMillis(thresholdMillis);
+        this.summaryIntervalNanos = summaryInterval.toNanos();
+    }
+
+    @Override
+    public void start() {
+        RecordingStream stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::record);
+        // Flushes come about once a second on the stream's own thread
+        stream.onFlush(this::summarizeIfDue);
+        lastSummaryAt = System.nanoTime();
+        stream.startAsync();
+        recordingStream = stream;
+        System.out.println("🧵 Watching for virtual thread pinning above " + threshold.toMillis() + " ms");
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream stream = recordingStream;
+        if (stream != null) {
+            stream.close();
+            recordingStream = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return recordingStream != null;
+    }
+
+    private void record(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        String site = siteOf(stackTrace == null ? List.of() : stackTrace.getFrames());
+        timers.computeIfAbsent(site, key -> Timer.builder(METER_NAME)
+                        .description("Time virtual threads spent pinned to their carrier thread")
+                        .tag("site", key)
+                        .register(meterRegistry))
+                .record(event.getDuration());
+        if (!OTHER_SITE.equals(site)) {
+            pendingSites.computeIfAbsent(site, key -> new LongAdder()).increment();
+        }
+    }
+
+    private void summarizeIfDue() {
+        long now = System.nanoTime();
+        if (now - lastSummaryAt < summaryIntervalNanos) {
+            return;
+        }
+        lastSummaryAt = now;
+        String summary = summarize(pendingSites);
+        if (summary != null) {
+            System.out.println("⚠️ Virtual threads pinned in the last " + Duration.ofNanos(summaryIntervalNanos)
+                    .toSeconds() + " s: " + summary);
+        }
+    }
+
+    /**
+     * Drains the counts into {@code Site.method x count, ...}, or returns null when there are none.
+     */
+    private static @Nullable String summarize(Map<String, LongAdder> sites) {
+        StringJoiner summary = new StringJoiner(", ");
+        for (Map.Entry<String, LongAdder> site : sites.entrySet()) {
+            long count = site.getValue().sumThenReset();
+            if (count > 0) {
+                summary.add(site.getKey() + " x" + count);
+            }
+        }
+        return summary.length() == 0 ? null : summary.toString();
+    }
+
+    /**
+     * Returns {@code SimpleClassName.method} of the innermost application frame.
+     */
+    static String siteOf(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            if (frame.getMethod() == null) {
+                continue;
+            }
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith(APPLICATION_PACKAGE)) {
+                return type.substring(type.lastIndexOf('.') + 1) + "." + frame.getMethod().getName();
+            }
+        }
+        return OTHER_SITE;
+    }
+}
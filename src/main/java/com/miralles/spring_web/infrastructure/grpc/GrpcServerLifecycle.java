@@ -0,0 +1,100 @@
+package com.miralles.spring_web.infrastructure.grpc;
+
+import com.miralles.spring_web.infrastructure.config.GrpcProperties;
+import com.miralles.spring_web.infrastructure.security.JwtServerInterceptor;
+import io.grpc.BindableService;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.grpc.ServerInterceptors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the gRPC server alongside the servlet container.
+ * Every registered {@link BindableService} is exposed behind the JWT interceptor.
+ */
+@Component
+public class GrpcServerLifecycle implements SmartLifecycle {
+
+    private final GrpcProperties grpcProperties;
+    private final List<BindableService> services;
+    private final JwtServerInterceptor jwtServerInterceptor;
+    private final boolean virtualThreads;
+
+    private volatile Server server;
+    private volatile ExecutorService executor;
+
+    public GrpcServerLifecycle(GrpcProperties grpcProperties, List<BindableService> services,
+            JwtServerInterceptor jwtServerInterceptor,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.grpcProperties = grpcProperties;
+        this.services = services;
+        this.jwtServerInterceptor = jwtServerInterceptor;
+        this.virtualThreads = virtualThreads;
+    }
+
+    @Override
+    public void start() {
+        if (!grpcProperties.isEnabled()) {
+            return;
+        }
+        ServerBuilder<?> builder = ServerBuilder.forPort(grpcProperties.getPort());
+        if (virtualThreads) {
+            // One virtual thread per call, like the servlet container in virtual thread mode
+            executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("grpc-", 1).factory());
+            builder.executor(executor);
+        }
+        for (BindableService service : services) {
+            builder.addService(ServerInterceptors.intercept(service, jwtServerInterceptor));
+        }
+        try {
+            server = builder.build().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start gRPC server on port " + grpcProperties.getPort(), e);
+        }
+        System.out.println("🔌 gRPC server started on port " + server.getPort());
+    }
+
+    @Override
+    public void stop() {
+        Server running = server;
+        if (running == null) {
+            return;
+        }
+        running.shutdown();
+        try {
+            if (!running.awaitTermination(10, TimeUnit.SECONDS)) {
+                running.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            running.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        server = null;
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * Returns the port the server is bound to, or -1 if it is not running.
+     */
+    public int getPort() {
+        Server running = server;
+        return running != null ? running.getPort() : -1;
+    }
+}
@@ -0,0 +1,320 @@
+package com.miralles.spring_web.infrastructure.metering;
+
+import com.miralles.spring_web.application.ports.ConsumerUsage;
+import com.miralles.spring_web.application.ports.UsageReport;
+import com.miralles.spring_web.infrastructure.config.UsageMeteringProperties;
+import org.jspecify.annotations.Nullable;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-principal, per-endpoint request and byte counters.
+ *
+ * Recording a request is two map lookups on keys the request already holds (the principal
+ * name and the route pattern) and a few {@link LongAdder} increments, which spread concurrent
+ * updates over striped cells instead of contending on one field; nothing is allocated once the
+ * counters of a principal and endpoint exist.
+ *
+ * Counters live in a window that is swapped for a fresh one every {@code window}. A window that
+ * was swapped out is only summed at the following roll-over, so requests that picked it up just
+ * before the swap are still counted. Summed windows are kept for the top consumers report and,
+ * optionally, appended to a daily TSV file.
+ *
+ * The roll-over runs on a timer thread of its own rather than on the shared Spring scheduler,
+ * where a long snapshot export would delay it and stretch the window.
+ */
+@Component
+public class StripedUsageMeter implements UsageReport, SmartLifecycle {
+
+    static final String UNMATCHED_ENDPOINT = "unmatched";
+    static final String[] METHODS = {"GET", "POST", "PUT", "PATCH", "DELETE", "OTHER"};
+
+    private static final String FILE_PREFIX = "usage-";
+    private static final String FILE_SUFFIX = ".tsv";
+    private static final String FILE_HEADER = "window_start\tprincipal\tmethod\tendpoint\trequests\tbytes_in\tbytes_out\n";
+
+    private final UsageMeteringProperties usageMeteringProperties;
+    private final LongSupplier clock;
+
+    private volatile Window current;
+    // Swapped out at the last roll-over, summed at the next one
+    private @Nullable Window retiring;
+    private final ArrayDeque<ClosedWindow> closed = new ArrayDeque<>();
+    private volatile @Nullable ScheduledExecutorService rollOverTimer;
+
+    public StripedUsageMeter(UsageMeteringProperties usageMeteringProperties) {
+        this(usageMeteringProperties, System::currentTimeMillis);
+    }
+
+    StripedUsageMeter(UsageMeteringProperties usageMeteringProperties, LongSupplier clock) {
+        this.usageMeteringProperties = usageMeteringProperties;
+        this.clock = clock;
+        this.current = new Window(clock.getAsLong());
+    }
+
+    /**
+     * Counts one request.
+     *
+     * @param principal the authenticated principal
+     * @param method the HTTP method
+     * @param endpoint the route pattern, or {@link #UNMATCHED_ENDPOINT}
+     * @param bytesIn the request body bytes
+     * @param bytesOut the response body bytes
+     */
+    public void record(String principal, String method, String endpoint, long bytesIn, long bytesOut) {
+        current.counters(principal, endpoint, methodIndex(method)).add(bytesIn, bytesOut);
+    }
+
+    @Override
+    public void start() {
+        long windowMillis = Math.max(1, usageMeteringProperties.getWindow().toMillis());
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("usage-rollover").daemon(true).factory());
+        timer.scheduleAtFixedRate(this::rollOverOnSchedule, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+        rollOverTimer = timer;
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService timer = rollOverTimer;
+        if (timer != null) {
+            timer.shutdownNow();
+            rollOverTimer = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return rollOverTimer != null;
+    }
+
+    void rollOverOnSchedule() {
+        if (!usageMeteringProperties.isEnabled()) {
+            return;
+        }
+        try {
+            ClosedWindow window = rollOver();
+            if (window == null || window.records().isEmpty() || !usageMeteringProperties.isFlushToFile()) {
+                return;
+            }
+            append(window);
+        } catch (IOException e) {
+            // The window stays available in memory
+            System.err.println("❌ Usage window could not be written: " + e.getMessage());
+        } catch (RuntimeException e) {
+            // A task that throws is never run again by the timer
+            System.err.println("❌ Usage window roll-over failed: " + e);
+        }
+    }
+
+    /**
+     * Starts a new window and sums the one retired at the previous roll-over.
+     *
+     * @return the summed window, or null on the first roll-over
+     */
+    synchronized @Nullable ClosedWindow rollOver() {
+        Window previous = retiring;
+        Window next = new Window(clock.getAsLong());
+        retiring = current;
+        current = next;
+        if (previous == null) {
+            return null;
+        }
+        ClosedWindow window = previous.close(retiring.start);
+        closed.addLast(window);
+        while (closed.size() > Math.max(1, usageMeteringProperties.getRetainedWindows())) {
+            closed.removeFirst();
+        }
+        return window;
+    }
+
+    @Override
+    public List<ConsumerUsage> topConsumers(int limit, Duration period, Order order) {
+        long since = clock.getAsLong() - period.toMillis();
+        Map<String, long[]> totals = new HashMap<>();
+        synchronized (this) {
+            for (ClosedWindow window : closed) {
+                if (window.end() > since) {
+                    for (UsageRecord usage : window.records()) {
+                        add(totals, usage.principal(), usage.requests(), usage.bytesIn(), usage.bytesOut());
+                    }
+                }
+            }
+            if (retiring != null) {
+                retiring.sumInto(totals);
+            }
+            current.sumInto(totals);
+        }
+        Comparator<ConsumerUsage> heaviest = order == Order.BYTES
+                ? Comparator.comparingLong(usage -> usage.bytesIn() + usage.bytesOut())
+                : Comparator.comparingLong(ConsumerUsage::requests);
+        return totals.entrySet().stream()
+                .map(entry -> new ConsumerUsage(entry.getKey(), entry.getValue()[0], entry.getValue()[1], entry.getValue()[2]))
+                .sorted(heaviest.reversed().thenComparing(ConsumerUsage::principal))
+                .limit(limit)
+                .toList();
+    }
+
+    private void append(ClosedWindow window) throws IOException {
+        Path directory = Path.of(usageMeteringProperties.getDirectory());
+        Files.createDirectories(directory);
+        Instant start = Instant.ofEpochMilli(window.start());
+        Path file = directory.resolve(FILE_PREFIX + start.atZone(ZoneOffset.UTC).toLocalDate() + FILE_SUFFIX);
+        boolean created = Files.notExists(file);
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            if (created) {
+                writer.write(FILE_HEADER);
+            }
+            for (UsageRecord usage : window.records()) {
+                writer.write(start + "\t" + field(usage.principal()) + "\t" + usage.method() + "\t"
+                        + field(usage.endpoint()) + "\t" + usage.requests() + "\t" + usage.bytesIn() + "\t"
+                        + usage.bytesOut() + "\n");
+            }
+        }
+    }
+
+    private static String field(String value) {
+        return value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+
+    private static int methodIndex(String method) {
+        return switch (method) {
+            case "GET" -> 0;
+            case "POST" -> 1;
+            case "PUT" -> 2;
+            case "PATCH" -> 3;
+            case "DELETE" -> 4;
+            default -> 5;
+        };
+    }
+
+    private static void add(Map<String, long[]> totals, String principal, long requests, long bytesIn, long bytesOut) {
+        long[] total = totals.computeIfAbsent(principal, key -> new long[3]);
+        total[0] += requests;
+        total[1] += bytesIn;
+        total[2] += bytesOut;
+    }
+
+    /**
+     * Usage of one principal, method and endpoint in a closed window.
+     */
+    record UsageRecord(String principal, String method, String endpoint, long requests, long bytesIn, long bytesOut) {
+    }
+
+    /**
+     * A summed window, {@code start} inclusive to {@code end} exclusive, in epoch millis.
+     */
+    record ClosedWindow(long start, long end, List<UsageRecord> records) {
+    }
+
+    /**
+     * Live counters of one window.
+     */
+    private static final class Window {
+
+        private final long start;
+        private final ConcurrentHashMap<String, ConcurrentHashMap<String, EndpointCounters>> principals =
+                new ConcurrentHashMap<>();
+
+        private Window(long start) {
+            this.start = start;
+        }
+
+        private Counters counters(String principal, String endpoint, int method) {
+            // Plain get first: computeIfAbsent is only needed the first time a key shows up
+            ConcurrentHashMap<String, EndpointCounters> endpoints = principals.get(principal);
+            if (endpoints == null) {
+                endpoints = principals.computeIfAbsent(principal, key -> new ConcurrentHashMap<>());
+            }
+            EndpointCounters counters = endpoints.get(endpoint);
+            if (counters == null) {
+                counters = endpoints.computeIfAbsent(endpoint, key -> new EndpointCounters());
+            }
+            return counters.forMethod(method);
+        }
+
+        private void sumInto(Map<String, long[]> totals) {
+            principals.forEach((principal, endpoints) -> endpoints.forEach((endpoint, counters) -> {
+                for (int method = 0; method < METHODS.length; method++) {
+                    Counters methodCounters = counters.byMethod.get(method);
+                    if (methodCounters != null) {
+                        add(totals, principal, methodCounters.requests.sum(), methodCounters.bytesIn.sum(),
+                                methodCounters.bytesOut.sum());
+                    }
+                }
+            }));
+        }
+
+        private ClosedWindow close(long end) {
+            List<UsageRecord> records = new ArrayList<>();
+            principals.forEach((principal, endpoints) -> endpoints.forEach((endpoint, counters) -> {
+                for (int method = 0; method < METHODS.length; method++) {
+                    Counters methodCounters = counters.byMethod.get(method);
+                    if (methodCounters != null) {
+                        records.add(new UsageRecord(principal, METHODS[method], endpoint, methodCounters.requests.sum(),
+                                methodCounters.bytesIn.sum(), methodCounters.bytesOut.sum()));
+                    }
+                }
+            }));
+            return new ClosedWindow(start, end, records);
+        }
+    }
+
+    /**
+     * Counters of one principal and endpoint, per HTTP method.
+     */
+    private static final class EndpointCounters {
+
+        private final AtomicReferenceArray<Counters> byMethod = new AtomicReferenceArray<>(METHODS.length);
+
+        private Counters forMethod(int method) {
+            Counters counters = byMethod.get(method);
+            if (counters == null) {
+                byMethod.compareAndSet(method, null, new Counters());
+                counters = byMethod.get(method);
+            }
+            return counters;
+        }
+    }
+
+    private static final class Counters {
+
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder bytesIn = new LongAdder();
+        private final LongAdder bytesOut = new LongAdder();
+
+        private void add(long in, long out) {
+            requests.increment();
+            if (in > 0) {
+                bytesIn.add(in);
+            }
+            if (out > 0) {
+                bytesOut.add(out);
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.miralles.spring_web.infrastructure.persistence;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker driven by both errors and latency.
+ *
+ * While CLOSED, the outcome of the last {@code windowSize} calls is kept in a ring; once at
+ * least {@code minimumCalls} are recorded and either the failure rate or the slow call rate
+ * reaches its threshold, the circuit OPENs and calls are refused for {@code openNanos}.
+ * Then it is HALF_OPEN: up to {@code halfOpenCalls} probes are let through, and it closes
+ * when all of them succeed quickly or opens again at the first bad one.
+ *
+ * Safe to call from any number of threads without locking.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private static final int FAILED = 1;
+    private static final int SLOW = 2;
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long slowCallNanos;
+    private final double slowCallRateThreshold;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier clock;
+    private final Runnable onClose;
+
+    /**
+     * Every call goes through here, so there is no lock: each state change swaps in a fresh
+     * phase with a compare-and-set, and the counters of a phase are atomics.
+     */
+    private final AtomicReference<Phase> phase;
+
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, long slowCallNanos,
+            double slowCallRateThreshold, long openNanos, int halfOpenCalls, LongSupplier clock, Runnable onClose) {
+        this.windowSize = Math.max(1, windowSize);
+        this.minimumCalls = Math.clamp(minimumCalls, 1, this.windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = slowCallNanos;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.openNanos = openNanos;
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+        this.clock = clock;
+        this.onClose = onClose;
+        this.phase = new AtomicReference<>(new Phase(State.CLOSED, 0, this.windowSize));
+    }
+
+    /**
+     * Whether a call may go to the store now. Every permitted call must be followed by
+     * {@link #onSuccess} or {@link #onError}.
+     */
+    public boolean tryAcquire() {
+        Phase current = phase.get();
+        if (current.state == State.CLOSED) {
+            return true;
+        }
+        if (current.state == State.OPEN) {
+            if (clock.getAsLong() - current.openedAt < openNanos) {
+                return false;
+            }
+            Phase halfOpen = new Phase(State.HALF_OPEN, current.openedAt, 0);
+            // The loser of a race takes the phase the winner installed
+            current = phase.compareAndSet(current, halfOpen) ? halfOpen : phase.get();
+            if (current.state != State.HALF_OPEN) {
+                return current.state == State.CLOSED;
+            }
+        }
+        return current.probesStarted.getAndUpdate(n -> n < halfOpenCalls ? n + 1 : n) < halfOpenCalls;
+    }
+
+    public void onSuccess(long durationNanos) {
+        if (record(durationNanos > slowCallNanos ? SLOW : 0)) {
+            onClose.run();
+        }
+    }
+
+    public void onError(long durationNanos) {
+        record(FAILED | (durationNanos > slowCallNanos ? SLOW : 0));
+    }
+
+    public State getState() {
+        return phase.get().state;
+    }
+
+    /**
+     * @return whether this outcome closed the circuit
+     */
+    private boolean record(int outcome) {
+        Phase current = phase.get();
+        switch (current.state) {
+            case HALF_OPEN -> {
+                if (outcome != 0) {
+                    open(current);
+                    return false;
+                }
+                // Only the probe completing the count closes it, and only once
+                return current.probesSucceeded.incrementAndGet() == halfOpenCalls
+                        && phase.compareAndSet(current, new Phase(State.CLOSED, 0, windowSize));
+            }
+            case OPEN -> {
+                // A call started before the circuit opened, it says nothing new
+                return false;
+            }
+            default -> {
+                long seq = current.calls.getAndIncrement();
+                int evicted = current.outcomes.getAndSet((int) (seq % windowSize), outcome);
+                int failed = current.failedCalls.addAndGet((outcome & FAILED) - (evicted & FAILED));
+                int slow = current.slowCalls.addAndGet(((outcome & SLOW) - (evicted & SLOW)) >> 1);
+                long recorded = Math.min(seq + 1, windowSize);
+                if (recorded >= minimumCalls
+                        && ((double) failed / recorded >= failureRateThreshold
+                        || (double) slow / recorded >= slowCallRateThreshold)) {
+                    open(current);
+                }
+                return false;
+            }
+        }
+    }
+
+    private void open(Phase from) {
+        phase.compareAndSet(from, new Phase(State.OPEN, clock.getAsLong(), 0));
+    }
+
+    /**
+     * One stay in a state. The ring of the last outcomes only exists while CLOSED.
+     */
+    private static final class Phase {
+
+        private final State state;
+        private final long openedAt;
+        private final AtomicIntegerArray outcomes;
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicInteger failedCalls = new AtomicInteger();
+        private final AtomicInteger slowCalls = new AtomicInteger();
+        private final AtomicInteger probesStarted = new AtomicInteger();
+        private final AtomicInteger probesSucceeded = new AtomicInteger();
+
+        private Phase(State state, long openedAt, int windowSize) {
+            this.state = state;
+            this.openedAt = openedAt;
+            this.outcomes = new AtomicIntegerArray(windowSize);
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package com.miralles.spring_web.infrastructure.persistence;
+
+import com.miralles.spring_web.domain.exceptions.DomainException;
+import com.miralles.spring_web.domain.exceptions.StoreUnavailableException;
+import com.miralles.spring_web.domain.models.User;
+import com.miralles.spring_web.domain.models.UserField;
+import com.miralles.spring_web.domain.models.UserQuery;
+import com.miralles.spring_web.domain.models.UserStats;
+import com.miralles.spring_web.domain.models.UserTombstone;
+import com.miralles.spring_web.domain.repositories.UserRepository;
+import com.miralles.spring_web.infrastructure.config.CircuitBreakerProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Circuit breaker in front of a {@link UserRepository}.
+ *
+ * Every call is timed and its outcome fed to a {@link CircuitBreaker}; when too many recent
+ * calls failed or were slow, the circuit opens and the store is left alone for a while
+ * instead of piling more requests onto it. Domain exceptions are answers, not failures.
+ *
+ * Users read or written successfully are remembered as last-known values. While the circuit
+ * is open, or when a read fails, lookups by id and email are answered from those values if
+ * they are not older than {@code maxStaleness} (stale-while-revalidate); anything else fails
+ * fast with {@link StoreUnavailableException}. Once the circuit closes again, the users that
+ * were served stale are reloaded in the background.
+ */
+public class CircuitBreakingUserRepository implements UserRepository, AutoCloseable {
+
+    static final String STATE_METER = "app.repository.circuit.state";
+    static final String STALE_READS_METER = "app.repository.stale_reads";
+    static final String SHORT_CIRCUITED_METER = "app.repository.short_circuited";
+
+    private static final int REFRESH_CHUNK_SIZE = 100;
+
+    private final UserRepository delegate;
+    private final CircuitBreaker circuitBreaker;
+    private final long maxStalenessNanos;
+    private final int cacheSize;
+    private final LongSupplier clock;
+
+    private final ConcurrentHashMap<Long, LastKnown> lastKnown = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> idsByEmail = new ConcurrentHashMap<>();
+    private final Set<Long> servedStale = ConcurrentHashMap.newKeySet();
+    private final ExecutorService refreshExecutor;
+
+    private final Counter staleReads;
+    private final Counter shortCircuited;
+
+    public CircuitBreakingUserRepository(UserRepository delegate, CircuitBreakerProperties properties,
+            MeterRegistry meterRegistry) {
+        this(delegate, properties, meterRegistry, System::nanoTime);
+    }
+
+    CircuitBreakingUserRepository(UserRepository delegate, CircuitBreakerProperties properties,
+            MeterRegistry meterRegistry, LongSupplier clock) {
+        this.delegate = delegate;
+        this.maxStalenessNanos = properties.getMaxStaleness().toNanos();
+        this.cacheSize = Math.max(0, properties.getCacheSize());
+        this.clock = clock;
+        this.refreshExecutor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("user-repository-refresh-", 1).factory());
+        this.circuitBreaker = new CircuitBreaker(properties.getWindowSize(), properties.getMinimumCalls(),
+                properties.getFailureRateThreshold(), properties.getSlowCallDuration().toNanos(),
+                properties.getSlowCallRateThreshold(), properties.getOpenDuration().toNanos(),
+                properties.getHalfOpenCalls(), clock, this::scheduleRefresh);
+
+        Gauge.builder(STATE_METER, circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("State of the repository circuit: 0 closed, 1 open, 2 half open")
+                .register(meterRegistry);
+        this.staleReads = Counter.builder(STALE_READS_METER)
+                .description("Reads answered with a last-known value because the store was unavailable")
+                .register(meterRegistry);
+        this.shortCircuited = Counter.builder(SHORT_CIRCUITED_METER)
+                .description("Calls refused without reaching the store because the circuit was open")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<User> findById(Long id) {
+        if (id == null) {
+            return delegate.findById(id);
+        }
+        return call(() -> {
+            Optional<User> user = delegate.findById(id);
+            user.ifPresentOrElse(this::remember, () -> forget(id));
+            return user;
+        }, () -> stale(id).map(Optional::of));
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        if (email == null) {
+            return delegate.findByEmail(email);
+        }
+        return call(() -> {
+            Optional<User> user = delegate.findByEmail(email);
+            user.ifPresentOrElse(this::remember, () -> forgetEmail(email));
+            return user;
+        }, () -> staleByEmail(email).map(Optional::of));
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return call(() -> delegate.existsByEmail(email), () -> staleByEmail(email).map(user -> true));
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email, Set<UserField> fields) {
+        // A projection is not a full user, so it is not remembered, only served from a full one
+        return call(() -> delegate.findByEmail(email, fields),
+                () -> staleByEmail(email).map(user -> Optional.of(UserField.project(user, fields))));
+    }
+
+    @Override
+    public List<User> findAllById(Collection<Long> ids) {
+        return call(() -> {
+            List<User> users = delegate.findAllById(ids);
+            users.forEach(this::remember);
+            return users;
+        }, () -> staleAll(ids));
+    }
+
+    @Override
+    public List<User> findAll() {
+        return call(delegate::findAll, Optional::empty);
+    }
+
+    @Override
+    public List<User> findAll(Set<UserField> fields) {
+        return call(() -> delegate.findAll(fields), Optional::empty);
+    }
+
+    @Override
+    public List<User> findAll(UserQuery query) {
+        return call(() -> delegate.findAll(query), Optional::empty);
+    }
+
+    @Override
+    public long count(UserQuery query) {
+        return call(() -> delegate.count(query), Optional::empty);
+    }
+
+    @Override
+    public UserStats stats() {
+        return call(delegate::stats, Optional::empty);
+    }
+
+    @Override
+    public Stream<User> streamAll(@Nullable Instant modifiedSince) {
+        // Only opening the stream is guarded, rows are read later by the caller
+        return call(() -> delegate.streamAll(modifiedSince), Optional::empty);
+    }
+
+    @Override
+    public Stream<UserTombstone> streamDeletedSince(Instant since) {
+        return call(() -> delegate.streamDeletedSince(since), Optional::empty);
+    }
+
+    @Override
+    public List<User> search(String query, int limit) {
+        return call(() -> delegate.search(query, limit), Optional::empty);
+    }
+
+    @Override
+    public User save(User user) {
+        User saved = call(() -> delegate.save(user), Optional::empty);
+        remember(saved);
+        return saved;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        call(() -> {
+            delegate.deleteById(id);
+            return null;
+        }, Optional::empty);
+        forget(id);
+    }
+
+    @Override
+    public List<User> writeBatch(List<User> saves, List<Long> deletes) {
+        List<User> saved = call(() -> delegate.writeBatch(saves, deletes), Optional::empty);
+        deletes.forEach(this::forget);
+        saved.forEach(this::remember);
+        return saved;
+    }
+
+    @Override
+    public void close() {
+        refreshExecutor.shutdown();
+    }
+
+    CircuitBreaker.State state() {
+        return circuitBreaker.getState();
+    }
+
+    /**
+     * Runs one call through the breaker.
+     *
+     * @param operation the call to the store
+     * @param fallback a last-known answer, empty when there is none fresh enough
+     */
+    private <T> T call(Supplier<T> operation, Supplier<Optional<T>> fallback) {
+        if (!circuitBreaker.tryAcquire()) {
+            shortCircuited.increment();
+            return fallback.get().map(this::countStale).orElseThrow(
+                    () -> new StoreUnavailableException("User store is unavailable, try again later"));
+        }
+        long start = System.nanoTime();
+        try {
+            T result = operation.get();
+            circuitBreaker.onSuccess(System.nanoTime() - start);
+            return result;
+        } catch (DomainException e) {
+            circuitBreaker.onSuccess(System.nanoTime() - start);
+            throw e;
+        } catch (RuntimeException e) {
+            circuitBreaker.onError(System.nanoTime() - start);
+            Optional<T> stale = fallback.get();
+            if (stale.isPresent()) {
+                return countStale(stale.get());
+            }
+            throw e;
+        }
+    }
+
+    private <T> T countStale(T value) {
+        staleReads.increment();
+        return value;
+    }
+
+    private Optional<User> stale(Long id) {
+        LastKnown entry = lastKnown.get(id);
+        if (entry == null || clock.getAsLong() - entry.storedAt() > maxStalenessNanos) {
+            return Optional.empty();
+        }
+        servedStale.add(id);
+        return Optional.of(entry.user());
+    }
+
+    private Optional<User> staleByEmail(@Nullable String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        Long id = idsByEmail.get(email);
+        return id == null ? Optional.empty() : stale(id).filter(user -> email.equals(user.getEmail()));
+    }
+
+    /**
+     * Answers when every id has a fresh value. A partial list would look like missing users, so
+     * when only some ids have one, the lookup fails with the fresh users attached: callers that
+     * batched unrelated lookups serve those and fail only the others.
+     */
+    private Optional<List<User>> staleAll(Collection<Long> ids) {
+        List<User> users = new ArrayList<>(ids.size());
+        boolean missing = false;
+        for (Long id : new HashSet<>(ids)) {
+            Optional<User> user = stale(id);
+            if (user.isPresent()) {
+                users.add(user.get());
+            } else {
+                missing = true;
+            }
+        }
+        if (!missing) {
+            return Optional.of(users);
+        }
+        if (users.isEmpty()) {
+            return Optional.empty();
+        }
+        staleReads.increment();
+        throw new StoreUnavailableException("User store is unavailable, try again later", users);
+    }
+
+    private void remember(User user) {
+        if (user.getId() == null || cacheSize == 0) {
+            return;
+        }
+        if (lastKnown.size() >= cacheSize && !lastKnown.containsKey(user.getId())) {
+            // Any entry will do: the values only matter during an outage
+            Iterator<Long> victims = lastKnown.keySet().iterator();
+            if (victims.hasNext()) {
+                forget(victims.next());
+            }
+        }
+        LastKnown previous = lastKnown.put(user.getId(), new LastKnown(user, clock.getAsLong()));
+        if (previous != null && previous.user().getEmail() != null
+                && !previous.user().getEmail().equals(user.getEmail())) {
+            idsByEmail.remove(previous.user().getEmail(), user.getId());
+        }
+        if (user.getEmail() != null) {
+            idsByEmail.put(user.getEmail(), user.getId());
+        }
+        servedStale.remove(user.getId());
+    }
+
+    private void forget(Long id) {
+        LastKnown removed = lastKnown.remove(id);
+        if (removed != null && removed.user().getEmail() != null) {
+            idsByEmail.remove(removed.user().getEmail(), id);
+        }
+        servedStale.remove(id);
+    }
+
+    private void forgetEmail(String email) {
+        Long id = idsByEmail.get(email);
+        if (id != null) {
+            forget(id);
+        }
+    }
+
+    /**
+     * Called by the breaker when the circuit closes: reloads what was served stale during the outage.
+     */
+    private void scheduleRefresh() {
+        if (servedStale.isEmpty()) {
+            return;
+        }
+        refreshExecutor.execute(this::refreshStale);
+    }
+
+    private void refreshStale() {
+        List<Long> ids = new ArrayList<>(servedStale);
+        for (int from = 0; from < ids.size(); from += REFRESH_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + REFRESH_CHUNK_SIZE));
+            List<User> found;
+            try {
+                found = call(() -> delegate.findAllById(chunk), Optional::empty);
+            } catch (RuntimeException e) {
+                // The store is struggling again, the next close retries what is left
+                return;
+            }
+            Set<Long> missing = new HashSet<>(chunk);
+            for (User user : found) {
+                remember(user);
+                missing.remove(user.getId());
+            }
+            missing.forEach(this::forget);
+        }
+    }
+
+    /**
+     * A user as last read from or written to the store.
+     */
+    private record LastKnown(User user, long storedAt) {
+    }
+}
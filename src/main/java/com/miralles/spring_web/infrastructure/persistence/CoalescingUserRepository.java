@@ -0,0 +1,347 @@
+package com.miralles.spring_web.infrastructure.persistence;
+
+import com.miralles.spring_web.domain.exceptions.StoreUnavailableException;
+import com.miralles.spring_web.domain.models.User;
+import com.miralles.spring_web.domain.models.UserField;
+import com.miralles.spring_web.domain.models.UserQuery;
+import com.miralles.spring_web.domain.models.UserStats;
+import com.miralles.spring_web.domain.models.UserTombstone;
+import com.miralles.spring_web.domain.repositories.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Loader in front of a {@link UserRepository} for hot reads.
+ *
+ * Concurrent lookups of the same id or email share one in-flight repository call
+ * (single flight) instead of each issuing an identical query. Distinct ids requested
+ * within {@code batchWindow} of each other are loaded together through
+ * {@link UserRepository#findAllById}, one query instead of one per id. Writes go straight
+ * to the repository and stop later lookups from joining a load that may predate them.
+ *
+ * Lookups that joined a load receive the same {@link User} instance, as they would from
+ * the in-memory repositories.
+ */
+public class CoalescingUserRepository implements UserRepository, AutoCloseable {
+
+    static final String LOOKUPS_METER = "app.user_loader.lookups";
+    static final String BATCH_SIZE_METER = "app.user_loader.batch_size";
+    static final String COALESCING_RATIO_METER = "app.user_loader.coalescing_ratio";
+
+    private final UserRepository delegate;
+    private final long batchWindowNanos;
+    private final int maxBatchSize;
+
+    private final ConcurrentHashMap<Long, CompletableFuture<Optional<User>>> idLoads = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CompletableFuture<Optional<User>>> emailLoads = new ConcurrentHashMap<>();
+    private final ReentrantLock pendingLock = new ReentrantLock();
+    private List<PendingLoad> pending = new ArrayList<>();
+
+    private final ScheduledExecutorService batchTimer;
+    private final ExecutorService batchExecutor;
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final Counter idLoaded;
+    private final Counter idCoalesced;
+    private final Counter emailLoaded;
+    private final Counter emailCoalesced;
+    private final DistributionSummary batchSizes;
+
+    public CoalescingUserRepository(UserRepository delegate, Duration batchWindow, int maxBatchSize,
+            MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.batchWindowNanos = batchWindow.toNanos();
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.batchTimer = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("user-loader-timer").daemon(true).factory());
+        this.batchExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("user-loader-", 1).factory());
+
+        this.idLoaded = lookupCounter(meterRegistry, "id", "loaded");
+        this.idCoalesced = lookupCounter(meterRegistry, "id", "coalesced");
+        this.emailLoaded = lookupCounter(meterRegistry, "email", "loaded");
+        this.emailCoalesced = lookupCounter(meterRegistry, "email", "coalesced");
+        this.batchSizes = DistributionSummary.builder(BATCH_SIZE_METER)
+                .description("Number of ids loaded by one repository call")
+                .register(meterRegistry);
+        Gauge.builder(COALESCING_RATIO_METER, this, CoalescingUserRepository::coalescingRatio)
+                .description("Share of lookups served by a load already in flight")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<User> findById(Long id) {
+        if (id == null) {
+            return delegate.findById(id);
+        }
+        lookups.increment();
+        CompletableFuture<Optional<User>> load = new CompletableFuture<>();
+        CompletableFuture<Optional<User>> inFlight = idLoads.putIfAbsent(id, load);
+        if (inFlight != null) {
+            coalesced.increment();
+            idCoalesced.increment();
+            return await(inFlight);
+        }
+        idLoaded.increment();
+        if (batchWindowNanos <= 0) {
+            loadBatch(List.of(new PendingLoad(id, load)));
+        } else {
+            enqueue(new PendingLoad(id, load));
+        }
+        return await(load);
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        if (email == null) {
+            return delegate.findByEmail(email);
+        }
+        lookups.increment();
+        CompletableFuture<Optional<User>> load = new CompletableFuture<>();
+        CompletableFuture<Optional<User>> inFlight = emailLoads.putIfAbsent(email, load);
+        if (inFlight != null) {
+            coalesced.increment();
+            emailCoalesced.increment();
+            return await(inFlight);
+        }
+        emailLoaded.increment();
+        try {
+            Optional<User> user = delegate.findByEmail(email);
+            load.complete(user);
+            return user;
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            emailLoads.remove(email, load);
+        }
+    }
+
+    @Override
+    public User save(User user) {
+        User saved = delegate.save(user);
+        forget(saved);
+        return saved;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        delegate.deleteById(id);
+        idLoads.remove(id);
+        // The email of the deleted user is unknown here
+        emailLoads.clear();
+    }
+
+    @Override
+    public List<User> writeBatch(List<User> saves, List<Long> deletes) {
+        List<User> saved = delegate.writeBatch(saves, deletes);
+        saved.forEach(this::forget);
+        deletes.forEach(idLoads::remove);
+        if (!deletes.isEmpty()) {
+            emailLoads.clear();
+        }
+        return saved;
+    }
+
+    @Override
+    public List<User> findAllById(Collection<Long> ids) {
+        return delegate.findAllById(ids);
+    }
+
+    @Override
+    public List<User> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<User> findAll(Set<UserField> fields) {
+        return delegate.findAll(fields);
+    }
+
+    @Override
+    public List<User> findAll(UserQuery query) {
+        return delegate.findAll(query);
+    }
+
+    @Override
+    public long count(UserQuery query) {
+        return delegate.count(query);
+    }
+
+    @Override
+    public UserStats stats() {
+        return delegate.stats();
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return delegate.existsByEmail(email);
+    }
+
+    @Override
+    public List<User> search(String query, int limit) {
+        return delegate.search(query, limit);
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email, Set<UserField> fields) {
+        return delegate.findByEmail(email, fields);
+    }
+
+    @Override
+    public Stream<User> streamAll(@Nullable Instant modifiedSince) {
+        return delegate.streamAll(modifiedSince);
+    }
+
+    @Override
+    public Stream<UserTombstone> streamDeletedSince(Instant since) {
+        return delegate.streamDeletedSince(since);
+    }
+
+    @Override
+    public void close() {
+        batchTimer.shutdownNow();
+        batchExecutor.shutdown();
+    }
+
+    double coalescingRatio() {
+        long total = lookups.sum();
+        return total == 0 ? 0 : (double) coalesced.sum() / total;
+    }
+
+    /**
+     * Adds an id to the current window. The first id of a window arms the timer that sends
+     * it; a full window is sent at once.
+     */
+    private void enqueue(PendingLoad load) {
+        List<PendingLoad> full = null;
+        pendingLock.lock();
+        try {
+            pending.add(load);
+            if (pending.size() >= maxBatchSize) {
+                full = pending;
+                pending = new ArrayList<>();
+            } else if (pending.size() == 1) {
+                batchTimer.schedule(this::flush, batchWindowNanos, TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            pendingLock.unlock();
+        }
+        if (full != null) {
+            List<PendingLoad> batch = full;
+            batchExecutor.execute(() -> loadBatch(batch));
+        }
+    }
+
+    private void flush() {
+        List<PendingLoad> batch;
+        pendingLock.lock();
+        try {
+            if (pending.isEmpty()) {
+                // Already sent because the window filled up
+                return;
+            }
+            batch = pending;
+            pending = new ArrayList<>();
+        } finally {
+            pendingLock.unlock();
+        }
+        batchExecutor.execute(() -> loadBatch(batch));
+    }
+
+    private void loadBatch(List<PendingLoad> batch) {
+        batchSizes.record(batch.size());
+        try {
+            List<Long> ids = new ArrayList<>(batch.size());
+            for (PendingLoad load : batch) {
+                ids.add(load.id());
+            }
+            Map<Long, User> found = new HashMap<>();
+            for (User user : delegate.findAllById(ids)) {
+                found.put(user.getId(), user);
+            }
+            for (PendingLoad load : batch) {
+                idLoads.remove(load.id(), load.result());
+                load.result().complete(Optional.ofNullable(found.get(load.id())));
+            }
+        } catch (StoreUnavailableException e) {
+            // Ids with a last-known value are served, only the others fail
+            Map<Long, User> available = new HashMap<>();
+            for (User user : e.getAvailable()) {
+                available.put(user.getId(), user);
+            }
+            for (PendingLoad load : batch) {
+                idLoads.remove(load.id(), load.result());
+                User user = available.get(load.id());
+                if (user != null) {
+                    load.result().complete(Optional.of(user));
+                } else {
+                    load.result().completeExceptionally(e);
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            for (PendingLoad load : batch) {
+                idLoads.remove(load.id(), load.result());
+                load.result().completeExceptionally(e);
+            }
+        }
+    }
+
+    private void forget(User user) {
+        idLoads.remove(user.getId());
+        if (user.getEmail() != null) {
+            emailLoads.remove(user.getEmail());
+        }
+    }
+
+    private static Optional<User> await(CompletableFuture<Optional<User>> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String key, String outcome) {
+        return Counter.builder(LOOKUPS_METER)
+                .description("User lookups, by key and by whether they joined a load in flight")
+                .tag("key", key)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * An id waiting for the next batch, with the future its callers wait on.
+     */
+    private record PendingLoad(Long id, CompletableFuture<Optional<User>> result) {
+    }
+}
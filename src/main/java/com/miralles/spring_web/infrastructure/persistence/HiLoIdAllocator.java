@@ -0,0 +1,89 @@
+package com.miralles.spring_web.infrastructure.persistence;
+
+import com.miralles.spring_web.domain.factories.IdAllocator;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Hi/lo allocator: ids are handed out from blocks of {@code blockSize} consecutive values.
+ *
+ * The shared "hi" counter is only touched once per block; within a block, ids come from a
+ * per-stripe counter, and threads are spread over the stripes by thread id, so concurrent
+ * writers rarely contend on the same cache line. Several nodes share the id space by
+ * interleaving blocks: node {@code n} of {@code nodeCount} only takes blocks {@code n},
+ * {@code n + nodeCount}, and so on.
+ *
+ * Ids are unique but not ordered across stripes, and the unused tail of each block is lost
+ * on restart. With the in-memory hi source, restarts start over from the first block.
+ */
+public class HiLoIdAllocator implements IdAllocator {
+
+    private final LongSupplier hiSource;
+    private final long blockSize;
+    private final AtomicReferenceArray<Block> stripes;
+    private final int stripeMask;
+
+    public HiLoIdAllocator(long blockSize, int nodeId, int nodeCount) {
+        this(interleaved(nodeId, nodeCount), blockSize, Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    /**
+     * @param hiSource the next block number, never repeating; in a real database a sequence
+     *                 ({@code SELECT NEXT VALUE FOR user_hi_seq})
+     * @param blockSize the number of ids per block
+     * @param stripes the number of blocks in use at once, rounded up to a power of two
+     */
+    HiLoIdAllocator(LongSupplier hiSource, long blockSize, int stripes) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("blockSize must be positive");
+        }
+        this.hiSource = hiSource;
+        this.blockSize = blockSize;
+        int size = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new AtomicReferenceArray<>(size);
+        this.stripeMask = size - 1;
+    }
+
+    @Override
+    public long nextId() {
+        int stripe = stripeOf(Thread.currentThread().threadId());
+        while (true) {
+            Block block = stripes.get(stripe);
+            if (block != null) {
+                long id = block.next().getAndIncrement();
+                if (id < block.end()) {
+                    return id;
+                }
+            }
+            // If another thread installs a block first, this one is skipped: a gap, never a duplicate
+            stripes.compareAndSet(stripe, block, newBlock());
+        }
+    }
+
+    private Block newBlock() {
+        long hi = hiSource.getAsLong();
+        long first = Math.addExact(Math.multiplyExact(hi, blockSize), 1);
+        return new Block(new AtomicLong(first), first + blockSize);
+    }
+
+    private int stripeOf(long threadId) {
+        long hash = threadId * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & stripeMask;
+    }
+
+    private static LongSupplier interleaved(int nodeId, int nodeCount) {
+        if (nodeCount < 1 || nodeId < 0 || nodeId >= nodeCount) {
+            throw new IllegalArgumentException("nodeId must be between 0 and nodeCount - 1");
+        }
+        AtomicLong blocks = new AtomicLong();
+        return () -> blocks.getAndIncrement() * nodeCount + nodeId;
+    }
+
+    /**
+     * A range of ids: {@code next} up to {@code end}, exclusive.
+     */
+    private record Block(AtomicLong next, long end) {
+    }
+}
@@ -1,14 +1,26 @@
 package com.miralles.spring_web.infrastructure.persistence;
 
+import com.miralles.spring_web.domain.factories.IdAllocator;
 import com.miralles.spring_web.domain.models.User;
+import com.miralles.spring_web.domain.models.UserField;
+import com.miralles.spring_web.domain.models.UserQuery;
+import com.miralles.spring_web.domain.models.UserStats;
+import com.miralles.spring_web.domain.models.UserTombstone;
 import com.miralles.spring_web.domain.repositories.UserRepository;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
 
 @Repository
 public class JpaUserRepository implements UserRepository {
@@ -16,14 +28,46 @@ public class JpaUserRepository implements UserRepository {
     // In-memory storage for demonstration
     // In a real application, this would be replaced with JPA/Hibernate
     private final ConcurrentHashMap<Long, User> users = new ConcurrentHashMap<>();
-    private final AtomicLong idGenerator = new AtomicLong(1);
+    private final IdAllocator idAllocator;
+    // Single writes share the read side, a batch takes the write side: singles never wait for
+    // each other, and nothing is written while a batch is applied
+    private final ReentrantReadWriteLock writeLock = new ReentrantReadWriteLock();
+    private final UserIndexes indexes = new UserIndexes();
+    private final UserTombstones tombstones = new UserTombstones();
+
+    /**
+     * Creates a repository numbering users 1, 2, 3...
+     */
+    public JpaUserRepository() {
+        this(new AtomicLong(1)::getAndIncrement);
+    }
+
+    @Autowired
+    public JpaUserRepository(IdAllocator idAllocator) {
+        this.idAllocator = idAllocator;
+    }
 
     @Override
     public User save(User user) {
+        writeLock.readLock().lock();
+        try {
+            return store(user);
+        } finally {
+            writeLock.readLock().unlock();
+        }
+    }
+
+    private User store(User user) {
         if (user.getId() == null) {
-            user.setId(idGenerator.getAndIncrement());
+            user.setId(idAllocator.nextId());
         }
-        users.put(user.getId(), user);
+        touch(user);
+        users.compute(user.getId(), (id, previous) -> {
+            // Under the lock of the id, so the indexes see the saves of one user in order
+            indexes.onSave(user);
+            tombstones.onSave(id);
+            return user;
+        });
         return user;
     }
 
@@ -32,6 +76,18 @@ public class JpaUserRepository implements UserRepository {
         return Optional.ofNullable(users.get(id));
     }
 
+    @Override
+    public List<User> findAllById(Collection<Long> ids) {
+        List<User> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            User user = users.get(id);
+            if (user != null) {
+                result.add(user);
+            }
+        }
+        return result;
+    }
+
     @Override
     public List<User> findAll() {
         return new ArrayList<>(users.values());
@@ -39,7 +95,12 @@ public class JpaUserRepository implements UserRepository {
 
     @Override
     public void deleteById(Long id) {
-        users.remove(id);
+        writeLock.readLock().lock();
+        try {
+            remove(id);
+        } finally {
+            writeLock.readLock().unlock();
+        }
     }
 
     @Override
@@ -48,4 +109,109 @@ public class JpaUserRepository implements UserRepository {
                 .filter(user -> user.getEmail().equals(email))
                 .findFirst();
     }
-}
\ No newline at end of file
+
+    @Override
+    public List<User> findAll(Set<UserField> fields) {
+        List<User> result = new ArrayList<>(users.size());
+        for (User user : users.values()) {
+            result.add(UserField.project(user, fields));
+        }
+        return result;
+    }
+
+    @Override
+    public List<User> findAll(UserQuery query) {
+        return indexes.find(query, users);
+    }
+
+    @Override
+    public long count(UserQuery query) {
+        return indexes.count(query, users);
+    }
+
+    @Override
+    public UserStats stats() {
+        return indexes.stats();
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return indexes.emailRegistered(email, users);
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email, Set<UserField> fields) {
+        return findByEmail(email).map(user -> UserField.project(user, fields));
+    }
+
+    @Override
+    public List<User> writeBatch(List<User> saves, List<Long> deletes) {
+        // Validate up front so a bad entry cannot leave the batch half applied
+        for (User user : saves) {
+            if (user == null) {
+                throw new IllegalArgumentException("Batch contains a null user");
+            }
+        }
+        for (Long id : deletes) {
+            if (id == null) {
+                throw new IllegalArgumentException("Batch contains a null id");
+            }
+        }
+        writeLock.writeLock().lock();
+        try {
+            List<User> saved = new ArrayList<>(saves.size());
+            for (User user : saves) {
+                saved.add(store(user));
+            }
+            for (Long id : deletes) {
+                remove(id);
+            }
+            return saved;
+        } finally {
+            writeLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Stream<User> streamAll(@Nullable Instant modifiedSince) {
+        // Iterates the live map (weakly consistent), no copy of the table is taken
+        Stream<User> stream = users.values().stream();
+        if (modifiedSince == null) {
+            return stream;
+        }
+        return stream.filter(user -> user.getUpdatedAt() != null && !user.getUpdatedAt().isBefore(modifiedSince));
+    }
+
+    @Override
+    public Stream<UserTombstone> streamDeletedSince(Instant since) {
+        return tombstones.since(since);
+    }
+
+    @Override
+    public List<User> search(String query, int limit) {
+        return findAllById(indexes.search().search(query, limit));
+    }
+
+    /**
+     * Removes a user and its index entries.
+     */
+    private void remove(Long id) {
+        users.computeIfPresent(id, (key, user) -> {
+            indexes.onDelete(user);
+            tombstones.onDelete(key);
+            return null;
+        });
+    }
+
+    /**
+     * Stamps the audit timestamps. The creation time survives saves of detached copies.
+     */
+    private void touch(User user) {
+        Instant now = Instant.now();
+        if (user.getCreatedAt() == null) {
+            User previous = users.get(user.getId());
+            user.setCreatedAt(previous != null && previous.getCreatedAt() != null ? previous.getCreatedAt() : now);
+        }
+        user.setUpdatedAt(now);
+    }
+}
@@ -1,15 +1,28 @@
 package com.miralles.spring_web.infrastructure.persistence;
 
+import com.miralles.spring_web.domain.factories.IdAllocator;
 import com.miralles.spring_web.domain.models.User;
+import com.miralles.spring_web.domain.models.UserField;
+import com.miralles.spring_web.domain.models.UserQuery;
+import com.miralles.spring_web.domain.models.UserStats;
+import com.miralles.spring_web.domain.models.UserTombstone;
 import com.miralles.spring_web.domain.repositories.UserRepository;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * MariaDB implementation of UserRepository.
@@ -28,14 +41,46 @@ public class MariaDBUserRepository implements UserRepository {
     // In-memory storage for demonstration
     // In a real MariaDB implementation, this would be replaced with JPA/Hibernate entities
     private final ConcurrentHashMap<Long, User> users = new ConcurrentHashMap<>();
-    private final AtomicLong idGenerator = new AtomicLong(1);
+    private final IdAllocator idAllocator;
+    // Single writes share the read side, a batch takes the write side: singles never wait for
+    // each other, and nothing is written while a batch is applied
+    private final ReentrantReadWriteLock writeLock = new ReentrantReadWriteLock();
+    private final UserIndexes indexes = new UserIndexes();
+    private final UserTombstones tombstones = new UserTombstones();
+
+    /**
+     * Creates a repository numbering users 1, 2, 3...
+     */
+    public MariaDBUserRepository() {
+        this(new AtomicLong(1)::getAndIncrement);
+    }
+
+    @Autowired
+    public MariaDBUserRepository(IdAllocator idAllocator) {
+        this.idAllocator = idAllocator;
+    }
 
     @Override
     public User save(User user) {
+        writeLock.readLock().lock();
+        try {
+            return store(user);
+        } finally {
+            writeLock.readLock().unlock();
+        }
+    }
+
+    private User store(User user) {
         if (user.getId() == null) {
-            user.setId(idGenerator.getAndIncrement());
+            user.setId(idAllocator.nextId());
         }
-        users.put(user.getId(), user);
+        touch(user);
+        users.compute(user.getId(), (id, previous) -> {
+            // Under the lock of the id, so the indexes see the saves of one user in order
+            indexes.onSave(user);
+            tombstones.onSave(id);
+            return user;
+        });
         
         // In a real MariaDB implementation:
         // EntityManager.persist(userEntity);
@@ -52,6 +97,25 @@ public class MariaDBUserRepository implements UserRepository {
         return Optional.ofNullable(users.get(id));
     }
 
+    @Override
+    public List<User> findAllById(Collection<Long> ids) {
+        // In a real MariaDB implementation one query serves the whole batch:
+        // return entityManager.createQuery("SELECT u FROM UserEntity u WHERE u.id IN :ids", UserEntity.class)
+        //         .setParameter("ids", ids)
+        //         .getResultStream()
+        //         .map(UserEntity::toDomain)
+        //         .collect(Collectors.toList());
+
+        List<User> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            User user = users.get(id);
+            if (user != null) {
+                result.add(user);
+            }
+        }
+        return result;
+    }
+
     @Override
     public List<User> findAll() {
         // In a real MariaDB implementation:
@@ -72,7 +136,12 @@ public class MariaDBUserRepository implements UserRepository {
         //     entityManager.remove(entity);
         // }
         
-        users.remove(id);
+        writeLock.readLock().lock();
+        try {
+            remove(id);
+        } finally {
+            writeLock.readLock().unlock();
+        }
     }
 
     @Override
@@ -89,6 +158,182 @@ public class MariaDBUserRepository implements UserRepository {
                 .findFirst();
     }
 
+    @Override
+    public List<User> findAll(Set<UserField> fields) {
+        // In a real MariaDB implementation only the requested columns are selected,
+        // so unneeded columns are never fetched from the server nor decoded:
+        // String sql = "SELECT " + toColumnList(fields) + " FROM users";
+        // return jdbcTemplate.query(sql, (rs, rowNum) -> mapProjectedRow(rs, fields));
+
+        List<User> result = new ArrayList<>(users.size());
+        for (User user : users.values()) {
+            result.add(UserField.project(user, fields));
+        }
+        return result;
+    }
+
+    @Override
+    public List<User> findAll(UserQuery query) {
+        // In a real MariaDB implementation the query becomes a WHERE clause answered from the
+        // table's indexes:
+        // UserQuerySql.Where where = UserQuerySql.toWhere(query);
+        // return jdbcTemplate.query(
+        //         "SELECT id, username, email, is_admin, created_at, updated_at FROM users " + where.sql(),
+        //         (rs, rowNum) -> mapRow(rs), where.parameters().toArray());
+
+        return indexes.find(query, users);
+    }
+
+    @Override
+    public long count(UserQuery query) {
+        // In a real MariaDB implementation:
+        // UserQuerySql.Where where = UserQuerySql.toWhere(query);
+        // return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users " + where.sql(), Long.class,
+        //         where.parameters().toArray());
+
+        return indexes.count(query, users);
+    }
+
+    @Override
+    public UserStats stats() {
+        // In a real MariaDB implementation the same counters would live in summary tables
+        // (user_counts, users_by_domain, users_by_day) updated in the transaction of each
+        // write, instead of GROUP BY queries over the whole users table:
+        // return new UserStats(
+        //         jdbcTemplate.queryForObject("SELECT total FROM user_counts", Long.class), ...);
+
+        return indexes.stats();
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        // In a real MariaDB implementation the bloom filter would be loaded at startup from
+        // "SELECT LOWER(email) FROM users" and kept current by save; only a possible hit would run
+        // (the default collation ignores case, like the in-memory check):
+        // return jdbcTemplate.queryForObject(
+        //         "SELECT EXISTS(SELECT 1 FROM users WHERE email = ?)", Boolean.class, email);
+
+        return indexes.emailRegistered(email, users);
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email, Set<UserField> fields) {
+        // In a real MariaDB implementation:
+        // String sql = "SELECT " + toColumnList(fields) + " FROM users WHERE email = ?";
+        // return jdbcTemplate.query(sql, (rs, rowNum) -> mapProjectedRow(rs, fields), email)
+        //         .stream()
+        //         .findFirst();
+
+        return findByEmail(email).map(user -> UserField.project(user, fields));
+    }
+
+    @Override
+    public List<User> writeBatch(List<User> saves, List<Long> deletes) {
+        // In a real MariaDB implementation the batch runs in one transaction with JDBC batching:
+        // transactionTemplate.execute(status -> {
+        //     jdbcTemplate.batchUpdate("INSERT INTO users (...) VALUES (...) ON DUPLICATE KEY UPDATE ...", saves, ...);
+        //     jdbcTemplate.batchUpdate("DELETE FROM users WHERE id = ?", deletes, ...);
+        //     return saves;
+        // });
+
+        for (User user : saves) {
+            if (user == null) {
+                throw new IllegalArgumentException("Batch contains a null user");
+            }
+        }
+        for (Long id : deletes) {
+            if (id == null) {
+                throw new IllegalArgumentException("Batch contains a null id");
+            }
+        }
+        writeLock.writeLock().lock();
+        try {
+            List<User> saved = new ArrayList<>(saves.size());
+            for (User user : saves) {
+                saved.add(store(user));
+            }
+            for (Long id : deletes) {
+                remove(id);
+            }
+            return saved;
+        } finally {
+            writeLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Stream<User> streamAll(@Nullable Instant modifiedSince) {
+        // In a real MariaDB implementation rows come from a forward-only cursor, so memory
+        // stays constant however many users match, and an index on updated_at keeps
+        // incremental exports cheap (the caller closes the stream):
+        // return jdbcTemplate.queryForStream(
+        //         "SELECT id, username, email, is_admin, created_at, updated_at FROM users WHERE updated_at >= ?",
+        //         (rs, rowNum) -> mapRow(rs), Timestamp.from(modifiedSince));
+
+        Stream<User> stream = users.values().stream();
+        if (modifiedSince == null) {
+            return stream;
+        }
+        return stream.filter(user -> user.getUpdatedAt() != null && !user.getUpdatedAt().isBefore(modifiedSince));
+    }
+
+    @Override
+    public Stream<UserTombstone> streamDeletedSince(Instant since) {
+        // In a real MariaDB implementation deletes also insert into a user_tombstones table
+        // (id, deleted_at), in the same transaction, and a job purges rows past the retention:
+        // return jdbcTemplate.queryForStream(
+        //         "SELECT id, deleted_at FROM user_tombstones WHERE deleted_at >= ?",
+        //         (rs, rowNum) -> new UserTombstone(rs.getLong(1), rs.getTimestamp(2).toInstant()),
+        //         Timestamp.from(since));
+
+        return tombstones.since(since);
+    }
+
+    @Override
+    public List<User> search(String query, int limit) {
+        // In a real MariaDB implementation the index is filled from the table at startup and
+        // kept current by the writes going through this repository; a LIKE '%q%' query cannot
+        // use a B-tree index and would scan the whole table on every keystroke.
+
+        return findAllById(indexes.search().search(query, limit));
+    }
+
+    /**
+     * Removes a user and its index entries.
+     */
+    private void remove(Long id) {
+        users.computeIfPresent(id, (key, user) -> {
+            indexes.onDelete(user);
+            tombstones.onDelete(key);
+            return null;
+        });
+    }
+
+    /**
+     * Stamps the audit timestamps. The creation time survives saves of detached copies.
+     */
+    private void touch(User user) {
+        Instant now = Instant.now();
+        if (user.getCreatedAt() == null) {
+            User previous = users.get(user.getId());
+            user.setCreatedAt(previous != null && previous.getCreatedAt() != null ? previous.getCreatedAt() : now);
+        }
+        user.setUpdatedAt(now);
+    }
+
+    /**
+     * Builds the SELECT column list for a projection.
+     * Field names map one to one to the columns of the users table.
+     *
+     * @param fields the requested fields
+     * @return the comma separated column list
+     */
+    static String toColumnList(Set<UserField> fields) {
+        return fields.stream()
+                .map(UserField::getFieldName)
+                .collect(Collectors.joining(", "));
+    }
+
     /**
      * Example of what a MariaDB entity might look like (commented out since we're using domain model directly)
      * 
@@ -0,0 +1,81 @@
+package com.miralles.spring_web.infrastructure.persistence;
+
+import com.miralles.spring_web.domain.models.User;
+import com.miralles.spring_web.domain.models.UserField;
+import com.miralles.spring_web.domain.models.UserQuery;
+import com.miralles.spring_web.domain.repositories.ReactiveUserRepository;
+import com.miralles.spring_web.domain.repositories.UserRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+/**
+ * Non-blocking adapter over the in-memory {@link UserRepository}.
+ * Every operation is a concurrent map access that never waits, so it runs directly on
+ * the subscribing (event loop) thread; the publishers are lazy and do nothing until
+ * subscribed.
+ *
+ * In a real MariaDB implementation:
+ * - Use R2DBC (DatabaseClient or R2dbcEntityTemplate) with the r2dbc-mariadb driver
+ * - Stream findAll rows straight from the driver instead of materializing a list
+ * - Never wrap blocking JDBC calls here: they would stall the event loop
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveUserRepositoryAdapter implements ReactiveUserRepository {
+
+    private final UserRepository userRepository;
+
+    public ReactiveUserRepositoryAdapter(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public Mono<User> save(User user) {
+        return Mono.fromSupplier(() -> userRepository.save(user));
+    }
+
+    @Override
+    public Mono<User> findById(Long id) {
+        return Mono.defer(() -> Mono.justOrEmpty(userRepository.findById(id)));
+    }
+
+    @Override
+    public Flux<User> findAll() {
+        // The stream is closed when the Flux completes, fails or is cancelled
+        return Flux.fromStream(() -> userRepository.streamAll(null));
+    }
+
+    @Override
+    public Mono<Void> deleteById(Long id) {
+        return Mono.fromRunnable(() -> userRepository.deleteById(id));
+    }
+
+    @Override
+    public Mono<User> findByEmail(String email) {
+        return Mono.defer(() -> Mono.justOrEmpty(userRepository.findByEmail(email)));
+    }
+
+    @Override
+    public Flux<User> findAll(Set<UserField> fields) {
+        return Flux.defer(() -> Flux.fromIterable(userRepository.findAll(fields)));
+    }
+
+    @Override
+    public Mono<User> findByEmail(String email, Set<UserField> fields) {
+        return Mono.defer(() -> Mono.justOrEmpty(userRepository.findByEmail(email, fields)));
+    }
+
+    @Override
+    public Flux<User> findAll(UserQuery query) {
+        return Flux.defer(() -> Flux.fromIterable(userRepository.findAll(query)));
+    }
+
+    @Override
+    public Mono<Boolean> existsByEmail(String email) {
+        return Mono.fromSupplier(() -> userRepository.existsByEmail(email));
+    }
+}
@@ -0,0 +1,156 @@
+package com.miralles.spring_web.infrastructure.persistence;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter of strings that grows with its content (a scalable bloom filter).
+ *
+ * A plain bloom filter is sized up front and its false positive rate climbs once it holds
+ * more keys than planned. This one is a chain of stages: when the newest stage is full, a
+ * stage of twice the capacity is added, with a false positive rate halved so the rate of
+ * the whole chain stays below twice the initial one. A key is added to the newest stage
+ * only and looked up in all of them.
+ *
+ * "No" answers are exact, "maybe" answers need checking. Keys cannot be removed.
+ * Adds and lookups may run concurrently from any thread.
+ */
+final class ScalableBloomFilter {
+
+    private static final int GROWTH = 2;
+    private static final double TIGHTENING = 0.5;
+
+    private volatile Stage[] stages;
+
+    /**
+     * @param initialCapacity the keys the first stage holds before the filter grows
+     * @param falsePositiveRate the target false positive rate of the first stage
+     */
+    ScalableBloomFilter(long initialCapacity, double falsePositiveRate) {
+        if (initialCapacity < 1 || !(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("Bloom filter needs a positive capacity and a rate between 0 and 1");
+        }
+        this.stages = new Stage[]{new Stage(initialCapacity, falsePositiveRate)};
+    }
+
+    /**
+     * @return false if the key was never added, true if it may have been
+     */
+    boolean mightContain(String key) {
+        long hash1 = hash(key);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (Stage stage : stages) {
+            if (stage.mightContain(hash1, hash2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void add(String key) {
+        long hash1 = hash(key);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        Stage[] current = stages;
+        for (Stage stage : current) {
+            if (stage.mightContain(hash1, hash2)) {
+                // Already there, or indistinguishable from a key that is: adding it again would
+                // only fill the stage faster
+                return;
+            }
+        }
+        Stage newest = current[current.length - 1];
+        newest.add(hash1, hash2);
+        if (newest.added.incrementAndGet() >= newest.capacity) {
+            grow(newest);
+        }
+    }
+
+    int stageCount() {
+        return stages.length;
+    }
+
+    private synchronized void grow(Stage full) {
+        Stage[] current = stages;
+        if (current[current.length - 1] != full) {
+            // Another add grew it already
+            return;
+        }
+        Stage[] grown = Arrays.copyOf(current, current.length + 1);
+        grown[current.length] = new Stage(full.capacity * GROWTH, full.falsePositiveRate * TIGHTENING);
+        stages = grown;
+    }
+
+    /**
+     * FNV-1a over the UTF-16 code units, then a finalizer to spread the bits.
+     */
+    private static long hash(String key) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * The 64-bit finalizer of MurmurHash3.
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * One fixed-size bloom filter, probed at {@code hash1 + i * hash2} (double hashing).
+     */
+    private static final class Stage {
+
+        private final long capacity;
+        private final double falsePositiveRate;
+        private final long bits;
+        private final int hashes;
+        private final AtomicLongArray words;
+        private final AtomicLong added = new AtomicLong();
+
+        private Stage(long capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            // Optimal sizes: m = -n ln p / (ln 2)^2 bits and k = -log2 p probes
+            double ln2 = Math.log(2);
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (ln2 * ln2));
+            this.bits = Math.max(64, (optimalBits + 63) & ~63L);
+            this.hashes = Math.max(1, (int) Math.ceil(-Math.log(falsePositiveRate) / ln2));
+            this.words = new AtomicLongArray(Math.toIntExact(bits >>> 6));
+        }
+
+        private boolean mightContain(long hash1, long hash2) {
+            long probe = hash1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(probe, bits);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+                probe += hash2;
+            }
+            return true;
+        }
+
+        private void add(long hash1, long hash2) {
+            long probe = hash1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(probe, bits);
+                long mask = 1L << bit;
+                int word = (int) (bit >>> 6);
+                if ((words.get(word) & mask) == 0) {
+                    words.accumulateAndGet(word, mask, (value, set) -> value | set);
+                }
+                probe += hash2;
+            }
+        }
+    }
+}
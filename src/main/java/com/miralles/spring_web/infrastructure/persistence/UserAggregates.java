@@ -0,0 +1,207 @@
+package com.miralles.spring_web.infrastructure.persistence;
+
+import com.miralles.spring_web.domain.models.User;
+import com.miralles.spring_web.domain.models.UserStats;
+import org.jspecify.annotations.Nullable;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running user statistics: totals, admins, users per email domain and per creation day.
+ *
+ * Every save and delete adjusts the counters by the difference between the user's previous
+ * and new values, so reading the statistics costs the same with ten users or ten million.
+ * Counters of different keys are updated independently: a read racing with writes may see
+ * one write half applied, a read at rest is exact.
+ *
+ * The orderings the statistics are read in are kept on write as well: domains in a set
+ * sorted by count, days in a sorted map. The {@link UserStats} handed out capture the totals
+ * and read the domains and days through live read-only views, so a snapshot copies nothing
+ * and a reader taking the top domains or the last days touches only those entries. A
+ * snapshot is reused until the next write.
+ */
+final class UserAggregates {
+
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder total = new LongAdder();
+    private final LongAdder admins = new LongAdder();
+    private final ConcurrentHashMap<String, Long> byEmailDomain = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<DomainCount> domainsLargestFirst =
+            new ConcurrentSkipListSet<>(DomainCount.LARGEST_FIRST);
+    private final Map<String, Long> domainsView = new DomainsLargestFirst();
+    private final ConcurrentSkipListMap<LocalDate, Long> byCreationDay = new ConcurrentSkipListMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private volatile @Nullable Snapshot published;
+
+    /**
+     * Accounts for a saved user. Saves of one id must not run concurrently.
+     */
+    void add(User user) {
+        Entry entry = new Entry(user.isAdmin(), domainOf(user.getEmail()),
+                user.getCreatedAt() == null ? null : LocalDate.ofInstant(user.getCreatedAt(), ZoneOffset.UTC));
+        Entry previous = entries.put(user.getId(), entry);
+        if (entry.equals(previous)) {
+            return;
+        }
+        if (previous == null) {
+            total.increment();
+        } else {
+            apply(previous, -1);
+        }
+        apply(entry, 1);
+        version.incrementAndGet();
+    }
+
+    /**
+     * Accounts for a deleted user.
+     */
+    void remove(Long id) {
+        Entry previous = entries.remove(id);
+        if (previous != null) {
+            total.decrement();
+            apply(previous, -1);
+            version.incrementAndGet();
+        }
+    }
+
+    UserStats snapshot() {
+        long current = version.get();
+        Snapshot snapshot = published;
+        if (snapshot != null && snapshot.version() == current) {
+            return snapshot.stats();
+        }
+        // A write landing meanwhile bumps the version again, so the next read rebuilds
+        UserStats stats = new UserStats(total.sum(), admins.sum(), domainsView, byCreationDay);
+        published = new Snapshot(current, stats);
+        return stats;
+    }
+
+    private void apply(Entry entry, int delta) {
+        if (entry.admin()) {
+            admins.add(delta);
+        }
+        if (entry.domain() != null) {
+            adjustDomain(entry.domain(), delta);
+        }
+        if (entry.createdOn() != null) {
+            adjust(byCreationDay, entry.createdOn(), delta);
+        }
+    }
+
+    /**
+     * Adds to a counter, dropping it when it reaches zero so departed keys do not pile up.
+     */
+    private static <K> void adjust(ConcurrentMap<K, Long> counters, K key, int delta) {
+        counters.compute(key, (k, count) -> {
+            long updated = (count == null ? 0 : count) + delta;
+            return updated == 0 ? null : updated;
+        });
+    }
+
+    /**
+     * Adjusts a domain counter and moves the domain to its new place in the ordering. The
+     * counter's lock serialises the moves of one domain.
+     */
+    private void adjustDomain(String domain, int delta) {
+        byEmailDomain.compute(domain, (d, count) -> {
+            long updated = (count == null ? 0 : count) + delta;
+            if (count != null) {
+                domainsLargestFirst.remove(new DomainCount(d, count));
+            }
+            if (updated != 0) {
+                domainsLargestFirst.add(new DomainCount(d, updated));
+            }
+            return updated == 0 ? null : updated;
+        });
+    }
+
+    private static @Nullable String domainOf(@Nullable String email) {
+        if (email == null) {
+            return null;
+        }
+        int at = email.lastIndexOf('@');
+        return at < 0 || at == email.length() - 1 ? null : email.substring(at + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private record Snapshot(long version, UserStats stats) {
+    }
+
+    private record DomainCount(String domain, long count) {
+
+        static final Comparator<DomainCount> LARGEST_FIRST = Comparator.comparingLong(DomainCount::count)
+                .reversed()
+                .thenComparing(DomainCount::domain);
+    }
+
+    /**
+     * The domain counters as a read-only map that iterates largest first.
+     */
+    private final class DomainsLargestFirst extends AbstractMap<String, Long> {
+
+        private final Set<Map.Entry<String, Long>> entries = new AbstractSet<>() {
+
+            @Override
+            public Iterator<Map.Entry<String, Long>> iterator() {
+                Iterator<DomainCount> counts = domainsLargestFirst.iterator();
+                return new Iterator<>() {
+
+                    @Override
+                    public boolean hasNext() {
+                        return counts.hasNext();
+                    }
+
+                    @Override
+                    public Map.Entry<String, Long> next() {
+                        DomainCount next = counts.next();
+                        return Map.entry(next.domain(), next.count());
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return byEmailDomain.size();
+            }
+        };
+
+        @Override
+        public Set<Map.Entry<String, Long>> entrySet() {
+            return entries;
+        }
+
+        @Override
+        public @Nullable Long get(Object key) {
+            return byEmailDomain.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return byEmailDomain.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return byEmailDomain.size();
+        }
+    }
+
+    /**
+     * What a user contributes to the counters.
+     */
+    private record Entry(boolean admin, @Nullable String domain, @Nullable LocalDate createdOn) {
+    }
+}
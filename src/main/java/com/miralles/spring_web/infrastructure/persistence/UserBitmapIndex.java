@@ -0,0 +1,184 @@
+package com.miralles.spring_web.infrastructure.persistence;
+
+import com.miralles.spring_web.domain.models.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Bitmap indexes over low-cardinality user attributes.
+ *
+ * Every indexed user gets a dense int ordinal, reused after a delete, so the bitmaps stay
+ * compact however sparse the ids are (Snowflake ids are spread over 64 bits). Each attribute
+ * keeps one {@link RoaringBitmap} of ordinals per distinct value, which makes "how many
+ * admins" a cardinality and "admins among these" a bitmap AND instead of a scan.
+ *
+ * Bitmaps are mutated under the write lock and only leave the index as copies, which callers
+ * combine freely.
+ */
+final class UserBitmapIndex {
+
+    /**
+     * The indexed attributes. Each distinct value gets a bitmap, so values must be few.
+     */
+    enum Attribute {
+        ADMIN(User::isAdmin);
+
+        private final Function<User, Object> extractor;
+
+        Attribute(Function<User, Object> extractor) {
+            this.extractor = extractor;
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final HashMap<Long, Integer> ordinals = new HashMap<>();
+    private final RoaringBitmap live = new RoaringBitmap();
+    private final EnumMap<Attribute, Map<Object, RoaringBitmap>> bitmaps = new EnumMap<>(Attribute.class);
+    private long[] idsByOrdinal = new long[1024];
+    private int[] freeOrdinals = new int[16];
+    private int freeCount;
+    private int nextOrdinal;
+
+    UserBitmapIndex() {
+        for (Attribute attribute : Attribute.values()) {
+            bitmaps.put(attribute, new HashMap<>());
+        }
+    }
+
+    /**
+     * Indexes a saved user, replacing its previous values.
+     */
+    void add(User user) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = ordinals.get(user.getId());
+            int ordinal = existing != null ? existing : allocate(user.getId());
+            for (Attribute attribute : Attribute.values()) {
+                Map<Object, RoaringBitmap> byValue = bitmaps.get(attribute);
+                unset(byValue, ordinal);
+                byValue.computeIfAbsent(attribute.extractor.apply(user), key -> new RoaringBitmap()).add(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops a deleted user and frees its ordinal.
+     */
+    void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(id);
+            if (ordinal == null) {
+                return;
+            }
+            live.remove(ordinal);
+            for (Map<Object, RoaringBitmap> byValue : bitmaps.values()) {
+                unset(byValue, ordinal);
+            }
+            if (freeCount == freeOrdinals.length) {
+                freeOrdinals = Arrays.copyOf(freeOrdinals, freeCount * 2);
+            }
+            freeOrdinals[freeCount++] = ordinal;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the ordinals of the users whose attribute has the value
+     */
+    RoaringBitmap matching(Attribute attribute, Object value) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap bitmap = bitmaps.get(attribute).get(value);
+            return bitmap == null ? new RoaringBitmap() : bitmap.copy();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the ordinals of all indexed users, to complement with {@link RoaringBitmap#andNot}
+     */
+    RoaringBitmap all() {
+        lock.readLock().lock();
+        try {
+            return live.copy();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return how many users have the value, without copying any bitmap
+     */
+    long count(Attribute attribute, Object value) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap bitmap = bitmaps.get(attribute).get(value);
+            return bitmap == null ? 0 : bitmap.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Maps ordinals back to user ids, in ordinal order. Ordinals freed since the bitmap was
+     * taken are skipped; a reused one maps to its new user, so callers re-check their filter.
+     */
+    List<Long> ids(RoaringBitmap selection) {
+        List<Long> ids = new ArrayList<>((int) Math.min(selection.cardinality(), Integer.MAX_VALUE));
+        lock.readLock().lock();
+        try {
+            selection.forEach(ordinal -> {
+                if (live.contains(ordinal)) {
+                    ids.add(idsByOrdinal[ordinal]);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return ids;
+    }
+
+    private int allocate(Long id) {
+        int ordinal = freeCount > 0 ? freeOrdinals[--freeCount] : nextOrdinal++;
+        if (ordinal == idsByOrdinal.length) {
+            idsByOrdinal = Arrays.copyOf(idsByOrdinal, idsByOrdinal.length * 2);
+        }
+        idsByOrdinal[ordinal] = id;
+        ordinals.put(id, ordinal);
+        live.add(ordinal);
+        return ordinal;
+    }
+
+    private static void unset(Map<Object, RoaringBitmap> byValue, int ordinal) {
+        Iterator<RoaringBitmap> values = byValue.values().iterator();
+        while (values.hasNext()) {
+            RoaringBitmap bitmap = values.next();
+            bitmap.remove(ordinal);
+            if (bitmap.isEmpty()) {
+                values.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.miralles.spring_web.infrastructure.persistence;
+
+import com.miralles.spring_web.domain.models.User;
+import com.miralles.spring_web.domain.models.UserQuery;
+import com.miralles.spring_web.domain.models.UserStats;
+import com.miralles.spring_web.infrastructure.persistence.UserBitmapIndex.Attribute;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Secondary indexes of the in-memory repositories, kept current by their write path.
+ * Each index holds its own copy of the values it indexes: users are mutable and are often
+ * modified in place before being saved, so the old values have to come from the index.
+ */
+final class UserIndexes {
+
+    /**
+     * Below this many users a sequential scan is cheaper than forking.
+     */
+    static final int PARALLEL_SCAN_THRESHOLD = 10_000;
+
+    private static final long EMAIL_FILTER_CAPACITY = 1 << 16;
+    private static final double EMAIL_FILTER_FALSE_POSITIVE_RATE = 0.01;
+
+    private final UserSearchIndex search = new UserSearchIndex();
+    private final UserBitmapIndex bitmaps = new UserBitmapIndex();
+    private final UserAggregates aggregates = new UserAggregates();
+    private final ScalableBloomFilter emails =
+            new ScalableBloomFilter(EMAIL_FILTER_CAPACITY, EMAIL_FILTER_FALSE_POSITIVE_RATE);
+
+    /**
+     * Called for every saved user, while its id is locked in the repository.
+     */
+    void onSave(User user) {
+        search.add(user);
+        bitmaps.add(user);
+        aggregates.add(user);
+        if (user.getEmail() != null) {
+            emails.add(normalizeEmail(user.getEmail()));
+        }
+    }
+
+    /**
+     * Called for every deleted user, while its id is locked in the repository.
+     */
+    void onDelete(User user) {
+        search.remove(user.getId());
+        bitmaps.remove(user.getId());
+        aggregates.remove(user.getId());
+    }
+
+    UserSearchIndex search() {
+        return search;
+    }
+
+    UserBitmapIndex bitmaps() {
+        return bitmaps;
+    }
+
+    UserStats stats() {
+        return aggregates.snapshot();
+    }
+
+    /**
+     * Tells whether a user of the repository has this email, ignoring case like the uniqueness
+     * check of the user service. The bloom filter of every email ever saved answers most misses;
+     * a possible hit, which includes emails since deleted or changed, is checked against the
+     * users found by the search index.
+     */
+    boolean emailRegistered(String email, Map<Long, User> users) {
+        if (!emails.mightContain(normalizeEmail(email))) {
+            return false;
+        }
+        for (Long id : search.withTerm(email)) {
+            User user = users.get(id);
+            if (user != null && email.equalsIgnoreCase(user.getEmail())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String normalizeEmail(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Answers a query over the users of a repository. The most selective index that applies
+     * gives the candidates, which are then checked against the whole query; without one, a
+     * snapshot of the users is scanned in parallel on the common fork-join pool.
+     *
+     * @param query the query
+     * @param users the users of the repository, by id
+     * @return the matching users, in no particular order
+     */
+    List<User> find(UserQuery query, Map<Long, User> users) {
+        Collection<Long> candidates = candidates(query);
+        if (candidates != null) {
+            List<User> result = new ArrayList<>(Math.min(candidates.size(), 1024));
+            for (Long id : candidates) {
+                User user = users.get(id);
+                if (user != null && query.matches(user)) {
+                    result.add(user);
+                }
+            }
+            return result;
+        }
+        List<User> snapshot = new ArrayList<>(users.values());
+        if (snapshot.size() < PARALLEL_SCAN_THRESHOLD) {
+            return snapshot.stream().filter(query::matches).toList();
+        }
+        return snapshot.parallelStream().filter(query::matches).toList();
+    }
+
+    /**
+     * Counts the users matching a query. Queries on bitmap-indexed attributes only are
+     * answered from bitmap cardinalities, without touching a user.
+     */
+    long count(UserQuery query, Map<Long, User> users) {
+        RoaringBitmap selection = bitmapSelection(query);
+        if (selection != null && query.conditions().stream().allMatch(UserQuery.Admin.class::isInstance)) {
+            return selection.cardinality();
+        }
+        if (query.isEmpty()) {
+            return users.size();
+        }
+        return find(query, users).size();
+    }
+
+    /**
+     * @return the ids of a superset of the matching users, or null when no index applies
+     */
+    @Nullable Collection<Long> candidates(UserQuery query) {
+        Set<Long> best = null;
+        UserQuery.Prefix longestPrefix = null;
+        for (UserQuery.Condition condition : query.conditions()) {
+            Set<Long> ids = switch (condition) {
+                case UserQuery.Equals equals -> search.withTerm(equals.value());
+                case UserQuery.EmailDomain domain -> search.withTerm(domain.domain());
+                case UserQuery.Prefix prefix -> {
+                    if (longestPrefix == null || prefix.prefix().length() > longestPrefix.prefix().length()) {
+                        longestPrefix = prefix;
+                    }
+                    yield null;
+                }
+                case UserQuery.Admin admin -> null;
+            };
+            if (ids != null && (best == null || ids.size() < best.size())) {
+                best = ids;
+            }
+        }
+        RoaringBitmap selection = bitmapSelection(query);
+        if (selection != null && (best == null || selection.cardinality() < best.size())) {
+            return bitmaps.ids(selection);
+        }
+        if (best == null && longestPrefix != null) {
+            // Collecting a prefix range costs a walk over it, only worth it without an exact term
+            return search.withTermPrefix(longestPrefix.prefix());
+        }
+        return best;
+    }
+
+    /**
+     * @return the AND of the bitmaps of the bitmap-indexed conditions, or null if there are none
+     */
+    private @Nullable RoaringBitmap bitmapSelection(UserQuery query) {
+        RoaringBitmap selection = null;
+        for (UserQuery.Condition condition : query.conditions()) {
+            if (condition instanceof UserQuery.Admin admin) {
+                RoaringBitmap matching = bitmaps.matching(Attribute.ADMIN, admin.admin());
+                selection = selection == null ? matching : selection.and(matching);
+            }
+        }
+        return selection;
+    }
+}
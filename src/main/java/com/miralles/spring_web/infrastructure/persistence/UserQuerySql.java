@@ -0,0 +1,60 @@
+package com.miralles.spring_web.infrastructure.persistence;
+
+import com.miralles.spring_web.domain.models.UserQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Translates a {@link UserQuery} into a parameterized SQL {@code WHERE} clause for the users
+ * table. Equalities and prefixes compare the indexed columns directly ({@code LIKE 'x%'} can
+ * use a B-tree index); values are always bound, never inlined.
+ */
+final class UserQuerySql {
+
+    /**
+     * A {@code WHERE} clause, empty when the query matches every row, with its bind parameters.
+     */
+    record Where(String sql, List<Object> parameters) {
+    }
+
+    private UserQuerySql() {
+    }
+
+    static Where toWhere(UserQuery query) {
+        if (query.isEmpty()) {
+            return new Where("", List.of());
+        }
+        StringJoiner sql = new StringJoiner(" AND ", "WHERE ", "");
+        List<Object> parameters = new ArrayList<>(query.conditions().size());
+        for (UserQuery.Condition condition : query.conditions()) {
+            switch (condition) {
+                case UserQuery.Equals equals -> {
+                    // Case-insensitive under the default collation, as UserQuery.Equals specifies
+                    sql.add(equals.field().getFieldName() + " = ?");
+                    parameters.add(equals.value());
+                }
+                case UserQuery.Prefix prefix -> {
+                    sql.add(prefix.field().getFieldName() + " LIKE ?");
+                    parameters.add(escapeLike(prefix.prefix()) + "%");
+                }
+                case UserQuery.EmailDomain domain -> {
+                    // A leading wildcard cannot use the email index; a generated, indexed
+                    // email_domain column would turn this into an equality
+                    sql.add("email LIKE ?");
+                    parameters.add("%@" + escapeLike(domain.domain()));
+                }
+                case UserQuery.Admin admin -> {
+                    sql.add("is_admin = ?");
+                    parameters.add(admin.admin());
+                }
+            }
+        }
+        return new Where(sql.toString(), parameters);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
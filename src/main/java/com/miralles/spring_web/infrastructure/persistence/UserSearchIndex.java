@@ -0,0 +1,292 @@
+package com.miralles.spring_web.infrastructure.persistence;
+
+import com.miralles.spring_web.domain.models.User;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Substring index over usernames and emails, case-insensitive.
+ *
+ * Every username and email is split into its trigrams, and each trigram points to the ids of
+ * the users containing it. A query of three or more characters walks the posting set of its
+ * rarest trigram and keeps only the ids also listed under its next rarest trigrams, so the
+ * costly string check runs on the intersection, not on every user sharing one trigram.
+ * Shorter queries match prefixes through a sorted map of the full terms.
+ *
+ * Matches are ranked: exact username or email, username prefix, email prefix, then substring
+ * of the username and of the email; shorter usernames first within a rank.
+ *
+ * Updates of one id must not run concurrently (the repositories call in while holding the id).
+ * Updates of different ids only contend on a posting key they share, through striped locks;
+ * searches run without locking and check candidates against the indexed values, so a user
+ * never matches through a trigram it no longer has.
+ */
+final class UserSearchIndex {
+
+    static final int GRAM_LENGTH = 3;
+
+    /**
+     * How many posting sets beyond the rarest one a candidate is checked against.
+     */
+    static final int INTERSECTED_GRAMS = 3;
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<Long>> grams = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Set<Long>> terms = new ConcurrentSkipListMap<>();
+    // Creating, filling, emptying and dropping the posting set of a key happen under the
+    // stripe of that key, so an id is never added to a set that is being dropped
+    private final Object[] stripes = new Object[LOCK_STRIPES];
+
+    UserSearchIndex() {
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Object();
+        }
+    }
+
+    /**
+     * Indexes a saved user, replacing what was indexed for its id.
+     */
+    void add(User user) {
+        Entry entry = new Entry(normalize(user.getUsername()), normalize(user.getEmail()));
+        Entry previous = entries.put(user.getId(), entry);
+        if (entry.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            unlink(user.getId(), previous);
+        }
+        link(user.getId(), entry);
+    }
+
+    /**
+     * Drops a deleted user.
+     */
+    void remove(Long id) {
+        Entry previous = entries.remove(id);
+        if (previous != null) {
+            unlink(id, previous);
+        }
+    }
+
+    /**
+     * Finds the users whose username or email contains the query.
+     *
+     * @param query the text to look for
+     * @param limit the maximum number of ids
+     * @return the matching ids, best match first
+     */
+    List<Long> search(String query, int limit) {
+        String needle = normalize(query);
+        if (needle.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        if (needle.length() < GRAM_LENGTH) {
+            return searchPrefix(needle, limit);
+        }
+
+        List<Set<Long>> postings = new ArrayList<>();
+        for (String gram : gramsOf(needle)) {
+            Set<Long> ids = grams.get(gram);
+            if (ids == null) {
+                return List.of();
+            }
+            postings.add(ids);
+        }
+        postings.sort(Comparator.comparingInt(Set::size));
+        Set<Long> candidates = postings.getFirst();
+        List<Set<Long>> filters = postings.subList(1, Math.min(postings.size(), 1 + INTERSECTED_GRAMS));
+
+        // Keeps the best {@code limit} matches, worst on top
+        PriorityQueue<Match> best = new PriorityQueue<>(Match.BEST_FIRST.reversed());
+        candidates:
+        for (Long id : candidates) {
+            for (Set<Long> filter : filters) {
+                if (!filter.contains(id)) {
+                    continue candidates;
+                }
+            }
+            Entry entry = entries.get(id);
+            if (entry == null) {
+                continue;
+            }
+            int rank = entry.rank(needle);
+            if (rank < 0) {
+                continue;
+            }
+            Match match = new Match(id, rank, entry.username().length());
+            if (best.size() < limit) {
+                best.add(match);
+            } else if (Match.BEST_FIRST.compare(match, best.peek()) < 0) {
+                best.poll();
+                best.add(match);
+            }
+        }
+        List<Match> matches = new ArrayList<>(best);
+        matches.sort(Match.BEST_FIRST);
+        return matches.stream().map(Match::id).toList();
+    }
+
+    /**
+     * Ids of the users whose username, email or email domain equals the term, ignoring case.
+     */
+    Set<Long> withTerm(String term) {
+        Set<Long> ids = terms.get(normalize(term));
+        return ids == null ? Set.of() : ids;
+    }
+
+    /**
+     * Ids of the users whose username, email or email domain starts with the prefix, ignoring case.
+     */
+    Set<Long> withTermPrefix(String prefix) {
+        String start = normalize(prefix);
+        Set<Long> result = new HashSet<>();
+        for (Set<Long> ids : terms.subMap(start, true, start + Character.MAX_VALUE, true).values()) {
+            result.addAll(ids);
+        }
+        return result;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private List<Long> searchPrefix(String prefix, int limit) {
+        Set<Long> result = new LinkedHashSet<>();
+        // Exact terms first, then the following terms in alphabetical order
+        for (Map.Entry<String, Set<Long>> term
+                : terms.subMap(prefix, true, prefix + Character.MAX_VALUE, true).entrySet()) {
+            for (Long id : term.getValue()) {
+                Entry entry = entries.get(id);
+                if (entry != null && entry.rank(prefix) >= 0) {
+                    result.add(id);
+                    if (result.size() == limit) {
+                        return new ArrayList<>(result);
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    private void link(Long id, Entry entry) {
+        for (String gram : entry.grams()) {
+            link(grams, gram, id);
+        }
+        for (String term : entry.terms()) {
+            link(terms, term, id);
+        }
+    }
+
+    private void unlink(Long id, Entry entry) {
+        for (String gram : entry.grams()) {
+            unlink(grams, gram, id);
+        }
+        for (String term : entry.terms()) {
+            unlink(terms, term, id);
+        }
+    }
+
+    private void link(Map<String, Set<Long>> postings, String key, Long id) {
+        synchronized (stripeOf(key)) {
+            Set<Long> ids = postings.get(key);
+            if (ids == null) {
+                ids = ConcurrentHashMap.newKeySet();
+                postings.put(key, ids);
+            }
+            ids.add(id);
+        }
+    }
+
+    private void unlink(Map<String, Set<Long>> postings, String key, Long id) {
+        synchronized (stripeOf(key)) {
+            Set<Long> ids = postings.get(key);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    private Object stripeOf(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1)];
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> gramsOf(String value) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+            result.add(value.substring(i, i + GRAM_LENGTH));
+        }
+        return result;
+    }
+
+    /**
+     * The indexed, lower-cased values of one user.
+     */
+    private record Entry(String username, String email) {
+
+        private Set<String> grams() {
+            Set<String> result = gramsOf(username);
+            result.addAll(gramsOf(email));
+            return result;
+        }
+
+        private Set<String> terms() {
+            Set<String> result = new HashSet<>(3);
+            result.add(username);
+            result.add(email);
+            int at = email.lastIndexOf('@');
+            if (at >= 0) {
+                // Lets a short query match the domain by prefix too
+                result.add(email.substring(at + 1));
+            }
+            result.remove("");
+            return result;
+        }
+
+        /**
+         * @return the rank of the match, lower is better, or -1 if the query does not match
+         */
+        private int rank(String needle) {
+            if (username.equals(needle) || email.equals(needle)) {
+                return 0;
+            }
+            if (username.startsWith(needle)) {
+                return 1;
+            }
+            if (email.startsWith(needle)) {
+                return 2;
+            }
+            if (needle.length() < GRAM_LENGTH) {
+                int at = email.lastIndexOf('@');
+                return at >= 0 && email.startsWith(needle, at + 1) ? 4 : -1;
+            }
+            if (username.contains(needle)) {
+                return 3;
+            }
+            return email.contains(needle) ? 4 : -1;
+        }
+    }
+
+    private record Match(Long id, int rank, int length) {
+
+        private static final Comparator<Match> BEST_FIRST = Comparator.comparingInt(Match::rank)
+                .thenComparingInt(Match::length)
+                .thenComparing(Match::id);
+    }
+}
@@ -0,0 +1,42 @@
+package com.miralles.spring_web.infrastructure.persistence;
+
+import com.miralles.spring_web.domain.models.UserTombstone;
+
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Deletion times of the users removed from an in-memory repository, kept for
+ * {@link UserTombstone#RETENTION}. Like {@link UserIndexes}, it is kept current by the
+ * write path while the id is locked, so a delete and a later save of the same id apply in order.
+ */
+final class UserTombstones {
+
+    private final ConcurrentHashMap<Long, Instant> deletedAt = new ConcurrentHashMap<>();
+
+    /**
+     * Called for every saved user: an id saved again is no longer deleted.
+     */
+    void onSave(Long id) {
+        deletedAt.remove(id);
+    }
+
+    /**
+     * Called for every deleted user.
+     */
+    void onDelete(Long id) {
+        deletedAt.put(id, Instant.now());
+    }
+
+    /**
+     * Streams the deletions at or after an instant, dropping the expired ones first.
+     */
+    Stream<UserTombstone> since(Instant since) {
+        Instant expiry = Instant.now().minus(UserTombstone.RETENTION);
+        deletedAt.values().removeIf(instant -> instant.isBefore(expiry));
+        return deletedAt.entrySet().stream()
+                .filter(entry -> !entry.getValue().isBefore(since))
+                .map(entry -> new UserTombstone(entry.getKey(), entry.getValue()));
+    }
+}
@@ -36,7 +36,19 @@ public class CustomUserDetailsService implements UserDetailsService {
         User user = userRepository.findByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + username));
 
-        return new org.springframework.security.core.userdetails.User(
+        return toUserDetails(user);
+    }
+
+    /**
+     * Converts a domain user to Spring Security's UserDetails, keeping its id.
+     * Shared with the reactive user details service.
+     *
+     * @param user the domain user
+     * @return UserDetails object for Spring Security
+     */
+    static UserDetails toUserDetails(User user) {
+        return new UserPrincipal(
+                user.getId(),
                 user.getEmail(),
                 user.getPassword(),
                 getAuthorities(user)
@@ -50,7 +62,7 @@ public class CustomUserDetailsService implements UserDetailsService {
      * @param user the user to get authorities for
      * @return collection of authorities
      */
-    private Collection<? extends org.springframework.security.core.GrantedAuthority> getAuthorities(User user) {
+    private static Collection<? extends org.springframework.security.core.GrantedAuthority> getAuthorities(User user) {
         List<org.springframework.security.core.GrantedAuthority> authorities = new ArrayList<>();
         
         // Use the admin flag from the user entity
@@ -0,0 +1,73 @@
+package com.miralles.spring_web.infrastructure.security;
+
+import io.jsonwebtoken.JwtException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * Reactive counterpart of {@link JwtAuthenticationFilter}.
+ * Extracts the JWT token from the Authorization header, validates it and exposes the
+ * authentication through the Reactor context instead of a thread local.
+ *
+ * Not a bean on purpose: WebFlux would also register it as a global filter, outside the
+ * security chain. {@code ReactiveSecurityConfig} adds it to the chain.
+ */
+public class JwtAuthenticationWebFilter implements WebFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtUtil jwtUtil;
+    private final ReactiveUserDetailsService userDetailsService;
+
+    public JwtAuthenticationWebFilter(JwtUtil jwtUtil, ReactiveUserDetailsService userDetailsService) {
+        this.jwtUtil = jwtUtil;
+        this.userDetailsService = userDetailsService;
+    }
+
+    /**
+     * Authenticates the exchange when it carries a valid token; otherwise passes it on
+     * unauthenticated and lets the authorization rules decide.
+     *
+     * @param exchange the current exchange
+     * @param chain the filter chain
+     * @return completion of the rest of the chain
+     */
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String authorizationHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorizationHeader == null || !authorizationHeader.startsWith(BEARER_PREFIX)) {
+            return chain.filter(exchange);
+        }
+
+        String jwt = authorizationHeader.substring(BEARER_PREFIX.length());
+        String username;
+        try {
+            username = jwtUtil.extractUsername(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            return chain.filter(exchange);
+        }
+
+        return userDetailsService.findByUsername(username)
+                .filter(userDetails -> jwtUtil.validateToken(jwt, userDetails))
+                .map(userDetails -> Optional.<Authentication>of(new UsernamePasswordAuthenticationToken(
+                        userDetails,
+                        null,
+                        userDetails.getAuthorities()
+                )))
+                // Not switchIfEmpty: the chain itself completes empty and must run only once
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(authentication -> authentication
+                        .map(token -> chain.filter(exchange)
+                                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(token)))
+                        .orElseGet(() -> chain.filter(exchange)));
+    }
+}
@@ -0,0 +1,75 @@
+package com.miralles.spring_web.infrastructure.security;
+
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+/**
+ * gRPC counterpart of {@link JwtAuthenticationFilter}.
+ * Validates the bearer token of every call and applies the same rule as the
+ * {@code /api/users/**} HTTP endpoints: only admin users are allowed.
+ */
+@Component
+public class JwtServerInterceptor implements ServerInterceptor {
+
+    /**
+     * The authenticated user of the current call.
+     */
+    public static final Context.Key<UserDetails> USER_DETAILS = Context.key("userDetails");
+
+    private static final Metadata.Key<String> AUTHORIZATION =
+            Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER);
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtUtil jwtUtil;
+    private final UserDetailsService userDetailsService;
+
+    public JwtServerInterceptor(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+        this.jwtUtil = jwtUtil;
+        this.userDetailsService = userDetailsService;
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+            ServerCall<ReqT, RespT> call,
+            Metadata headers,
+            ServerCallHandler<ReqT, RespT> next) {
+        String authorizationHeader = headers.get(AUTHORIZATION);
+        if (authorizationHeader == null || !authorizationHeader.startsWith(BEARER_PREFIX)) {
+            return reject(call, Status.UNAUTHENTICATED.withDescription("Missing bearer token"));
+        }
+
+        UserDetails userDetails;
+        try {
+            String jwt = authorizationHeader.substring(BEARER_PREFIX.length());
+            userDetails = userDetailsService.loadUserByUsername(jwtUtil.extractUsername(jwt));
+            if (!jwtUtil.validateToken(jwt, userDetails)) {
+                return reject(call, Status.UNAUTHENTICATED.withDescription("Invalid token"));
+            }
+        } catch (RuntimeException e) {
+            return reject(call, Status.UNAUTHENTICATED.withDescription("Invalid token"));
+        }
+
+        boolean admin = userDetails.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+        if (!admin) {
+            return reject(call, Status.PERMISSION_DENIED.withDescription("Admin role required"));
+        }
+
+        Context context = Context.current().withValue(USER_DETAILS, userDetails);
+        return Contexts.interceptCall(context, call, headers, next);
+    }
+
+    private static <ReqT, RespT> ServerCall.Listener<ReqT> reject(ServerCall<ReqT, RespT> call, Status status) {
+        call.close(status, new Metadata());
+        return new ServerCall.Listener<>() {
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.miralles.spring_web.infrastructure.security;
+
+import com.miralles.spring_web.domain.repositories.ReactiveUserRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link CustomUserDetailsService}.
+ * Completes empty when no user has the given email, as the reactive authentication
+ * manager expects.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveCustomUserDetailsService implements ReactiveUserDetailsService {
+
+    private final ReactiveUserRepository userRepository;
+
+    public ReactiveCustomUserDetailsService(ReactiveUserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Finds a user by username (email in this case).
+     *
+     * @param username the username (email) to look up
+     * @return the UserDetails, or empty if not found
+     */
+    @Override
+    public Mono<UserDetails> findByUsername(String username) {
+        return userRepository.findByEmail(username)
+                .map(CustomUserDetailsService::toUserDetails);
+    }
+}
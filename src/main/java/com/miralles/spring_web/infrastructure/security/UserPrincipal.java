@@ -0,0 +1,29 @@
+package com.miralles.spring_web.infrastructure.security;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Spring Security user that also carries the id of the domain user it was loaded from,
+ * so code holding the principal does not have to look the user up again.
+ */
+public class UserPrincipal extends User {
+
+    private final @Nullable Long id;
+
+    public UserPrincipal(@Nullable Long id, String email, String password,
+            Collection<? extends GrantedAuthority> authorities) {
+        super(email, password, authorities);
+        this.id = id;
+    }
+
+    /**
+     * @return the id of the domain user, null if it was never stored
+     */
+    public @Nullable Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,131 @@
+package com.miralles.spring_web.infrastructure.web;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit that adapts to measured latency, in the style of the gradient
+ * algorithm. A smoothed response time is compared with its minimum over the last few
+ * seconds, the no-load baseline. While latency stays within a tolerance of the baseline the
+ * limit grows by about its square root; once requests start queueing (on BCrypt or the
+ * database) latency rises above it and the limit shrinks by the same ratio. The baseline
+ * forgets old minimums each window, so a lasting change in latency becomes the new normal.
+ *
+ * Requests are admitted by priority: critical ones (health checks) always, high ones up
+ * to the limit, low ones only while the headroom reserved for the others is untouched.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    /**
+     * Admission priority of a request.
+     */
+    public enum Priority {
+        CRITICAL, HIGH, LOW
+    }
+
+    private static final double RTT_SMOOTHING = 0.2;
+    private static final double LIMIT_SMOOTHING = 0.2;
+    private static final double RTT_TOLERANCE = 1.5;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final long BASELINE_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double lowPriorityShare;
+    private final LongSupplier clock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private double rttNanos;
+    private double baselineRttNanos;
+    private double windowMinRttNanos;
+    private long windowEnd;
+    private boolean sampled;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double lowPriorityHeadroom) {
+        this(initialLimit, minLimit, maxLimit, lowPriorityHeadroom, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double lowPriorityHeadroom,
+            LongSupplier clock) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.lowPriorityShare = 1 - Math.clamp(lowPriorityHeadroom, 0.0, 1.0);
+        this.limit = Math.clamp(initialLimit, this.minLimit, this.maxLimit);
+        this.clock = clock;
+    }
+
+    /**
+     * Admits a request if its priority still has room; the caller must {@link #release} it.
+     *
+     * @return whether the request was admitted
+     */
+    public boolean tryAcquire(Priority priority) {
+        if (priority == Priority.CRITICAL) {
+            inFlight.incrementAndGet();
+            return true;
+        }
+        int capacity = (int) (priority == Priority.HIGH ? limit : limit * lowPriorityShare);
+        while (true) {
+            int current = inFlight.get();
+            if (current >= capacity) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Ends an admitted request and feeds its latency into the limit.
+     *
+     * @param sampleNanos how long the request took
+     */
+    public void release(long sampleNanos) {
+        int concurrent = inFlight.getAndDecrement();
+        onSample(sampleNanos, concurrent);
+    }
+
+    /**
+     * Frees a slot without a latency sample, for requests whose duration says nothing about
+     * server load (a streaming response runs at the client's pace).
+     */
+    public void releaseWithoutSample() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void onSample(long sampleNanos, int concurrent) {
+        // Smoothed, so a single fast response (a 404) cannot drag the baseline down
+        boolean first = !sampled;
+        rttNanos = first ? sampleNanos : rttNanos + (sampleNanos - rttNanos) * RTT_SMOOTHING;
+        sampled = true;
+        long now = clock.getAsLong();
+        if (first || now - windowEnd >= 0) {
+            baselineRttNanos = windowMinRttNanos > 0 ? windowMinRttNanos : rttNanos;
+            windowMinRttNanos = rttNanos;
+            windowEnd = now + BASELINE_WINDOW_NANOS;
+        }
+        windowMinRttNanos = Math.min(windowMinRttNanos, rttNanos);
+        baselineRttNanos = Math.min(baselineRttNanos, rttNanos);
+
+        double current = limit;
+        double gradient = Math.clamp(RTT_TOLERANCE * baselineRttNanos / rttNanos, MIN_GRADIENT, 1.0);
+        double target = current * gradient + Math.sqrt(current);
+        double next = Math.clamp(current + (target - current) * LIMIT_SMOOTHING, minLimit, maxLimit);
+        if (next > current && concurrent < current / 2) {
+            // An idle limit says nothing about what the service can take, do not grow it
+            return;
+        }
+        limit = next;
+    }
+}
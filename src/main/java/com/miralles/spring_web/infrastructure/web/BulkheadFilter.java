@@ -0,0 +1,185 @@
+package com.miralles.spring_web.infrastructure.web;
+
+import com.miralles.spring_web.infrastructure.config.BulkheadProperties;
+import com.miralles.spring_web.infrastructure.config.BulkheadProperties.Compartment;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Gives the auth, interactive CRUD and bulk endpoint classes separate permits, so a burst
+ * of exports or imports cannot take the capacity that serves logins and single-user reads.
+ * A request waits at most its class's {@code max-wait} for a permit and is rejected with 503
+ * after that. Streaming responses keep their permit until the async response completes,
+ * not just until the controller returns.
+ *
+ * Runs after {@link ConcurrencyLimitFilter}: the global limit sheds overload, the
+ * bulkheads decide who gets the capacity that is left.
+ */
+@Component
+@Profile("!reactive")
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    /**
+     * Endpoint class with its own permits.
+     */
+    public enum EndpointClass {
+        AUTH, CRUD, BULK
+    }
+
+    static final String ACTIVE_METER = "app.bulkhead.active";
+    static final String SATURATION_METER = "app.bulkhead.saturation";
+    static final String REJECTED_METER = "app.bulkhead.rejected";
+
+    private static final Set<String> BULK_PATHS = Set.of(
+            "/api/users/_batch", "/api/users/_import", "/api/users/_export", "/api/users/_snapshot");
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final BulkheadProperties bulkheadProperties;
+    private final Map<EndpointClass, Bulkhead> bulkheads = new EnumMap<>(EndpointClass.class);
+
+    public BulkheadFilter(BulkheadProperties bulkheadProperties, MeterRegistry meterRegistry) {
+        this.bulkheadProperties = bulkheadProperties;
+        bulkheads.put(EndpointClass.AUTH, new Bulkhead(EndpointClass.AUTH, bulkheadProperties.getAuth(), meterRegistry));
+        bulkheads.put(EndpointClass.CRUD, new Bulkhead(EndpointClass.CRUD, bulkheadProperties.getCrud(), meterRegistry));
+        bulkheads.put(EndpointClass.BULK, new Bulkhead(EndpointClass.BULK, bulkheadProperties.getBulk(), meterRegistry));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !bulkheadProperties.isEnabled() || classify(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        Bulkhead bulkhead = bulkheads.get(classify(request));
+        if (!bulkhead.tryAcquire()) {
+            bulkhead.rejected.increment();
+            reject(response, bulkhead.endpointClass);
+            return;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                bulkhead.permits.release();
+            }
+        };
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingAsyncListener(release));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                release.run();
+            }
+        }
+    }
+
+    Bulkhead bulkhead(EndpointClass endpointClass) {
+        return bulkheads.get(endpointClass);
+    }
+
+    static EndpointClass classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/api/auth/")) {
+            return EndpointClass.AUTH;
+        }
+        if (BULK_PATHS.contains(path)) {
+            return EndpointClass.BULK;
+        }
+        if (path.equals("/api/users") || path.startsWith("/api/users/")) {
+            return EndpointClass.CRUD;
+        }
+        return null;
+    }
+
+    private static void reject(HttpServletResponse response, EndpointClass endpointClass) throws IOException {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        // Messages are constants without characters that need JSON escaping
+        response.getOutputStream().write(("{\"status\":" + status.value() + ",\"message\":\"Too many concurrent "
+                + endpointClass.name().toLowerCase() + " requests\"}").getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Permits of one endpoint class, with its saturation metrics.
+     */
+    static final class Bulkhead {
+
+        private final EndpointClass endpointClass;
+        private final int maxConcurrent;
+        private final long maxWaitNanos;
+        private final Semaphore permits;
+        private final Counter rejected;
+
+        private Bulkhead(EndpointClass endpointClass, Compartment compartment, MeterRegistry meterRegistry) {
+            this.endpointClass = endpointClass;
+            this.maxConcurrent = Math.max(1, compartment.getMaxConcurrent());
+            this.maxWaitNanos = compartment.getMaxWait().toNanos();
+            this.permits = new Semaphore(maxConcurrent);
+            String tag = endpointClass.name().toLowerCase();
+            Gauge.builder(ACTIVE_METER, this, Bulkhead::active)
+                    .description("Requests holding a permit of the endpoint class")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            Gauge.builder(SATURATION_METER, this, bulkhead -> (double) bulkhead.active() / bulkhead.maxConcurrent)
+                    .description("Share of the permits of the endpoint class in use")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            this.rejected = Counter.builder(REJECTED_METER)
+                    .description("Requests rejected because the endpoint class had no free permit")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+        }
+
+        int active() {
+            return maxConcurrent - permits.availablePermits();
+        }
+
+        private boolean tryAcquire() {
+            if (permits.tryAcquire()) {
+                return true;
+            }
+            if (maxWaitNanos <= 0) {
+                return false;
+            }
+            try {
+                return permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+}
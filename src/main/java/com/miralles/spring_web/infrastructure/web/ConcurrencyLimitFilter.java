@@ -0,0 +1,138 @@
+package com.miralles.spring_web.infrastructure.web;
+
+import com.miralles.spring_web.infrastructure.config.ConcurrencyLimitProperties;
+import com.miralles.spring_web.infrastructure.web.AdaptiveConcurrencyLimit.Priority;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sheds load with 503 once more requests are in flight than the {@link AdaptiveConcurrencyLimit}
+ * allows, instead of letting them queue until they all time out together.
+ *
+ * Registered as a servlet filter ahead of the Spring Security chain, so a shed request costs
+ * neither JWT parsing nor a user lookup. Without authentication at hand, priority comes from
+ * the request: health checks are never shed, token-bearing calls to the admin-only users API
+ * are high priority, and everything else (notably BCrypt-heavy logins) is shed first.
+ *
+ * An async request (a streaming export or snapshot) keeps its slot until its response is
+ * complete. Its duration is not fed to the limit: it is paced by the client, and neither
+ * the first dispatch nor the whole stream is a service latency.
+ */
+@Component
+@Profile("!reactive")
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    static final String LIMIT_METER = "app.concurrency.limit";
+    static final String IN_FLIGHT_METER = "app.concurrency.in_flight";
+    static final String REJECTED_METER = "app.concurrency.rejected";
+
+    private static final Set<String> HEALTH_PATHS = Set.of("/api/auth/health", "/actuator/health");
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final ConcurrencyLimitProperties concurrencyLimitProperties;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final Map<Priority, Counter> rejected = new EnumMap<>(Priority.class);
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties concurrencyLimitProperties, MeterRegistry meterRegistry) {
+        this.concurrencyLimitProperties = concurrencyLimitProperties;
+        this.concurrencyLimit = new AdaptiveConcurrencyLimit(concurrencyLimitProperties.getInitialLimit(),
+                concurrencyLimitProperties.getMinLimit(), concurrencyLimitProperties.getMaxLimit(),
+                concurrencyLimitProperties.getLowPriorityHeadroom());
+
+        Gauge.builder(LIMIT_METER, concurrencyLimit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Current adaptive limit of concurrent HTTP requests")
+                .register(meterRegistry);
+        Gauge.builder(IN_FLIGHT_METER, concurrencyLimit, AdaptiveConcurrencyLimit::getInFlight)
+                .description("HTTP requests currently admitted by the concurrency limit")
+                .register(meterRegistry);
+        for (Priority priority : Priority.values()) {
+            rejected.put(priority, Counter.builder(REJECTED_METER)
+                    .description("HTTP requests shed by the concurrency limit")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !concurrencyLimitProperties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        Priority priority = priorityOf(request);
+        if (!concurrencyLimit.tryAcquire(priority)) {
+            rejected.get(priority).increment();
+            reject(response);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                AtomicBoolean released = new AtomicBoolean();
+                request.getAsyncContext().addListener(new ReleasingAsyncListener(() -> {
+                    if (released.compareAndSet(false, true)) {
+                        concurrencyLimit.releaseWithoutSample();
+                    }
+                }));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                concurrencyLimit.release(System.nanoTime() - start);
+            }
+        }
+    }
+
+    AdaptiveConcurrencyLimit getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    static Priority priorityOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (HEALTH_PATHS.contains(path) || path.startsWith("/actuator/health/")) {
+            return Priority.CRITICAL;
+        }
+        String authorizationHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ") && path.startsWith("/api/users")) {
+            return Priority.HIGH;
+        }
+        return Priority.LOW;
+    }
+
+    private static void reject(HttpServletResponse response) throws IOException {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(("{\"status\":" + status.value() + ",\"message\":\"Server is overloaded\"}")
+                .getBytes(StandardCharsets.UTF_8));
+    }
+}
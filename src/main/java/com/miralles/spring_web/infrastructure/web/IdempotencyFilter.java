@@ -0,0 +1,267 @@
+package com.miralles.spring_web.infrastructure.web;
+
+import com.miralles.spring_web.infrastructure.config.IdempotencyProperties;
+import com.miralles.spring_web.infrastructure.web.IdempotencyStore.Claim;
+import com.miralles.spring_web.infrastructure.web.IdempotencyStore.StoredResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jspecify.annotations.Nullable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Honors the {@code Idempotency-Key} header on the user create and batch endpoints.
+ * The first request with a key runs normally and its response is stored; retries with
+ * the same key replay that response without reaching the controller (no duplicate user,
+ * no second BCrypt hash). Duplicates that arrive while the first request is still running
+ * wait for it instead of executing in parallel.
+ *
+ * Keys are scoped to the authenticated principal and the endpoint. Reusing a key with a
+ * different body is rejected with 422. Bodies larger than the configured maximum are rejected
+ * with 413 before being buffered, and new keys get 503 while the key table is full of
+ * requests still in flight.
+ */
+@Component
+@Profile("!reactive")
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Set<String> PATHS = Set.of("/api/users", "/api/users/_batch");
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final IdempotencyProperties idempotencyProperties;
+    private final IdempotencyStore idempotencyStore;
+
+    public IdempotencyFilter(IdempotencyProperties idempotencyProperties) {
+        this.idempotencyProperties = idempotencyProperties;
+        this.idempotencyStore = new IdempotencyStore(idempotencyProperties.getTtl().toNanos(),
+                idempotencyProperties.getMaxEntries());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !idempotencyProperties.isEnabled()
+                || !"POST".equals(request.getMethod())
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+                || !PATHS.contains(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        byte[] body = readBody(request);
+        if (body == null) {
+            writeError(response, HttpStatus.PAYLOAD_TOO_LARGE, "Request body is larger than "
+                    + idempotencyProperties.getMaxBodySize().toBytes() + " bytes");
+            return;
+        }
+        String fingerprint = fingerprint(body);
+        String key = principal() + ' ' + request.getRequestURI() + ' ' + idempotencyKey;
+
+        while (true) {
+            Claim claim = idempotencyStore.claim(key, fingerprint);
+            if (claim == null) {
+                response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+                writeError(response, HttpStatus.SERVICE_UNAVAILABLE,
+                        "Too many requests with an Idempotency-Key are in progress");
+                return;
+            }
+            if (!claim.entry().fingerprint().equals(fingerprint)) {
+                writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                        "Idempotency-Key was already used with a different request body");
+                return;
+            }
+            if (claim.owner()) {
+                execute(new CachedBodyRequest(request, body), response, filterChain, key, claim);
+                return;
+            }
+
+            StoredResponse stored;
+            try {
+                stored = claim.entry().result()
+                        .get(idempotencyProperties.getWaitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                writeError(response, HttpStatus.CONFLICT, "A request with this Idempotency-Key is still in progress");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                writeError(response, HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while waiting for the original request");
+                return;
+            } catch (ExecutionException e) {
+                stored = null;
+            }
+            if (stored != null) {
+                replay(stored, response);
+                return;
+            }
+            // The original request failed and released the key: try to run it ourselves
+        }
+    }
+
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+            String key, Claim claim) throws ServletException, IOException {
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, responseWrapper);
+        } catch (ServletException | IOException | RuntimeException e) {
+            idempotencyStore.release(key, claim.entry());
+            throw e;
+        }
+        int status = responseWrapper.getStatus();
+        if (status >= 500) {
+            // Server errors are not final, a retry should execute again
+            idempotencyStore.release(key, claim.entry());
+        } else {
+            idempotencyStore.complete(key, claim.entry(), new StoredResponse(status,
+                    responseWrapper.getContentType(), responseWrapper.getHeader(HttpHeaders.LOCATION),
+                    responseWrapper.getContentAsByteArray()));
+        }
+        responseWrapper.copyBodyToResponse();
+    }
+
+    /**
+     * @return the body, or null when it is larger than the configured maximum
+     */
+    private byte @Nullable [] readBody(HttpServletRequest request) throws IOException {
+        int maxBodySize = (int) Math.min(Integer.MAX_VALUE - 1, idempotencyProperties.getMaxBodySize().toBytes());
+        if (request.getContentLengthLong() > maxBodySize) {
+            return null;
+        }
+        // Chunked bodies declare no length: one byte past the limit is enough to tell
+        byte[] body = request.getInputStream().readNBytes(maxBodySize + 1);
+        return body.length > maxBodySize ? null : body;
+    }
+
+    private static void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, stored.location());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        // Messages are constants without characters that need JSON escaping
+        response.getOutputStream().write(("{\"status\":" + status.value() + ",\"message\":\"" + message + "\"}")
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String principal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? "anonymous" : authentication.getName();
+    }
+
+    private static String fingerprint(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Request whose body was read up front to fingerprint it.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("Body is already buffered");
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return in.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.miralles.spring_web.infrastructure.web;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded in-memory table of idempotency keys.
+ * The first request for a key becomes its owner; later requests share the owner's
+ * future and replay its response. Entries expire after a fixed TTL and the oldest completed
+ * ones are evicted when the table is full. In-flight entries are never evicted, since their
+ * duplicates would otherwise execute again: a table full of them turns new keys away.
+ */
+public class IdempotencyStore {
+
+    /**
+     * A response captured for replay.
+     *
+     * @param status      the HTTP status
+     * @param contentType the content type, may be null
+     * @param location    the Location header, may be null
+     * @param body        the response body
+     */
+    public record StoredResponse(int status, String contentType, String location, byte[] body) {
+    }
+
+    /**
+     * One key. The result completes with the stored response, or with {@code null}
+     * when the owner gave up and another request may take over.
+     */
+    public static final class Entry {
+
+        private final String fingerprint;
+        private final CompletableFuture<StoredResponse> result = new CompletableFuture<>();
+        private long expiresAt;
+
+        private Entry(String fingerprint, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+
+        public String fingerprint() {
+            return fingerprint;
+        }
+
+        public CompletableFuture<StoredResponse> result() {
+            return result;
+        }
+    }
+
+    /**
+     * Outcome of {@link #claim}.
+     *
+     * @param entry the entry of the key
+     * @param owner whether the caller must execute the request and complete the entry
+     */
+    public record Claim(Entry entry, boolean owner) {
+    }
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LongSupplier clock;
+    // Insertion order is expiry order, since every entry lives for the same TTL
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    public IdempotencyStore(long ttlNanos, int maxEntries) {
+        this(ttlNanos, maxEntries, System::nanoTime);
+    }
+
+    IdempotencyStore(long ttlNanos, int maxEntries, LongSupplier clock) {
+        this.ttlNanos = ttlNanos;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the entry of a key, creating it (and making the caller its owner) if absent.
+     *
+     * @return the claim, or null when the key is new and every slot holds an in-flight request
+     */
+    public synchronized @Nullable Claim claim(String key, String fingerprint) {
+        long now = clock.getAsLong();
+        evictExpired(now);
+        Entry existing = entries.get(key);
+        if (existing != null) {
+            return new Claim(existing, false);
+        }
+        if (entries.size() >= maxEntries && !evictOldestCompleted()) {
+            return null;
+        }
+        Entry entry = new Entry(fingerprint, now + ttlNanos);
+        entries.put(key, entry);
+        return new Claim(entry, true);
+    }
+
+    /**
+     * Stores the owner's response and wakes up the duplicates waiting for it.
+     */
+    public void complete(String key, Entry entry, StoredResponse response) {
+        synchronized (this) {
+            // Re-insert so the TTL and the eviction order count from completion
+            if (entries.remove(key, entry)) {
+                entry.expiresAt = clock.getAsLong() + ttlNanos;
+                entries.put(key, entry);
+            }
+        }
+        entry.result.complete(response);
+    }
+
+    /**
+     * Forgets a key whose request failed, so a retry executes again.
+     */
+    public void release(String key, Entry entry) {
+        synchronized (this) {
+            entries.remove(key, entry);
+        }
+        entry.result.complete(null);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void evictExpired(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.expiresAt - now > 0) {
+                return;
+            }
+            iterator.remove();
+            // An in-flight owner past its TTL still answers the duplicates already waiting
+        }
+    }
+
+    private boolean evictOldestCompleted() {
+        // Completed entries are re-inserted at the tail, so only in-flight ones are skipped
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().result.isDone()) {
+                iterator.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+}
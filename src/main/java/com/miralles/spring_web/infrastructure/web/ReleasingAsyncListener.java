@@ -0,0 +1,33 @@
+package com.miralles.spring_web.infrastructure.web;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+
+/**
+ * Releases what a filter holds for an async request (a permit, an in-flight slot) once its
+ * response is complete, so streaming responses keep it until their last byte rather than
+ * until the controller returns. The release may run more than once and must be idempotent.
+ */
+record ReleasingAsyncListener(Runnable release) implements AsyncListener {
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+        release.run();
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+        release.run();
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+        release.run();
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+        // Re-register for a nested async cycle so the release still happens at its end
+        event.getAsyncContext().addListener(this);
+    }
+}
@@ -0,0 +1,201 @@
+package com.miralles.spring_web.infrastructure.web;
+
+import com.miralles.spring_web.infrastructure.config.UsageMeteringProperties;
+import com.miralles.spring_web.infrastructure.metering.StripedUsageMeter;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Meters requests and bytes per authenticated principal and endpoint into the
+ * {@link StripedUsageMeter}. Runs in the security chain right after the JWT filter, so the
+ * principal is known; unauthenticated requests are not metered.
+ *
+ * The endpoint is the matched route pattern ({@code /api/users/{id}}), not the raw path, so
+ * counters stay bounded. Bytes out are counted as the body is written; bytes in are the
+ * declared content length. Streaming responses are recorded when the async response completes.
+ */
+@Component
+@Profile("!reactive")
+public class UsageMeteringFilter extends OncePerRequestFilter {
+
+    private final UsageMeteringProperties usageMeteringProperties;
+    private final StripedUsageMeter usageMeter;
+
+    public UsageMeteringFilter(UsageMeteringProperties usageMeteringProperties, StripedUsageMeter usageMeter) {
+        this.usageMeteringProperties = usageMeteringProperties;
+        this.usageMeter = usageMeter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !usageMeteringProperties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String principal = authentication.getName();
+        CountingResponse countingResponse = new CountingResponse(response);
+        AtomicBoolean recorded = new AtomicBoolean();
+        Runnable record = () -> {
+            if (recorded.compareAndSet(false, true)) {
+                usageMeter.record(principal, request.getMethod(), endpoint(request),
+                        Math.max(0, request.getContentLengthLong()), countingResponse.bytesWritten());
+            }
+        };
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, countingResponse);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new RecordingListener(record));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                record.run();
+            }
+        }
+    }
+
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern instanceof String route ? route : StripedUsageMeter.UNMATCHED_ENDPOINT;
+    }
+
+    /**
+     * Response that counts the body bytes written through its output stream. Bodies that
+     * bypass the stream (writers, sendfile) fall back to the declared content length.
+     */
+    static final class CountingResponse extends HttpServletResponseWrapper {
+
+        private final LongAdder written = new LongAdder();
+        private volatile long declaredLength = -1;
+        private ServletOutputStream outputStream;
+
+        CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new CountingOutputStream(super.getOutputStream(), written);
+            }
+            return outputStream;
+        }
+
+        @Override
+        public void setContentLength(int length) {
+            declaredLength = length;
+            super.setContentLength(length);
+        }
+
+        @Override
+        public void setContentLengthLong(long length) {
+            declaredLength = length;
+            super.setContentLengthLong(length);
+        }
+
+        long bytesWritten() {
+            long counted = written.sum();
+            return counted > 0 ? counted : Math.max(0, declaredLength);
+        }
+    }
+
+    private static final class CountingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+        private final LongAdder written;
+
+        private CountingOutputStream(ServletOutputStream delegate, LongAdder written) {
+            this.delegate = delegate;
+            this.written = written;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            written.increment();
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws IOException {
+            delegate.write(buffer, offset, length);
+            written.add(length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+
+    /**
+     * Records an async request once its response is complete.
+     */
+    private record RecordingListener(Runnable record) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            record.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            record.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            record.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Re-register for a nested async cycle so the request is still recorded at its end
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.miralles.spring_web.presentation.codecs;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal pull parser over a UTF-8 encoded JSON document.
+ * Only what the user codecs need is supported: objects with string, boolean
+ * and null members, plus skipping of any other value.
+ */
+final class JsonInput {
+
+    private static final int MAX_DEPTH = 64;
+
+    private final byte[] json;
+    private int position;
+
+    JsonInput(byte[] json) {
+        this.json = json;
+    }
+
+    void expectObjectStart() {
+        expect('{');
+    }
+
+    boolean tryObjectEnd() {
+        skipWhitespace();
+        if (position < json.length && json[position] == '}') {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    void expectColon() {
+        expect(':');
+    }
+
+    /**
+     * Moves past the separator that follows an object member.
+     *
+     * @return true if another member follows, false if the object ended
+     */
+    boolean nextMember() {
+        skipWhitespace();
+        if (position < json.length) {
+            byte b = json[position++];
+            if (b == ',') {
+                return true;
+            }
+            if (b == '}') {
+                return false;
+            }
+        }
+        throw error("Expected ',' or '}'");
+    }
+
+    void expectEnd() {
+        skipWhitespace();
+        if (position != json.length) {
+            throw error("Unexpected trailing content");
+        }
+    }
+
+    String readNullableString() {
+        skipWhitespace();
+        if (consumeLiteral("null")) {
+            return null;
+        }
+        return readString();
+    }
+
+    boolean readBoolean() {
+        skipWhitespace();
+        if (consumeLiteral("true")) {
+            return true;
+        }
+        if (consumeLiteral("false") || consumeLiteral("null")) {
+            return false;
+        }
+        throw error("Expected a boolean");
+    }
+
+    String readString() {
+        expect('"');
+        int start = position;
+        boolean ascii = true;
+        while (position < json.length) {
+            byte b = json[position];
+            if (b == '"') {
+                String value = new String(json, start, position - start,
+                        ascii ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+                position++;
+                return value;
+            }
+            if (b == '\\') {
+                return readEscapedString(start);
+            }
+            if (b >= 0 && b < 0x20) {
+                throw error("Unescaped control character in string");
+            }
+            ascii &= b >= 0;
+            position++;
+        }
+        throw error("Unterminated string");
+    }
+
+    void skipValue() {
+        skipValue(0);
+    }
+
+    private void skipValue(int depth) {
+        if (depth > MAX_DEPTH) {
+            throw error("Document nested too deeply");
+        }
+        skipWhitespace();
+        if (position >= json.length) {
+            throw error("Expected a value");
+        }
+        switch (json[position]) {
+            case '"' -> readString();
+            case '{' -> {
+                position++;
+                if (!tryObjectEnd()) {
+                    do {
+                        readString();
+                        expectColon();
+                        skipValue(depth + 1);
+                    } while (nextMember());
+                }
+            }
+            case '[' -> {
+                position++;
+                skipWhitespace();
+                if (position < json.length && json[position] == ']') {
+                    position++;
+                    return;
+                }
+                while (true) {
+                    skipValue(depth + 1);
+                    skipWhitespace();
+                    if (position < json.length && json[position] == ',') {
+                        position++;
+                    } else if (position < json.length && json[position] == ']') {
+                        position++;
+                        return;
+                    } else {
+                        throw error("Expected ',' or ']'");
+                    }
+                }
+            }
+            default -> {
+                if (!consumeLiteral("true") && !consumeLiteral("false") && !consumeLiteral("null")) {
+                    skipNumber();
+                }
+            }
+        }
+    }
+
+    private void skipNumber() {
+        int start = position;
+        while (position < json.length) {
+            byte b = json[position];
+            if ((b >= '0' && b <= '9') || b == '-' || b == '+' || b == '.' || b == 'e' || b == 'E') {
+                position++;
+            } else {
+                break;
+            }
+        }
+        if (position == start) {
+            throw error("Unexpected character");
+        }
+    }
+
+    private String readEscapedString(int start) {
+        StringBuilder builder = new StringBuilder(position - start + 16);
+        builder.append(new String(json, start, position - start, StandardCharsets.UTF_8));
+        int chunkStart = position;
+        while (position < json.length) {
+            byte b = json[position];
+            if (b == '"') {
+                builder.append(new String(json, chunkStart, position - chunkStart, StandardCharsets.UTF_8));
+                position++;
+                return builder.toString();
+            }
+            if (b >= 0 && b < 0x20) {
+                throw error("Unescaped control character in string");
+            }
+            if (b != '\\') {
+                position++;
+                continue;
+            }
+            builder.append(new String(json, chunkStart, position - chunkStart, StandardCharsets.UTF_8));
+            if (++position >= json.length) {
+                break;
+            }
+            switch (json[position++]) {
+                case '"' -> builder.append('"');
+                case '\\' -> builder.append('\\');
+                case '/' -> builder.append('/');
+                case 'b' -> builder.append('\b');
+                case 'f' -> builder.append('\f');
+                case 'n' -> builder.append('\n');
+                case 'r' -> builder.append('\r');
+                case 't' -> builder.append('\t');
+                case 'u' -> builder.append(readHexChar());
+                default -> throw error("Invalid escape sequence");
+            }
+            chunkStart = position;
+        }
+        throw error("Unterminated string");
+    }
+
+    private char readHexChar() {
+        if (position + 4 > json.length) {
+            throw error("Truncated unicode escape");
+        }
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            int digit = Character.digit(json[position++], 16);
+            if (digit < 0) {
+                throw error("Invalid unicode escape");
+            }
+            value = (value << 4) | digit;
+        }
+        return (char) value;
+    }
+
+    private boolean consumeLiteral(String literal) {
+        int length = literal.length();
+        if (position + length > json.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (json[position + i] != literal.charAt(i)) {
+                return false;
+            }
+        }
+        position += length;
+        return true;
+    }
+
+    private void expect(char c) {
+        skipWhitespace();
+        if (position >= json.length || json[position] != c) {
+            throw error("Expected '" + c + "'");
+        }
+        position++;
+    }
+
+    private void skipWhitespace() {
+        while (position < json.length) {
+            byte b = json[position];
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                return;
+            }
+            position++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at offset " + position);
+    }
+}
@@ -0,0 +1,181 @@
+package com.miralles.spring_web.presentation.codecs;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Minimal buffered JSON writer that encodes straight to UTF-8 bytes.
+ * It writes into a fixed buffer that is flushed to the target stream when full,
+ * so no intermediate String, char[] or tree is built for a document.
+ *
+ * Callers are responsible for emitting a well-formed structure (commas, colons, brackets).
+ */
+public final class JsonOutput {
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private int position;
+
+    public JsonOutput(OutputStream out) {
+        this(out, DEFAULT_BUFFER_SIZE);
+    }
+
+    public JsonOutput(OutputStream out, int bufferSize) {
+        this.out = out;
+        // Room for the longest single escape sequence (6 bytes) is always kept
+        this.buffer = new byte[Math.max(bufferSize, 16)];
+    }
+
+    public JsonOutput writeRaw(char c) throws IOException {
+        ensureCapacity(1);
+        buffer[position++] = (byte) c;
+        return this;
+    }
+
+    public JsonOutput writeRaw(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.length - position) {
+            flushBuffer();
+            if (bytes.length > buffer.length) {
+                out.write(bytes);
+                return this;
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+        return this;
+    }
+
+    /**
+     * Writes a pre-encoded, already quoted field name such as {@code "email":}.
+     */
+    public JsonOutput writeName(byte[] quotedNameWithColon) throws IOException {
+        return writeRaw(quotedNameWithColon);
+    }
+
+    public JsonOutput writeNumber(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            return writeRaw(Long.toString(value).getBytes());
+        }
+        ensureCapacity(20);
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long v = value / 10; v != 0; v /= 10) {
+            digits++;
+        }
+        int end = position + digits;
+        for (int i = end - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + (value % 10));
+            value /= 10;
+        }
+        position = end;
+        return this;
+    }
+
+    public JsonOutput writeBoolean(boolean value) throws IOException {
+        return writeRaw(value ? TRUE : FALSE);
+    }
+
+    public JsonOutput writeNull() throws IOException {
+        return writeRaw(NULL);
+    }
+
+    /**
+     * Writes a quoted and escaped JSON string (RFC 8259), or {@code null}.
+     */
+    public JsonOutput writeString(String value) throws IOException {
+        if (value == null) {
+            return writeNull();
+        }
+        writeRaw('"');
+        writeEscaped(value);
+        return writeRaw('"');
+    }
+
+    /**
+     * Writes the escaped content of a string without surrounding quotes.
+     */
+    public JsonOutput writeEscaped(String value) throws IOException {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            ensureCapacity(6);
+            if (c < 0x80) {
+                if (c >= 0x20 && c != '"' && c != '\\') {
+                    buffer[position++] = (byte) c;
+                } else {
+                    writeEscapedAscii(c);
+                }
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogates cannot be encoded as UTF-8, keep them as an escape
+                writeUnicodeEscape(c);
+            } else {
+                buffer[position++] = (byte) (0xE0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return this;
+    }
+
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    private void writeEscapedAscii(char c) {
+        buffer[position++] = '\\';
+        switch (c) {
+            case '"' -> buffer[position++] = '"';
+            case '\\' -> buffer[position++] = '\\';
+            case '\n' -> buffer[position++] = 'n';
+            case '\r' -> buffer[position++] = 'r';
+            case '\t' -> buffer[position++] = 't';
+            case '\b' -> buffer[position++] = 'b';
+            case '\f' -> buffer[position++] = 'f';
+            default -> {
+                position--;
+                writeUnicodeEscape(c);
+            }
+        }
+    }
+
+    private void writeUnicodeEscape(char c) {
+        buffer[position++] = '\\';
+        buffer[position++] = 'u';
+        buffer[position++] = HEX[(c >> 12) & 0xF];
+        buffer[position++] = HEX[(c >> 8) & 0xF];
+        buffer[position++] = HEX[(c >> 4) & 0xF];
+        buffer[position++] = HEX[c & 0xF];
+    }
+
+    private void ensureCapacity(int bytes) throws IOException {
+        if (buffer.length - position < bytes) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.miralles.spring_web.presentation.codecs;
+
+import com.miralles.spring_web.presentation.dtos.UserRequestDTO;
+import com.miralles.spring_web.presentation.dtos.UserResponseDTO;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Hand-written JSON codec for the user DTOs.
+ * Produces the same documents as Jackson for these types (null fields omitted,
+ * unknown request properties ignored) without reflection or intermediate trees.
+ */
+public final class UserJsonCodec {
+
+    private static final byte[] ID = "\"id\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] USERNAME = "\"username\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] EMAIL = "\"email\":".getBytes(StandardCharsets.UTF_8);
+
+    private UserJsonCodec() {
+    }
+
+    /**
+     * Writes a single user as a JSON object.
+     */
+    public static void writeUser(UserResponseDTO user, JsonOutput out) throws IOException {
+        out.writeRaw('{');
+        boolean first = true;
+        if (user.getId() != null) {
+            out.writeName(ID).writeNumber(user.getId());
+            first = false;
+        }
+        if (user.getUsername() != null) {
+            writeSeparator(out, first).writeName(USERNAME).writeString(user.getUsername());
+            first = false;
+        }
+        if (user.getEmail() != null) {
+            writeSeparator(out, first).writeName(EMAIL).writeString(user.getEmail());
+        }
+        out.writeRaw('}');
+    }
+
+    /**
+     * Writes a list of users as a JSON array.
+     */
+    public static void writeUsers(List<?> users, JsonOutput out) throws IOException {
+        out.writeRaw('[');
+        for (int i = 0; i < users.size(); i++) {
+            if (i > 0) {
+                out.writeRaw(',');
+            }
+            writeUser((UserResponseDTO) users.get(i), out);
+        }
+        out.writeRaw(']');
+    }
+
+    /**
+     * Reads a user request from a UTF-8 encoded JSON object.
+     *
+     * @param json the request body
+     * @return the decoded request
+     * @throws IllegalArgumentException if the body is not a valid JSON object
+     */
+    public static UserRequestDTO readUserRequest(byte[] json) {
+        JsonInput in = new JsonInput(json);
+        UserRequestDTO request = new UserRequestDTO();
+        in.expectObjectStart();
+        if (!in.tryObjectEnd()) {
+            do {
+                String name = in.readString();
+                in.expectColon();
+                switch (name) {
+                    case "username" -> request.setUsername(in.readNullableString());
+                    case "email" -> request.setEmail(in.readNullableString());
+                    case "password" -> request.setPassword(in.readNullableString());
+                    case "admin" -> request.setAdmin(in.readBoolean());
+                    default -> in.skipValue();
+                }
+            } while (in.nextMember());
+        }
+        in.expectEnd();
+        return request;
+    }
+
+    private static JsonOutput writeSeparator(JsonOutput out, boolean first) throws IOException {
+        return first ? out : out.writeRaw(',');
+    }
+}
@@ -0,0 +1,85 @@
+package com.miralles.spring_web.presentation.codecs;
+
+import com.miralles.spring_web.presentation.dtos.UserRequestDTO;
+import com.miralles.spring_web.presentation.dtos.UserResponseDTO;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * JSON message converter dedicated to the user DTOs, backed by {@link UserJsonCodec}.
+ * It handles {@link UserResponseDTO}, {@code List<UserResponseDTO>} and {@link UserRequestDTO};
+ * every other type is left to the regular Jackson converter.
+ */
+public class UserJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public UserJsonHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+        setDefaultCharset(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == UserResponseDTO.class || clazz == UserRequestDTO.class;
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return type == UserRequestDTO.class && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        if (clazz == UserResponseDTO.class) {
+            return true;
+        }
+        return List.class.isAssignableFrom(clazz) && isUserResponseList(type);
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        return readInternal(UserRequestDTO.class, inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        byte[] body = inputMessage.getBody().readAllBytes();
+        try {
+            return UserJsonCodec.readUserRequest(body);
+        } catch (IllegalArgumentException e) {
+            throw new HttpMessageNotReadableException("JSON parse error: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object value, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException {
+        JsonOutput out = new JsonOutput(outputMessage.getBody());
+        if (value instanceof UserResponseDTO user) {
+            UserJsonCodec.writeUser(user, out);
+        } else {
+            UserJsonCodec.writeUsers((List<?>) value, out);
+        }
+        out.flush();
+    }
+
+    private static boolean isUserResponseList(@Nullable Type type) {
+        return type instanceof ParameterizedType parameterized
+                && parameterized.getActualTypeArguments().length == 1
+                && parameterized.getActualTypeArguments()[0] == UserResponseDTO.class;
+    }
+}
@@ -0,0 +1,61 @@
+package com.miralles.spring_web.presentation.controllers;
+
+import com.miralles.spring_web.application.ports.AuditAction;
+import com.miralles.spring_web.application.ports.AuditEvent;
+import com.miralles.spring_web.application.ports.AuditLog;
+import com.miralles.spring_web.presentation.dtos.AuditEventDTO;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * Admin endpoint for reading the audit trail.
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/admin/audit")
+public class AuditController {
+
+    static final int MAX_LIMIT = 1000;
+
+    private final AuditLog auditLog;
+
+    public AuditController(AuditLog auditLog) {
+        this.auditLog = auditLog;
+    }
+
+    /**
+     * Returns the most recent audit events, newest first.
+     *
+     * @param limit the maximum number of events, up to {@value #MAX_LIMIT}
+     * @param action only events of this action
+     * @param userId only events about this user
+     * @return the matching events
+     */
+    @GetMapping
+    public ResponseEntity<List<AuditEventDTO>> getRecentEvents(
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) AuditAction action,
+            @RequestParam(required = false) Long userId) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_LIMIT);
+        }
+        List<AuditEventDTO> events = auditLog.recent(limit, action, userId).stream()
+                .map(AuditController::toDTO)
+                .toList();
+        return ResponseEntity.ok(events);
+    }
+
+    private static AuditEventDTO toDTO(AuditEvent event) {
+        return new AuditEventDTO(event.timestamp(), event.action().name(),
+                event.userId() == AuditEvent.UNKNOWN_USER ? null : event.userId(),
+                event.actor(), event.subject());
+    }
+}
@@ -1,8 +1,11 @@
 package com.miralles.spring_web.presentation.controllers;
 
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -10,7 +13,13 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.miralles.spring_web.application.ports.AuditAction;
+import com.miralles.spring_web.application.ports.AuditEvent;
+import com.miralles.spring_web.application.ports.AuditLog;
+import com.miralles.spring_web.domain.exceptions.DomainException;
+import com.miralles.spring_web.domain.exceptions.InvalidCredentialsException;
 import com.miralles.spring_web.infrastructure.security.JwtUtil;
+import com.miralles.spring_web.infrastructure.security.UserPrincipal;
 import com.miralles.spring_web.presentation.dtos.AuthRequestDTO;
 import com.miralles.spring_web.presentation.dtos.AuthResponseDTO;
 
@@ -18,30 +27,37 @@ import com.miralles.spring_web.presentation.dtos.AuthResponseDTO;
  * Authentication controller for handling login and token generation.
  */
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/auth")
 public class AuthController {
 
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final AuditLog auditLog;
 
     public AuthController(AuthenticationManager authenticationManager,
             JwtUtil jwtUtil,
-            UserDetailsService userDetailsService) {
+            UserDetailsService userDetailsService,
+            AuditLog auditLog) {
         this.authenticationManager = authenticationManager;
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.auditLog = auditLog;
     }
 
     /**
      * Authenticates a user and returns a JWT token.
+     * A user store failure is not a bad password: Spring Security wraps it in an
+     * {@link InternalAuthenticationServiceException}, whose domain cause (such as a
+     * {@code StoreUnavailableException}) is rethrown so it keeps its own status.
      * 
      * @param authRequest the authentication request containing email and password
      * @return ResponseEntity containing the JWT token
-     * @throws Exception if authentication fails
+     * @throws InvalidCredentialsException if authentication fails
      */
     @PostMapping("/login")
-    public ResponseEntity<AuthResponseDTO> authenticate(@RequestBody AuthRequestDTO authRequest) throws Exception {
+    public ResponseEntity<AuthResponseDTO> authenticate(@RequestBody AuthRequestDTO authRequest) {
         try {
             // Authenticate the user
             authenticationManager.authenticate(
@@ -53,13 +69,27 @@ public class AuthController {
             final UserDetails userDetails = userDetailsService.loadUserByUsername(authRequest.email());
             final String token = jwtUtil.generateToken(userDetails);
 
+            auditLog.publish(AuditAction.LOGIN_SUCCEEDED, userIdOf(userDetails), authRequest.email());
+
             // Return the token
             return ResponseEntity.ok(new AuthResponseDTO(token));
-        } catch (Exception e) {
-            throw new Exception("Invalid credentials", e);
+        } catch (InternalAuthenticationServiceException e) {
+            if (e.getCause() instanceof DomainException domainException) {
+                throw domainException;
+            }
+            throw e;
+        } catch (AuthenticationException e) {
+            auditLog.publish(AuditAction.LOGIN_FAILED, AuditEvent.UNKNOWN_USER, authRequest.email());
+            throw new InvalidCredentialsException();
         }
     }
 
+    private static long userIdOf(UserDetails userDetails) {
+        return userDetails instanceof UserPrincipal principal && principal.getId() != null
+                ? principal.getId()
+                : AuditEvent.UNKNOWN_USER;
+    }
+
     /**
      * Health check endpoint for authentication service.
      * 
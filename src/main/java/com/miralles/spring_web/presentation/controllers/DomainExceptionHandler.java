@@ -0,0 +1,50 @@
+package com.miralles.spring_web.presentation.controllers;
+
+import com.miralles.spring_web.domain.exceptions.ConflictException;
+import com.miralles.spring_web.domain.exceptions.DeadlineExceededException;
+import com.miralles.spring_web.domain.exceptions.InvalidCredentialsException;
+import com.miralles.spring_web.domain.exceptions.StoreUnavailableException;
+import com.miralles.spring_web.domain.exceptions.UserNotFoundException;
+import com.miralles.spring_web.presentation.dtos.ErrorResponseDTO;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Maps the domain exceptions to small JSON error bodies.
+ * Misses are answered here instead of going through the generic error page,
+ * so they do not cost a stack trace or an error dispatch.
+ */
+@RestControllerAdvice
+public class DomainExceptionHandler {
+
+    @ExceptionHandler(UserNotFoundException.class)
+    public ResponseEntity<ErrorResponseDTO> handleUserNotFound(UserNotFoundException e) {
+        return error(HttpStatus.NOT_FOUND, e.getMessage());
+    }
+
+    @ExceptionHandler(InvalidCredentialsException.class)
+    public ResponseEntity<ErrorResponseDTO> handleInvalidCredentials(InvalidCredentialsException e) {
+        return error(HttpStatus.UNAUTHORIZED, e.getMessage());
+    }
+
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ErrorResponseDTO> handleConflict(ConflictException e) {
+        return error(HttpStatus.CONFLICT, e.getMessage());
+    }
+
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<ErrorResponseDTO> handleDeadlineExceeded(DeadlineExceededException e) {
+        return error(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+    }
+
+    @ExceptionHandler(StoreUnavailableException.class)
+    public ResponseEntity<ErrorResponseDTO> handleStoreUnavailable(StoreUnavailableException e) {
+        return error(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+    }
+
+    private static ResponseEntity<ErrorResponseDTO> error(HttpStatus status, String message) {
+        return ResponseEntity.status(status).body(new ErrorResponseDTO(status.value(), message));
+    }
+}
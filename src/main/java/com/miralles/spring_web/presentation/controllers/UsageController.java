@@ -0,0 +1,63 @@
+package com.miralles.spring_web.presentation.controllers;
+
+import com.miralles.spring_web.application.ports.ConsumerUsage;
+import com.miralles.spring_web.application.ports.UsageReport;
+import com.miralles.spring_web.presentation.dtos.ConsumerUsageDTO;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DurationFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Admin endpoint for reading the per-principal API usage.
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/admin/usage")
+public class UsageController {
+
+    static final int MAX_LIMIT = 1000;
+
+    private final UsageReport usageReport;
+
+    public UsageController(UsageReport usageReport) {
+        this.usageReport = usageReport;
+    }
+
+    /**
+     * Returns the principals with the most usage over a recent period, heaviest first.
+     *
+     * @param limit the maximum number of principals, up to {@value #MAX_LIMIT}
+     * @param period how far back to look, e.g. {@code 15m} or {@code 1h}
+     * @param by whether to rank by requests or by bytes transferred
+     * @return the top consumers
+     */
+    @GetMapping("/top")
+    public ResponseEntity<List<ConsumerUsageDTO>> getTopConsumers(
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "1h") @DurationFormat(style = DurationFormat.Style.SIMPLE) Duration period,
+            @RequestParam(defaultValue = "REQUESTS") UsageReport.Order by) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (period.isNegative() || period.isZero()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "period must be positive");
+        }
+        List<ConsumerUsageDTO> consumers = usageReport.topConsumers(limit, period, by).stream()
+                .map(UsageController::toDTO)
+                .toList();
+        return ResponseEntity.ok(consumers);
+    }
+
+    private static ConsumerUsageDTO toDTO(ConsumerUsage usage) {
+        return new ConsumerUsageDTO(usage.principal(), usage.requests(), usage.bytesIn(), usage.bytesOut());
+    }
+}
@@ -0,0 +1,162 @@
+package com.miralles.spring_web.presentation.controllers;
+
+import com.miralles.spring_web.application.ports.BatchItemResult;
+import com.miralles.spring_web.application.ports.BatchOperation;
+import com.miralles.spring_web.application.ports.UserBatchService;
+import com.miralles.spring_web.presentation.dtos.BatchItemResultDTO;
+import com.miralles.spring_web.presentation.dtos.BatchOperationDTO;
+import com.miralles.spring_web.presentation.dtos.BatchRequestDTO;
+import com.miralles.spring_web.presentation.dtos.BatchResponseDTO;
+import com.miralles.spring_web.presentation.dtos.UserMapper;
+import com.miralles.spring_web.presentation.dtos.UserRequestDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Batch endpoint for provisioning jobs.
+ * A whole list of create/update/delete/get operations travels in one request, so it pays
+ * HTTP, JWT validation and the filter chain once instead of once per operation.
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/users")
+public class UserBatchController {
+
+    private final UserBatchService userBatchService;
+    private final Validator validator;
+    private final int maxOperations;
+
+    public UserBatchController(UserBatchService userBatchService, Validator validator,
+            @Value("${app.batch.max-operations:1000}") int maxOperations) {
+        this.userBatchService = userBatchService;
+        this.validator = validator;
+        this.maxOperations = maxOperations;
+    }
+
+    /**
+     * Executes a batch of operations in order.
+     *
+     * @param batchRequest the operations and the batch mode
+     * @return one result per operation; 409 if an all-or-nothing batch was rolled back
+     */
+    @PostMapping("/_batch")
+    public ResponseEntity<BatchResponseDTO> executeBatch(@RequestBody BatchRequestDTO batchRequest) {
+        List<BatchOperationDTO> operationDTOs = batchRequest.operations();
+        if (operationDTOs == null || operationDTOs.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Batch has no operations");
+        }
+        if (operationDTOs.size() > maxOperations) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Batch exceeds " + maxOperations + " operations");
+        }
+
+        int size = operationDTOs.size();
+        BatchItemResultDTO[] results = new BatchItemResultDTO[size];
+        List<BatchOperation> operations = new ArrayList<>(size);
+        List<Integer> positions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String error = validate(operationDTOs.get(i));
+            if (error != null) {
+                results[i] = new BatchItemResultDTO(i, HttpStatus.BAD_REQUEST.value(), null, error);
+            } else {
+                operations.add(toOperation(operationDTOs.get(i)));
+                positions.add(i);
+            }
+        }
+
+        boolean atomic = batchRequest.atomic();
+        if (atomic && operations.size() < size) {
+            // Nothing runs when an all-or-nothing batch contains an invalid operation
+            for (int i = 0; i < size; i++) {
+                if (results[i] == null) {
+                    results[i] = new BatchItemResultDTO(i, HttpStatus.FAILED_DEPENDENCY.value(), null,
+                            "Batch rejected because of invalid operations");
+                }
+            }
+            return ResponseEntity.badRequest().body(new BatchResponseDTO(true, false, List.of(results)));
+        }
+
+        List<BatchItemResult> itemResults = userBatchService.execute(operations, atomic);
+        boolean committed = true;
+        for (int i = 0; i < itemResults.size(); i++) {
+            BatchItemResult itemResult = itemResults.get(i);
+            int index = positions.get(i);
+            committed &= !(atomic && itemResult.error() != null);
+            results[index] = new BatchItemResultDTO(index, statusOf(itemResult.outcome()).value(),
+                    itemResult.user() == null ? null : UserMapper.toUserResponseDTO(itemResult.user()),
+                    itemResult.error());
+        }
+
+        BatchResponseDTO response = new BatchResponseDTO(atomic, committed, List.of(results));
+        return new ResponseEntity<>(response, committed ? HttpStatus.OK : HttpStatus.CONFLICT);
+    }
+
+    private String validate(BatchOperationDTO operationDTO) {
+        BatchOperation.Type type = typeOf(operationDTO.op());
+        if (type == null) {
+            return "Unknown operation: " + operationDTO.op();
+        }
+        if (type != BatchOperation.Type.CREATE && operationDTO.id() == null) {
+            return "Operation " + operationDTO.op() + " requires an id";
+        }
+        if (type == BatchOperation.Type.CREATE || type == BatchOperation.Type.UPDATE) {
+            if (operationDTO.user() == null) {
+                return "Operation " + operationDTO.op() + " requires a user";
+            }
+            Set<ConstraintViolation<UserRequestDTO>> violations = validator.validate(operationDTO.user());
+            if (!violations.isEmpty()) {
+                return violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", "));
+            }
+        }
+        return null;
+    }
+
+    private static BatchOperation toOperation(BatchOperationDTO operationDTO) {
+        BatchOperation.Type type = typeOf(operationDTO.op());
+        var user = operationDTO.user() == null ? null : UserMapper.toUser(operationDTO.user());
+        return new BatchOperation(type, operationDTO.id(), user);
+    }
+
+    private static BatchOperation.Type typeOf(String op) {
+        if (op == null) {
+            return null;
+        }
+        try {
+            return BatchOperation.Type.valueOf(op.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static HttpStatus statusOf(BatchItemResult.Outcome outcome) {
+        return switch (outcome) {
+            case CREATED -> HttpStatus.CREATED;
+            case OK -> HttpStatus.OK;
+            case DELETED -> HttpStatus.NO_CONTENT;
+            case NOT_FOUND -> HttpStatus.NOT_FOUND;
+            case INVALID -> HttpStatus.BAD_REQUEST;
+            case CONFLICT -> HttpStatus.CONFLICT;
+            case UNAVAILABLE -> HttpStatus.SERVICE_UNAVAILABLE;
+            case ABORTED -> HttpStatus.FAILED_DEPENDENCY;
+            case FAILED -> HttpStatus.INTERNAL_SERVER_ERROR;
+        };
+    }
+}
@@ -1,21 +1,42 @@
 package com.miralles.spring_web.presentation.controllers;
 
 import com.miralles.spring_web.application.ports.UserService;
+import com.miralles.spring_web.domain.models.User;
+import com.miralles.spring_web.domain.models.UserField;
+import com.miralles.spring_web.domain.models.UserQuery;
+import com.miralles.spring_web.domain.models.UserStats;
+import com.miralles.spring_web.presentation.dtos.EmailAvailabilityDTO;
+import com.miralles.spring_web.presentation.dtos.UserCountDTO;
 import com.miralles.spring_web.presentation.dtos.UserRequestDTO;
 import com.miralles.spring_web.presentation.dtos.UserResponseDTO;
+import com.miralles.spring_web.presentation.dtos.UserStatsDTO;
 import com.miralles.spring_web.presentation.dtos.UserMapper;
 import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/users")
 public class UserController {
 
+    private static final int MAX_LOOKUP_IDS = 100;
+    private static final int MAX_SEARCH_LIMIT = 100;
+    private static final int MAX_STATS_DOMAINS = 1000;
+    private static final int MAX_STATS_DAYS = 3660;
+
     private final UserService userService;
 
     public UserController(UserService userService) {
@@ -37,15 +58,134 @@ public class UserController {
         return ResponseEntity.ok(responseDTO);
     }
 
+    /**
+     * Loads several users by id in one call, e.g. {@code GET /api/users/_lookup?ids=1,2,3}.
+     * Answers 404 if any of them does not exist.
+     */
+    @GetMapping("/_lookup")
+    public ResponseEntity<List<UserResponseDTO>> getUsersByIds(@RequestParam List<Long> ids) {
+        if (ids.isEmpty() || ids.size() > MAX_LOOKUP_IDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Between 1 and " + MAX_LOOKUP_IDS + " ids are required");
+        }
+        var responseDTOs = userService.getUsersByIds(ids).stream()
+                .map(UserMapper::toUserResponseDTO)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(responseDTOs);
+    }
+
+    /**
+     * Lists users, optionally restricted to a sparse fieldset (e.g. {@code ?fields=id,email}).
+     * The fieldset is pushed down to the repository so unrequested fields are never read.
+     *
+     * Filters are combined with AND and evaluated by the repository, e.g.
+     * {@code ?admin=true&emailDomain=example.com}. Every text filter ignores case.
+     */
     @GetMapping
-    public ResponseEntity<List<UserResponseDTO>> getAllUsers() {
-        var users = userService.getAllUsers();
+    public ResponseEntity<List<UserResponseDTO>> getAllUsers(
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String usernamePrefix,
+            @RequestParam(required = false) String emailPrefix,
+            @RequestParam(required = false) String emailDomain,
+            @RequestParam(required = false) Boolean admin) {
+        var projection = parseFields(fields);
+        var query = toQuery(username, email, usernamePrefix, emailPrefix, emailDomain, admin);
+        List<User> users;
+        if (!query.isEmpty()) {
+            users = userService.findUsers(query, projection);
+        } else {
+            users = projection.isEmpty()
+                    ? userService.getAllUsers()
+                    : userService.getAllUsers(projection);
+        }
         var responseDTOs = users.stream()
                 .map(UserMapper::toUserResponseDTO)
                 .collect(Collectors.toList());
         return ResponseEntity.ok(responseDTOs);
     }
 
+    /**
+     * Counts users, with the same filters as the listing, e.g. {@code GET /api/users/_count?admin=true}.
+     */
+    @GetMapping("/_count")
+    public ResponseEntity<UserCountDTO> countUsers(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String usernamePrefix,
+            @RequestParam(required = false) String emailPrefix,
+            @RequestParam(required = false) String emailDomain,
+            @RequestParam(required = false) Boolean admin) {
+        var query = toQuery(username, email, usernamePrefix, emailPrefix, emailDomain, admin);
+        return ResponseEntity.ok(new UserCountDTO(userService.countUsers(query)));
+    }
+
+    /**
+     * Checks whether an email is still free, e.g. {@code GET /api/users/email-available?email=jane@example.com}.
+     * Meant to be called as the email is typed: most unused emails are answered from memory.
+     */
+    @GetMapping("/email-available")
+    public ResponseEntity<EmailAvailabilityDTO> isEmailAvailable(@RequestParam String email) {
+        if (email.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "email must not be blank");
+        }
+        return ResponseEntity.ok(new EmailAvailabilityDTO(email, userService.isEmailAvailable(email)));
+    }
+
+    /**
+     * Returns user statistics for dashboards, e.g. {@code GET /api/users/stats?topDomains=10&days=30}:
+     * totals, the largest email domains and users per creation day over the last {@code days} days.
+     * The repository maintains the aggregates and their ordering on every write, no user is
+     * read, and the stats are views over them, so only the requested entries are touched.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<UserStatsDTO> getUserStats(
+            @RequestParam(defaultValue = "10") int topDomains,
+            @RequestParam(defaultValue = "30") int days) {
+        if (topDomains < 1 || topDomains > MAX_STATS_DOMAINS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "topDomains must be between 1 and " + MAX_STATS_DOMAINS);
+        }
+        if (days < 1 || days > MAX_STATS_DAYS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "days must be between 1 and " + MAX_STATS_DAYS);
+        }
+        UserStats stats = userService.getUserStats();
+        Map<String, Long> emailDomains = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : stats.usersByEmailDomain().entrySet()) {
+            if (emailDomains.size() == topDomains) {
+                break;
+            }
+            emailDomains.put(entry.getKey(), entry.getValue());
+        }
+        Map<String, Long> createdPerDay = new LinkedHashMap<>();
+        stats.usersByCreationDay().tailMap(LocalDate.now(ZoneOffset.UTC).minusDays(days - 1))
+                .forEach((day, count) -> createdPerDay.put(day.toString(), count));
+        return ResponseEntity.ok(new UserStatsDTO(stats.total(), stats.admins(), stats.nonAdmins(),
+                emailDomains, createdPerDay));
+    }
+
+    /**
+     * Finds users by part of their username or email, best match first,
+     * e.g. {@code GET /api/users/search?q=jane&limit=10}.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<UserResponseDTO>> searchUsers(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (q.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "q must not be blank");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+        var responseDTOs = userService.searchUsers(q.strip(), limit).stream()
+                .map(UserMapper::toUserResponseDTO)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(responseDTOs);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<UserResponseDTO> updateUser(
             @PathVariable Long id, 
@@ -64,9 +204,46 @@ public class UserController {
     }
 
     @GetMapping("/email/{email}")
-    public ResponseEntity<UserResponseDTO> getUserByEmail(@PathVariable String email) {
-        var user = userService.getUserByEmail(email);
+    public ResponseEntity<UserResponseDTO> getUserByEmail(
+            @PathVariable String email,
+            @RequestParam(required = false) String fields) {
+        var projection = parseFields(fields);
+        var user = projection.isEmpty()
+                ? userService.getUserByEmail(email)
+                : userService.getUserByEmail(email, projection);
         var responseDTO = UserMapper.toUserResponseDTO(user);
         return ResponseEntity.ok(responseDTO);
     }
+
+    private static UserQuery toQuery(String username, String email, String usernamePrefix,
+            String emailPrefix, String emailDomain, Boolean admin) {
+        var conditions = new ArrayList<UserQuery.Condition>();
+        if (username != null) {
+            conditions.add(new UserQuery.Equals(UserField.USERNAME, username));
+        }
+        if (email != null) {
+            conditions.add(new UserQuery.Equals(UserField.EMAIL, email));
+        }
+        if (usernamePrefix != null) {
+            conditions.add(new UserQuery.Prefix(UserField.USERNAME, usernamePrefix));
+        }
+        if (emailPrefix != null) {
+            conditions.add(new UserQuery.Prefix(UserField.EMAIL, emailPrefix));
+        }
+        if (emailDomain != null) {
+            conditions.add(new UserQuery.EmailDomain(emailDomain));
+        }
+        if (admin != null) {
+            conditions.add(new UserQuery.Admin(admin));
+        }
+        return new UserQuery(conditions);
+    }
+
+    private static Set<UserField> parseFields(String fields) {
+        try {
+            return UserField.parse(fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
 }
\ No newline at end of file
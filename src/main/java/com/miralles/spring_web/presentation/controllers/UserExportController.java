@@ -0,0 +1,117 @@
+package com.miralles.spring_web.presentation.controllers;
+
+import com.miralles.spring_web.application.ports.UserService;
+import com.miralles.spring_web.domain.models.User;
+import com.miralles.spring_web.domain.models.UserTombstone;
+import com.miralles.spring_web.presentation.exports.UserExportWriter;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Full and incremental exports for compliance and analytics jobs.
+ * Users are streamed from the repository straight into the response body,
+ * optionally gzip-compressed on the fly. Incremental exports end with a tombstone row
+ * for every user deleted since the watermark, so consumers can drop them too.
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/users")
+public class UserExportController {
+
+    /**
+     * Export start time; pass it back as {@code modifiedSince} to fetch the next increment.
+     */
+    public static final String WATERMARK_HEADER = "X-Export-Watermark";
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final UserService userService;
+
+    public UserExportController(UserService userService) {
+        this.userService = userService;
+    }
+
+    /**
+     * Exports users as CSV or NDJSON.
+     *
+     * @param format         {@code csv} or {@code ndjson}
+     * @param modifiedSince  only users updated or deleted at or after this ISO-8601 instant; deletions
+     *                       older than {@link UserTombstone#RETENTION} are no longer known
+     * @param acceptEncoding the body is gzip-compressed when the client accepts it
+     * @return the streamed export
+     */
+    @GetMapping("/_export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant modifiedSince,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        UserExportWriter.Format exportFormat;
+        try {
+            exportFormat = UserExportWriter.Format.parse(format);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        boolean gzip = acceptsGzip(acceptEncoding);
+        Instant watermark = Instant.now();
+
+        StreamingResponseBody body = outputStream -> {
+            // The stream is opened on the thread that writes it, so a database cursor is closed there too
+            try (Stream<User> users = userService.streamUsers(modifiedSince);
+                 Stream<UserTombstone> deletions = modifiedSince == null
+                         ? Stream.empty()
+                         : userService.streamDeletions(modifiedSince)) {
+                if (gzip) {
+                    GZIPOutputStream gzipOutput = new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE);
+                    UserExportWriter.write(users.iterator(), deletions.iterator(), exportFormat, gzipOutput);
+                    gzipOutput.finish();
+                } else {
+                    UserExportWriter.write(users.iterator(), deletions.iterator(), exportFormat, outputStream);
+                }
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("users." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .header(WATERMARK_HEADER, watermark.toString());
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().toLowerCase(Locale.ROOT).equals("gzip")) {
+                // "gzip;q=0" explicitly refuses gzip
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
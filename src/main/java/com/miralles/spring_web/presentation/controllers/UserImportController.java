@@ -0,0 +1,110 @@
+package com.miralles.spring_web.presentation.controllers;
+
+import com.miralles.spring_web.application.ports.ImportSummary;
+import com.miralles.spring_web.application.ports.UserImportService;
+import com.miralles.spring_web.presentation.codecs.JsonOutput;
+import com.miralles.spring_web.presentation.imports.UserImportReader;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Bulk import endpoint for onboarding.
+ * The upload is read row by row while the report is streamed back as NDJSON:
+ * one line per rejected row and a final summary line.
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/users")
+public class UserImportController {
+
+    public static final String NDJSON = "application/x-ndjson";
+
+    private static final byte[] LINE = "\"line\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ERROR = ",\"error\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ROWS = "\"rows\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] IMPORTED = ",\"imported\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] FAILED = ",\"failed\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ELAPSED_MILLIS = ",\"elapsedMillis\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ROWS_PER_SECOND = ",\"rowsPerSecond\":".getBytes(StandardCharsets.UTF_8);
+
+    // Error lines are pushed to the client every this many rows
+    private static final int FLUSH_EVERY = 100;
+
+    private final UserImportService userImportService;
+    private final Validator validator;
+    private final int maxLineLength;
+
+    public UserImportController(UserImportService userImportService, Validator validator,
+            @Value("${app.import.max-line-length:8192}") int maxLineLength) {
+        this.userImportService = userImportService;
+        this.validator = validator;
+        this.maxLineLength = maxLineLength;
+    }
+
+    /**
+     * Imports users from a CSV ({@code text/csv}, header required) or NDJSON upload.
+     *
+     * @param request  the upload
+     * @param response NDJSON report: {@code {"line":n,"error":"..."}} per rejected row, then the summary
+     */
+    @PostMapping(value = "/_import", consumes = {"text/csv", NDJSON}, produces = NDJSON)
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        UserImportReader reader;
+        try {
+            reader = new UserImportReader(request.getInputStream(), formatOf(request.getContentType()), validator,
+                    maxLineLength);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(NDJSON);
+        JsonOutput out = new JsonOutput(response.getOutputStream());
+        long[] pending = {0};
+        ImportSummary summary = userImportService.importUsers(reader, (line, error) -> {
+            // Called from the hashing workers as well as the request thread
+            synchronized (out) {
+                try {
+                    out.writeRaw('{').writeName(LINE).writeNumber(line)
+                            .writeName(ERROR).writeString(error).writeRaw('}').writeRaw('\n');
+                    if (++pending[0] >= FLUSH_EVERY) {
+                        pending[0] = 0;
+                        out.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        });
+
+        synchronized (out) {
+            out.writeRaw('{').writeName(ROWS).writeNumber(summary.rows())
+                    .writeName(IMPORTED).writeNumber(summary.imported())
+                    .writeName(FAILED).writeNumber(summary.failed())
+                    .writeName(ELAPSED_MILLIS).writeNumber(summary.elapsed().toMillis())
+                    .writeName(ROWS_PER_SECOND).writeNumber(Math.round(summary.rowsPerSecond()))
+                    .writeRaw('}').writeRaw('\n');
+            out.flush();
+        }
+    }
+
+    private static UserImportReader.Format formatOf(String contentType) {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        return "csv".equalsIgnoreCase(mediaType.getSubtype())
+                ? UserImportReader.Format.CSV
+                : UserImportReader.Format.NDJSON;
+    }
+}
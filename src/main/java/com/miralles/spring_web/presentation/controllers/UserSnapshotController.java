@@ -0,0 +1,171 @@
+package com.miralles.spring_web.presentation.controllers;
+
+import com.miralles.spring_web.presentation.exports.UserSnapshotStore;
+import com.miralles.spring_web.presentation.exports.UserSnapshotStore.Snapshot;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Downloads of the materialized user export.
+ * The file is handed to Tomcat's sendfile when the connector supports it, and then never
+ * passes through the heap. Otherwise it is copied with {@link FileChannel#transferTo} into the
+ * servlet output stream: that target is not a file or socket channel, so the JDK copies
+ * through a heap buffer, as do wrappers such as the usage meter's counting response.
+ * Single byte ranges make downloads resumable, and the ETag changes with every generation.
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/users")
+public class UserSnapshotController {
+
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final String MEDIA_TYPE = "application/x-ndjson";
+    private static final long[] UNSATISFIABLE = new long[0];
+
+    private final UserSnapshotStore userSnapshotStore;
+
+    public UserSnapshotController(UserSnapshotStore userSnapshotStore) {
+        this.userSnapshotStore = userSnapshotStore;
+    }
+
+    /**
+     * Serves the current snapshot, honoring {@code Range}, {@code If-Range} and {@code If-None-Match}.
+     *
+     * @param request  the download request
+     * @param response 200 with the whole file, 206 with a single range, 304, 416,
+     *                 or 503 while the first snapshot is being written
+     */
+    @RequestMapping(value = "/_snapshot", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void downloadSnapshot(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Snapshot snapshot = userSnapshotStore.current();
+        if (snapshot == null) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "30");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "No snapshot available yet");
+            return;
+        }
+
+        String etag = snapshot.etag();
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, snapshot.createdAt().toEpochMilli());
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        long size = snapshot.size();
+        long start = 0;
+        long end = size - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        // A Range for another generation (If-Range mismatch) gets the whole new file
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            long[] bounds = parseRange(range, size);
+            if (bounds == UNSATISFIABLE) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            if (bounds != null) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            }
+        }
+
+        long length = end - start + 1;
+        response.setContentType(MEDIA_TYPE);
+        response.setContentLengthLong(length);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("users-" + snapshot.generation() + ".ndjson")
+                .build()
+                .toString());
+        if (HttpMethod.HEAD.matches(request.getMethod()) || length == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat writes the file from the kernel once the request returns
+            request.setAttribute(SENDFILE_FILENAME, snapshot.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (FileChannel file = FileChannel.open(snapshot.path(), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long transferred = file.transferTo(position, remaining, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+    }
+
+    /**
+     * Resolves a single byte range.
+     *
+     * @return the inclusive bounds, {@link #UNSATISFIABLE}, or {@code null} to ignore the header
+     *         (malformed or multiple ranges, which are answered with the whole file)
+     */
+    static long[] parseRange(String header, long size) {
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(header);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (ranges.size() != 1) {
+            return null;
+        }
+        HttpRange range = ranges.get(0);
+        try {
+            long start = range.getRangeStart(size);
+            long end = range.getRangeEnd(size);
+            if (size == 0 || start >= size || start > end) {
+                return UNSATISFIABLE;
+            }
+            return new long[] {start, end};
+        } catch (IllegalArgumentException e) {
+            return UNSATISFIABLE;
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals(etag) || value.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
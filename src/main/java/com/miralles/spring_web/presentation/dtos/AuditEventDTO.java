@@ -0,0 +1,18 @@
+package com.miralles.spring_web.presentation.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object for one audit event.
+ *
+ * @param timestamp when the action happened
+ * @param action what happened
+ * @param userId the affected user, if known
+ * @param actor the principal that performed the action, if authenticated
+ * @param subject the email the action was about, if any
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AuditEventDTO(Instant timestamp, String action, Long userId, String actor, String subject) {
+}
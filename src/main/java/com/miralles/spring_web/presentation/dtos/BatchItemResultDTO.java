@@ -0,0 +1,15 @@
+package com.miralles.spring_web.presentation.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Data Transfer Object for the result of one batch operation.
+ *
+ * @param index the position of the operation in the request
+ * @param status the HTTP status the operation would have returned on its own
+ * @param user the resulting user, if any
+ * @param error the error description, if the operation failed
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchItemResultDTO(int index, int status, UserResponseDTO user, String error) {
+}
@@ -0,0 +1,11 @@
+package com.miralles.spring_web.presentation.dtos;
+
+/**
+ * Data Transfer Object for one operation of a user batch.
+ *
+ * @param op the operation: create, update, delete or get
+ * @param id the target user id (update, delete and get)
+ * @param user the user data (create and update)
+ */
+public record BatchOperationDTO(String op, Long id, UserRequestDTO user) {
+}
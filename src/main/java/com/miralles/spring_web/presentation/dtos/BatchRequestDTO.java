@@ -0,0 +1,12 @@
+package com.miralles.spring_web.presentation.dtos;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for a mixed-operation user batch.
+ *
+ * @param atomic whether the batch is all-or-nothing
+ * @param operations the operations, executed in order
+ */
+public record BatchRequestDTO(boolean atomic, List<BatchOperationDTO> operations) {
+}
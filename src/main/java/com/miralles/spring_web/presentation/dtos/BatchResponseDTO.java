@@ -0,0 +1,13 @@
+package com.miralles.spring_web.presentation.dtos;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for the results of a user batch.
+ *
+ * @param atomic whether the batch was all-or-nothing
+ * @param committed whether the batch was applied; always true for non-atomic batches
+ * @param results one result per operation, in request order
+ */
+public record BatchResponseDTO(boolean atomic, boolean committed, List<BatchItemResultDTO> results) {
+}
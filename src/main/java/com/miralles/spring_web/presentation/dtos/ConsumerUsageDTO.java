@@ -0,0 +1,12 @@
+package com.miralles.spring_web.presentation.dtos;
+
+/**
+ * Data Transfer Object for the API usage of one principal.
+ *
+ * @param principal the authenticated principal
+ * @param requests the number of requests
+ * @param bytesIn the request body bytes received
+ * @param bytesOut the response body bytes sent
+ */
+public record ConsumerUsageDTO(String principal, long requests, long bytesIn, long bytesOut) {
+}
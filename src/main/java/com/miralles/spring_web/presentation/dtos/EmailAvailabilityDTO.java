@@ -0,0 +1,10 @@
+package com.miralles.spring_web.presentation.dtos;
+
+/**
+ * Data Transfer Object for an email availability check.
+ *
+ * @param email the email that was checked
+ * @param available true if no user has this email
+ */
+public record EmailAvailabilityDTO(String email, boolean available) {
+}
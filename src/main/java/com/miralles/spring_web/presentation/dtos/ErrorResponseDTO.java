@@ -0,0 +1,10 @@
+package com.miralles.spring_web.presentation.dtos;
+
+/**
+ * Data Transfer Object for error responses.
+ *
+ * @param status the HTTP status code
+ * @param message the error description
+ */
+public record ErrorResponseDTO(int status, String message) {
+}
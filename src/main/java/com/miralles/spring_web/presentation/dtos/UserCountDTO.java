@@ -0,0 +1,9 @@
+package com.miralles.spring_web.presentation.dtos;
+
+/**
+ * Data Transfer Object for a user count.
+ *
+ * @param count the number of matching users
+ */
+public record UserCountDTO(long count) {
+}
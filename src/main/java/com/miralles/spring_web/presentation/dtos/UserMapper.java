@@ -21,11 +21,15 @@ public class UserMapper {
         );
     }
 
+    /**
+     * Applies a request to a copy of an existing user; the existing instance is left untouched.
+     */
     public static User updateUserFromDTO(UserRequestDTO userRequestDTO, User existingUser) {
-        existingUser.setUsername(userRequestDTO.getUsername());
-        existingUser.setEmail(userRequestDTO.getEmail());
-        existingUser.setPassword(userRequestDTO.getPassword());
-        existingUser.setAdmin(userRequestDTO.isAdmin());
-        return existingUser;
+        User updatedUser = new User(existingUser);
+        updatedUser.setUsername(userRequestDTO.getUsername());
+        updatedUser.setEmail(userRequestDTO.getEmail());
+        updatedUser.setPassword(userRequestDTO.getPassword());
+        updatedUser.setAdmin(userRequestDTO.isAdmin());
+        return updatedUser;
     }
 }
\ No newline at end of file
@@ -1,5 +1,12 @@
 package com.miralles.spring_web.presentation.dtos;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Response body for a user.
+ * Null fields are omitted so sparse fieldsets only serialize the requested fields.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class UserResponseDTO {
     private Long id;
     private String username;
@@ -0,0 +1,16 @@
+package com.miralles.spring_web.presentation.dtos;
+
+import java.util.Map;
+
+/**
+ * Data Transfer Object for the user statistics.
+ *
+ * @param total the number of users
+ * @param admins the number of admins
+ * @param nonAdmins the number of other users
+ * @param emailDomains users per email domain, largest domains first
+ * @param createdPerDay users per UTC day of creation ({@code yyyy-MM-dd}), oldest first
+ */
+public record UserStatsDTO(long total, long admins, long nonAdmins, Map<String, Long> emailDomains,
+        Map<String, Long> createdPerDay) {
+}
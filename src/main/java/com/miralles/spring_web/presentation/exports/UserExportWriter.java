@@ -0,0 +1,175 @@
+package com.miralles.spring_web.presentation.exports;
+
+import com.miralles.spring_web.domain.models.User;
+import com.miralles.spring_web.domain.models.UserTombstone;
+import com.miralles.spring_web.presentation.codecs.JsonOutput;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Locale;
+
+/**
+ * Writes users as CSV or NDJSON rows straight from an iterator.
+ * Each user is encoded and dropped before the next one is read, so memory stays
+ * constant whatever the number of users. Passwords are never exported.
+ *
+ * Deleted users follow the live ones as tombstone rows: {@code "deleted":true} and
+ * {@code deletedAt} in NDJSON, only {@code id} and {@code deletedAt} filled in CSV.
+ */
+public final class UserExportWriter {
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String mediaType;
+        private final String extension;
+
+        Format(String mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public String getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * @throws IllegalArgumentException if the format is not supported
+         */
+        public static Format parse(String format) {
+            try {
+                return valueOf(format.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported export format: " + format);
+            }
+        }
+    }
+
+    private static final byte[] CSV_HEADER = "id,username,email,admin,createdAt,updatedAt,deletedAt\n"
+            .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ID = "\"id\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] USERNAME = ",\"username\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] EMAIL = ",\"email\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ADMIN = ",\"admin\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CREATED_AT = ",\"createdAt\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] UPDATED_AT = ",\"updatedAt\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] DELETED = ",\"deleted\":true".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] DELETED_AT = ",\"deletedAt\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] TOMBSTONE_CSV_FIELDS = ",,,,,,".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] FALSE = "false".getBytes(StandardCharsets.UTF_8);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private UserExportWriter() {
+    }
+
+    /**
+     * Writes every user of the iterator and flushes the output.
+     *
+     * @return the number of users written
+     */
+    public static long write(Iterator<User> users, Format format, OutputStream out) throws IOException {
+        return write(users, Collections.emptyIterator(), format, out);
+    }
+
+    /**
+     * Writes every user, then every deletion, and flushes the output.
+     *
+     * @return the number of rows written
+     */
+    public static long write(Iterator<User> users, Iterator<UserTombstone> deletions, Format format,
+            OutputStream out) throws IOException {
+        JsonOutput output = new JsonOutput(out, BUFFER_SIZE);
+        long count = 0;
+        if (format == Format.CSV) {
+            output.writeRaw(CSV_HEADER);
+        }
+        while (users.hasNext()) {
+            User user = users.next();
+            if (format == Format.CSV) {
+                writeCsvRow(user, output);
+            } else {
+                writeJsonRow(user, output);
+            }
+            count++;
+        }
+        while (deletions.hasNext()) {
+            UserTombstone tombstone = deletions.next();
+            if (format == Format.CSV) {
+                writeCsvTombstone(tombstone, output);
+            } else {
+                writeJsonTombstone(tombstone, output);
+            }
+            count++;
+        }
+        output.flush();
+        return count;
+    }
+
+    private static void writeJsonRow(User user, JsonOutput out) throws IOException {
+        out.writeRaw('{').writeName(ID).writeNumber(user.getId())
+                .writeName(USERNAME).writeString(user.getUsername())
+                .writeName(EMAIL).writeString(user.getEmail())
+                .writeName(ADMIN).writeBoolean(user.isAdmin())
+                .writeName(CREATED_AT).writeString(toText(user.getCreatedAt()))
+                .writeName(UPDATED_AT).writeString(toText(user.getUpdatedAt()))
+                .writeRaw('}').writeRaw('\n');
+    }
+
+    private static void writeJsonTombstone(UserTombstone tombstone, JsonOutput out) throws IOException {
+        out.writeRaw('{').writeName(ID).writeNumber(tombstone.id())
+                .writeRaw(DELETED)
+                .writeName(DELETED_AT).writeString(tombstone.deletedAt().toString())
+                .writeRaw('}').writeRaw('\n');
+    }
+
+    private static void writeCsvRow(User user, JsonOutput out) throws IOException {
+        out.writeNumber(user.getId()).writeRaw(',');
+        writeCsvValue(user.getUsername(), out);
+        out.writeRaw(',');
+        writeCsvValue(user.getEmail(), out);
+        out.writeRaw(',').writeRaw(user.isAdmin() ? TRUE : FALSE).writeRaw(',');
+        writeCsvValue(toText(user.getCreatedAt()), out);
+        out.writeRaw(',');
+        writeCsvValue(toText(user.getUpdatedAt()), out);
+        out.writeRaw(',').writeRaw('\n');
+    }
+
+    private static void writeCsvTombstone(UserTombstone tombstone, JsonOutput out) throws IOException {
+        out.writeNumber(tombstone.id()).writeRaw(TOMBSTONE_CSV_FIELDS);
+        writeCsvValue(tombstone.deletedAt().toString(), out);
+        out.writeRaw('\n');
+    }
+
+    /**
+     * Writes a CSV value, quoting it (RFC 4180) only when it needs to be.
+     */
+    private static void writeCsvValue(String value, JsonOutput out) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.writeRaw(value.getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        out.writeRaw('"').writeRaw(value.replace("\"", "\"\"").getBytes(StandardCharsets.UTF_8)).writeRaw('"');
+    }
+
+    private static String toText(Instant instant) {
+        return instant == null ? null : instant.toString();
+    }
+}
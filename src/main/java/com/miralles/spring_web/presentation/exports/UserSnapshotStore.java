@@ -0,0 +1,156 @@
+package com.miralles.spring_web.presentation.exports;
+
+import com.miralles.spring_web.application.ports.UserService;
+import com.miralles.spring_web.domain.models.User;
+import com.miralles.spring_web.infrastructure.config.SnapshotProperties;
+import org.jspecify.annotations.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Materialized NDJSON exports of all users.
+ * A background job periodically writes a new generation to disk; downloads are served
+ * from the file of the current generation instead of re-reading the repository.
+ *
+ * Files are written to a temporary name, synced and then atomically renamed, so a
+ * reader never sees a partial snapshot.
+ */
+@Component
+public class UserSnapshotStore {
+
+    private static final String PREFIX = "users-";
+    private static final String SUFFIX = ".ndjson";
+
+    /**
+     * One generation of the export.
+     *
+     * @param generation strictly increasing generation number (the creation time in epoch millis)
+     * @param path       the snapshot file
+     * @param size       the file size in bytes
+     * @param users      the number of exported users
+     * @param createdAt  when the snapshot was taken
+     */
+    public record Snapshot(long generation, Path path, long size, long users, Instant createdAt) {
+
+        /**
+         * Strong validator identifying this generation.
+         */
+        public String etag() {
+            return "\"" + PREFIX + generation + "\"";
+        }
+    }
+
+    private final UserService userService;
+    private final SnapshotProperties snapshotProperties;
+    private volatile @Nullable Snapshot current;
+
+    public UserSnapshotStore(UserService userService, SnapshotProperties snapshotProperties) {
+        this.userService = userService;
+        this.snapshotProperties = snapshotProperties;
+    }
+
+    /**
+     * @return the latest complete snapshot, or {@code null} until the first one is written
+     */
+    public @Nullable Snapshot current() {
+        return current;
+    }
+
+    @Scheduled(fixedDelayString = "${app.snapshot.interval:15m}")
+    public void refreshOnSchedule() {
+        if (!snapshotProperties.isEnabled()) {
+            return;
+        }
+        try {
+            Snapshot snapshot = refresh();
+            System.out.println("📦 User snapshot " + snapshot.generation() + " written: "
+                    + snapshot.users() + " users, " + snapshot.size() + " bytes");
+        } catch (RuntimeException e) {
+            // Keep serving the previous generation
+            System.err.println("❌ User snapshot failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes a new generation and makes it the current one.
+     *
+     * @return the new snapshot
+     */
+    public synchronized Snapshot refresh() {
+        try {
+            Path directory = Path.of(snapshotProperties.getDirectory());
+            Files.createDirectories(directory);
+
+            Snapshot previous = current;
+            Instant createdAt = Instant.now();
+            long generation = previous == null
+                    ? createdAt.toEpochMilli()
+                    : Math.max(createdAt.toEpochMilli(), previous.generation() + 1);
+            Path target = directory.resolve(PREFIX + generation + SUFFIX);
+            Path temp = directory.resolve(PREFIX + generation + SUFFIX + ".tmp");
+
+            long users;
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                 Stream<User> stream = userService.streamUsers(null)) {
+                OutputStream out = Channels.newOutputStream(channel);
+                users = UserExportWriter.write(stream.iterator(), UserExportWriter.Format.NDJSON, out);
+                channel.force(true);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+
+            Snapshot snapshot = new Snapshot(generation, target, Files.size(target), users, createdAt);
+            current = snapshot;
+            deleteOldGenerations(directory);
+            return snapshot;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write user snapshot", e);
+        }
+    }
+
+    /**
+     * Keeps the newest generations. An older file that is still being downloaded stays
+     * readable through its open descriptor after the unlink.
+     */
+    private void deleteOldGenerations(Path directory) throws IOException {
+        List<Path> snapshots = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+            }).forEach(snapshots::add);
+        }
+        snapshots.sort(Comparator.comparingLong(UserSnapshotStore::generationOf).reversed());
+        int retained = Math.max(1, snapshotProperties.getRetainedGenerations());
+        for (int i = retained; i < snapshots.size(); i++) {
+            Files.deleteIfExists(snapshots.get(i));
+        }
+    }
+
+    private static long generationOf(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
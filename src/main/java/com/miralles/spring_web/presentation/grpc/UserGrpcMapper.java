@@ -0,0 +1,40 @@
+package com.miralles.spring_web.presentation.grpc;
+
+import com.miralles.spring_web.domain.models.User;
+import com.miralles.spring_web.presentation.dtos.UserRequestDTO;
+import com.miralles.spring_web.presentation.grpc.proto.UserInput;
+import com.miralles.spring_web.presentation.grpc.proto.UserMessage;
+
+/**
+ * Maps between the protobuf messages and the domain/DTO types.
+ * Proto3 has no null strings, so empty strings are treated as absent values.
+ */
+public class UserGrpcMapper {
+
+    public static UserMessage toUserMessage(User user) {
+        UserMessage.Builder builder = UserMessage.newBuilder();
+        if (user.getId() != null) {
+            builder.setId(user.getId());
+        }
+        if (user.getUsername() != null) {
+            builder.setUsername(user.getUsername());
+        }
+        if (user.getEmail() != null) {
+            builder.setEmail(user.getEmail());
+        }
+        return builder.build();
+    }
+
+    public static UserRequestDTO toUserRequestDTO(UserInput input) {
+        return new UserRequestDTO(
+                emptyToNull(input.getUsername()),
+                emptyToNull(input.getEmail()),
+                emptyToNull(input.getPassword()),
+                input.getAdmin()
+        );
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,229 @@
+package com.miralles.spring_web.presentation.grpc;
+
+import com.miralles.spring_web.application.ports.UserService;
+import com.miralles.spring_web.domain.exceptions.ConflictException;
+import com.miralles.spring_web.domain.exceptions.DeadlineExceededException;
+import com.miralles.spring_web.domain.exceptions.StoreUnavailableException;
+import com.miralles.spring_web.domain.exceptions.UserNotFoundException;
+import com.miralles.spring_web.domain.models.User;
+import com.miralles.spring_web.domain.models.UserField;
+import com.miralles.spring_web.presentation.dtos.UserMapper;
+import com.miralles.spring_web.presentation.dtos.UserRequestDTO;
+import com.miralles.spring_web.presentation.grpc.proto.DeleteUserRequest;
+import com.miralles.spring_web.presentation.grpc.proto.DeleteUserResponse;
+import com.miralles.spring_web.presentation.grpc.proto.GetUserByEmailRequest;
+import com.miralles.spring_web.presentation.grpc.proto.GetUserRequest;
+import com.miralles.spring_web.presentation.grpc.proto.ListUsersRequest;
+import com.miralles.spring_web.presentation.grpc.proto.LookupRequest;
+import com.miralles.spring_web.presentation.grpc.proto.LookupResponse;
+import com.miralles.spring_web.presentation.grpc.proto.UpdateUserRequest;
+import com.miralles.spring_web.presentation.grpc.proto.UserInput;
+import com.miralles.spring_web.presentation.grpc.proto.UserMessage;
+import com.miralles.spring_web.presentation.grpc.proto.UsersGrpc;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * gRPC adapter for the {@link UserService} port.
+ * Mirrors the UserController operations, including request validation and sparse fieldsets.
+ */
+@Component
+public class UserGrpcService extends UsersGrpc.UsersImplBase {
+
+    private final UserService userService;
+    private final Validator validator;
+
+    public UserGrpcService(UserService userService, Validator validator) {
+        this.userService = userService;
+        this.validator = validator;
+    }
+
+    @Override
+    public void getUser(GetUserRequest request, StreamObserver<UserMessage> responseObserver) {
+        unary(responseObserver, () -> UserGrpcMapper.toUserMessage(userService.getUserById(request.getId())));
+    }
+
+    @Override
+    public void getUserByEmail(GetUserByEmailRequest request, StreamObserver<UserMessage> responseObserver) {
+        unary(responseObserver, () -> UserGrpcMapper.toUserMessage(userService.getUserByEmail(request.getEmail())));
+    }
+
+    @Override
+    public void createUser(UserInput request, StreamObserver<UserMessage> responseObserver) {
+        unary(responseObserver, () -> {
+            var user = UserMapper.toUser(validate(request));
+            return UserGrpcMapper.toUserMessage(userService.createUser(user));
+        });
+    }
+
+    @Override
+    public void updateUser(UpdateUserRequest request, StreamObserver<UserMessage> responseObserver) {
+        unary(responseObserver, () -> {
+            var userRequestDTO = validate(request.getUser());
+            var existingUser = userService.getUserById(request.getId());
+            var updatedUser = UserMapper.updateUserFromDTO(userRequestDTO, existingUser);
+            return UserGrpcMapper.toUserMessage(userService.updateUser(request.getId(), updatedUser));
+        });
+    }
+
+    @Override
+    public void deleteUser(DeleteUserRequest request, StreamObserver<DeleteUserResponse> responseObserver) {
+        unary(responseObserver, () -> {
+            userService.deleteUser(request.getId());
+            return DeleteUserResponse.getDefaultInstance();
+        });
+    }
+
+    /**
+     * Streams users straight from the repository with flow control: messages are only produced
+     * while the transport is ready for more, and sending resumes from the ready handler, so a
+     * slow client holds one open cursor instead of the whole table buffered in memory.
+     */
+    @Override
+    public void listUsers(ListUsersRequest request, StreamObserver<UserMessage> responseObserver) {
+        ServerCallStreamObserver<UserMessage> serverObserver = (ServerCallStreamObserver<UserMessage>) responseObserver;
+        Set<UserField> fields;
+        Stream<User> stream;
+        try {
+            fields = UserField.parse(request.getFields());
+            stream = userService.streamUsers(null);
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus(e));
+            return;
+        }
+        Iterator<User> users = stream.iterator();
+        serverObserver.setOnCancelHandler(stream::close);
+        serverObserver.setOnReadyHandler(new Runnable() {
+            private boolean done;
+
+            @Override
+            public void run() {
+                // Runs on the call's executor, never concurrently with itself or the cancel handler
+                try {
+                    while (!done && serverObserver.isReady()) {
+                        if (!users.hasNext()) {
+                            done = true;
+                            stream.close();
+                            serverObserver.onCompleted();
+                            return;
+                        }
+                        User user = users.next();
+                        serverObserver.onNext(UserGrpcMapper.toUserMessage(
+                                fields.isEmpty() ? user : UserField.project(user, fields)));
+                    }
+                } catch (RuntimeException e) {
+                    done = true;
+                    stream.close();
+                    serverObserver.onError(toStatus(e));
+                }
+            }
+        });
+    }
+
+    @Override
+    public StreamObserver<LookupRequest> lookupUsers(StreamObserver<LookupResponse> responseObserver) {
+        return new StreamObserver<>() {
+            private boolean failed;
+
+            @Override
+            public void onNext(LookupRequest request) {
+                if (failed) {
+                    return;
+                }
+                try {
+                    responseObserver.onNext(lookup(request));
+                } catch (RuntimeException e) {
+                    failed = true;
+                    responseObserver.onError(toStatus(e));
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                // Client cancelled or failed, nothing left to answer
+            }
+
+            @Override
+            public void onCompleted() {
+                if (!failed) {
+                    responseObserver.onCompleted();
+                }
+            }
+        };
+    }
+
+    private LookupResponse lookup(LookupRequest request) {
+        LookupResponse.Builder response = LookupResponse.newBuilder().setRequest(request);
+        try {
+            User user = switch (request.getKeyCase()) {
+                case ID -> userService.getUserById(request.getId());
+                case EMAIL -> userService.getUserByEmail(request.getEmail());
+                case KEY_NOT_SET -> null;
+            };
+            if (user != null) {
+                response.setFound(true).setUser(UserGrpcMapper.toUserMessage(user));
+            }
+        } catch (UserNotFoundException e) {
+            // A miss is an answer in a lookup stream, not an error
+        }
+        return response.build();
+    }
+
+    private UserRequestDTO validate(UserInput input) {
+        UserRequestDTO userRequestDTO = UserGrpcMapper.toUserRequestDTO(input);
+        Set<ConstraintViolation<UserRequestDTO>> violations = validator.validate(userRequestDTO);
+        if (!violations.isEmpty()) {
+            String description = violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            throw Status.INVALID_ARGUMENT.withDescription(description).asRuntimeException();
+        }
+        return userRequestDTO;
+    }
+
+    private static <T> void unary(StreamObserver<T> responseObserver, Supplier<T> call) {
+        T response;
+        try {
+            response = call.get();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus(e));
+            return;
+        }
+        responseObserver.onNext(response);
+        responseObserver.onCompleted();
+    }
+
+    private static StatusRuntimeException toStatus(RuntimeException e) {
+        if (e instanceof StatusRuntimeException statusException) {
+            return statusException;
+        }
+        if (e instanceof IllegalArgumentException) {
+            return Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException();
+        }
+        if (e instanceof UserNotFoundException) {
+            return Status.NOT_FOUND.withDescription(e.getMessage()).asRuntimeException();
+        }
+        if (e instanceof ConflictException) {
+            return Status.ALREADY_EXISTS.withDescription(e.getMessage()).asRuntimeException();
+        }
+        if (e instanceof DeadlineExceededException) {
+            return Status.DEADLINE_EXCEEDED.withDescription(e.getMessage()).asRuntimeException();
+        }
+        if (e instanceof StoreUnavailableException) {
+            return Status.UNAVAILABLE.withDescription(e.getMessage()).asRuntimeException();
+        }
+        return Status.INTERNAL.withDescription("Internal error").withCause(e).asRuntimeException();
+    }
+}
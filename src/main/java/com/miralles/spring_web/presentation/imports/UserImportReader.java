@@ -0,0 +1,234 @@
+package com.miralles.spring_web.presentation.imports;
+
+import com.miralles.spring_web.application.ports.ImportRow;
+import com.miralles.spring_web.presentation.codecs.UserJsonCodec;
+import com.miralles.spring_web.presentation.dtos.UserMapper;
+import com.miralles.spring_web.presentation.dtos.UserRequestDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Reads an uploaded CSV or NDJSON document one line at a time.
+ * Every row is validated with the same constraints as {@link UserRequestDTO};
+ * the document itself is never buffered as a whole, and no line longer than
+ * {@code maxLineLength} characters is held either: such a line is skipped and reported.
+ *
+ * CSV documents start with a header naming the columns: {@code username} and
+ * {@code email} are required, {@code password} and {@code admin} are optional.
+ */
+public class UserImportReader implements Iterator<ImportRow> {
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    public static final int DEFAULT_MAX_LINE_LENGTH = 8 * 1024;
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final Validator validator;
+    private final int maxLineLength;
+    private final StringBuilder text = new StringBuilder(256);
+    private int[] columns;
+    private long line;
+    private boolean lineTooLong;
+    private ImportRow next;
+
+    public UserImportReader(InputStream in, Format format, Validator validator) {
+        this(in, format, validator, DEFAULT_MAX_LINE_LENGTH);
+    }
+
+    public UserImportReader(InputStream in, Format format, Validator validator, int maxLineLength) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        this.format = format;
+        this.validator = validator;
+        this.maxLineLength = Math.max(1, maxLineLength);
+        if (format == Format.CSV) {
+            this.columns = readHeader();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = readRow();
+        }
+        return next != null;
+    }
+
+    @Override
+    public ImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ImportRow row = next;
+        next = null;
+        return row;
+    }
+
+    private ImportRow readRow() {
+        String text;
+        do {
+            text = readLine();
+            if (text == null) {
+                return null;
+            }
+            if (lineTooLong) {
+                return ImportRow.invalid(line, "Line is longer than " + maxLineLength + " characters");
+            }
+        } while (text.isBlank());
+
+        UserRequestDTO userRequestDTO;
+        try {
+            userRequestDTO = format == Format.CSV ? parseCsvRow(text) : parseJsonRow(text);
+        } catch (IllegalArgumentException e) {
+            return ImportRow.invalid(line, e.getMessage());
+        }
+        Set<ConstraintViolation<UserRequestDTO>> violations = validator.validate(userRequestDTO);
+        if (!violations.isEmpty()) {
+            return ImportRow.invalid(line, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        return ImportRow.valid(line, UserMapper.toUser(userRequestDTO));
+    }
+
+    private static UserRequestDTO parseJsonRow(String text) {
+        return UserJsonCodec.readUserRequest(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private UserRequestDTO parseCsvRow(String text) {
+        List<String> values = splitCsv(text);
+        UserRequestDTO userRequestDTO = new UserRequestDTO();
+        userRequestDTO.setUsername(valueAt(values, columns[0]));
+        userRequestDTO.setEmail(valueAt(values, columns[1]));
+        userRequestDTO.setPassword(valueAt(values, columns[2]));
+        String admin = valueAt(values, columns[3]);
+        userRequestDTO.setAdmin(admin != null && Boolean.parseBoolean(admin.trim()));
+        return userRequestDTO;
+    }
+
+    /**
+     * Maps the header to the column positions of username, email, password and admin.
+     */
+    private int[] readHeader() {
+        String header = readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV document is empty");
+        }
+        if (lineTooLong) {
+            throw new IllegalArgumentException("CSV header is longer than " + maxLineLength + " characters");
+        }
+        int[] positions = {-1, -1, -1, -1};
+        List<String> names = splitCsv(header);
+        for (int i = 0; i < names.size(); i++) {
+            switch (names.get(i).trim().toLowerCase(Locale.ROOT)) {
+                case "username" -> positions[0] = i;
+                case "email" -> positions[1] = i;
+                case "password" -> positions[2] = i;
+                case "admin" -> positions[3] = i;
+                default -> {
+                    // Unknown columns are ignored
+                }
+            }
+        }
+        if (positions[0] < 0 || positions[1] < 0) {
+            throw new IllegalArgumentException("CSV header must contain username and email columns");
+        }
+        return positions;
+    }
+
+    /**
+     * Splits one CSV record (RFC 4180 quoting, single line).
+     */
+    static List<String> splitCsv(String text) {
+        List<String> values = new ArrayList<>(4);
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                        value.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted value");
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    private static String valueAt(List<String> values, int position) {
+        if (position < 0 || position >= values.size()) {
+            return null;
+        }
+        String value = values.get(position);
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Reads up to the next line break like {@link BufferedReader#readLine}, but keeps at most
+     * {@code maxLineLength} characters: the rest of a longer line is read and dropped, and
+     * {@code lineTooLong} is set.
+     */
+    private String readLine() {
+        try {
+            text.setLength(0);
+            lineTooLong = false;
+            int c = reader.read();
+            if (c < 0) {
+                return null;
+            }
+            while (c >= 0 && c != '\n' && c != '\r') {
+                if (text.length() < maxLineLength) {
+                    text.append((char) c);
+                } else {
+                    lineTooLong = true;
+                }
+                c = reader.read();
+            }
+            if (c == '\r') {
+                reader.mark(1);
+                if (reader.read() != '\n') {
+                    reader.reset();
+                }
+            }
+            line++;
+            return text.toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
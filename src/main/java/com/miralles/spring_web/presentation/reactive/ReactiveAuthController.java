@@ -0,0 +1,85 @@
+package com.miralles.spring_web.presentation.reactive;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import com.miralles.spring_web.application.ports.AuditAction;
+import com.miralles.spring_web.application.ports.AuditEvent;
+import com.miralles.spring_web.application.ports.AuditLog;
+import com.miralles.spring_web.domain.exceptions.InvalidCredentialsException;
+import com.miralles.spring_web.infrastructure.security.JwtUtil;
+import com.miralles.spring_web.infrastructure.security.UserPrincipal;
+import com.miralles.spring_web.presentation.dtos.AuthRequestDTO;
+import com.miralles.spring_web.presentation.dtos.AuthResponseDTO;
+
+/**
+ * Reactive counterpart of {@code AuthController}.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/auth")
+public class ReactiveAuthController {
+
+    private final ReactiveAuthenticationManager authenticationManager;
+    private final JwtUtil jwtUtil;
+    private final AuditLog auditLog;
+
+    public ReactiveAuthController(ReactiveAuthenticationManager authenticationManager, JwtUtil jwtUtil,
+            AuditLog auditLog) {
+        this.authenticationManager = authenticationManager;
+        this.jwtUtil = jwtUtil;
+        this.auditLog = auditLog;
+    }
+
+    /**
+     * Authenticates a user and returns a JWT token.
+     * The authenticated principal already holds the user details, so unlike the
+     * servlet controller the user is not loaded a second time.
+     * 
+     * @param authRequest the authentication request containing email and password
+     * @return the JWT token, or an {@link InvalidCredentialsException} error
+     */
+    @PostMapping("/login")
+    public Mono<ResponseEntity<AuthResponseDTO>> authenticate(@RequestBody AuthRequestDTO authRequest) {
+        return authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(
+                                authRequest.email(),
+                                authRequest.password()))
+                .map(authentication -> (UserDetails) authentication.getPrincipal())
+                .map(userDetails -> {
+                    String token = jwtUtil.generateToken(userDetails);
+                    // Nobody is authenticated yet while logging in
+                    auditLog.publish(AuditAction.LOGIN_SUCCEEDED, userIdOf(userDetails), null, authRequest.email());
+                    return ResponseEntity.ok(new AuthResponseDTO(token));
+                })
+                .onErrorMap(AuthenticationException.class, e -> {
+                    auditLog.publish(AuditAction.LOGIN_FAILED, AuditEvent.UNKNOWN_USER, null, authRequest.email());
+                    return new InvalidCredentialsException();
+                });
+    }
+
+    private static long userIdOf(UserDetails userDetails) {
+        return userDetails instanceof UserPrincipal principal && principal.getId() != null
+                ? principal.getId()
+                : AuditEvent.UNKNOWN_USER;
+    }
+
+    /**
+     * Health check endpoint for authentication service.
+     * 
+     * @return simple health check response
+     */
+    @PostMapping("/health")
+    public Mono<ResponseEntity<String>> healthCheck() {
+        return Mono.just(ResponseEntity.ok("Auth service is healthy"));
+    }
+}
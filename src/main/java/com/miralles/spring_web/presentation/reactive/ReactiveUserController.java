@@ -0,0 +1,105 @@
+package com.miralles.spring_web.presentation.reactive;
+
+import com.miralles.spring_web.application.ports.ReactiveUserService;
+import com.miralles.spring_web.domain.models.UserField;
+import com.miralles.spring_web.presentation.dtos.EmailAvailabilityDTO;
+import com.miralles.spring_web.presentation.dtos.UserMapper;
+import com.miralles.spring_web.presentation.dtos.UserRequestDTO;
+import com.miralles.spring_web.presentation.dtos.UserResponseDTO;
+import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+/**
+ * Reactive counterpart of {@code UserController}: same paths, bodies and status codes.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/users")
+public class ReactiveUserController {
+
+    private final ReactiveUserService userService;
+
+    public ReactiveUserController(ReactiveUserService userService) {
+        this.userService = userService;
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<UserResponseDTO>> createUser(@Valid @RequestBody UserRequestDTO userRequestDTO) {
+        var user = UserMapper.toUser(userRequestDTO);
+        return userService.createUser(user)
+                .map(createdUser -> new ResponseEntity<>(UserMapper.toUserResponseDTO(createdUser), HttpStatus.CREATED));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<UserResponseDTO>> getUserById(@PathVariable Long id) {
+        return userService.getUserById(id)
+                .map(user -> ResponseEntity.ok(UserMapper.toUserResponseDTO(user)));
+    }
+
+    /**
+     * Lists users, optionally restricted to a sparse fieldset (e.g. {@code ?fields=id,email}).
+     * The list is written as a JSON array while users are read.
+     */
+    @GetMapping
+    public Flux<UserResponseDTO> getAllUsers(@RequestParam(required = false) String fields) {
+        var projection = parseFields(fields);
+        var users = projection.isEmpty()
+                ? userService.getAllUsers()
+                : userService.getAllUsers(projection);
+        return users.map(UserMapper::toUserResponseDTO);
+    }
+
+    /**
+     * Checks whether an email is still free.
+     */
+    @GetMapping("/email-available")
+    public Mono<EmailAvailabilityDTO> isEmailAvailable(@RequestParam String email) {
+        if (email.isBlank()) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "email must not be blank"));
+        }
+        return userService.isEmailAvailable(email).map(available -> new EmailAvailabilityDTO(email, available));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<UserResponseDTO>> updateUser(
+            @PathVariable Long id,
+            @Valid @RequestBody UserRequestDTO userRequestDTO) {
+        return userService.getUserById(id)
+                .map(existingUser -> UserMapper.updateUserFromDTO(userRequestDTO, existingUser))
+                .flatMap(updatedUser -> userService.updateUser(id, updatedUser))
+                .map(result -> ResponseEntity.ok(UserMapper.toUserResponseDTO(result)));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteUser(@PathVariable Long id) {
+        return userService.deleteUser(id)
+                .then(Mono.fromSupplier(() -> ResponseEntity.noContent().<Void>build()));
+    }
+
+    @GetMapping("/email/{email}")
+    public Mono<ResponseEntity<UserResponseDTO>> getUserByEmail(
+            @PathVariable String email,
+            @RequestParam(required = false) String fields) {
+        var projection = parseFields(fields);
+        var user = projection.isEmpty()
+                ? userService.getUserByEmail(email)
+                : userService.getUserByEmail(email, projection);
+        return user.map(found -> ResponseEntity.ok(UserMapper.toUserResponseDTO(found)));
+    }
+
+    private static Set<UserField> parseFields(String fields) {
+        try {
+            return UserField.parse(fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.miralles.spring_web.application.services;
+
+import com.miralles.spring_web.application.ports.AuditAction;
+import com.miralles.spring_web.application.ports.AuditLog;
+import com.miralles.spring_web.domain.exceptions.ConflictException;
+import com.miralles.spring_web.domain.exceptions.UserNotFoundException;
+import com.miralles.spring_web.domain.models.User;
+import com.miralles.spring_web.infrastructure.persistence.JpaUserRepository;
+import com.miralles.spring_web.infrastructure.persistence.ReactiveUserRepositoryAdapter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReactiveUserServiceImplTest {
+
+    private final AtomicReference<String> hashingThread = new AtomicReference<>();
+    private Scheduler passwordHashingScheduler;
+    private JpaUserRepository userRepository;
+    private ReactiveUserServiceImpl userService;
+    private AuditLog auditLog;
+
+    @BeforeEach
+    void setUp() {
+        passwordHashingScheduler = Schedulers.newSingle("password-hashing");
+        userRepository = new JpaUserRepository();
+        auditLog = mock(AuditLog.class);
+        userService = new ReactiveUserServiceImpl(new ReactiveUserRepositoryAdapter(userRepository),
+                new RecordingPasswordEncoder(), passwordHashingScheduler, auditLog);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingScheduler.dispose();
+    }
+
+    @Test
+    void createUser_shouldHashPasswordOnHashingScheduler() {
+        User user = new User(null, "jane", "jane@example.com");
+        user.setPassword("secret");
+
+        StepVerifier.create(userService.createUser(user))
+                .assertNext(created -> {
+                    assertNotNull(created.getId());
+                    assertEquals("hashed:secret", created.getPassword());
+                })
+                .verifyComplete();
+
+        assertTrue(hashingThread.get().startsWith("password-hashing"),
+                "BCrypt must not run on the subscribing thread, ran on " + hashingThread.get());
+    }
+
+    @Test
+    void createUser_withTakenEmail_shouldFailWithConflict() {
+        userRepository.save(new User(null, "jane", "jane@example.com"));
+
+        StepVerifier.create(userService.createUser(new User(null, "other", "jane@example.com")))
+                .expectError(ConflictException.class)
+                .verify();
+
+        assertEquals(1, userRepository.findAll().size());
+    }
+
+    @Test
+    void getUserById_whenMissing_shouldFailWithNotFound() {
+        StepVerifier.create(userService.getUserById(42L))
+                .expectErrorMessage("User not found with id: 42")
+                .verify();
+    }
+
+    @Test
+    void getUserByEmail_whenMissing_shouldFailWithNotFound() {
+        StepVerifier.create(userService.getUserByEmail("nobody@example.com"))
+                .expectError(UserNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void updateUser_withoutPassword_shouldKeepExistingHash() {
+        User existing = new User(null, "jane", "jane@example.com");
+        existing.setPassword("hashed:old");
+        Long id = userRepository.save(existing).getId();
+
+        StepVerifier.create(userService.updateUser(id, new User(id, "janet", "janet@example.com")))
+                .assertNext(updated -> {
+                    assertEquals("janet", updated.getUsername());
+                    assertEquals("janet@example.com", updated.getEmail());
+                    assertEquals("hashed:old", updated.getPassword());
+                })
+                .verifyComplete();
+
+        assertNull(hashingThread.get());
+    }
+
+    @Test
+    void getAllUsers_shouldEmitEveryUser() {
+        userRepository.save(new User(null, "jane", "jane@example.com"));
+        userRepository.save(new User(null, "john", "john@example.com"));
+
+        StepVerifier.create(userService.getAllUsers())
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    @Test
+    void deleteUser_shouldRemoveUserOnSubscription() {
+        Long id = userRepository.save(new User(null, "jane", "jane@example.com")).getId();
+
+        var deletion = userService.deleteUser(id);
+        assertTrue(userRepository.findById(id).isPresent(), "Nothing may happen before subscription");
+
+        StepVerifier.create(deletion).verifyComplete();
+        assertTrue(userRepository.findById(id).isEmpty());
+    }
+
+    @Test
+    void writes_shouldBeAuditedWithThePrincipalOfTheReactiveContext() {
+        var admin = ReactiveSecurityContextHolder.withAuthentication(
+                new UsernamePasswordAuthenticationToken("admin@example.com", null));
+        User user = new User(null, "jane", "jane@example.com");
+
+        User created = userService.createUser(user).contextWrite(admin).block();
+        userService.updateUser(created.getId(), new User(null, "jane", "jane.doe@example.com"))
+                .contextWrite(admin).block();
+        userService.deleteUser(created.getId()).block();
+
+        verify(auditLog).publish(AuditAction.USER_CREATED, created.getId(), "admin@example.com", "jane@example.com");
+        verify(auditLog).publish(AuditAction.USER_UPDATED, created.getId(), "admin@example.com", "jane.doe@example.com");
+        verify(auditLog).publish(AuditAction.USER_DELETED, created.getId(), null, null);
+    }
+
+    /**
+     * Cheap stand-in for BCrypt that records the thread it ran on.
+     */
+    private class RecordingPasswordEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            hashingThread.set(Thread.currentThread().getName());
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals("hashed:" + rawPassword);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.miralles.spring_web.application.services;
+
+import com.miralles.spring_web.application.ports.AuditLog;
+import com.miralles.spring_web.domain.exceptions.ConflictException;
+import com.miralles.spring_web.domain.exceptions.DeadlineExceededException;
+import com.miralles.spring_web.domain.exceptions.UserNotFoundException;
+import com.miralles.spring_web.domain.models.User;
+import com.miralles.spring_web.infrastructure.persistence.JpaUserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class StructuredUserServiceImplTest {
+
+    private final CountDownLatch hashCancelled = new CountDownLatch(1);
+    private ExecutorService passwordHashingExecutor;
+    private JpaUserRepository userRepository;
+    private long hashingMillis;
+
+    @BeforeEach
+    void setUp() {
+        passwordHashingExecutor = Executors.newFixedThreadPool(2);
+        userRepository = new JpaUserRepository();
+        hashingMillis = 0;
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingExecutor.shutdownNow();
+    }
+
+    @Test
+    void createUser_shouldHashAndSave() {
+        User user = new User(null, "jane", "jane@example.com");
+        user.setPassword("secret");
+
+        User created = service(Duration.ofSeconds(5)).createUser(user);
+
+        assertNotNull(created.getId());
+        assertEquals("hashed:secret", created.getPassword());
+    }
+
+    @Test
+    void createUser_withTakenEmail_shouldFailWithoutWaitingForHash() throws Exception {
+        userRepository.save(new User(null, "jane", "jane@example.com"));
+        hashingMillis = 5_000;
+        User user = new User(null, "other", "jane@example.com");
+        user.setPassword("secret");
+        StructuredUserServiceImpl userService = service(Duration.ofSeconds(30));
+
+        long start = System.nanoTime();
+        assertThrows(ConflictException.class, () -> userService.createUser(user));
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 2_000,
+                "The conflict must cancel the hash instead of waiting for it");
+        assertTrue(hashCancelled.await(5, TimeUnit.SECONDS), "The running hash must be interrupted");
+        assertEquals(1, userRepository.findAll().size());
+    }
+
+    @Test
+    void updateUser_pastDeadline_shouldFailAndNotSave() {
+        User existing = userRepository.save(new User(null, "jane", "jane@example.com"));
+        hashingMillis = 5_000;
+        User changes = new User(existing.getId(), "janet", "janet@example.com");
+        changes.setPassword("secret");
+        StructuredUserServiceImpl userService = service(Duration.ofMillis(100));
+
+        assertThrows(DeadlineExceededException.class, () -> userService.updateUser(existing.getId(), changes));
+
+        assertEquals("jane", userRepository.findById(existing.getId()).orElseThrow().getUsername());
+    }
+
+    @Test
+    void getUsersByIds_shouldKeepRequestedOrder() {
+        Long first = userRepository.save(new User(null, "jane", "jane@example.com")).getId();
+        Long second = userRepository.save(new User(null, "john", "john@example.com")).getId();
+
+        List<User> users = service(Duration.ofSeconds(5)).getUsersByIds(List.of(second, first));
+
+        assertEquals(List.of("john", "jane"), users.stream().map(User::getUsername).toList());
+    }
+
+    @Test
+    void getUsersByIds_withMissingId_shouldFailWithNotFound() {
+        Long id = userRepository.save(new User(null, "jane", "jane@example.com")).getId();
+
+        UserNotFoundException exception = assertThrows(UserNotFoundException.class,
+                () -> service(Duration.ofSeconds(5)).getUsersByIds(List.of(id, 999L)));
+
+        assertEquals("User not found with id: 999", exception.getMessage());
+    }
+
+    @Test
+    void scopeClose_shouldWaitForCancelledSubtasksToEnd() {
+        AtomicBoolean cleanedUp = new AtomicBoolean();
+
+        assertThrows(IllegalStateException.class, () -> {
+            try (var scope = new FailFastScope("test", Duration.ofSeconds(30))) {
+                scope.fork(() -> {
+                    try {
+                        Thread.sleep(5_000);
+                    } catch (InterruptedException e) {
+                        // Slow cleanup after the cancellation
+                        Thread.sleep(100);
+                        cleanedUp.set(true);
+                    }
+                    return null;
+                });
+                scope.fork(() -> {
+                    throw new IllegalStateException("failed");
+                });
+                scope.join();
+            }
+        });
+
+        assertTrue(cleanedUp.get(), "The cancelled sub-task must have ended when the scope closes");
+    }
+
+    private StructuredUserServiceImpl service(Duration deadline) {
+        return new StructuredUserServiceImpl(userRepository, new SlowPasswordEncoder(), passwordHashingExecutor, deadline,
+                mock(AuditLog.class));
+    }
+
+    /**
+     * Stand-in for BCrypt that takes {@code hashingMillis} and reports interruption.
+     */
+    private class SlowPasswordEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            try {
+                Thread.sleep(hashingMillis);
+            } catch (InterruptedException e) {
+                hashCancelled.countDown();
+                Thread.currentThread().interrupt();
+            }
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals("hashed:" + rawPassword);
+        }
+    }
+}
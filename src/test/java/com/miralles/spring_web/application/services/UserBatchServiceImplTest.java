@@ -0,0 +1,179 @@
+package com.miralles.spring_web.application.services;
+
+import com.miralles.spring_web.application.ports.AuditAction;
+import com.miralles.spring_web.application.ports.AuditLog;
+import com.miralles.spring_web.application.ports.BatchItemResult;
+import com.miralles.spring_web.application.ports.BatchItemResult.Outcome;
+import com.miralles.spring_web.application.ports.BatchOperation;
+import com.miralles.spring_web.application.ports.BatchOperation.Type;
+import com.miralles.spring_web.domain.models.User;
+import com.miralles.spring_web.infrastructure.persistence.JpaUserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserBatchServiceImplTest {
+
+    private JpaUserRepository userRepository;
+    private ExecutorService executor;
+    private AuditLog auditLog;
+    private UserBatchServiceImpl userBatchService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = new JpaUserRepository();
+        executor = Executors.newFixedThreadPool(2);
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "hashed:" + invocation.getArgument(0));
+        auditLog = mock(AuditLog.class);
+        userBatchService = new UserBatchServiceImpl(userRepository, passwordEncoder, executor, auditLog);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_shouldRunMixedOperationsInOrder() {
+        User existing = userRepository.save(new User(null, "existing", "existing@example.com"));
+
+        List<BatchItemResult> results = userBatchService.execute(List.of(
+                new BatchOperation(Type.CREATE, null, new User(null, "newUser", "new@example.com", "password123")),
+                new BatchOperation(Type.UPDATE, existing.getId(), new User(null, "renamed", "existing@example.com")),
+                new BatchOperation(Type.GET, 999L, null),
+                new BatchOperation(Type.DELETE, existing.getId(), null)
+        ), false);
+
+        assertEquals(List.of(Outcome.CREATED, Outcome.OK, Outcome.NOT_FOUND, Outcome.DELETED),
+                results.stream().map(BatchItemResult::outcome).toList());
+        User created = results.get(0).user();
+        assertNotNull(created.getId());
+        assertEquals("hashed:password123", userRepository.findById(created.getId()).orElseThrow().getPassword());
+        assertEquals("renamed", results.get(1).user().getUsername());
+        assertTrue(userRepository.findById(existing.getId()).isEmpty());
+        verify(auditLog).publish(AuditAction.USER_CREATED, created.getId(), "new@example.com");
+        verify(auditLog).publish(AuditAction.USER_UPDATED, existing.getId(), "existing@example.com");
+        verify(auditLog).publish(AuditAction.USER_DELETED, existing.getId(), null);
+    }
+
+    @Test
+    void execute_atomic_shouldApplyNothingWhenAnOperationFails() {
+        User existing = userRepository.save(new User(null, "existing", "existing@example.com"));
+
+        List<BatchItemResult> results = userBatchService.execute(List.of(
+                new BatchOperation(Type.CREATE, null, new User(null, "newUser", "new@example.com", "password123")),
+                new BatchOperation(Type.UPDATE, existing.getId(), new User(null, "renamed", "existing@example.com")),
+                new BatchOperation(Type.DELETE, 999L, null),
+                new BatchOperation(Type.UPDATE, 999L, new User(null, "ghost", "ghost@example.com"))
+        ), true);
+
+        assertEquals(List.of(Outcome.ABORTED, Outcome.ABORTED, Outcome.ABORTED, Outcome.NOT_FOUND),
+                results.stream().map(BatchItemResult::outcome).toList());
+        assertEquals(1, userRepository.findAll().size());
+        assertEquals("existing", userRepository.findById(existing.getId()).orElseThrow().getUsername());
+        verifyNoInteractions(auditLog);
+    }
+
+    @Test
+    void execute_atomic_shouldApplyEveryOperationOnSuccess() {
+        User toUpdate = userRepository.save(new User(null, "toUpdate", "update@example.com"));
+        User toDelete = userRepository.save(new User(null, "toDelete", "delete@example.com"));
+
+        List<BatchItemResult> results = userBatchService.execute(List.of(
+                new BatchOperation(Type.CREATE, null, new User(null, "newUser", "new@example.com", "password123")),
+                new BatchOperation(Type.UPDATE, toUpdate.getId(), new User(null, "updated", "update@example.com")),
+                new BatchOperation(Type.GET, toUpdate.getId(), null),
+                new BatchOperation(Type.DELETE, toDelete.getId(), null),
+                new BatchOperation(Type.GET, toDelete.getId(), null)
+        ), true);
+
+        assertEquals(Outcome.NOT_FOUND, results.get(4).outcome());
+        assertTrue(userRepository.findById(toDelete.getId()).isPresent(), "Failed batch must not delete");
+
+        results = userBatchService.execute(List.of(
+                new BatchOperation(Type.CREATE, null, new User(null, "newUser", "new@example.com", "password123")),
+                new BatchOperation(Type.UPDATE, toUpdate.getId(), new User(null, "updated", "update@example.com")),
+                new BatchOperation(Type.GET, toUpdate.getId(), null),
+                new BatchOperation(Type.DELETE, toDelete.getId(), null)
+        ), true);
+
+        assertEquals(List.of(Outcome.CREATED, Outcome.OK, Outcome.OK, Outcome.DELETED),
+                results.stream().map(BatchItemResult::outcome).toList());
+        assertNotNull(results.get(0).user().getId());
+        assertEquals("updated", results.get(2).user().getUsername());
+        assertEquals("updated", userRepository.findById(toUpdate.getId()).orElseThrow().getUsername());
+        assertTrue(userRepository.findById(toDelete.getId()).isEmpty());
+        assertEquals(2, userRepository.findAll().size());
+    }
+
+    @Test
+    void execute_shouldRejectEmailsHeldByOtherUsers() {
+        User jane = userRepository.save(new User(null, "jane", "jane@example.com"));
+        User john = userRepository.save(new User(null, "john", "john@example.com"));
+
+        List<BatchItemResult> results = userBatchService.execute(List.of(
+                new BatchOperation(Type.CREATE, null, new User(null, "impostor", "JANE@example.com")),
+                new BatchOperation(Type.UPDATE, john.getId(), new User(null, "john", "jane@example.com"))
+        ), false);
+
+        assertEquals(List.of(Outcome.CONFLICT, Outcome.CONFLICT), results.stream().map(BatchItemResult::outcome).toList());
+        assertEquals("Email already in use: JANE@example.com", results.get(0).error());
+        assertEquals("john@example.com", userRepository.findById(john.getId()).orElseThrow().getEmail());
+        assertEquals(2, userRepository.findAll().size());
+        assertEquals("jane@example.com", userRepository.findById(jane.getId()).orElseThrow().getEmail());
+    }
+
+    @Test
+    void execute_shouldKeepFailedForUnexpectedErrorsOnly() {
+        JpaUserRepository failingRepository = spy(new JpaUserRepository());
+        doThrow(new IllegalStateException("Disk on fire")).when(failingRepository).findById(42L);
+        UserBatchServiceImpl failingService = new UserBatchServiceImpl(failingRepository,
+                mock(PasswordEncoder.class), executor, auditLog);
+        failingRepository.save(new User(null, "jane", "jane@example.com"));
+        List<BatchOperation> operations = List.of(
+                new BatchOperation(Type.CREATE, null, new User(null, "impostor", "jane@example.com")),
+                new BatchOperation(Type.GET, 42L, null));
+
+        List<BatchItemResult> each = failingService.execute(operations, false);
+        List<BatchItemResult> atomicConflict = failingService.execute(operations.subList(0, 1), true);
+        List<BatchItemResult> atomicFailure = failingService.execute(operations.subList(1, 2), true);
+
+        assertEquals(List.of(Outcome.CONFLICT, Outcome.FAILED), each.stream().map(BatchItemResult::outcome).toList());
+        assertEquals("Disk on fire", each.get(1).error());
+        assertEquals(Outcome.CONFLICT, atomicConflict.getFirst().outcome());
+        assertEquals(Outcome.FAILED, atomicFailure.getFirst().outcome());
+    }
+
+    @Test
+    void execute_atomic_shouldCheckEmailsAgainstTheBatchItself() {
+        User jane = userRepository.save(new User(null, "jane", "jane@example.com"));
+        User john = userRepository.save(new User(null, "john", "john@example.com"));
+
+        List<BatchItemResult> duplicate = userBatchService.execute(List.of(
+                new BatchOperation(Type.CREATE, null, new User(null, "first", "new@example.com")),
+                new BatchOperation(Type.CREATE, null, new User(null, "second", "NEW@example.com"))
+        ), true);
+
+        assertEquals(List.of(Outcome.ABORTED, Outcome.CONFLICT), duplicate.stream().map(BatchItemResult::outcome).toList());
+
+        // Emails freed by an earlier operation of the batch may be taken by a later one
+        List<BatchItemResult> results = userBatchService.execute(List.of(
+                new BatchOperation(Type.UPDATE, jane.getId(), new User(null, "jane", "jane.doe@example.com")),
+                new BatchOperation(Type.DELETE, john.getId(), null),
+                new BatchOperation(Type.CREATE, null, new User(null, "janet", "jane@example.com")),
+                new BatchOperation(Type.CREATE, null, new User(null, "johnny", "john@example.com"))
+        ), true);
+
+        assertEquals(List.of(Outcome.OK, Outcome.DELETED, Outcome.CREATED, Outcome.CREATED),
+                results.stream().map(BatchItemResult::outcome).toList());
+    }
+}
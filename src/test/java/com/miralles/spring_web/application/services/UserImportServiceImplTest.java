@@ -0,0 +1,199 @@
+package com.miralles.spring_web.application.services;
+
+import com.miralles.spring_web.application.ports.AuditAction;
+import com.miralles.spring_web.application.ports.AuditLog;
+import com.miralles.spring_web.application.ports.ImportRow;
+import com.miralles.spring_web.application.ports.ImportSummary;
+import com.miralles.spring_web.domain.models.User;
+import com.miralles.spring_web.infrastructure.persistence.JpaUserRepository;
+import com.miralles.spring_web.presentation.imports.UserImportReader;
+import com.miralles.spring_web.presentation.imports.UserImportReader.Format;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserImportServiceImplTest {
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private JpaUserRepository userRepository;
+    private ExecutorService executor;
+    private AuditLog auditLog;
+    private UserImportServiceImpl userImportService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = new JpaUserRepository();
+        executor = Executors.newFixedThreadPool(3);
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "hashed:" + invocation.getArgument(0));
+        // Small batches and a tight in-flight bound so the test crosses several batches
+        auditLog = mock(AuditLog.class);
+        userImportService = new UserImportServiceImpl(userRepository, passwordEncoder, executor, 7, 16, auditLog);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void importUsers_csv_shouldImportValidRowsAndReportInvalidOnes() {
+        StringBuilder csv = new StringBuilder("email,username,password,admin\n");
+        for (int i = 0; i < 100; i++) {
+            csv.append("user").append(i).append("@example.com,user").append(i).append(",password").append(i).append(",false\n");
+        }
+        csv.append("not-an-email,broken,password123,false\n");
+        csv.append("\"quoted@example.com\",\"Doe, Jane\",,true\n");
+
+        Map<Long, String> errors = new ConcurrentHashMap<>();
+        ImportSummary summary = userImportService.importUsers(
+                reader(csv.toString(), Format.CSV), errors::put);
+
+        assertEquals(102, summary.rows());
+        assertEquals(101, summary.imported());
+        assertEquals(1, summary.failed());
+        assertEquals(Map.of(102L, "email: Email should be valid"), errors);
+        assertEquals(101, userRepository.findAll().size());
+        assertEquals("hashed:password42", userRepository.findByEmail("user42@example.com").orElseThrow().getPassword());
+        User quoted = userRepository.findByEmail("quoted@example.com").orElseThrow();
+        assertEquals("Doe, Jane", quoted.getUsername());
+        assertTrue(quoted.isAdmin());
+        assertNull(quoted.getPassword());
+        verify(auditLog, times(101)).publish(eq(AuditAction.USER_CREATED), anyLong(), anyString());
+        verify(auditLog).publish(AuditAction.USER_CREATED, quoted.getId(), "quoted@example.com");
+    }
+
+    @Test
+    void importUsers_ndjson_shouldReportMalformedLines() {
+        String ndjson = """
+                {"username":"alice","email":"alice@example.com","password":"password123"}
+                {"username":"bob",
+                {"username":"x","email":"x@example.com"}
+
+                {"username":"carol","email":"carol@example.com","admin":true}
+                """;
+
+        Map<Long, String> errors = new ConcurrentHashMap<>();
+        ImportSummary summary = userImportService.importUsers(reader(ndjson, Format.NDJSON), errors::put);
+
+        assertEquals(4, summary.rows());
+        assertEquals(2, summary.imported());
+        assertEquals(2, summary.failed());
+        assertEquals(Set.of(2L, 3L), errors.keySet());
+        assertTrue(userRepository.findByEmail("carol@example.com").isPresent());
+    }
+
+    @Test
+    void importUsers_shouldRejectEmailsAlreadyTaken() {
+        userRepository.save(new User(null, "jane", "jane@example.com"));
+        String csv = "username,email\nimpostor,JANE@example.com\nbob,bob@example.com\nbobby,Bob@Example.com\n";
+
+        Map<Long, String> errors = new ConcurrentHashMap<>();
+        ImportSummary summary = userImportService.importUsers(reader(csv, Format.CSV), errors::put);
+
+        assertEquals(1, summary.imported());
+        assertEquals(Map.of(2L, "Email already in use: JANE@example.com", 4L, "Email already in use: Bob@Example.com"),
+                errors);
+    }
+
+    @Test
+    void importUsers_shouldReportLinesLongerThanTheLimitAndKeepReading() {
+        String csv = "username,email\r\n"
+                + "bob," + "b".repeat(100) + "@example.com\r\n"
+                + "alice,alice@example.com\r\n";
+
+        Map<Long, String> errors = new ConcurrentHashMap<>();
+        ImportSummary summary = userImportService.importUsers(new UserImportReader(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), Format.CSV, validator, 64), errors::put);
+
+        assertEquals(2, summary.rows());
+        assertEquals(1, summary.imported());
+        assertEquals(Map.of(2L, "Line is longer than 64 characters"), errors);
+        assertTrue(userRepository.findByEmail("alice@example.com").isPresent());
+    }
+
+    @Test
+    void importUsers_interrupted_shouldStopWithoutWritingAndKeepInterruptFlag() {
+        StringBuilder csv = new StringBuilder("username,email\n");
+        for (int i = 0; i < 50; i++) {
+            csv.append("user").append(i).append(",user").append(i).append("@example.com\n");
+        }
+
+        Thread.currentThread().interrupt();
+        ImportSummary summary = userImportService.importUsers(reader(csv.toString(), Format.CSV), (line, error) -> { });
+
+        assertTrue(Thread.interrupted(), "The interrupt must be restored");
+        assertEquals(0, summary.imported());
+        assertTrue(userRepository.findAll().isEmpty());
+    }
+
+    @Test
+    void importUsers_failingRows_shouldDrainTheWorkersBeforeRethrowing() throws InterruptedException {
+        PasswordEncoder slowEncoder = mock(PasswordEncoder.class);
+        when(slowEncoder.encode(anyString())).thenAnswer(invocation -> {
+            Thread.sleep(5);
+            return "hashed";
+        });
+        UserImportServiceImpl slowImport = new UserImportServiceImpl(userRepository, slowEncoder, executor, 7, 16, auditLog);
+        AtomicBoolean returned = new AtomicBoolean();
+        AtomicInteger lateReports = new AtomicInteger();
+        Iterator<ImportRow> rows = new Iterator<>() {
+            private int line;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public ImportRow next() {
+                if (++line > 20) {
+                    throw new UncheckedIOException(new IOException("Client disconnected"));
+                }
+                return ImportRow.valid(line, new User(null, "user" + line, "user" + line + "@example.com", "secret", false));
+            }
+        };
+
+        assertThrows(UncheckedIOException.class, () -> slowImport.importUsers(rows, (line, error) -> {
+            if (returned.get()) {
+                lateReports.incrementAndGet();
+            }
+        }));
+        returned.set(true);
+        int stored = userRepository.findAll().size();
+        Thread.sleep(100);
+
+        assertEquals(stored, userRepository.findAll().size(), "No batch may be written after the import returned");
+        assertEquals(0, lateReports.get());
+        assertTrue(stored < 20, "Rows staged when the reader failed must not be flushed");
+    }
+
+    @Test
+    void reader_shouldRejectCsvWithoutRequiredColumns() {
+        assertThrows(IllegalArgumentException.class, () -> reader("name,mail\nfoo,bar\n", Format.CSV));
+    }
+
+    private UserImportReader reader(String document, Format format) {
+        return new UserImportReader(new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8)),
+                format, validator);
+    }
+}
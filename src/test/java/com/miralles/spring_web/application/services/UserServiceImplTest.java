@@ -1,6 +1,12 @@
 package com.miralles.spring_web.application.services;
 
+import com.miralles.spring_web.application.ports.AuditAction;
+import com.miralles.spring_web.application.ports.AuditLog;
+import com.miralles.spring_web.domain.exceptions.ConflictException;
+import com.miralles.spring_web.domain.exceptions.UserNotFoundException;
 import com.miralles.spring_web.domain.models.User;
+import com.miralles.spring_web.domain.models.UserField;
+import com.miralles.spring_web.domain.models.UserQuery;
 import com.miralles.spring_web.domain.repositories.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -24,6 +30,9 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private AuditLog auditLog;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -45,6 +54,7 @@ class UserServiceImplTest {
         assertEquals(testUser.getUsername(), result.getUsername());
         assertEquals(testUser.getEmail(), result.getEmail());
         verify(userRepository, times(1)).save(any(User.class));
+        verify(auditLog).publish(AuditAction.USER_CREATED, 1L, "test@example.com");
     }
 
     @Test
@@ -62,7 +72,7 @@ class UserServiceImplTest {
     void getUserById_shouldThrowExceptionWhenNotFound() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
 
-        assertThrows(RuntimeException.class, () -> userService.getUserById(1L));
+        assertThrows(UserNotFoundException.class, () -> userService.getUserById(1L));
         verify(userRepository, times(1)).findById(anyLong());
     }
 
@@ -105,6 +115,7 @@ class UserServiceImplTest {
 
         assertDoesNotThrow(() -> userService.deleteUser(1L));
         verify(userRepository, times(1)).deleteById(anyLong());
+        verify(auditLog).publish(AuditAction.USER_DELETED, 1L, null);
     }
 
     @Test
@@ -122,7 +133,76 @@ class UserServiceImplTest {
     void getUserByEmail_shouldThrowExceptionWhenNotFound() {
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
 
-        assertThrows(RuntimeException.class, () -> userService.getUserByEmail("test@example.com"));
+        assertThrows(UserNotFoundException.class, () -> userService.getUserByEmail("test@example.com"));
         verify(userRepository, times(1)).findByEmail(anyString());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getUserById_notFound_shouldBeStackless() {
+        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+
+        UserNotFoundException exception = assertThrows(UserNotFoundException.class, () -> userService.getUserById(7L));
+
+        assertEquals("User not found with id: 7", exception.getMessage());
+        assertEquals(0, exception.getStackTrace().length);
+    }
+
+    @Test
+    void createUser_shouldRejectDuplicateEmail() {
+        when(userRepository.findAll(byEmail("test@example.com"))).thenReturn(List.of(testUser));
+
+        assertThrows(ConflictException.class,
+                () -> userService.createUser(new User(null, "another", "test@example.com")));
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void updateUser_shouldRejectEmailOfAnotherUser() {
+        when(userRepository.findById(2L)).thenReturn(Optional.of(new User(2L, "other", "other@example.com")));
+        when(userRepository.findAll(byEmail("test@example.com"))).thenReturn(List.of(testUser));
+
+        assertThrows(ConflictException.class,
+                () -> userService.updateUser(2L, new User(2L, "other", "test@example.com")));
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void updateUser_shouldAllowKeepingOwnEmail() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.findAll(byEmail("test@example.com"))).thenReturn(List.of(testUser));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        User result = userService.updateUser(1L, new User(1L, "renamed", "test@example.com"));
+
+        assertEquals("renamed", result.getUsername());
+    }
+
+    @Test
+    void updateUser_shouldRejectEmailHeldByAnotherUserAsWell() {
+        User other = new User(2L, "other", "test@example.com");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.findAll(byEmail("test@example.com"))).thenReturn(List.of(testUser, other));
+
+        assertThrows(ConflictException.class,
+                () -> userService.updateUser(1L, new User(1L, "renamed", "test@example.com")));
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void updateUser_shouldNotModifyTheStoredInstance() {
+        User stored = new User(1L, "testUser", "test@example.com");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(stored));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        User result = userService.updateUser(1L, new User(1L, "renamed", "renamed@example.com"));
+
+        assertEquals("renamed@example.com", result.getEmail());
+        assertNotSame(stored, result);
+        assertEquals("testUser", stored.getUsername());
+        assertEquals("test@example.com", stored.getEmail());
+    }
+
+    private static UserQuery byEmail(String email) {
+        return UserQuery.of(new UserQuery.Equals(UserField.EMAIL, email));
+    }
+}
@@ -0,0 +1,34 @@
+package com.miralles.spring_web.domain.models;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserQueryTest {
+
+    private final User jane = new User(1L, "Jane", "jane@Example.com", null, true);
+
+    @Test
+    void conditions_shouldMatchFieldValues() {
+        assertTrue(new UserQuery.Equals(UserField.USERNAME, "Jane").matches(jane));
+        assertTrue(new UserQuery.Equals(UserField.USERNAME, "jane").matches(jane), "Equality ignores case, as in SQL");
+        assertFalse(new UserQuery.Equals(UserField.USERNAME, "jan").matches(jane));
+        assertTrue(new UserQuery.Prefix(UserField.EMAIL, "JANE@").matches(jane));
+        assertTrue(new UserQuery.EmailDomain("example.COM").matches(jane));
+        assertFalse(new UserQuery.EmailDomain("ample.com").matches(jane));
+        assertTrue(new UserQuery.Admin(true).matches(jane));
+    }
+
+    @Test
+    void query_shouldRequireEveryCondition() {
+        assertTrue(UserQuery.ALL.matches(jane));
+        assertTrue(UserQuery.of(new UserQuery.Admin(true), new UserQuery.EmailDomain("example.com")).matches(jane));
+        assertFalse(UserQuery.of(new UserQuery.Admin(true), new UserQuery.EmailDomain("corp.io")).matches(jane));
+    }
+
+    @Test
+    void textConditions_shouldRejectNonTextFields() {
+        assertThrows(IllegalArgumentException.class, () -> new UserQuery.Equals(UserField.ID, "1"));
+        assertThrows(IllegalArgumentException.class, () -> new UserQuery.Prefix(UserField.ID, "1"));
+    }
+}
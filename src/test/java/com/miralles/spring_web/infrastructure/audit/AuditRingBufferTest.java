@@ -0,0 +1,77 @@
+package com.miralles.spring_web.infrastructure.audit;
+
+import com.miralles.spring_web.application.ports.AuditAction;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditRingBufferTest {
+
+    @Test
+    void drain_shouldReturnEventsInPublishOrder() {
+        AuditRingBuffer ring = new AuditRingBuffer(8);
+        ring.tryPublish(1, AuditAction.USER_CREATED, 10, "admin@example.com", "jane@example.com");
+        ring.tryPublish(2, AuditAction.USER_DELETED, 10, "admin@example.com", null);
+
+        List<String> events = new ArrayList<>();
+        int drained = ring.drain((timestamp, action, userId, actor, subject) ->
+                events.add(timestamp + " " + action + " " + userId + " " + actor + " " + subject), 10);
+
+        assertEquals(2, drained);
+        assertEquals(List.of("1 USER_CREATED 10 admin@example.com jane@example.com",
+                "2 USER_DELETED 10 admin@example.com null"), events);
+        assertEquals(0, ring.drain((timestamp, action, userId, actor, subject) -> fail(), 10));
+    }
+
+    @Test
+    void fullRing_shouldDropInsteadOfBlocking() {
+        AuditRingBuffer ring = new AuditRingBuffer(3);
+        assertEquals(4, ring.capacity());
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.tryPublish(i, AuditAction.LOGIN_FAILED, 0, null, "x"));
+        }
+        assertFalse(ring.tryPublish(4, AuditAction.LOGIN_FAILED, 0, null, "x"));
+        assertEquals(1, ring.dropped());
+
+        assertEquals(2, ring.drain((timestamp, action, userId, actor, subject) -> { }, 2));
+        assertTrue(ring.tryPublish(5, AuditAction.LOGIN_FAILED, 0, null, "x"), "Drained slots must be reusable");
+    }
+
+    @Test
+    void concurrentProducers_shouldNeitherLoseNorDuplicateEvents() throws Exception {
+        AuditRingBuffer ring = new AuditRingBuffer(1 << 16);
+        try (ExecutorService producers = Executors.newFixedThreadPool(4)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < 4; p++) {
+                long base = p * 10_000L;
+                futures.add(producers.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        assertTrue(ring.tryPublish(base + i, AuditAction.USER_UPDATED, base + i, null, null));
+                    }
+                }));
+            }
+
+            boolean[] seen = new boolean[40_000];
+            int total = 0;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (total < 40_000 && System.nanoTime() < deadline) {
+                total += ring.drain((timestamp, action, userId, actor, subject) -> {
+                    assertFalse(seen[(int) userId], "Event drained twice");
+                    seen[(int) userId] = true;
+                }, 1024);
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+            assertEquals(40_000, total);
+        }
+    }
+}
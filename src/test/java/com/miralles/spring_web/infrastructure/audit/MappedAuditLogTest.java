@@ -0,0 +1,121 @@
+package com.miralles.spring_web.infrastructure.audit;
+
+import com.miralles.spring_web.application.ports.AuditAction;
+import com.miralles.spring_web.application.ports.AuditEvent;
+import com.miralles.spring_web.infrastructure.config.AuditProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedAuditLogTest {
+
+    @TempDir
+    private Path directory;
+
+    private AuditProperties auditProperties;
+    private MappedAuditLog auditLog;
+
+    @BeforeEach
+    void setUp() {
+        auditProperties = new AuditProperties();
+        auditProperties.setDirectory(directory.toString());
+        auditProperties.setSegmentSize(DataSize.ofKilobytes(64));
+        auditProperties.setRetainedSegments(2);
+        auditLog = new MappedAuditLog(auditProperties, new SimpleMeterRegistry());
+        auditLog.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        auditLog.stop();
+    }
+
+    @Test
+    void publishedEvents_shouldBeQueryableNewestFirst() throws Exception {
+        auditLog.publish(AuditAction.USER_CREATED, 7, "jane@example.com");
+        auditLog.publish(AuditAction.USER_UPDATED, 7, "jane.doe@example.com");
+        auditLog.publish(AuditAction.LOGIN_FAILED, AuditEvent.UNKNOWN_USER, "mallory@example.com");
+
+        List<AuditEvent> events = awaitEvents(3, null, null);
+
+        assertEquals(List.of(AuditAction.LOGIN_FAILED, AuditAction.USER_UPDATED, AuditAction.USER_CREATED),
+                events.stream().map(AuditEvent::action).toList());
+        assertEquals("jane.doe@example.com", events.get(1).subject());
+        assertEquals(List.of(AuditAction.USER_CREATED),
+                auditLog.recent(10, AuditAction.USER_CREATED, 7L).stream().map(AuditEvent::action).toList());
+        assertTrue(auditLog.recent(10, null, 8L).isEmpty());
+    }
+
+    @Test
+    void fullSegments_shouldRotateAndKeepOnlyRetainedOnes() throws Exception {
+        String subject = "x".repeat(1000);
+        for (int i = 1; i <= 300; i++) {
+            auditLog.publish(AuditAction.USER_UPDATED, i, subject);
+        }
+        awaitEvents(1, null, 300L);
+        auditLog.stop();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(2, files.count());
+        }
+        MappedAuditLog reopened = new MappedAuditLog(auditProperties, new SimpleMeterRegistry());
+        reopened.start();
+        try {
+            List<AuditEvent> events = reopened.recent(1000, null, null);
+            assertEquals(300, events.getFirst().userId(), "Segments of an earlier run must stay readable");
+            assertTrue(events.size() < 300, "Old segments must have been deleted");
+            for (int i = 1; i < events.size(); i++) {
+                assertEquals(events.get(i - 1).userId() - 1, events.get(i).userId());
+            }
+        } finally {
+            reopened.stop();
+        }
+    }
+
+    @Test
+    void restart_shouldAppendToTheLastSegment() throws Exception {
+        auditLog.publish(AuditAction.USER_CREATED, 1, "jane@example.com");
+        awaitEvents(1, null, null);
+        auditLog.stop();
+
+        auditLog = new MappedAuditLog(auditProperties, new SimpleMeterRegistry());
+        auditLog.start();
+        auditLog.publish(AuditAction.USER_DELETED, 1, null);
+
+        assertEquals(List.of(AuditAction.USER_DELETED, AuditAction.USER_CREATED),
+                awaitEvents(2, null, 1L).stream().map(AuditEvent::action).toList());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.count(), "A restart must not start a new segment");
+        }
+    }
+
+    @Test
+    void stoppedLog_shouldIgnorePublishes() {
+        auditLog.stop();
+
+        auditLog.publish(AuditAction.USER_DELETED, 1, null);
+
+        assertTrue(auditLog.recent(10, null, null).isEmpty());
+    }
+
+    private List<AuditEvent> awaitEvents(int count, AuditAction action, Long userId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        List<AuditEvent> events = auditLog.recent(100, action, userId);
+        while (events.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+            events = auditLog.recent(100, action, userId);
+        }
+        assertEquals(count, events.size());
+        return events;
+    }
+}
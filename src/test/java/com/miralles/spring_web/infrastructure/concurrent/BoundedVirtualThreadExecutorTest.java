@@ -0,0 +1,85 @@
+package com.miralles.spring_web.infrastructure.concurrent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedVirtualThreadExecutorTest {
+
+    private final BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor("test-", 2);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_shouldRunTasksOnNamedVirtualThreads() throws Exception {
+        Thread thread = CompletableFuture.supplyAsync(Thread::currentThread, executor).get(5, TimeUnit.SECONDS);
+
+        assertTrue(thread.isVirtual());
+        assertTrue(thread.getName().startsWith("test-"));
+    }
+
+    @Test
+    void execute_shouldNeverExceedMaxConcurrency() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            tasks.add(CompletableFuture.runAsync(() -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(2);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+            }, executor));
+        }
+
+        CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+        assertTrue(peak.get() <= 2, "At most two tasks may run at once, saw " + peak.get());
+    }
+
+    @Test
+    void shutdownNow_shouldRunTasksWaitingForAPermitWithTheirInterruptFlagSet() throws Exception {
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch blocked = new CountDownLatch(1);
+        for (int i = 0; i < 2; i++) {
+            executor.execute(() -> {
+                started.countDown();
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> waiting = CompletableFuture.supplyAsync(
+                () -> Thread.currentThread().isInterrupted(), executor);
+
+        executor.shutdownNow();
+
+        assertTrue(waiting.get(5, TimeUnit.SECONDS), "The waiting task must run, interrupted");
+    }
+
+    @Test
+    void shutdown_shouldRejectNewTasks() throws Exception {
+        executor.shutdown();
+
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+    }
+}
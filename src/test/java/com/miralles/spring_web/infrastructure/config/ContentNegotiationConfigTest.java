@@ -0,0 +1,49 @@
+package com.miralles.spring_web.infrastructure.config;
+
+import com.miralles.spring_web.presentation.dtos.UserRequestDTO;
+import com.miralles.spring_web.presentation.dtos.UserResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that the binary converters round-trip the user DTOs.
+ */
+class ContentNegotiationConfigTest {
+
+    private final ContentNegotiationConfig config = new ContentNegotiationConfig();
+
+    @Test
+    void cborConverter_shouldWriteUserResponse() throws Exception {
+        JacksonCborHttpMessageConverter converter = config.cborHttpMessageConverter();
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        assertTrue(converter.canWrite(UserResponseDTO.class, MediaType.APPLICATION_CBOR));
+        converter.write(new UserResponseDTO(1L, "testUser", "test@example.com"), MediaType.APPLICATION_CBOR, output);
+
+        UserResponseDTO decoded = new CBORMapper().readValue(output.getBodyAsBytes(), UserResponseDTO.class);
+        assertEquals(1L, decoded.getId());
+        assertEquals("testUser", decoded.getUsername());
+        assertEquals("test@example.com", decoded.getEmail());
+    }
+
+    @Test
+    void smileConverter_shouldReadUserRequest() throws Exception {
+        JacksonSmileHttpMessageConverter converter = config.smileHttpMessageConverter();
+        byte[] body = new SmileMapper().writeValueAsBytes(
+                new UserRequestDTO("testUser", "test@example.com", "password123"));
+
+        UserRequestDTO decoded = (UserRequestDTO) converter.read(UserRequestDTO.class, new MockHttpInputMessage(body));
+
+        assertEquals("testUser", decoded.getUsername());
+        assertEquals("test@example.com", decoded.getEmail());
+        assertEquals("password123", decoded.getPassword());
+    }
+}
@@ -0,0 +1,163 @@
+package com.miralles.spring_web.infrastructure.metering;
+
+import com.miralles.spring_web.application.ports.ConsumerUsage;
+import com.miralles.spring_web.application.ports.UsageReport.Order;
+import com.miralles.spring_web.infrastructure.config.UsageMeteringProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedUsageMeterTest {
+
+    @TempDir
+    Path directory;
+
+    private UsageMeteringProperties properties;
+    private AtomicLong now;
+    private StripedUsageMeter usageMeter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new UsageMeteringProperties();
+        properties.setRetainedWindows(2);
+        properties.setDirectory(directory.toString());
+        now = new AtomicLong(Duration.ofDays(20000).toMillis());
+        usageMeter = new StripedUsageMeter(properties, now::get);
+    }
+
+    @Test
+    void topConsumers_shouldRankByRequestsOrBytes() {
+        usageMeter.record("alice", "GET", "/api/users", 0, 100);
+        usageMeter.record("alice", "GET", "/api/users", 0, 100);
+        usageMeter.record("bob", "POST", "/api/users", 5000, 200);
+
+        List<ConsumerUsage> byRequests = usageMeter.topConsumers(10, Duration.ofHours(1), Order.REQUESTS);
+        List<ConsumerUsage> byBytes = usageMeter.topConsumers(1, Duration.ofHours(1), Order.BYTES);
+
+        assertEquals(List.of(new ConsumerUsage("alice", 2, 0, 200), new ConsumerUsage("bob", 1, 5000, 200)), byRequests);
+        assertEquals(List.of(new ConsumerUsage("bob", 1, 5000, 200)), byBytes);
+    }
+
+    @Test
+    void rollOver_shouldCloseWindowOneTickLaterAndKeepRetainedOnes() {
+        usageMeter.record("alice", "GET", "/api/users/{id}", 0, 10);
+        now.addAndGet(60_000);
+        assertNull(usageMeter.rollOver(), "The swapped out window is only closed at the next tick");
+
+        usageMeter.record("alice", "DELETE", "/api/users/{id}", 0, 0);
+        now.addAndGet(60_000);
+        StripedUsageMeter.ClosedWindow first = usageMeter.rollOver();
+        assertEquals(List.of(new StripedUsageMeter.UsageRecord("alice", "GET", "/api/users/{id}", 1, 0, 10)),
+                first.records());
+        assertEquals(2, usageMeter.topConsumers(10, Duration.ofHours(1), Order.REQUESTS).get(0).requests());
+
+        // Two more closed windows push the first one out of the retained two
+        now.addAndGet(60_000);
+        usageMeter.rollOver();
+        now.addAndGet(60_000);
+        usageMeter.rollOver();
+        assertEquals(1, usageMeter.topConsumers(10, Duration.ofHours(1), Order.REQUESTS).get(0).requests());
+    }
+
+    @Test
+    void topConsumers_shouldOnlySumWindowsInPeriod() {
+        usageMeter.record("alice", "GET", "/api/users", 0, 0);
+        now.addAndGet(60_000);
+        usageMeter.rollOver();
+        now.addAndGet(60_000);
+        usageMeter.rollOver();
+
+        now.addAndGet(Duration.ofMinutes(30).toMillis());
+
+        assertTrue(usageMeter.topConsumers(10, Duration.ofMinutes(10), Order.REQUESTS).isEmpty());
+        assertEquals(1, usageMeter.topConsumers(10, Duration.ofHours(1), Order.REQUESTS).size());
+    }
+
+    @Test
+    void concurrentRecords_shouldAllBeCounted() throws Exception {
+        int threads = 8;
+        int perThread = 10_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            String principal = "user" + (i % 2);
+            workers.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int j = 0; j < perThread; j++) {
+                    usageMeter.record(principal, "GET", "/api/users", 1, 2);
+                }
+            }));
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        List<ConsumerUsage> consumers = usageMeter.topConsumers(10, Duration.ofHours(1), Order.REQUESTS);
+        assertEquals(2, consumers.size());
+        for (ConsumerUsage consumer : consumers) {
+            assertEquals(threads / 2 * perThread, consumer.requests());
+            assertEquals(threads / 2 * perThread, consumer.bytesIn());
+            assertEquals(threads * perThread, consumer.bytesOut());
+        }
+    }
+
+    @Test
+    void start_shouldRollOverOnItsOwnTimer() throws Exception {
+        properties.setWindow(Duration.ofMillis(10));
+        usageMeter.record("alice", "GET", "/api/users", 0, 10);
+
+        usageMeter.start();
+        try {
+            // The window is written once the timer has rolled over twice
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (isEmpty(directory) && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertFalse(isEmpty(directory));
+        } finally {
+            usageMeter.stop();
+        }
+        assertFalse(usageMeter.isRunning());
+    }
+
+    @Test
+    void rollOverOnSchedule_shouldAppendClosedWindowToDailyFile() throws Exception {
+        usageMeter.record("ali\tce", "PATCH", "/api/users/{id}", 30, 40);
+        usageMeter.rollOverOnSchedule();
+        now.addAndGet(60_000);
+        usageMeter.rollOverOnSchedule();
+
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.toList();
+        }
+        assertEquals(1, files.size());
+        assertTrue(files.get(0).getFileName().toString().matches("usage-\\d{4}-\\d{2}-\\d{2}\\.tsv"));
+        List<String> lines = Files.readAllLines(files.get(0));
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).startsWith("window_start\t"));
+        assertTrue(lines.get(1).endsWith("\tali ce\tPATCH\t/api/users/{id}\t1\t30\t40"));
+    }
+
+    private static boolean isEmpty(Path directory) throws Exception {
+        try (Stream<Path> listing = Files.list(directory)) {
+            return listing.findAny().isEmpty();
+        }
+    }
+}
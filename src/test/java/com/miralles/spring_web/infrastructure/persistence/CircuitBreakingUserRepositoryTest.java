@@ -0,0 +1,191 @@
+package com.miralles.spring_web.infrastructure.persistence;
+
+import com.miralles.spring_web.domain.exceptions.StoreUnavailableException;
+import com.miralles.spring_web.domain.models.User;
+import com.miralles.spring_web.infrastructure.config.CircuitBreakerProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakingUserRepositoryTest {
+
+    private FlakyRepository delegate;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicLong now;
+    private CircuitBreakingUserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        CircuitBreakerProperties properties = new CircuitBreakerProperties();
+        properties.setWindowSize(10);
+        properties.setMinimumCalls(4);
+        properties.setFailureRateThreshold(0.5);
+        properties.setSlowCallDuration(Duration.ofMinutes(1));
+        properties.setOpenDuration(Duration.ofSeconds(10));
+        properties.setHalfOpenCalls(2);
+        properties.setMaxStaleness(Duration.ofMinutes(5));
+        delegate = new FlakyRepository();
+        meterRegistry = new SimpleMeterRegistry();
+        now = new AtomicLong();
+        userRepository = new CircuitBreakingUserRepository(delegate, properties, meterRegistry, now::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.close();
+    }
+
+    @Test
+    void failures_shouldOpenCircuitAndShortCircuitCalls() {
+        delegate.down = true;
+        for (int i = 0; i < 4; i++) {
+            assertThrows(IllegalStateException.class, () -> userRepository.findAll());
+        }
+        assertEquals(CircuitBreaker.State.OPEN, userRepository.state());
+
+        int callsBefore = delegate.calls.get();
+        assertThrows(StoreUnavailableException.class, () -> userRepository.findAll());
+        assertThrows(StoreUnavailableException.class, () -> userRepository.save(new User(null, "jane", "jane@example.com")));
+        assertEquals(callsBefore, delegate.calls.get(), "An open circuit must not reach the store");
+        assertEquals(2.0, meterRegistry.get(CircuitBreakingUserRepository.SHORT_CIRCUITED_METER).counter().count());
+    }
+
+    @Test
+    void openCircuit_shouldServeLastKnownValuesWithinStalenessBound() {
+        User jane = userRepository.save(new User(null, "jane", "jane@example.com"));
+        openCircuit();
+
+        assertEquals("jane", userRepository.findById(jane.getId()).orElseThrow().getUsername());
+        assertEquals(jane.getId(), userRepository.findByEmail("jane@example.com").orElseThrow().getId());
+        assertEquals(1, userRepository.findAllById(List.of(jane.getId())).size());
+        assertThrows(StoreUnavailableException.class, () -> userRepository.findById(999L));
+
+        now.addAndGet(Duration.ofMinutes(6).toNanos());
+        assertThrows(StoreUnavailableException.class, () -> userRepository.findById(jane.getId()),
+                "Values older than the staleness bound must not be served");
+        assertEquals(3.0, meterRegistry.get(CircuitBreakingUserRepository.STALE_READS_METER).counter().count());
+    }
+
+    @Test
+    void openCircuit_shouldAttachCachedUsersWhenOnlySomeIdsAreCached() {
+        User jane = userRepository.save(new User(null, "jane", "jane@example.com"));
+        openCircuit();
+
+        StoreUnavailableException exception = assertThrows(StoreUnavailableException.class,
+                () -> userRepository.findAllById(List.of(jane.getId(), 999L)));
+
+        assertEquals(List.of(jane.getId()), exception.getAvailable().stream().map(User::getId).toList());
+    }
+
+    @Test
+    void failedRead_shouldFallBackToLastKnownValueBeforeCircuitOpens() {
+        User jane = userRepository.save(new User(null, "jane", "jane@example.com"));
+        delegate.down = true;
+
+        assertEquals("jane", userRepository.findById(jane.getId()).orElseThrow().getUsername());
+        assertEquals(CircuitBreaker.State.CLOSED, userRepository.state());
+    }
+
+    @Test
+    void deletedUser_shouldNotBeServedStale() {
+        User jane = userRepository.save(new User(null, "jane", "jane@example.com"));
+        userRepository.deleteById(jane.getId());
+        openCircuit();
+
+        assertThrows(StoreUnavailableException.class, () -> userRepository.findById(jane.getId()));
+    }
+
+    @Test
+    void recovery_shouldCloseCircuitAndRefreshStaleEntries() throws Exception {
+        User jane = userRepository.save(new User(null, "jane", "jane@example.com"));
+        openCircuit();
+        userRepository.findById(jane.getId());
+        delegate.down = false;
+
+        now.addAndGet(Duration.ofSeconds(11).toNanos());
+        delegate.refreshed = new CountDownLatch(1);
+        userRepository.findAll();
+        userRepository.findAll();
+
+        assertEquals(CircuitBreaker.State.CLOSED, userRepository.state());
+        assertTrue(delegate.refreshed.await(5, TimeUnit.SECONDS), "Stale entries must be reloaded once closed");
+    }
+
+    @Test
+    void failedProbe_shouldReopenCircuit() {
+        openCircuit();
+        now.addAndGet(Duration.ofSeconds(11).toNanos());
+
+        assertThrows(IllegalStateException.class, () -> userRepository.findAll());
+
+        assertEquals(CircuitBreaker.State.OPEN, userRepository.state());
+        assertThrows(StoreUnavailableException.class, () -> userRepository.findAll());
+    }
+
+    private void openCircuit() {
+        delegate.down = true;
+        for (int i = 0; i < 4; i++) {
+            try {
+                userRepository.findAll();
+            } catch (IllegalStateException expected) {
+                // Counted by the breaker
+            }
+        }
+        assertEquals(CircuitBreaker.State.OPEN, userRepository.state());
+    }
+
+    /**
+     * In-memory repository that can be taken down.
+     */
+    private static class FlakyRepository extends JpaUserRepository {
+
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile boolean down;
+        private volatile CountDownLatch refreshed = new CountDownLatch(0);
+
+        @Override
+        public List<User> findAll() {
+            check();
+            return super.findAll();
+        }
+
+        @Override
+        public Optional<User> findById(Long id) {
+            check();
+            return super.findById(id);
+        }
+
+        @Override
+        public List<User> findAllById(Collection<Long> ids) {
+            check();
+            List<User> users = super.findAllById(ids);
+            refreshed.countDown();
+            return users;
+        }
+
+        @Override
+        public User save(User user) {
+            check();
+            return super.save(user);
+        }
+
+        private void check() {
+            calls.incrementAndGet();
+            if (down) {
+                throw new IllegalStateException("database down");
+            }
+        }
+    }
+}
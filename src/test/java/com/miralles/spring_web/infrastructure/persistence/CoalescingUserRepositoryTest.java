@@ -0,0 +1,167 @@
+package com.miralles.spring_web.infrastructure.persistence;
+
+import com.miralles.spring_web.domain.exceptions.StoreUnavailableException;
+import com.miralles.spring_web.domain.models.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoalescingUserRepositoryTest {
+
+    private CountingRepository delegate;
+    private SimpleMeterRegistry meterRegistry;
+    private CoalescingUserRepository userRepository;
+    private final ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor();
+
+    @BeforeEach
+    void setUp() {
+        delegate = new CountingRepository();
+        meterRegistry = new SimpleMeterRegistry();
+        userRepository = new CoalescingUserRepository(delegate, Duration.ofMillis(100), 100, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.close();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void concurrentLookupsOfSameId_shouldShareOneRepositoryCall() throws Exception {
+        Long id = delegate.save(new User(null, "admin", "admin@example.com")).getId();
+
+        List<CompletableFuture<Optional<User>>> lookups = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            lookups.add(CompletableFuture.supplyAsync(() -> userRepository.findById(id), callers));
+        }
+
+        for (CompletableFuture<Optional<User>> lookup : lookups) {
+            assertEquals("admin", lookup.get(5, TimeUnit.SECONDS).orElseThrow().getUsername());
+        }
+        assertTrue(delegate.batches.size() < 50, "Lookups must be coalesced, saw " + delegate.batches.size() + " calls");
+        assertTrue(userRepository.coalescingRatio() > 0);
+    }
+
+    @Test
+    void distinctIdsWithinWindow_shouldBeLoadedInOneBatch() throws Exception {
+        Long first = delegate.save(new User(null, "jane", "jane@example.com")).getId();
+        Long second = delegate.save(new User(null, "john", "john@example.com")).getId();
+
+        var jane = CompletableFuture.supplyAsync(() -> userRepository.findById(first), callers);
+        var john = CompletableFuture.supplyAsync(() -> userRepository.findById(second), callers);
+        var missing = CompletableFuture.supplyAsync(() -> userRepository.findById(999L), callers);
+
+        assertEquals("jane", jane.get(5, TimeUnit.SECONDS).orElseThrow().getUsername());
+        assertEquals("john", john.get(5, TimeUnit.SECONDS).orElseThrow().getUsername());
+        assertTrue(missing.get(5, TimeUnit.SECONDS).isEmpty());
+        assertEquals(List.of(Set.of(first, second, 999L)), delegate.batches);
+        assertEquals(3.0, meterRegistry.get(CoalescingUserRepository.BATCH_SIZE_METER).summary().totalAmount());
+    }
+
+    @Test
+    void concurrentLookupsOfSameEmail_shouldShareOneRepositoryCall() throws Exception {
+        delegate.save(new User(null, "admin", "admin@example.com"));
+        delegate.blockEmailLookups = new CountDownLatch(1);
+
+        var first = CompletableFuture.supplyAsync(() -> userRepository.findByEmail("admin@example.com"), callers);
+        assertTrue(delegate.emailLookupStarted.await(5, TimeUnit.SECONDS));
+        var second = CompletableFuture.supplyAsync(() -> userRepository.findByEmail("admin@example.com"), callers);
+        Thread.sleep(50);
+        delegate.blockEmailLookups.countDown();
+
+        assertSame(first.get(5, TimeUnit.SECONDS).orElseThrow(), second.get(5, TimeUnit.SECONDS).orElseThrow());
+        assertEquals(1, delegate.emailLookups.get());
+        assertEquals(1.0, meterRegistry.get(CoalescingUserRepository.LOOKUPS_METER)
+                .tag("key", "email").tag("outcome", "coalesced").counter().count());
+    }
+
+    @Test
+    void failedBatch_shouldFailEveryWaitingLookup() {
+        delegate.failBatches = true;
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> userRepository.findById(1L));
+
+        assertEquals("database down", exception.getMessage());
+    }
+
+    @Test
+    void partlyServedBatch_shouldFailOnlyTheMissingLookups() throws Exception {
+        User jane = delegate.save(new User(null, "jane", "jane@example.com"));
+        delegate.servedDuringOutage = jane;
+
+        var cached = CompletableFuture.supplyAsync(() -> userRepository.findById(jane.getId()), callers);
+        var missing = CompletableFuture.supplyAsync(() -> userRepository.findById(999L), callers);
+
+        assertEquals("jane", cached.get(5, TimeUnit.SECONDS).orElseThrow().getUsername());
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> missing.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(StoreUnavailableException.class, exception.getCause());
+    }
+
+    @Test
+    void zeroWindow_shouldLoadOnCallerThread() {
+        userRepository.close();
+        userRepository = new CoalescingUserRepository(delegate, Duration.ZERO, 100, meterRegistry);
+        Long id = delegate.save(new User(null, "jane", "jane@example.com")).getId();
+
+        assertTrue(userRepository.findById(id).isPresent());
+        assertEquals(Thread.currentThread().getName(), delegate.lastBatchThread);
+    }
+
+    /**
+     * In-memory repository that records the calls the loader makes.
+     */
+    private static class CountingRepository extends JpaUserRepository {
+
+        private final List<Set<Long>> batches = new CopyOnWriteArrayList<>();
+        private final AtomicInteger emailLookups = new AtomicInteger();
+        private final CountDownLatch emailLookupStarted = new CountDownLatch(1);
+        private volatile CountDownLatch blockEmailLookups = new CountDownLatch(0);
+        private volatile boolean failBatches;
+        private volatile @Nullable User servedDuringOutage;
+        private volatile String lastBatchThread;
+
+        @Override
+        public List<User> findAllById(Collection<Long> ids) {
+            batches.add(Set.copyOf(ids));
+            lastBatchThread = Thread.currentThread().getName();
+            if (failBatches) {
+                throw new IllegalStateException("database down");
+            }
+            if (servedDuringOutage != null) {
+                throw new StoreUnavailableException("database down", List.of(servedDuringOutage));
+            }
+            return super.findAllById(ids);
+        }
+
+        @Override
+        public Optional<User> findByEmail(String email) {
+            emailLookups.incrementAndGet();
+            emailLookupStarted.countDown();
+            try {
+                blockEmailLookups.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.findByEmail(email);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.miralles.spring_web.infrastructure.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HiLoIdAllocatorTest {
+
+    @Test
+    void singleThread_shouldDrawConsecutiveIdsFromOneBlock() {
+        AtomicLong hi = new AtomicLong();
+        HiLoIdAllocator allocator = new HiLoIdAllocator(hi::getAndIncrement, 3, 1);
+
+        List<Long> ids = IntStream.range(0, 7).mapToObj(i -> allocator.nextId()).toList();
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L), ids);
+        assertEquals(3, hi.get(), "The hi source must only be read once per block");
+    }
+
+    @Test
+    void concurrentThreads_shouldNeverShareAnId() throws Exception {
+        HiLoIdAllocator allocator = new HiLoIdAllocator(10, 0, 1);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        try (ExecutorService threads = Executors.newFixedThreadPool(8)) {
+            List<Future<?>> writers = IntStream.range(0, 8)
+                    .mapToObj(i -> threads.submit(() -> {
+                        for (int j = 0; j < 10_000; j++) {
+                            assertTrue(ids.add(allocator.nextId()));
+                        }
+                    }))
+                    .toList();
+            for (Future<?> writer : writers) {
+                writer.get(10, TimeUnit.SECONDS);
+            }
+        }
+
+        assertEquals(80_000, ids.size());
+        assertTrue(ids.stream().allMatch(id -> id > 0));
+    }
+
+    @Test
+    void nodes_shouldTakeInterleavedBlocks() {
+        HiLoIdAllocator first = new HiLoIdAllocator(100, 0, 2);
+        HiLoIdAllocator second = new HiLoIdAllocator(100, 1, 2);
+
+        assertEquals(1, first.nextId());
+        assertEquals(101, second.nextId());
+    }
+
+    @Test
+    void invalidNode_shouldBeRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new HiLoIdAllocator(100, 2, 2));
+    }
+}
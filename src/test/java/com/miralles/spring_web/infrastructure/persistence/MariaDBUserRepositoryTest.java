@@ -1,10 +1,14 @@
 package com.miralles.spring_web.infrastructure.persistence;
 
 import com.miralles.spring_web.domain.models.User;
+import com.miralles.spring_web.domain.models.UserField;
+import com.miralles.spring_web.domain.models.UserTombstone;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,10 +20,8 @@ class MariaDBUserRepositoryTest {
 
     @BeforeEach
     void setUp() {
-        mariaDBUserRepository = new MariaDBUserRepository();
-        // Reset the ID generator for each test
-        ReflectionTestUtils.setField(mariaDBUserRepository, "idGenerator",
-                new java.util.concurrent.atomic.AtomicLong(1));
+        // Fresh ID sequence for each test
+        mariaDBUserRepository = new MariaDBUserRepository(new java.util.concurrent.atomic.AtomicLong(1)::getAndIncrement);
     }
 
     @Test
@@ -163,4 +165,77 @@ class MariaDBUserRepositoryTest {
         List<User> allUsers = mariaDBUserRepository.findAll();
         assertEquals(200, allUsers.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findAll_withFields_shouldOnlyPopulateRequestedFields() {
+        mariaDBUserRepository.save(new User(null, "user1", "user1@example.com", "secret"));
+
+        List<User> projected = mariaDBUserRepository.findAll(EnumSet.of(UserField.ID, UserField.EMAIL));
+
+        assertEquals(1, projected.size());
+        assertEquals(1L, projected.get(0).getId());
+        assertEquals("user1@example.com", projected.get(0).getEmail());
+        assertNull(projected.get(0).getUsername());
+        assertNull(projected.get(0).getPassword());
+    }
+
+    @Test
+    void findByEmail_withFields_shouldOnlyPopulateRequestedFields() {
+        mariaDBUserRepository.save(new User(null, "user1", "user1@example.com", "secret"));
+
+        Optional<User> projected = mariaDBUserRepository.findByEmail("user1@example.com", EnumSet.of(UserField.USERNAME));
+
+        assertTrue(projected.isPresent());
+        assertNull(projected.get().getId());
+        assertEquals("user1", projected.get().getUsername());
+    }
+
+    @Test
+    void toColumnList_shouldFollowFieldOrder() {
+        assertEquals("id, email", MariaDBUserRepository.toColumnList(EnumSet.of(UserField.EMAIL, UserField.ID)));
+    }
+
+    @Test
+    void save_shouldStampTimestampsAndKeepCreationTimeOnUpdate() {
+        User saved = mariaDBUserRepository.save(new User(null, "user1", "user1@example.com"));
+        Instant createdAt = saved.getCreatedAt();
+        assertNotNull(createdAt);
+        assertEquals(createdAt, saved.getUpdatedAt());
+
+        // A detached copy (no timestamps) must not reset the creation time
+        User updated = mariaDBUserRepository.save(new User(saved.getId(), "renamed", "user1@example.com"));
+
+        assertEquals(createdAt, updated.getCreatedAt());
+        assertFalse(updated.getUpdatedAt().isBefore(createdAt));
+    }
+
+    @Test
+    void streamAll_shouldFilterOnModifiedSince() {
+        User old = mariaDBUserRepository.save(new User(null, "old", "old@example.com"));
+        User recent = mariaDBUserRepository.save(new User(null, "recent", "recent@example.com"));
+        old.setUpdatedAt(Instant.parse("2020-01-01T00:00:00Z"));
+
+        assertEquals(2, mariaDBUserRepository.streamAll(null).count());
+        assertEquals(List.of(recent), mariaDBUserRepository.streamAll(Instant.parse("2021-01-01T00:00:00Z")).toList());
+    }
+
+    @Test
+    void deleteById_shouldLeaveATombstoneUntilTheIdIsSavedAgain() {
+        Instant before = Instant.now();
+        User deleted = mariaDBUserRepository.save(new User(null, "gone", "gone@example.com"));
+        User kept = mariaDBUserRepository.save(new User(null, "kept", "kept@example.com"));
+        mariaDBUserRepository.deleteById(deleted.getId());
+        mariaDBUserRepository.writeBatch(List.of(), List.of(kept.getId()));
+
+        List<UserTombstone> tombstones = mariaDBUserRepository.streamDeletedSince(before)
+                .sorted(Comparator.comparing(UserTombstone::id))
+                .toList();
+        assertEquals(List.of(deleted.getId(), kept.getId()), tombstones.stream().map(UserTombstone::id).toList());
+        assertFalse(tombstones.getFirst().deletedAt().isBefore(before));
+        assertEquals(0, mariaDBUserRepository.streamDeletedSince(Instant.now().plusSeconds(60)).count());
+
+        mariaDBUserRepository.save(new User(kept.getId(), "kept", "kept@example.com"));
+        assertEquals(List.of(deleted.getId()),
+                mariaDBUserRepository.streamDeletedSince(before).map(UserTombstone::id).toList());
+    }
+}
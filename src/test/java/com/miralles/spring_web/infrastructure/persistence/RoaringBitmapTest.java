@@ -0,0 +1,89 @@
+package com.miralles.spring_web.infrastructure.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoaringBitmapTest {
+
+    @Test
+    void addRemoveContains_shouldTrackValuesAcrossChunks() {
+        RoaringBitmap bitmap = RoaringBitmap.of(1, 70_000, 5, 1);
+
+        assertTrue(bitmap.contains(70_000));
+        assertFalse(bitmap.contains(2));
+        assertEquals(3, bitmap.cardinality());
+        assertArrayEquals(new int[] {1, 5, 70_000}, bitmap.toArray());
+
+        bitmap.remove(70_000);
+        bitmap.remove(42);
+
+        assertArrayEquals(new int[] {1, 5}, bitmap.toArray());
+    }
+
+    @Test
+    void denseChunk_shouldConvertToBitmapAndBack() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int i = 0; i < 10_000; i++) {
+            bitmap.add(i);
+        }
+        assertEquals(10_000, bitmap.cardinality());
+
+        for (int i = 0; i < 10_000; i += 2) {
+            bitmap.remove(i);
+        }
+
+        assertEquals(5_000, bitmap.cardinality());
+        assertTrue(bitmap.contains(9_999));
+        assertFalse(bitmap.contains(9_998));
+        for (int i = 1; i < 10_000; i += 2) {
+            bitmap.remove(i);
+        }
+        assertTrue(bitmap.isEmpty());
+    }
+
+    @Test
+    void setOperations_shouldMatchBitSet() {
+        Random random = new Random(42);
+        // Mixes sparse and dense chunks, so every pair of container types meets
+        BitSet left = new BitSet();
+        BitSet right = new BitSet();
+        RoaringBitmap leftBitmap = new RoaringBitmap();
+        RoaringBitmap rightBitmap = new RoaringBitmap();
+        for (int i = 0; i < 60_000; i++) {
+            int a = random.nextInt(i % 2 == 0 ? 65_536 : 400_000);
+            int b = random.nextInt(i % 3 == 0 ? 65_536 : 400_000);
+            left.set(a);
+            leftBitmap.add(a);
+            right.set(b);
+            rightBitmap.add(b);
+        }
+
+        BitSet and = (BitSet) left.clone();
+        and.and(right);
+        BitSet or = (BitSet) left.clone();
+        or.or(right);
+        BitSet andNot = (BitSet) left.clone();
+        andNot.andNot(right);
+
+        assertArrayEquals(and.stream().toArray(), leftBitmap.and(rightBitmap).toArray());
+        assertArrayEquals(or.stream().toArray(), leftBitmap.or(rightBitmap).toArray());
+        assertArrayEquals(andNot.stream().toArray(), leftBitmap.andNot(rightBitmap).toArray());
+        assertEquals(left.cardinality(), leftBitmap.cardinality(), "Operations must not modify their inputs");
+    }
+
+    @Test
+    void copy_shouldBeIndependent() {
+        RoaringBitmap bitmap = RoaringBitmap.of(1, 2, 3);
+        RoaringBitmap copy = bitmap.copy();
+
+        copy.add(4);
+        bitmap.remove(1);
+
+        assertArrayEquals(new int[] {1, 2, 3, 4}, copy.toArray());
+        assertArrayEquals(new int[] {2, 3}, bitmap.toArray());
+    }
+}
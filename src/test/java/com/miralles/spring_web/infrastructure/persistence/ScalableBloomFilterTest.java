@@ -0,0 +1,55 @@
+package com.miralles.spring_web.infrastructure.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScalableBloomFilterTest {
+
+    @Test
+    void addedKeys_shouldAlwaysBeFound() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(100, 0.01);
+        for (int i = 0; i < 1_000; i++) {
+            filter.add("user" + i + "@example.com");
+        }
+
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(filter.mightContain("user" + i + "@example.com"), "No false negatives, also across stages");
+        }
+        assertTrue(filter.stageCount() > 1, "The filter must grow past its initial capacity");
+    }
+
+    @Test
+    void falsePositiveRate_shouldStayBounded() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(100, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("user" + i + "@example.com");
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("other" + i + "@example.org")) {
+                falsePositives++;
+            }
+        }
+        // The chain stays below twice the initial rate, leave room for chance
+        assertTrue(falsePositives < 400, "Too many false positives: " + falsePositives);
+    }
+
+    @Test
+    void repeatedAdds_shouldNotGrowTheFilter() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(10, 0.01);
+        for (int i = 0; i < 100; i++) {
+            filter.add("jane@example.com");
+        }
+
+        assertEquals(1, filter.stageCount());
+        assertFalse(filter.mightContain("john@example.com"));
+    }
+
+    @Test
+    void invalidParameters_shouldBeRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(10, 1));
+    }
+}
@@ -0,0 +1,62 @@
+package com.miralles.spring_web.infrastructure.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeIdAllocatorTest {
+
+    private static final Instant EPOCH = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Test
+    void ids_shouldEncodeTimeNodeAndSequence() {
+        AtomicLong now = new AtomicLong(EPOCH.toEpochMilli() + 5);
+        SnowflakeIdAllocator allocator = new SnowflakeIdAllocator(EPOCH, 3, now::get);
+
+        long first = allocator.nextId();
+        long second = allocator.nextId();
+
+        assertEquals(5L << 22 | 3L << 12, first);
+        assertEquals(first + 1, second);
+        assertEquals(EPOCH.plusMillis(5), allocator.timestampOf(first));
+    }
+
+    @Test
+    void ids_shouldFollowTimeAndStayIncreasingWhenClockStepsBack() {
+        AtomicLong now = new AtomicLong(EPOCH.toEpochMilli() + 1_000);
+        SnowflakeIdAllocator allocator = new SnowflakeIdAllocator(EPOCH, 0, now::get);
+
+        long first = allocator.nextId();
+        now.addAndGet(10);
+        long later = allocator.nextId();
+        now.addAndGet(-500);
+        long afterStepBack = allocator.nextId();
+
+        assertEquals(EPOCH.plusMillis(1_010), allocator.timestampOf(later));
+        assertTrue(later > first);
+        assertTrue(afterStepBack > later);
+    }
+
+    @Test
+    void exhaustedMillisecond_shouldContinueInTheNextOne() {
+        AtomicLong now = new AtomicLong(EPOCH.toEpochMilli() + 1);
+        SnowflakeIdAllocator allocator = new SnowflakeIdAllocator(EPOCH, 0, now::get);
+
+        long previous = 0;
+        for (int i = 0; i < 5_000; i++) {
+            long id = allocator.nextId();
+            assertTrue(id > previous);
+            previous = id;
+        }
+
+        assertEquals(EPOCH.plusMillis(2), allocator.timestampOf(previous));
+    }
+
+    @Test
+    void nodeIdOutOfRange_shouldBeRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdAllocator(EPOCH, 1024));
+    }
+}
@@ -0,0 +1,117 @@
+package com.miralles.spring_web.infrastructure.persistence;
+
+import com.miralles.spring_web.domain.models.User;
+import com.miralles.spring_web.domain.models.UserStats;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserAggregatesTest {
+
+    private final UserAggregates aggregates = new UserAggregates();
+
+    @Test
+    void add_shouldCountTotalsDomainsAndDays() {
+        aggregates.add(user(1L, "jane@Example.com", false, "2024-03-01T10:00:00Z"));
+        aggregates.add(user(2L, "john@example.com", true, "2024-03-01T23:59:59Z"));
+        aggregates.add(user(3L, "bob@other.org", false, "2024-03-02T00:00:00Z"));
+
+        UserStats stats = aggregates.snapshot();
+
+        assertEquals(3, stats.total());
+        assertEquals(1, stats.admins());
+        assertEquals(2, stats.nonAdmins());
+        assertEquals(Map.of("example.com", 2L, "other.org", 1L), stats.usersByEmailDomain());
+        assertEquals(Map.of(LocalDate.parse("2024-03-01"), 2L, LocalDate.parse("2024-03-02"), 1L),
+                stats.usersByCreationDay());
+    }
+
+    @Test
+    void add_ofExistingUser_shouldMoveItsCounts() {
+        aggregates.add(user(1L, "jane@example.com", false, "2024-03-01T10:00:00Z"));
+        aggregates.add(user(1L, "jane@other.org", true, "2024-03-01T10:00:00Z"));
+        aggregates.add(user(1L, "jane@other.org", true, "2024-03-01T10:00:00Z"));
+
+        UserStats stats = aggregates.snapshot();
+
+        assertEquals(1, stats.total());
+        assertEquals(1, stats.admins());
+        assertEquals(Map.of("other.org", 1L), stats.usersByEmailDomain());
+        assertEquals(Map.of(LocalDate.parse("2024-03-01"), 1L), stats.usersByCreationDay());
+    }
+
+    @Test
+    void remove_shouldSubtractAndDropEmptyBuckets() {
+        aggregates.add(user(1L, "jane@example.com", true, "2024-03-01T10:00:00Z"));
+        aggregates.add(user(2L, "bob@other.org", false, "2024-03-02T10:00:00Z"));
+
+        aggregates.remove(1L);
+        aggregates.remove(1L);
+        aggregates.remove(99L);
+
+        UserStats stats = aggregates.snapshot();
+        assertEquals(1, stats.total());
+        assertEquals(0, stats.admins());
+        assertEquals(Map.of("other.org", 1L), stats.usersByEmailDomain());
+        assertEquals(Map.of(LocalDate.parse("2024-03-02"), 1L), stats.usersByCreationDay());
+    }
+
+    @Test
+    void snapshot_shouldBeReusedUntilTheNextWriteAndListDomainsLargestFirst() {
+        aggregates.add(user(1L, "jane@small.org", false, "2024-03-01T10:00:00Z"));
+        aggregates.add(user(2L, "john@big.com", false, "2024-03-01T10:00:00Z"));
+        aggregates.add(user(3L, "bob@big.com", false, "2024-03-01T10:00:00Z"));
+
+        UserStats first = aggregates.snapshot();
+
+        assertSame(first, aggregates.snapshot());
+        assertEquals(List.of("big.com", "small.org"), List.copyOf(first.usersByEmailDomain().keySet()));
+
+        aggregates.remove(3L);
+
+        assertNotSame(first, aggregates.snapshot());
+        assertEquals(2, aggregates.snapshot().total());
+    }
+
+    @Test
+    void snapshot_shouldReorderDomainsAsTheirCountsChange() {
+        aggregates.add(user(1L, "jane@a.org", false, "2024-03-01T10:00:00Z"));
+        aggregates.add(user(2L, "john@b.org", false, "2024-03-01T10:00:00Z"));
+        aggregates.add(user(3L, "bob@b.org", false, "2024-03-01T10:00:00Z"));
+        assertEquals(List.of("b.org", "a.org"), List.copyOf(aggregates.snapshot().usersByEmailDomain().keySet()));
+
+        aggregates.add(user(2L, "john@a.org", false, "2024-03-01T10:00:00Z"));
+        aggregates.add(user(4L, "ann@c.org", false, "2024-03-01T10:00:00Z"));
+
+        UserStats stats = aggregates.snapshot();
+        assertEquals(List.of("a.org", "b.org", "c.org"), List.copyOf(stats.usersByEmailDomain().keySet()));
+        assertEquals(2L, stats.usersByEmailDomain().get("a.org"));
+        assertEquals(1L, stats.usersByEmailDomain().get("b.org"));
+    }
+
+    @Test
+    void repository_shouldKeepStatsCurrent() {
+        JpaUserRepository repository = new JpaUserRepository();
+        User jane = repository.save(new User(null, "jane", "jane@example.com", "secret", true));
+        repository.save(new User(null, "bob", "bob@example.com"));
+        repository.deleteById(jane.getId());
+
+        UserStats stats = repository.stats();
+
+        assertEquals(1, stats.total());
+        assertEquals(0, stats.admins());
+        assertEquals(Map.of("example.com", 1L), stats.usersByEmailDomain());
+        assertEquals(1L, stats.usersByCreationDay().values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    private static User user(Long id, String email, boolean admin, String createdAt) {
+        User user = new User(id, "user" + id, email, "secret", admin);
+        user.setCreatedAt(Instant.parse(createdAt));
+        return user;
+    }
+}
@@ -0,0 +1,55 @@
+package com.miralles.spring_web.infrastructure.persistence;
+
+import com.miralles.spring_web.domain.models.User;
+import com.miralles.spring_web.infrastructure.persistence.UserBitmapIndex.Attribute;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserBitmapIndexTest {
+
+    @Test
+    void sparseIds_shouldMapToDenseOrdinals() {
+        UserBitmapIndex index = new UserBitmapIndex();
+        index.add(new User(1L << 40, "jane", "jane@example.com", null, true));
+        index.add(new User(7L, "bob", "bob@example.com", null, false));
+        index.add(new User(Long.MAX_VALUE, "alice", "alice@example.com", null, true));
+
+        RoaringBitmap admins = index.matching(Attribute.ADMIN, true);
+
+        assertArrayEquals(new int[] {0, 2}, admins.toArray());
+        assertEquals(List.of(1L << 40, Long.MAX_VALUE), index.ids(admins));
+        assertEquals(List.of(7L), index.ids(index.all().andNot(admins)));
+    }
+
+    @Test
+    void update_shouldMoveUserBetweenValues() {
+        UserBitmapIndex index = new UserBitmapIndex();
+        User jane = new User(1L, "jane", "jane@example.com", null, false);
+        index.add(jane);
+
+        jane.setAdmin(true);
+        index.add(jane);
+
+        assertEquals(1, index.count(Attribute.ADMIN, true));
+        assertEquals(0, index.count(Attribute.ADMIN, false));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void remove_shouldFreeOrdinalForReuse() {
+        UserBitmapIndex index = new UserBitmapIndex();
+        index.add(new User(1L, "jane", "jane@example.com", null, true));
+        index.add(new User(2L, "bob", "bob@example.com", null, false));
+        RoaringBitmap adminsBefore = index.matching(Attribute.ADMIN, true);
+
+        index.remove(1L);
+        index.add(new User(3L, "alice", "alice@example.com", null, false));
+
+        assertEquals(0, index.count(Attribute.ADMIN, true));
+        assertArrayEquals(new int[] {0, 1}, index.all().toArray(), "The freed ordinal is reused");
+        assertEquals(List.of(3L), index.ids(adminsBefore), "A stale selection maps to the ordinal's new user");
+    }
+}
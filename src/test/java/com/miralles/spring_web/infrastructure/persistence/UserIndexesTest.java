@@ -0,0 +1,113 @@
+package com.miralles.spring_web.infrastructure.persistence;
+
+import com.miralles.spring_web.domain.models.User;
+import com.miralles.spring_web.domain.models.UserField;
+import com.miralles.spring_web.domain.models.UserQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserIndexesTest {
+
+    private JpaUserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = new JpaUserRepository();
+        userRepository.save(new User(null, "jane", "jane@example.com", null, true));
+        userRepository.save(new User(null, "janet", "janet@corp.io", null, false));
+        userRepository.save(new User(null, "bob", "bob@example.com", null, false));
+    }
+
+    @Test
+    void indexedConditions_shouldNarrowThenCheckWholeQuery() {
+        assertEquals(List.of("jane"), usernames(UserQuery.of(
+                new UserQuery.EmailDomain("example.com"), new UserQuery.Admin(true))));
+        assertEquals(List.of("jane", "janet"), usernames(UserQuery.of(
+                new UserQuery.Prefix(UserField.USERNAME, "JAN"))));
+        assertEquals(List.of("bob"), usernames(UserQuery.of(
+                new UserQuery.Equals(UserField.EMAIL, "bob@example.com"))));
+        assertEquals(List.of("bob"), usernames(UserQuery.of(new UserQuery.Equals(UserField.EMAIL, "BOB@example.com"))));
+    }
+
+    @Test
+    void candidates_shouldComeFromMostSelectiveIndex() {
+        UserIndexes indexes = new UserIndexes();
+        indexes.onSave(new User(1L, "jane", "jane@example.com"));
+        indexes.onSave(new User(2L, "janet", "janet@example.com", null, true));
+
+        assertEquals(List.of(2L), indexes.candidates(UserQuery.of(new UserQuery.Admin(true))));
+        assertEquals(Set.of(1L), indexes.candidates(UserQuery.of(
+                new UserQuery.Prefix(UserField.USERNAME, "jan"), new UserQuery.Equals(UserField.USERNAME, "jane"))));
+        assertEquals(Set.of(1L, 2L), indexes.candidates(UserQuery.of(new UserQuery.Prefix(UserField.USERNAME, "jan"))));
+    }
+
+    @Test
+    void count_shouldUseBitmapsForIndexedAttributes() {
+        assertEquals(1, userRepository.count(UserQuery.of(new UserQuery.Admin(true))));
+        assertEquals(2, userRepository.count(UserQuery.of(new UserQuery.Admin(false))));
+        assertEquals(0, userRepository.count(UserQuery.of(new UserQuery.Admin(true), new UserQuery.Admin(false))));
+        assertEquals(1, userRepository.count(UserQuery.of(
+                new UserQuery.Admin(false), new UserQuery.EmailDomain("example.com"))));
+        assertEquals(3, userRepository.count(UserQuery.ALL));
+
+        userRepository.deleteById(1L);
+
+        assertEquals(0, userRepository.count(UserQuery.of(new UserQuery.Admin(true))));
+    }
+
+    @Test
+    void adminFilter_shouldIterateBitmap() {
+        assertEquals(List.of("bob", "janet"), usernames(UserQuery.of(new UserQuery.Admin(false))));
+    }
+
+    @Test
+    void largeScan_shouldRunInParallelAndFindEveryUser() {
+        for (int i = 0; i < UserIndexes.PARALLEL_SCAN_THRESHOLD; i++) {
+            userRepository.save(new User(null, "user" + i, "user" + i + "@example.com", null, i % 10 == 0));
+        }
+
+        assertEquals(UserIndexes.PARALLEL_SCAN_THRESHOLD + 3, userRepository.findAll(UserQuery.ALL).size());
+        assertEquals(UserIndexes.PARALLEL_SCAN_THRESHOLD / 10 + 1,
+                userRepository.findAll(UserQuery.of(new UserQuery.Admin(true))).size());
+    }
+
+    @Test
+    void writes_shouldKeepQueriesCurrent() {
+        User bob = userRepository.findAll(UserQuery.of(new UserQuery.Equals(UserField.USERNAME, "bob"))).get(0);
+        bob.setEmail("bob@corp.io");
+        userRepository.save(bob);
+        userRepository.deleteById(2L);
+
+        assertEquals(List.of("bob"), usernames(UserQuery.of(new UserQuery.EmailDomain("corp.io"))));
+    }
+
+    @Test
+    void existsByEmail_shouldCheckPossibleHitsExactly() {
+        assertTrue(userRepository.existsByEmail("jane@example.com"));
+        assertTrue(userRepository.existsByEmail("JANE@example.com"), "Emails are unique ignoring case");
+        assertFalse(userRepository.existsByEmail("nobody@example.com"));
+
+        // Deleted and replaced emails stay in the bloom filter, the exact check answers
+        userRepository.deleteById(1L);
+        User bob = userRepository.findByEmail("bob@example.com").orElseThrow();
+        bob.setEmail("robert@example.com");
+        userRepository.save(bob);
+
+        assertFalse(userRepository.existsByEmail("jane@example.com"));
+        assertFalse(userRepository.existsByEmail("bob@example.com"));
+        assertTrue(userRepository.existsByEmail("robert@example.com"));
+    }
+
+    private List<String> usernames(UserQuery query) {
+        return userRepository.findAll(query).stream()
+                .map(User::getUsername)
+                .sorted(Comparator.naturalOrder())
+                .toList();
+    }
+}
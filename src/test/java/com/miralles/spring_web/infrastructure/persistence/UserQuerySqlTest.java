@@ -0,0 +1,32 @@
+package com.miralles.spring_web.infrastructure.persistence;
+
+import com.miralles.spring_web.domain.models.UserField;
+import com.miralles.spring_web.domain.models.UserQuery;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserQuerySqlTest {
+
+    @Test
+    void toWhere_shouldBindEveryCondition() {
+        UserQuerySql.Where where = UserQuerySql.toWhere(UserQuery.of(
+                new UserQuery.Equals(UserField.USERNAME, "jane"),
+                new UserQuery.Prefix(UserField.EMAIL, "Jane_"),
+                new UserQuery.EmailDomain("example.com"),
+                new UserQuery.Admin(true)));
+
+        assertEquals("WHERE username = ? AND email LIKE ? AND email LIKE ? AND is_admin = ?", where.sql());
+        assertEquals(List.of("jane", "jane\\_%", "%@example.com", true), where.parameters());
+    }
+
+    @Test
+    void emptyQuery_shouldHaveNoWhereClause() {
+        UserQuerySql.Where where = UserQuerySql.toWhere(UserQuery.ALL);
+
+        assertEquals("", where.sql());
+        assertTrue(where.parameters().isEmpty());
+    }
+}
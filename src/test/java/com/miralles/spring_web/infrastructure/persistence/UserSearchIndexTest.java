@@ -0,0 +1,116 @@
+package com.miralles.spring_web.infrastructure.persistence;
+
+import com.miralles.spring_web.domain.models.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserSearchIndexTest {
+
+    private UserSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UserSearchIndex();
+        index.add(new User(1L, "marjane", "m.satrapi@example.com"));
+        index.add(new User(2L, "Jane", "jane@example.com"));
+        index.add(new User(3L, "janet", "janet@corp.io"));
+        index.add(new User(4L, "bob", "bob.jane@example.com"));
+        index.add(new User(5L, "alice", "alice@example.com"));
+    }
+
+    @Test
+    void search_shouldRankExactThenPrefixThenSubstring() {
+        assertEquals(List.of(2L, 3L, 1L, 4L), index.search("jane", 10));
+        assertEquals(List.of(2L, 4L), index.search("JANE@example.com", 10));
+    }
+
+    @Test
+    void search_shouldApplyLimitToBestMatches() {
+        assertEquals(List.of(2L, 3L), index.search("jane", 2));
+    }
+
+    @Test
+    void shortQuery_shouldMatchPrefixesOnly() {
+        assertEquals(List.of(5L), index.search("al", 10));
+        assertEquals(List.of(3L), index.search("co", 10), "Domains match by prefix");
+        assertTrue(index.search("ic", 10).isEmpty());
+    }
+
+    @Test
+    void update_shouldReplaceIndexedValues() {
+        index.add(new User(5L, "alicia", "alicia@corp.io"));
+
+        assertTrue(index.search("alice", 10).isEmpty());
+        assertEquals(List.of(5L), index.search("alicia", 10));
+        assertEquals(List.of(3L, 5L), index.search("corp", 10));
+    }
+
+    @Test
+    void remove_shouldDropUser() {
+        index.remove(2L);
+
+        assertEquals(List.of(3L, 1L, 4L), index.search("jane", 10));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void search_withUnknownTrigram_shouldReturnNothing() {
+        assertTrue(index.search("zzz", 10).isEmpty());
+        assertTrue(index.search("", 10).isEmpty());
+    }
+
+    @Test
+    void concurrentUpdatesOfDifferentUsers_shouldLoseNoPosting() throws Exception {
+        UserSearchIndex shared = new UserSearchIndex();
+        int threads = 8;
+        int usersPerThread = 200;
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long first = (long) t * usersPerThread;
+                writers.add(executor.submit(() -> {
+                    // Every user shares the "member" trigrams, half of them are added twice and removed
+                    for (long id = first; id < first + usersPerThread; id++) {
+                        shared.add(new User(id, "member" + id, "member" + id + "@example.com"));
+                        if (id % 2 == 0) {
+                            shared.remove(id);
+                            shared.add(new User(id, "member" + id, "member" + id + "@example.com"));
+                        } else {
+                            shared.remove(id);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get(10, TimeUnit.SECONDS);
+            }
+        }
+
+        assertEquals(threads * usersPerThread / 2, shared.search("member", Integer.MAX_VALUE).size());
+    }
+
+    @Test
+    void repository_shouldKeepIndexCurrentOnWrites() {
+        JpaUserRepository userRepository = new JpaUserRepository();
+        User jane = userRepository.save(new User(null, "jane", "jane@example.com"));
+        User bob = userRepository.save(new User(null, "bob", "bob@example.com"));
+
+        jane.setUsername("joan");
+        jane.setEmail("joan@example.com");
+        userRepository.save(jane);
+        userRepository.writeBatch(List.of(new User(null, "janet", "janet@example.com")), List.of(bob.getId()));
+
+        assertEquals(List.of("janet"), userRepository.search("jan", 10).stream().map(User::getUsername).toList());
+        assertEquals(List.of("joan"), userRepository.search("joa", 10).stream().map(User::getUsername).toList());
+        assertTrue(userRepository.search("bob", 10).isEmpty());
+    }
+}
@@ -0,0 +1,107 @@
+package com.miralles.spring_web.infrastructure.security;
+
+import io.jsonwebtoken.MalformedJwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationWebFilterTest {
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private ReactiveUserDetailsService userDetailsService;
+
+    private JwtAuthenticationWebFilter filter;
+    private List<Authentication> seen;
+    private WebFilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        filter = new JwtAuthenticationWebFilter(jwtUtil, userDetailsService);
+        seen = new ArrayList<>();
+        // Records the authentication visible downstream, null when unauthenticated
+        chain = exchange -> ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .doOnNext(seen::add)
+                .switchIfEmpty(Mono.fromRunnable(() -> seen.add(null)))
+                .then();
+    }
+
+    @Test
+    void validToken_shouldAuthenticateDownstream() {
+        UserDetails admin = new User("admin@example.com", "hash", List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        when(jwtUtil.extractUsername("token")).thenReturn("admin@example.com");
+        when(userDetailsService.findByUsername("admin@example.com")).thenReturn(Mono.just(admin));
+        when(jwtUtil.validateToken("token", admin)).thenReturn(true);
+
+        StepVerifier.create(filter.filter(exchange("Bearer token"), chain)).verifyComplete();
+
+        assertEquals(1, seen.size());
+        assertEquals("admin@example.com", seen.get(0).getName());
+        assertTrue(seen.get(0).getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN")));
+    }
+
+    @Test
+    void invalidToken_shouldContinueUnauthenticatedOnce() {
+        UserDetails user = new User("jane@example.com", "hash", List.of());
+        when(jwtUtil.extractUsername("token")).thenReturn("jane@example.com");
+        when(userDetailsService.findByUsername("jane@example.com")).thenReturn(Mono.just(user));
+        when(jwtUtil.validateToken("token", user)).thenReturn(false);
+
+        StepVerifier.create(filter.filter(exchange("Bearer token"), chain)).verifyComplete();
+
+        assertEquals(1, seen.size());
+        assertNull(seen.get(0));
+    }
+
+    @Test
+    void malformedToken_shouldContinueUnauthenticated() {
+        when(jwtUtil.extractUsername("garbage")).thenThrow(new MalformedJwtException("bad"));
+
+        StepVerifier.create(filter.filter(exchange("Bearer garbage"), chain)).verifyComplete();
+
+        assertEquals(1, seen.size());
+        assertNull(seen.get(0));
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void missingHeader_shouldNotTouchToken() {
+        StepVerifier.create(filter.filter(exchange(null), chain)).verifyComplete();
+
+        assertEquals(1, seen.size());
+        verifyNoInteractions(jwtUtil, userDetailsService);
+    }
+
+    private static MockServerWebExchange exchange(String authorization) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/api/users");
+        if (authorization != null) {
+            request.header(HttpHeaders.AUTHORIZATION, authorization);
+        }
+        return MockServerWebExchange.from(request);
+    }
+}
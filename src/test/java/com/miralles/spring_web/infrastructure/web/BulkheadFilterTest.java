@@ -0,0 +1,93 @@
+package com.miralles.spring_web.infrastructure.web;
+
+import com.miralles.spring_web.infrastructure.config.BulkheadProperties;
+import com.miralles.spring_web.infrastructure.config.BulkheadProperties.Compartment;
+import com.miralles.spring_web.infrastructure.web.BulkheadFilter.EndpointClass;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BulkheadFilter bulkheadFilter;
+
+    @BeforeEach
+    void setUp() {
+        BulkheadProperties properties = new BulkheadProperties();
+        properties.setBulk(new Compartment(1, Duration.ZERO));
+        meterRegistry = new SimpleMeterRegistry();
+        bulkheadFilter = new BulkheadFilter(properties, meterRegistry);
+    }
+
+    @Test
+    void saturatedBulkClass_shouldRejectBulkButServeCrud() throws Exception {
+        AtomicReference<MockHttpServletResponse> secondExport = new AtomicReference<>();
+        AtomicReference<MockHttpServletResponse> lookup = new AtomicReference<>();
+        FilterChain export = (request, response) -> {
+            // While the only bulk permit is held, another export and a CRUD read arrive
+            secondExport.set(perform(new MockHttpServletRequest("GET", "/api/users/_export"), (req, res) -> {
+                fail("The second export must be rejected");
+            }));
+            lookup.set(perform(new MockHttpServletRequest("GET", "/api/users/1"), (req, res) -> { }));
+        };
+
+        perform(new MockHttpServletRequest("GET", "/api/users/_export"), export);
+
+        assertEquals(503, secondExport.get().getStatus());
+        assertEquals("1", secondExport.get().getHeader("Retry-After"));
+        assertEquals(200, lookup.get().getStatus());
+        assertEquals(1.0, meterRegistry.get(BulkheadFilter.REJECTED_METER).tag("class", "bulk").counter().count());
+        assertEquals(0, bulkheadFilter.bulkhead(EndpointClass.BULK).active());
+    }
+
+    @Test
+    void asyncResponse_shouldHoldPermitUntilComplete() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/_export");
+        request.setAsyncSupported(true);
+
+        perform(request, (req, res) -> req.startAsync());
+
+        assertEquals(1, bulkheadFilter.bulkhead(EndpointClass.BULK).active());
+        assertEquals(1.0, meterRegistry.get(BulkheadFilter.SATURATION_METER).tag("class", "bulk").gauge().value());
+
+        request.getAsyncContext().complete();
+
+        assertEquals(0, bulkheadFilter.bulkhead(EndpointClass.BULK).active());
+    }
+
+    @Test
+    void failingRequest_shouldReleasePermit() {
+        assertThrows(IllegalStateException.class, () -> perform(new MockHttpServletRequest("POST", "/api/auth/login"),
+                (req, res) -> {
+                    throw new IllegalStateException("boom");
+                }));
+
+        assertEquals(0, bulkheadFilter.bulkhead(EndpointClass.AUTH).active());
+    }
+
+    @Test
+    void classify_shouldSeparateAuthCrudAndBulk() {
+        assertEquals(EndpointClass.AUTH, BulkheadFilter.classify(new MockHttpServletRequest("POST", "/api/auth/login")));
+        assertEquals(EndpointClass.CRUD, BulkheadFilter.classify(new MockHttpServletRequest("GET", "/api/users/1")));
+        assertEquals(EndpointClass.CRUD, BulkheadFilter.classify(new MockHttpServletRequest("POST", "/api/users")));
+        assertEquals(EndpointClass.BULK, BulkheadFilter.classify(new MockHttpServletRequest("POST", "/api/users/_import")));
+        assertEquals(EndpointClass.CRUD, BulkheadFilter.classify(
+                new MockHttpServletRequest("GET", "/api/users/email-available")));
+        assertNull(BulkheadFilter.classify(new MockHttpServletRequest("GET", "/actuator/health")));
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        bulkheadFilter.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,153 @@
+package com.miralles.spring_web.infrastructure.web;
+
+import com.miralles.spring_web.infrastructure.config.ConcurrencyLimitProperties;
+import com.miralles.spring_web.infrastructure.web.AdaptiveConcurrencyLimit.Priority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(50);
+
+    @Test
+    void limit_shouldShrinkWhenLatencyRises() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 10, 1000, 0.2);
+        saturate(limit, FAST, 200);
+        int steady = limit.getLimit();
+
+        saturate(limit, SLOW, 200);
+
+        assertTrue(limit.getLimit() < steady, "Expected less than " + steady + ", got " + limit.getLimit());
+        assertTrue(limit.getLimit() >= 10);
+    }
+
+    @Test
+    void limit_shouldGrowWhileLatencyHoldsUnderLoad() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 10, 1000, 0.2);
+
+        saturate(limit, FAST, 200);
+
+        assertTrue(limit.getLimit() > 50, "Expected more than 50, got " + limit.getLimit());
+        assertTrue(limit.getLimit() <= 1000);
+    }
+
+    @Test
+    void limit_shouldAcceptLastingLatencyChangeAfterBaselineWindow() {
+        AtomicLong now = new AtomicLong();
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 10, 1000, 0.2, now::get);
+        saturate(limit, FAST, 200);
+        saturate(limit, SLOW, 20);
+        int degraded = limit.getLimit();
+
+        // Two windows of steady slow responses make them the new baseline
+        now.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        saturate(limit, SLOW, 1);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        saturate(limit, SLOW, 50);
+
+        assertTrue(limit.getLimit() > degraded, "Expected more than " + degraded + ", got " + limit.getLimit());
+    }
+
+    @Test
+    void limit_shouldShedLowPriorityBeforeHighAndNeverCritical() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 10, 10, 0.2);
+        for (int i = 0; i < 8; i++) {
+            assertTrue(limit.tryAcquire(Priority.LOW));
+        }
+
+        assertFalse(limit.tryAcquire(Priority.LOW), "Low priority must stop at 80% of the limit");
+        assertTrue(limit.tryAcquire(Priority.HIGH));
+        assertTrue(limit.tryAcquire(Priority.HIGH));
+        assertFalse(limit.tryAcquire(Priority.HIGH));
+        assertTrue(limit.tryAcquire(Priority.CRITICAL));
+    }
+
+    @Test
+    void filter_shouldRejectWith503WhenFull() throws Exception {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(1);
+        properties.setMinLimit(1);
+        properties.setMaxLimit(1);
+        properties.setLowPriorityHeadroom(0);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(properties, meterRegistry);
+
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+        FilterChain occupying = (request, response) -> {
+            // A second request arrives while the first one holds the only slot
+            MockHttpServletResponse second = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("POST", "/api/auth/login"), second,
+                    (req, res) -> fail("Must be shed"));
+            nested.set(second);
+        };
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/auth/login"), first, occupying);
+
+        assertEquals(200, first.getStatus());
+        assertEquals(503, nested.get().getStatus());
+        assertEquals("1", nested.get().getHeader("Retry-After"));
+        assertEquals(0, filter.getConcurrencyLimit().getInFlight());
+        assertEquals(1.0, meterRegistry.get(ConcurrencyLimitFilter.REJECTED_METER)
+                .tag("priority", "low").counter().count());
+    }
+
+    @Test
+    void asyncResponse_shouldHoldItsSlotUntilCompleteWithoutALatencySample() throws Exception {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(new ConcurrencyLimitProperties(),
+                new SimpleMeterRegistry());
+        int limit = filter.getConcurrencyLimit().getLimit();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/_export");
+        request.setAsyncSupported(true);
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+
+        assertEquals(1, filter.getConcurrencyLimit().getInFlight());
+
+        request.getAsyncContext().complete();
+
+        assertEquals(0, filter.getConcurrencyLimit().getInFlight());
+        assertEquals(limit, filter.getConcurrencyLimit().getLimit(), "A stream must not move the limit");
+    }
+
+    @Test
+    void priorityOf_shouldClassifyHealthAdminAndAnonymousTraffic() {
+        MockHttpServletRequest admin = new MockHttpServletRequest("GET", "/api/users/1");
+        admin.addHeader("Authorization", "Bearer token");
+
+        assertEquals(Priority.CRITICAL, priorityOf("POST", "/api/auth/health"));
+        assertEquals(Priority.CRITICAL, priorityOf("GET", "/actuator/health"));
+        assertEquals(Priority.HIGH, ConcurrencyLimitFilter.priorityOf(admin));
+        assertEquals(Priority.LOW, priorityOf("POST", "/api/auth/login"));
+        assertEquals(Priority.LOW, priorityOf("GET", "/api/users/1"));
+        assertEquals(Priority.LOW, priorityOf("GET", "/api/users/email-available"));
+    }
+
+    private static Priority priorityOf(String method, String path) {
+        return ConcurrencyLimitFilter.priorityOf(new MockHttpServletRequest(method, path));
+    }
+
+    /**
+     * Completes requests with the given latency while keeping the limit fully used.
+     */
+    private static void saturate(AdaptiveConcurrencyLimit limit, long rttNanos, int samples) {
+        for (int i = 0; i < samples; i++) {
+            int admitted = 0;
+            while (limit.tryAcquire(Priority.HIGH)) {
+                admitted++;
+            }
+            for (int j = 0; j < admitted; j++) {
+                limit.release(rttNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.miralles.spring_web.infrastructure.web;
+
+import com.miralles.spring_web.infrastructure.config.IdempotencyProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyFilterTest {
+
+    private IdempotencyFilter idempotencyFilter;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyFilter = new IdempotencyFilter(new IdempotencyProperties());
+        executions = new AtomicInteger();
+    }
+
+    @Test
+    void duplicate_shouldReplayStoredResponseWithoutExecuting() throws Exception {
+        FilterChain chain = created();
+
+        MockHttpServletResponse first = perform(request("key-1", "{\"username\":\"jane\"}"), chain);
+        MockHttpServletResponse second = perform(request("key-1", "{\"username\":\"jane\"}"), chain);
+
+        assertEquals(1, executions.get());
+        assertEquals(201, second.getStatus());
+        assertEquals(first.getContentAsString(), second.getContentAsString());
+        assertEquals("application/json", second.getContentType());
+        assertEquals("true", second.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void reusedKeyWithDifferentBody_shouldBeRejected() throws Exception {
+        FilterChain chain = created();
+        perform(request("key-1", "{\"username\":\"jane\"}"), chain);
+
+        MockHttpServletResponse response = perform(request("key-1", "{\"username\":\"john\"}"), chain);
+
+        assertEquals(422, response.getStatus());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void serverError_shouldNotBeStored() throws Exception {
+        FilterChain failing = (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(503);
+        };
+
+        perform(request("key-1", "{}"), failing);
+        perform(request("key-1", "{}"), failing);
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void requestsWithoutKey_shouldNotBeTouched() throws Exception {
+        FilterChain chain = created();
+
+        perform(request(null, "{}"), chain);
+        perform(request(null, "{}"), chain);
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void concurrentDuplicates_shouldCoalesceOntoOneExecution() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slow = (request, response) -> {
+            executions.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            response.setContentType("application/json");
+            ((HttpServletResponse) response).setStatus(201);
+            response.getOutputStream().write("{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+        };
+
+        CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(
+                () -> performUnchecked(request("key-1", "{}"), slow));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<MockHttpServletResponse> second = CompletableFuture.supplyAsync(
+                () -> performUnchecked(request("key-1", "{}"), slow));
+        Thread.sleep(50);
+        assertFalse(second.isDone(), "The duplicate must wait for the original request");
+        release.countDown();
+
+        assertEquals("{\"id\":1}", first.get(5, TimeUnit.SECONDS).getContentAsString());
+        assertEquals("{\"id\":1}", second.get(5, TimeUnit.SECONDS).getContentAsString());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void store_shouldEvictExpiredAndOldestEntries() {
+        AtomicLong now = new AtomicLong();
+        IdempotencyStore store = new IdempotencyStore(100, 2, now::get);
+
+        completeClaim(store, "a");
+        completeClaim(store, "b");
+        completeClaim(store, "c");
+        assertEquals(2, store.size());
+        assertTrue(store.claim("a", "x").owner(), "The oldest key must have been evicted");
+
+        now.set(1_000);
+        assertTrue(store.claim("b", "x").owner(), "Expired keys must be forgotten");
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void store_shouldNeverEvictInFlightEntries() {
+        IdempotencyStore store = new IdempotencyStore(1_000, 2, () -> 0);
+
+        IdempotencyStore.Claim inFlight = store.claim("a", "x");
+        completeClaim(store, "b");
+        assertNotNull(store.claim("c", "x"), "The completed key must make room");
+        assertNull(store.claim("d", "x"), "A table full of in-flight keys must turn new keys away");
+
+        IdempotencyStore.Claim duplicate = store.claim("a", "x");
+        assertFalse(duplicate.owner());
+        assertSame(inFlight.entry(), duplicate.entry());
+    }
+
+    @Test
+    void fullTableOfInFlightRequests_shouldAnswer503() throws Exception {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setMaxEntries(1);
+        idempotencyFilter = new IdempotencyFilter(properties);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slow = (request, response) -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            ((HttpServletResponse) response).setStatus(201);
+        };
+
+        CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(
+                () -> performUnchecked(request("key-1", "{}"), slow));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        MockHttpServletResponse rejected = perform(request("key-2", "{}"), created());
+        release.countDown();
+
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertEquals(0, executions.get());
+        assertEquals(201, first.get(5, TimeUnit.SECONDS).getStatus());
+    }
+
+    @Test
+    void oversizedBody_shouldBeRejectedBeforeExecuting() throws Exception {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setMaxBodySize(DataSize.ofBytes(8));
+        idempotencyFilter = new IdempotencyFilter(properties);
+
+        MockHttpServletResponse response = perform(request("key-1", "{\"username\":\"jane\"}"), created());
+
+        assertEquals(413, response.getStatus());
+        assertEquals(0, executions.get());
+    }
+
+    private static void completeClaim(IdempotencyStore store, String key) {
+        IdempotencyStore.Claim claim = store.claim(key, "x");
+        store.complete(key, claim.entry(), new IdempotencyStore.StoredResponse(201, null, null, new byte[0]));
+    }
+
+    private FilterChain created() {
+        return (request, response) -> {
+            int id = executions.incrementAndGet();
+            response.setContentType("application/json");
+            ((HttpServletResponse) response).setStatus(201);
+            byte[] body = request.getInputStream().readAllBytes();
+            response.getOutputStream().write(("{\"id\":" + id + ",\"echo\":" + new String(body, StandardCharsets.UTF_8) + "}")
+                    .getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private static MockHttpServletRequest request(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/users");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        }
+        return request;
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        idempotencyFilter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private MockHttpServletResponse performUnchecked(MockHttpServletRequest request, FilterChain chain) {
+        try {
+            return perform(request, chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.miralles.spring_web.infrastructure.web;
+
+import com.miralles.spring_web.application.ports.ConsumerUsage;
+import com.miralles.spring_web.application.ports.UsageReport.Order;
+import com.miralles.spring_web.infrastructure.config.UsageMeteringProperties;
+import com.miralles.spring_web.infrastructure.metering.StripedUsageMeter;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UsageMeteringFilterTest {
+
+    private StripedUsageMeter usageMeter;
+    private UsageMeteringFilter usageMeteringFilter;
+
+    @BeforeEach
+    void setUp() {
+        UsageMeteringProperties properties = new UsageMeteringProperties();
+        usageMeter = new StripedUsageMeter(properties);
+        usageMeteringFilter = new UsageMeteringFilter(properties, usageMeter);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authenticatedRequest_shouldCountRequestAndBytes() throws Exception {
+        authenticate("admin@example.com");
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/users");
+        request.setContent("{\"username\":\"jane\"}".getBytes(StandardCharsets.UTF_8));
+
+        perform(request, (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/users");
+            res.getOutputStream().write(new byte[42]);
+        });
+
+        assertEquals(List.of(new ConsumerUsage("admin@example.com", 1, 19, 42)), top());
+    }
+
+    @Test
+    void anonymousRequest_shouldNotBeMetered() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken("key", "anonymousUser",
+                List.of(new SimpleGrantedAuthority("ROLE_ANONYMOUS"))));
+
+        perform(new MockHttpServletRequest("POST", "/api/auth/login"), (req, res) -> { });
+        SecurityContextHolder.clearContext();
+        perform(new MockHttpServletRequest("GET", "/api/users"), (req, res) -> { });
+
+        assertTrue(top().isEmpty());
+    }
+
+    @Test
+    void asyncResponse_shouldBeRecordedWhenComplete() throws Exception {
+        authenticate("admin@example.com");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/_export");
+        request.setAsyncSupported(true);
+
+        MockHttpServletResponse response = perform(request, (req, res) -> {
+            req.startAsync();
+            res.getOutputStream().write(new byte[10]);
+        });
+        assertTrue(top().isEmpty(), "The streaming response is not complete yet");
+
+        response.getOutputStream().write(new byte[5]);
+        request.getAsyncContext().complete();
+
+        assertEquals(List.of(new ConsumerUsage("admin@example.com", 1, 0, 10)), top());
+    }
+
+    @Test
+    void declaredContentLength_shouldCountWhenStreamIsBypassed() throws Exception {
+        authenticate("admin@example.com");
+
+        perform(new MockHttpServletRequest("GET", "/api/users/1"), (req, res) -> {
+            res.setContentLength(7);
+            res.getWriter().write("1234567");
+        });
+
+        assertEquals(7, top().get(0).bytesOut());
+    }
+
+    private List<ConsumerUsage> top() {
+        return usageMeter.topConsumers(10, Duration.ofHours(1), Order.REQUESTS);
+    }
+
+    private static void authenticate(String name) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(name, null,
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        usageMeteringFilter.doFilter(request, response, chain);
+        return response;
+    }
+}
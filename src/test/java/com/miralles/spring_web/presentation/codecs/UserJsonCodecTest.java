@@ -0,0 +1,106 @@
+package com.miralles.spring_web.presentation.codecs;
+
+import com.miralles.spring_web.presentation.dtos.UserRequestDTO;
+import com.miralles.spring_web.presentation.dtos.UserResponseDTO;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the hand-written user JSON codec.
+ * Output is compared with Jackson's so both encodings stay interchangeable.
+ */
+class UserJsonCodecTest {
+
+    private static final String TRICKY = "q\"b\\s/\n\r\t\b\f\u0001 é € 😀  ";
+
+    private final JsonMapper jackson = JsonMapper.builder().build();
+
+    @Test
+    void writeUser_shouldMatchJacksonOutput() throws IOException {
+        UserResponseDTO user = new UserResponseDTO(42L, "testUser", "test@example.com");
+
+        assertEquals(jackson.readTree(jackson.writeValueAsString(user)), jackson.readTree(write(user)));
+    }
+
+    @Test
+    void writeUser_shouldOmitNullFields() throws IOException {
+        assertEquals("{\"email\":\"test@example.com\"}", write(new UserResponseDTO(null, null, "test@example.com")));
+        assertEquals("{}", write(new UserResponseDTO()));
+    }
+
+    @Test
+    void writeUser_shouldEscapeStringsCorrectly() throws IOException {
+        String json = write(new UserResponseDTO(-7L, TRICKY, "a@b.c"));
+
+        UserResponseDTO decoded = jackson.readValue(json, UserResponseDTO.class);
+        assertEquals(TRICKY, decoded.getUsername());
+        assertEquals(-7L, decoded.getId());
+        assertTrue(json.contains("\\u0001"));
+    }
+
+    @Test
+    void writeUsers_shouldWriteArray() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        JsonOutput out = new JsonOutput(bytes, 16);
+        List<UserResponseDTO> users = List.of(
+                new UserResponseDTO(1L, "user1", "user1@example.com"),
+                new UserResponseDTO(2L, "user2", "user2@example.com"));
+
+        UserJsonCodec.writeUsers(users, out);
+        out.flush();
+
+        assertEquals(jackson.readTree(jackson.writeValueAsString(users)),
+                jackson.readTree(bytes.toString(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void readUserRequest_shouldReadJacksonOutput() {
+        UserRequestDTO request = new UserRequestDTO(TRICKY, "test@example.com", "password123", true);
+
+        UserRequestDTO decoded = UserJsonCodec.readUserRequest(jackson.writeValueAsBytes(request));
+
+        assertEquals(TRICKY, decoded.getUsername());
+        assertEquals("test@example.com", decoded.getEmail());
+        assertEquals("password123", decoded.getPassword());
+        assertTrue(decoded.isAdmin());
+    }
+
+    @Test
+    void readUserRequest_shouldDecodeEscapesAndSkipUnknownMembers() {
+        String json = "{ \"extra\": {\"a\": [1, 2.5e3, null, {\"b\": false}]},"
+                + " \"username\": \"caf\\u00e9 \\ud83d\\ude00\\n\", \"email\": null, \"admin\": false }";
+
+        UserRequestDTO decoded = UserJsonCodec.readUserRequest(json.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("café 😀\n", decoded.getUsername());
+        assertNull(decoded.getEmail());
+        assertFalse(decoded.isAdmin());
+    }
+
+    @Test
+    void readUserRequest_shouldRejectMalformedDocuments() {
+        assertThrows(IllegalArgumentException.class, () -> read("{\"username\": \"abc}"));
+        assertThrows(IllegalArgumentException.class, () -> read("{\"username\": \"a\u0001\"}"));
+        assertThrows(IllegalArgumentException.class, () -> read("{\"username\": \"abc\"} trailing"));
+        assertThrows(IllegalArgumentException.class, () -> read("[]"));
+    }
+
+    private static UserRequestDTO read(String json) {
+        return UserJsonCodec.readUserRequest(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String write(UserResponseDTO user) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        JsonOutput out = new JsonOutput(bytes);
+        UserJsonCodec.writeUser(user, out);
+        out.flush();
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+}
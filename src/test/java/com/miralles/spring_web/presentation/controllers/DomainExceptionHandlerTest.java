@@ -0,0 +1,63 @@
+package com.miralles.spring_web.presentation.controllers;
+
+import com.miralles.spring_web.application.ports.UserService;
+import com.miralles.spring_web.domain.exceptions.ConflictException;
+import com.miralles.spring_web.domain.exceptions.InvalidCredentialsException;
+import com.miralles.spring_web.domain.exceptions.UserNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class DomainExceptionHandlerTest {
+
+    private UserService userService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        userService = mock(UserService.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(new UserController(userService))
+                .setControllerAdvice(new DomainExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void userNotFound_shouldMapTo404() throws Exception {
+        when(userService.getUserById(42L)).thenThrow(UserNotFoundException.byId(42L));
+
+        mockMvc.perform(get("/api/users/42"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404))
+                .andExpect(jsonPath("$.message").value("User not found with id: 42"));
+    }
+
+    @Test
+    void conflict_shouldMapTo409() throws Exception {
+        when(userService.createUser(any())).thenThrow(ConflictException.emailTaken("taken@example.com"));
+
+        mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"taken\",\"email\":\"taken@example.com\",\"password\":\"password123\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Email already in use: taken@example.com"));
+    }
+
+    @Test
+    void invalidCredentials_shouldMapTo401() {
+        var response = new DomainExceptionHandler().handleInvalidCredentials(new InvalidCredentialsException());
+
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        assertEquals("Invalid credentials", response.getBody().message());
+    }
+}
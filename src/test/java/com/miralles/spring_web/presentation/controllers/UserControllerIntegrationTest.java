@@ -38,4 +38,14 @@ class UserControllerIntegrationTest {
                 .content(invalidUserJson))
                 .andExpect(status().isForbidden());
     }
+
+    /**
+     * An anonymous email check would tell anyone which emails have an account.
+     */
+    @Test
+    void isEmailAvailable_shouldRequireAnAdminToken() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/users/email-available")
+                .param("email", "nobody@example.com"))
+                .andExpect(status().isForbidden());
+    }
 }
\ No newline at end of file
@@ -2,8 +2,14 @@ package com.miralles.spring_web.presentation.controllers;
 
 import com.miralles.spring_web.application.ports.UserService;
 import com.miralles.spring_web.domain.models.User;
+import com.miralles.spring_web.domain.models.UserField;
+import com.miralles.spring_web.domain.models.UserQuery;
+import com.miralles.spring_web.domain.models.UserStats;
+import com.miralles.spring_web.presentation.dtos.EmailAvailabilityDTO;
+import com.miralles.spring_web.presentation.dtos.UserCountDTO;
 import com.miralles.spring_web.presentation.dtos.UserRequestDTO;
 import com.miralles.spring_web.presentation.dtos.UserResponseDTO;
+import com.miralles.spring_web.presentation.dtos.UserStatsDTO;
 import com.miralles.spring_web.presentation.dtos.UserMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,9 +19,16 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -76,7 +89,7 @@ class UserControllerTest {
 
         when(userService.getAllUsers()).thenReturn(users);
 
-        ResponseEntity<List<UserResponseDTO>> response = userController.getAllUsers();
+        ResponseEntity<List<UserResponseDTO>> response = userController.getAllUsers(null, null, null, null, null, null, null);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -115,7 +128,7 @@ class UserControllerTest {
     void getUserByEmail_shouldReturnUser() {
         when(userService.getUserByEmail(anyString())).thenReturn(testUser);
 
-        ResponseEntity<UserResponseDTO> response = userController.getUserByEmail("test@example.com");
+        ResponseEntity<UserResponseDTO> response = userController.getUserByEmail("test@example.com", null);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -183,4 +196,145 @@ class UserControllerTest {
         assertEquals(requestDTO.getUsername(), updatedUser.getUsername());
         assertEquals(requestDTO.getEmail(), updatedUser.getEmail());
     }
-}
\ No newline at end of file
+
+    @Test
+    void userMapper_updateUserFromDTO_shouldLeaveExistingUserUntouched() {
+        User existingUser = new User(1L, "oldUser", "old@example.com");
+
+        UserMapper.updateUserFromDTO(new UserRequestDTO("newUser", "new@example.com"), existingUser);
+
+        assertEquals("oldUser", existingUser.getUsername());
+        assertEquals("old@example.com", existingUser.getEmail());
+    }
+
+    @Test
+    void getAllUsers_withFields_shouldUseProjectedRead() {
+        User projected = new User();
+        projected.setId(1L);
+        projected.setEmail("user1@example.com");
+
+        when(userService.getAllUsers(EnumSet.of(UserField.ID, UserField.EMAIL))).thenReturn(List.of(projected));
+
+        ResponseEntity<List<UserResponseDTO>> response = userController.getAllUsers("id,email", null, null, null, null, null, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().size());
+        assertEquals("user1@example.com", response.getBody().get(0).getEmail());
+        assertNull(response.getBody().get(0).getUsername());
+        verify(userService, never()).getAllUsers();
+    }
+
+    @Test
+    void getUserByEmail_withFields_shouldUseProjectedRead() {
+        User projected = new User();
+        projected.setId(1L);
+
+        when(userService.getUserByEmail("test@example.com", EnumSet.of(UserField.ID))).thenReturn(projected);
+
+        ResponseEntity<UserResponseDTO> response = userController.getUserByEmail("test@example.com", "id");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1L, response.getBody().getId());
+        assertNull(response.getBody().getEmail());
+    }
+
+    @Test
+    void getAllUsers_withUnknownField_shouldReturnBadRequest() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> userController.getAllUsers("id,password", null, null, null, null, null, null));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void searchUsers_shouldReturnRankedMatches() {
+        when(userService.searchUsers("jan", 10)).thenReturn(List.of(
+                new User(2L, "jane", "jane@example.com"),
+                new User(1L, "marjan", "marjan@example.com")));
+
+        ResponseEntity<List<UserResponseDTO>> response = userController.searchUsers(" jan ", 10);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(2L, 1L), response.getBody().stream().map(UserResponseDTO::getId).toList());
+    }
+
+    @Test
+    void searchUsers_withBlankQueryOrBadLimit_shouldReturnBadRequest() {
+        assertEquals(HttpStatus.BAD_REQUEST,
+                assertThrows(ResponseStatusException.class, () -> userController.searchUsers(" ", 10)).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST,
+                assertThrows(ResponseStatusException.class, () -> userController.searchUsers("jan", 0)).getStatusCode());
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void getAllUsers_withFilters_shouldQueryRepository() {
+        UserQuery query = UserQuery.of(new UserQuery.EmailDomain("example.com"), new UserQuery.Admin(true));
+        when(userService.findUsers(query, EnumSet.of(UserField.ID))).thenReturn(List.of(testUser));
+
+        ResponseEntity<List<UserResponseDTO>> response =
+                userController.getAllUsers("id", null, null, null, null, "example.com", true);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().size());
+        verify(userService, never()).getAllUsers();
+    }
+
+    @Test
+    void countUsers_shouldCountMatchingUsers() {
+        when(userService.countUsers(UserQuery.of(new UserQuery.Admin(true)))).thenReturn(3L);
+
+        ResponseEntity<UserCountDTO> response = userController.countUsers(null, null, null, null, null, true);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(3L, response.getBody().count());
+    }
+
+    @Test
+    void getUserStats_shouldReturnTopDomainsAndRecentDays() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        // The repository hands domains over largest first
+        Map<String, Long> domains = new LinkedHashMap<>();
+        domains.put("example.com", 3L);
+        domains.put("other.org", 2L);
+        domains.put("rare.net", 1L);
+        when(userService.getUserStats()).thenReturn(new UserStats(6, 2, domains,
+                new TreeMap<>(Map.of(today.minusDays(40), 1L, today.minusDays(1), 2L, today, 3L))));
+
+        ResponseEntity<UserStatsDTO> response = userController.getUserStats(2, 7);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        UserStatsDTO stats = response.getBody();
+        assertEquals(6, stats.total());
+        assertEquals(2, stats.admins());
+        assertEquals(4, stats.nonAdmins());
+        assertEquals(List.of("example.com", "other.org"), List.copyOf(stats.emailDomains().keySet()));
+        assertEquals(List.of(today.minusDays(1).toString(), today.toString()),
+                List.copyOf(stats.createdPerDay().keySet()));
+    }
+
+    @Test
+    void getUserStats_withBadBounds_shouldReturnBadRequest() {
+        assertThrows(ResponseStatusException.class, () -> userController.getUserStats(0, 30));
+        assertThrows(ResponseStatusException.class, () -> userController.getUserStats(10, 0));
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void isEmailAvailable_shouldReportAvailability() {
+        when(userService.isEmailAvailable("jane@example.com")).thenReturn(false);
+
+        ResponseEntity<EmailAvailabilityDTO> response = userController.isEmailAvailable("jane@example.com");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("jane@example.com", response.getBody().email());
+        assertFalse(response.getBody().available());
+    }
+
+    @Test
+    void isEmailAvailable_withBlankEmail_shouldReturnBadRequest() {
+        assertThrows(ResponseStatusException.class, () -> userController.isEmailAvailable(" "));
+        verifyNoInteractions(userService);
+    }
+}
@@ -0,0 +1,129 @@
+package com.miralles.spring_web.presentation.controllers;
+
+import com.miralles.spring_web.application.ports.UserService;
+import com.miralles.spring_web.domain.models.User;
+import com.miralles.spring_web.domain.models.UserTombstone;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserExportControllerTest {
+
+    private static final Instant CREATED = Instant.parse("2024-05-01T10:00:00Z");
+
+    @Mock
+    private UserService userService;
+
+    @InjectMocks
+    private UserExportController userExportController;
+
+    @Test
+    void exportUsers_csv_shouldStreamQuotedRows() throws IOException {
+        when(userService.streamUsers(null)).thenReturn(Stream.of(
+                user(1L, "jane", "jane@example.com", true),
+                user(2L, "Doe, \"JD\"", "jd@example.com", false)));
+
+        ResponseEntity<StreamingResponseBody> response = userExportController.exportUsers("csv", null, null);
+
+        assertEquals("text/csv", response.getHeaders().getContentType().toString());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("""
+                id,username,email,admin,createdAt,updatedAt,deletedAt
+                1,jane,jane@example.com,true,2024-05-01T10:00:00Z,2024-05-01T10:00:00Z,
+                2,"Doe, ""JD\"\"",jd@example.com,false,2024-05-01T10:00:00Z,2024-05-01T10:00:00Z,
+                """, new String(render(response), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportUsers_ndjson_shouldGzipWhenAcceptedAndPassTheFilter() throws IOException {
+        Instant since = Instant.parse("2024-01-01T00:00:00Z");
+        when(userService.streamUsers(since)).thenReturn(Stream.of(user(1L, "jane", "jane@example.com", false)));
+
+        ResponseEntity<StreamingResponseBody> response =
+                userExportController.exportUsers("ndjson", since, "br, gzip;q=0.8");
+
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertNotNull(response.getHeaders().getFirst(UserExportController.WATERMARK_HEADER));
+        byte[] body = new GZIPInputStream(new ByteArrayInputStream(render(response))).readAllBytes();
+        assertEquals("{\"id\":1,\"username\":\"jane\",\"email\":\"jane@example.com\",\"admin\":false,"
+                        + "\"createdAt\":\"2024-05-01T10:00:00Z\",\"updatedAt\":\"2024-05-01T10:00:00Z\"}\n",
+                new String(body, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportUsers_incremental_shouldEndWithTombstones() throws IOException {
+        Instant since = Instant.parse("2024-01-01T00:00:00Z");
+        UserTombstone tombstone = new UserTombstone(7L, Instant.parse("2024-05-02T08:00:00Z"));
+        when(userService.streamUsers(since)).thenReturn(
+                Stream.of(user(1L, "jane", "jane@example.com", false)), Stream.empty());
+        when(userService.streamDeletions(since)).thenReturn(Stream.of(tombstone), Stream.of(tombstone));
+
+        String ndjson = new String(render(userExportController.exportUsers("ndjson", since, null)),
+                StandardCharsets.UTF_8);
+        String csv = new String(render(userExportController.exportUsers("csv", since, null)),
+                StandardCharsets.UTF_8);
+
+        assertTrue(ndjson.endsWith("}\n{\"id\":7,\"deleted\":true,\"deletedAt\":\"2024-05-02T08:00:00Z\"}\n"),
+                ndjson);
+        assertEquals("""
+                id,username,email,admin,createdAt,updatedAt,deletedAt
+                7,,,,,,2024-05-02T08:00:00Z
+                """, csv);
+    }
+
+    @Test
+    void exportUsers_full_shouldNotReadTombstones() throws IOException {
+        when(userService.streamUsers(null)).thenReturn(Stream.empty());
+
+        render(userExportController.exportUsers("ndjson", null, null));
+
+        verify(userService, never()).streamDeletions(any());
+    }
+
+    @Test
+    void exportUsers_shouldNotGzipWhenRefused() {
+        ResponseEntity<StreamingResponseBody> response = userExportController.exportUsers("csv", null, "gzip;q=0");
+
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void exportUsers_shouldRejectUnknownFormat() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> userExportController.exportUsers("xml", null, null));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+    }
+
+    private static byte[] render(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toByteArray();
+    }
+
+    private static User user(Long id, String username, String email, boolean admin) {
+        User user = new User(id, username, email, "secret", admin);
+        user.setCreatedAt(CREATED);
+        user.setUpdatedAt(CREATED);
+        return user;
+    }
+}
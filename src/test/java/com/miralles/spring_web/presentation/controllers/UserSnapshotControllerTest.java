@@ -0,0 +1,158 @@
+package com.miralles.spring_web.presentation.controllers;
+
+import com.miralles.spring_web.application.ports.UserService;
+import com.miralles.spring_web.domain.models.User;
+import com.miralles.spring_web.infrastructure.config.SnapshotProperties;
+import com.miralles.spring_web.presentation.exports.UserSnapshotStore;
+import com.miralles.spring_web.presentation.exports.UserSnapshotStore.Snapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserSnapshotControllerTest {
+
+    @TempDir
+    Path directory;
+
+    private UserService userService;
+    private UserSnapshotStore userSnapshotStore;
+    private UserSnapshotController userSnapshotController;
+
+    @BeforeEach
+    void setUp() {
+        userService = mock(UserService.class);
+        when(userService.streamUsers(null)).thenAnswer(invocation -> Stream.of(user(1L, "jane"), user(2L, "john")));
+        SnapshotProperties snapshotProperties = new SnapshotProperties();
+        snapshotProperties.setDirectory(directory.toString());
+        snapshotProperties.setRetainedGenerations(2);
+        userSnapshotStore = new UserSnapshotStore(userService, snapshotProperties);
+        userSnapshotController = new UserSnapshotController(userSnapshotStore);
+    }
+
+    @Test
+    void download_shouldReturn503BeforeTheFirstSnapshot() throws IOException {
+        MockHttpServletResponse response = download(new MockHttpServletRequest("GET", "/api/users/_snapshot"));
+
+        assertEquals(503, response.getStatus());
+        assertEquals("30", response.getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void download_shouldServeWholeFileWithEtag() throws IOException {
+        Snapshot snapshot = userSnapshotStore.refresh();
+
+        MockHttpServletResponse response = download(new MockHttpServletRequest("GET", "/api/users/_snapshot"));
+
+        assertEquals(200, response.getStatus());
+        assertEquals(snapshot.etag(), response.getHeader(HttpHeaders.ETAG));
+        assertEquals(2, snapshot.users());
+        assertArrayEquals(Files.readAllBytes(snapshot.path()), response.getContentAsByteArray());
+        assertEquals(snapshot.size(), response.getContentLengthLong());
+    }
+
+    @Test
+    void download_shouldServeSingleRange() throws IOException {
+        Snapshot snapshot = userSnapshotStore.refresh();
+        byte[] file = Files.readAllBytes(snapshot.path());
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/_snapshot");
+        request.addHeader(HttpHeaders.RANGE, "bytes=10-19");
+        request.addHeader(HttpHeaders.IF_RANGE, snapshot.etag());
+
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 10-19/" + file.length, response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(new String(file, 10, 10, StandardCharsets.UTF_8), response.getContentAsString());
+    }
+
+    @Test
+    void download_shouldIgnoreRangeOfAnotherGeneration() throws IOException {
+        userSnapshotStore.refresh();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/_snapshot");
+        request.addHeader(HttpHeaders.RANGE, "bytes=10-19");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"users-1\"");
+
+        assertEquals(200, download(request).getStatus());
+    }
+
+    @Test
+    void download_shouldRejectUnsatisfiableRange() throws IOException {
+        Snapshot snapshot = userSnapshotStore.refresh();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/_snapshot");
+        request.addHeader(HttpHeaders.RANGE, "bytes=" + snapshot.size() + "-");
+
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */" + snapshot.size(), response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void download_shouldReturn304ForCurrentEtag() throws IOException {
+        Snapshot snapshot = userSnapshotStore.refresh();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/_snapshot");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, snapshot.etag());
+
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void download_shouldHandOffToSendfileWhenSupported() throws IOException {
+        Snapshot snapshot = userSnapshotStore.refresh();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/_snapshot");
+        request.setAttribute(UserSnapshotController.SENDFILE_SUPPORT, Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=-5");
+
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(snapshot.size() - 5, request.getAttribute(UserSnapshotController.SENDFILE_START));
+        assertEquals(snapshot.size(), request.getAttribute(UserSnapshotController.SENDFILE_END));
+    }
+
+    @Test
+    void refresh_shouldKeepOnlyRetainedGenerations() throws IOException {
+        Snapshot first = userSnapshotStore.refresh();
+        Snapshot second = userSnapshotStore.refresh();
+        Snapshot third = userSnapshotStore.refresh();
+
+        assertTrue(second.generation() > first.generation());
+        assertNotEquals(first.etag(), third.etag());
+        assertFalse(Files.exists(first.path()));
+        assertTrue(Files.exists(second.path()));
+        assertTrue(Files.exists(third.path()));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(2, files.count());
+        }
+    }
+
+    private MockHttpServletResponse download(MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        userSnapshotController.downloadSnapshot(request, response);
+        return response;
+    }
+
+    private static User user(Long id, String username) {
+        User user = new User(id, username, username + "@example.com");
+        user.setCreatedAt(Instant.parse("2024-05-01T10:00:00Z"));
+        user.setUpdatedAt(Instant.parse("2024-05-01T10:00:00Z"));
+        return user;
+    }
+}
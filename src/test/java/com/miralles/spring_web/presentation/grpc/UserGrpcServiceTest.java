@@ -0,0 +1,227 @@
+package com.miralles.spring_web.presentation.grpc;
+
+import com.miralles.spring_web.application.ports.UserService;
+import com.miralles.spring_web.domain.exceptions.UserNotFoundException;
+import com.miralles.spring_web.domain.models.User;
+import com.miralles.spring_web.infrastructure.security.JwtServerInterceptor;
+import com.miralles.spring_web.infrastructure.security.JwtUtil;
+import com.miralles.spring_web.presentation.grpc.proto.GetUserRequest;
+import com.miralles.spring_web.presentation.grpc.proto.ListUsersRequest;
+import com.miralles.spring_web.presentation.grpc.proto.LookupRequest;
+import com.miralles.spring_web.presentation.grpc.proto.LookupResponse;
+import com.miralles.spring_web.presentation.grpc.proto.UserInput;
+import com.miralles.spring_web.presentation.grpc.proto.UserMessage;
+import com.miralles.spring_web.presentation.grpc.proto.UsersGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.MetadataUtils;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * In-process tests for the gRPC users endpoint, including the JWT interceptor.
+ */
+@ExtendWith(MockitoExtension.class)
+class UserGrpcServiceTest {
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    private Server server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String name = InProcessServerBuilder.generateName();
+        UserGrpcService service = new UserGrpcService(userService,
+                Validation.buildDefaultValidatorFactory().getValidator());
+        JwtServerInterceptor interceptor = new JwtServerInterceptor(jwtUtil, userDetailsService);
+        server = InProcessServerBuilder.forName(name)
+                .directExecutor()
+                .addService(ServerInterceptors.intercept(service, interceptor))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+
+        lenient().when(jwtUtil.extractUsername("admin-token")).thenReturn("admin@example.com");
+        lenient().when(jwtUtil.extractUsername("user-token")).thenReturn("user@example.com");
+        lenient().when(jwtUtil.validateToken(anyString(), any(UserDetails.class))).thenReturn(true);
+        lenient().when(userDetailsService.loadUserByUsername("admin@example.com"))
+                .thenReturn(userDetails("admin@example.com", "ROLE_ADMIN"));
+        lenient().when(userDetailsService.loadUserByUsername("user@example.com"))
+                .thenReturn(userDetails("user@example.com", "ROLE_USER"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    void getUser_shouldReturnUserForAdmin() {
+        when(userService.getUserById(1L)).thenReturn(new User(1L, "testUser", "test@example.com"));
+
+        UserMessage user = stub("admin-token").getUser(GetUserRequest.newBuilder().setId(1L).build());
+
+        assertEquals(1L, user.getId());
+        assertEquals("testUser", user.getUsername());
+        assertEquals("test@example.com", user.getEmail());
+    }
+
+    @Test
+    void getUser_shouldMapNotFound() {
+        when(userService.getUserById(99L)).thenThrow(UserNotFoundException.byId(99L));
+
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> stub("admin-token").getUser(GetUserRequest.newBuilder().setId(99L).build()));
+
+        assertEquals(Status.Code.NOT_FOUND, exception.getStatus().getCode());
+    }
+
+    @Test
+    void call_withoutToken_shouldBeUnauthenticated() {
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> UsersGrpc.newBlockingStub(channel).getUser(GetUserRequest.newBuilder().setId(1L).build()));
+
+        assertEquals(Status.Code.UNAUTHENTICATED, exception.getStatus().getCode());
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void call_withNonAdminToken_shouldBePermissionDenied() {
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> stub("user-token").getUser(GetUserRequest.newBuilder().setId(1L).build()));
+
+        assertEquals(Status.Code.PERMISSION_DENIED, exception.getStatus().getCode());
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void createUser_withInvalidEmail_shouldBeInvalidArgument() {
+        UserInput input = UserInput.newBuilder()
+                .setUsername("testuser")
+                .setEmail("invalid-email")
+                .setPassword("password123")
+                .build();
+
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> stub("admin-token").createUser(input));
+
+        assertEquals(Status.Code.INVALID_ARGUMENT, exception.getStatus().getCode());
+        verify(userService, never()).createUser(any(User.class));
+    }
+
+    @Test
+    void listUsers_shouldStreamAllUsers() {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(userService.streamUsers(null)).thenReturn(Stream.of(
+                new User(1L, "user1", "user1@example.com"),
+                new User(2L, "user2", "user2@example.com")).onClose(() -> closed.set(true)));
+
+        Iterator<UserMessage> users = stub("admin-token").listUsers(ListUsersRequest.getDefaultInstance());
+
+        List<Long> ids = new ArrayList<>();
+        users.forEachRemaining(user -> ids.add(user.getId()));
+        assertEquals(List.of(1L, 2L), ids);
+        assertTrue(closed.get(), "The repository stream must be closed once sent");
+        verify(userService, never()).getAllUsers();
+    }
+
+    @Test
+    void listUsers_withFields_shouldSendOnlyThoseFields() {
+        when(userService.streamUsers(null)).thenReturn(Stream.of(new User(1L, "user1", "user1@example.com")));
+
+        UserMessage user = stub("admin-token").listUsers(ListUsersRequest.newBuilder().setFields("id,email").build())
+                .next();
+
+        assertEquals(1L, user.getId());
+        assertEquals("user1@example.com", user.getEmail());
+        assertEquals("", user.getUsername());
+    }
+
+    @Test
+    void lookupUsers_shouldAnswerEachRequestInOrder() {
+        when(userService.getUserById(1L)).thenReturn(new User(1L, "user1", "user1@example.com"));
+        when(userService.getUserByEmail("missing@example.com"))
+                .thenThrow(UserNotFoundException.byEmail("missing@example.com"));
+
+        List<LookupResponse> responses = new ArrayList<>();
+        List<Throwable> errors = new ArrayList<>();
+        StreamObserver<LookupRequest> requests = UsersGrpc.newStub(channel)
+                .withInterceptors(MetadataUtils.newAttachHeadersInterceptor(bearer("admin-token")))
+                .lookupUsers(new StreamObserver<>() {
+                    @Override
+                    public void onNext(LookupResponse value) {
+                        responses.add(value);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        errors.add(t);
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                    }
+                });
+
+        requests.onNext(LookupRequest.newBuilder().setId(1L).build());
+        requests.onNext(LookupRequest.newBuilder().setEmail("missing@example.com").build());
+        requests.onCompleted();
+
+        assertTrue(errors.isEmpty());
+        assertEquals(2, responses.size());
+        assertTrue(responses.get(0).getFound());
+        assertEquals("user1", responses.get(0).getUser().getUsername());
+        assertFalse(responses.get(1).getFound());
+        assertEquals("missing@example.com", responses.get(1).getRequest().getEmail());
+    }
+
+    private UsersGrpc.UsersBlockingStub stub(String token) {
+        return UsersGrpc.newBlockingStub(channel)
+                .withInterceptors(MetadataUtils.newAttachHeadersInterceptor(bearer(token)));
+    }
+
+    private static Metadata bearer(String token) {
+        Metadata headers = new Metadata();
+        headers.put(Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER), "Bearer " + token);
+        return headers;
+    }
+
+    private static UserDetails userDetails(String email, String role) {
+        return new org.springframework.security.core.userdetails.User(
+                email, "password", List.of(new SimpleGrantedAuthority(role)));
+    }
+}